@@ -2,6 +2,7 @@ package ma.ensa.apms;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 import org.springframework.context.annotation.EnableAspectJAutoProxy;
 
 import lombok.RequiredArgsConstructor;
@@ -10,11 +11,19 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 @EnableAspectJAutoProxy(proxyTargetClass = true)
 public class AgileProjectManagementSystemApplication {
+
+    /**
+     * Startup steps kept for {@code /actuator/startup} and the startup report
+     */
+    public static final int STARTUP_STEPS = 10_000;
+
     /*
      * Result -> Backlog Expand - Backlog Notion - Docs Screenshots
      */
     public static void main(String[] args) {
-        SpringApplication.run(AgileProjectManagementSystemApplication.class, args);
+        SpringApplication application = new SpringApplication(AgileProjectManagementSystemApplication.class);
+        application.setApplicationStartup(new BufferingApplicationStartup(STARTUP_STEPS));
+        application.run(args);
     }
 
-}
\ No newline at end of file
+}
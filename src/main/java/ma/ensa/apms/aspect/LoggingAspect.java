@@ -7,19 +7,43 @@ import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Pointcut;
 import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StopWatch;
 
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import lombok.RequiredArgsConstructor;
 import ma.ensa.apms.annotation.LogOperation;
+import ma.ensa.apms.jfr.ServiceOperationEvent;
 import ma.ensa.apms.logging.LoggerUtils;
 
 import java.lang.reflect.Method;
 import java.util.Arrays;
-
+import java.util.Collection;
+import java.util.StringJoiner;
+import java.util.UUID;
+
+/**
+ * Logging, tracing and Flight Recorder events around the service layer.
+ *
+ * <p>
+ * Runs outside the transaction advisor, so that a service observation spans
+ * the whole call, connection checkout and commit included, and the JDBC spans
+ * are its children.
+ * </p>
+ */
 @Aspect
 @Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
 public class LoggingAspect {
 
+    static final String SERVICE_OBSERVATION = "apms.service";
+
+    private final ObservationRegistry observationRegistry;
+
     /**
      * Pointcut that matches all service methods
      */
@@ -27,6 +51,13 @@ public class LoggingAspect {
     public void servicePointcut() {
     }
 
+    /**
+     * Pointcut that matches the service implementations
+     */
+    @Pointcut("within(ma.ensa.apms.service.impl..*)")
+    public void serviceImplPointcut() {
+    }
+
     /**
      * Pointcut for methods annotated with @LogExecutionTime
      */
@@ -53,7 +84,7 @@ public class LoggingAspect {
         StopWatch stopWatch = new StopWatch();
         stopWatch.start();
 
-        Object result = joinPoint.proceed();
+        Object result = proceedRecordingEvent(joinPoint, className + "." + methodName);
 
         stopWatch.stop();
 
@@ -81,7 +112,8 @@ public class LoggingAspect {
         LoggerUtils.logServiceInfo(String.format("Executing operation: %s - %s.%s() with arguments: %s",
                 description, className, methodName, args));
 
-        Object result = joinPoint.proceed();
+        Object result = proceedRecordingEvent(joinPoint,
+                description.isEmpty() ? className + "." + methodName : description);
 
         LoggerUtils.logServiceInfo(String.format("Completed operation: %s - %s.%s()",
                 description, className, methodName));
@@ -89,6 +121,82 @@ public class LoggingAspect {
         return result;
     }
 
+    /**
+     * Proceed, wrapped in a {@link ServiceOperationEvent} when a Flight Recorder
+     * recording enables it
+     */
+    private static Object proceedRecordingEvent(ProceedingJoinPoint joinPoint, String operation) throws Throwable {
+        ServiceOperationEvent event = new ServiceOperationEvent();
+        if (!event.isEnabled()) {
+            return joinPoint.proceed();
+        }
+        event.begin();
+        boolean failed = true;
+        try {
+            Object result = joinPoint.proceed();
+            failed = false;
+            return result;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+                event.set(operation, signature.getDeclaringType(), signature.getName(), joinPoint.getArgs(), failed);
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Trace service implementation methods: one observation (span and timer)
+     * per call, with the entity ids among the arguments and the size of a
+     * returned collection
+     */
+    @Around("serviceImplPointcut()")
+    public Object observeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+        if (signature.getDeclaringType().toString().contains("$$")) {
+            // Skip proxy classes
+            return joinPoint.proceed();
+        }
+
+        String className = signature.getDeclaringType().getSimpleName();
+        Observation observation = Observation.createNotStarted(SERVICE_OBSERVATION, observationRegistry)
+                .contextualName(className + "." + signature.getName())
+                .lowCardinalityKeyValue("class", className)
+                .lowCardinalityKeyValue("method", signature.getName());
+        if (observation.isNoop()) {
+            return joinPoint.proceed();
+        }
+        String entityIds = entityIds(joinPoint.getArgs());
+        if (entityIds != null) {
+            observation.highCardinalityKeyValue("apms.entity.ids", entityIds);
+        }
+
+        observation.start();
+        try (Observation.Scope scope = observation.openScope()) {
+            Object result = joinPoint.proceed();
+            if (result instanceof Collection<?> collection) {
+                observation.highCardinalityKeyValue("apms.result.count", String.valueOf(collection.size()));
+            }
+            return result;
+        } catch (Throwable e) {
+            observation.error(e);
+            throw e;
+        } finally {
+            observation.stop();
+        }
+    }
+
+    private static String entityIds(Object[] args) {
+        StringJoiner ids = new StringJoiner(",");
+        for (Object arg : args) {
+            if (arg instanceof UUID id) {
+                ids.add(id.toString());
+            }
+        }
+        return ids.length() > 0 ? ids.toString() : null;
+    }
+
     /**
      * Log methods in service layer
      */
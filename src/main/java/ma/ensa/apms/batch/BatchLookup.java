@@ -0,0 +1,100 @@
+package ma.ensa.apms.batch;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import ma.ensa.apms.dto.Response.BatchGetResponse;
+import ma.ensa.apms.exception.BusinessException;
+
+/**
+ * Shared steps of the {@code POST .../batch-get} endpoints.
+ *
+ * <p>
+ * Requested IDs are deduplicated and capped at {@code apms.batch-get.max-ids};
+ * entities are then loaded with one {@code findAllById} per chunk of
+ * {@code apms.batch-get.chunk-size} IDs, and the response lists the found
+ * items in request order followed by the IDs that do not exist.
+ * </p>
+ */
+@Component
+public class BatchLookup {
+
+    private final int maxIds;
+    private final int chunkSize;
+
+    public BatchLookup(@Value("${apms.batch-get.max-ids:500}") int maxIds,
+            @Value("${apms.batch-get.chunk-size:100}") int chunkSize) {
+        this.maxIds = maxIds;
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    /**
+     * Validate a batch request
+     *
+     * @param ids the requested IDs
+     * @return the distinct IDs, in request order
+     * @throws BusinessException if an ID is null or there are too many IDs
+     */
+    public List<UUID> distinctIds(List<UUID> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw new BusinessException("At least one id is required");
+        }
+        if (ids.stream().anyMatch(Objects::isNull)) {
+            throw new BusinessException("Ids cannot be null");
+        }
+        List<UUID> distinct = List.copyOf(new LinkedHashSet<>(ids));
+        if (distinct.size() > maxIds) {
+            throw new BusinessException("At most " + maxIds + " ids can be requested at once");
+        }
+        return distinct;
+    }
+
+    /**
+     * Load entities by ID, one finder call per chunk
+     *
+     * @param ids    the distinct IDs
+     * @param finder the repository lookup, typically {@code findAllById}
+     * @param idOf   the ID of an entity
+     * @return the found entities by ID
+     */
+    public <E> Map<UUID, E> findAll(List<UUID> ids, Function<List<UUID>, List<E>> finder, Function<E, UUID> idOf) {
+        Map<UUID, E> found = new HashMap<>(ids.size() * 2);
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            for (E entity : finder.apply(ids.subList(from, Math.min(ids.size(), from + chunkSize)))) {
+                found.put(idOf.apply(entity), entity);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Build the response in request order
+     *
+     * @param ids    the distinct IDs
+     * @param found  the found entities by ID
+     * @param mapper the entity to response mapping
+     * @return the found items and the missing IDs
+     */
+    public <E, R> BatchGetResponse<R> respond(List<UUID> ids, Map<UUID, E> found, Function<E, R> mapper) {
+        List<R> items = new ArrayList<>(found.size());
+        List<UUID> missing = new ArrayList<>();
+        for (UUID id : ids) {
+            E entity = found.get(id);
+            if (entity != null) {
+                items.add(mapper.apply(entity));
+            } else {
+                missing.add(id);
+            }
+        }
+        return BatchGetResponse.<R>builder().items(items).missing(missing).build();
+    }
+}
@@ -0,0 +1,27 @@
+package ma.ensa.apms.batch;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Number of rows referencing one parent, as counted by a grouped query.
+ *
+ * @param id    the parent ID
+ * @param count the number of rows
+ */
+public record IdCount(UUID id, Long count) {
+
+    /**
+     * Index counts by parent ID
+     *
+     * @param counts the grouped counts
+     * @return the count of each parent present in the result
+     */
+    public static Map<UUID, Long> toMap(Collection<IdCount> counts) {
+        Map<UUID, Long> byId = new HashMap<>(counts.size() * 2);
+        counts.forEach(count -> byId.put(count.id(), count.count()));
+        return byId;
+    }
+}
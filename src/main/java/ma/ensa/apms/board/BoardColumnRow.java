@@ -0,0 +1,18 @@
+package ma.ensa.apms.board;
+
+import java.util.UUID;
+
+/**
+ * Row of the board column query: one of the first stories of a status
+ * column, with the size of the whole column.
+ */
+public interface BoardColumnRow {
+
+    UUID getId();
+
+    String getStatus();
+
+    Integer getPriority();
+
+    Long getTotal();
+}
@@ -0,0 +1,42 @@
+package ma.ensa.apms.board;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+import ma.ensa.apms.exception.BusinessException;
+
+/**
+ * Position of the last story read in a board column, in the (priority, id)
+ * order of the column. Encoded as an opaque URL-safe token.
+ *
+ * @param priority the priority of the last story read
+ * @param id       the ID of the last story read
+ */
+public record BoardCursor(int priority, UUID id) {
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((priority + ":" + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a token returned by {@link #encode()}
+     *
+     * @param token the token
+     * @return the cursor
+     * @throws BusinessException if the token is malformed
+     */
+    public static BoardCursor decode(String token) {
+        try {
+            String[] position = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8)
+                    .split(":", 2);
+            if (position.length != 2) {
+                throw new IllegalArgumentException("Malformed cursor");
+            }
+            return new BoardCursor(Integer.parseInt(position[0]), UUID.fromString(position[1]));
+        } catch (IllegalArgumentException ex) {
+            throw new BusinessException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,279 @@
+package ma.ensa.apms.cache;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import ma.ensa.apms.logging.LoggerUtils;
+
+/**
+ * Read-through cache with single-flight loading and stale-while-revalidate
+ * semantics.
+ *
+ * <p>
+ * A value is served as-is while it is fresh. Once fresh-for has elapsed it is
+ * still served for up to max-stale, while a single background refresh
+ * replaces it. Past that window the value is dropped and never served again:
+ * the caller loads the value itself, and every concurrent caller for the same
+ * key waits on that one in-flight load instead of hitting the database again.
+ * When a background refresh fails on an error accepted for fallback (the
+ * database being down), the previous value keeps being served until it is
+ * past max-stale; any other error drops it, so the next read reports it.
+ * A refresh the executor cannot take is skipped and the stale value served;
+ * executors with a bounded queue should use {@link #discardRefreshes()}.
+ * </p>
+ *
+ * @param <K> the key type
+ * @param <V> the cached value type
+ */
+public class CoalescingCache<K, V> {
+
+    private final String name;
+    private final long freshForMillis;
+    private final long maxStaleMillis;
+    private final int maxEntries;
+    private final Executor refreshExecutor;
+    private final Predicate<Throwable> fallbackOn;
+    private final Clock clock;
+
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    private final Counter coalescedCounter;
+    private final Counter staleServedCounter;
+    private final Counter fallbackCounter;
+    private final Counter loadCounter;
+
+    public CoalescingCache(String name, Duration freshFor, Duration maxStale, int maxEntries,
+            Executor refreshExecutor, Predicate<Throwable> fallbackOn, MeterRegistry meterRegistry, Clock clock) {
+        this.name = name;
+        this.freshForMillis = freshFor.toMillis();
+        this.maxStaleMillis = maxStale.toMillis();
+        this.maxEntries = maxEntries;
+        this.refreshExecutor = refreshExecutor;
+        this.fallbackOn = fallbackOn;
+        this.clock = clock;
+        this.coalescedCounter = Counter.builder("apms.cache.coalesced")
+                .description("Reads that joined an in-flight load instead of querying the database")
+                .tag("cache", name)
+                .register(meterRegistry);
+        this.staleServedCounter = Counter.builder("apms.cache.stale.served")
+                .description("Reads answered with a value older than its fresh-for window")
+                .tag("cache", name)
+                .register(meterRegistry);
+        this.fallbackCounter = Counter.builder("apms.cache.fallback")
+                .description("Background refreshes that failed and left the cached value in place")
+                .tag("cache", name)
+                .register(meterRegistry);
+        this.loadCounter = Counter.builder("apms.cache.loads")
+                .description("Loads actually executed against the database")
+                .tag("cache", name)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Get the value for a key, loading it with the given loader when needed
+     *
+     * @param key    the cache key
+     * @param loader the database load, run at most once at a time per key
+     * @return the cached or freshly loaded value
+     */
+    public V get(K key, Supplier<V> loader) {
+        Entry<V> entry = entries.get(key);
+        if (entry != null) {
+            long age = clock.millis() - entry.loadedAt();
+            if (age <= freshForMillis) {
+                return entry.value();
+            }
+            if (age <= freshForMillis + maxStaleMillis) {
+                refreshInBackground(key, loader, entry);
+                staleServedCounter.increment();
+                return entry.value();
+            }
+            // Past max-stale the value is not served, even if the load fails
+            entries.remove(key, entry);
+        }
+        return loadCoalesced(key, loader);
+    }
+
+    /**
+     * Get the value for a key only if it is cached and still fresh, without
+     * loading or refreshing anything
+     *
+     * @param key the cache key
+     * @return the fresh value, or null
+     */
+    public V getIfFresh(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry != null && clock.millis() - entry.loadedAt() <= freshForMillis) {
+            return entry.value();
+        }
+        return null;
+    }
+
+    /**
+     * Drop the cached value for a key, so the next read goes to the database
+     *
+     * @param key the cache key
+     */
+    public void evict(K key) {
+        entries.remove(key);
+        inFlight.remove(key);
+    }
+
+    /**
+     * Drop every cached value
+     */
+    public void clear() {
+        entries.clear();
+        inFlight.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Rejection policy for refresh executors: a refresh that does not fit is
+     * dropped, and the cache keeps serving the stale value until another read
+     * schedules one again
+     *
+     * @return the rejection handler
+     */
+    public static RejectedExecutionHandler discardRefreshes() {
+        return (task, executor) -> {
+            if (task instanceof CoalescingCache<?, ?>.Refresh refresh) {
+                refresh.discard();
+            }
+        };
+    }
+
+    private V loadCoalesced(K key, Supplier<V> loader) {
+        CompletableFuture<V> own = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, own);
+        if (existing != null) {
+            coalescedCounter.increment();
+            return await(key, loader, existing);
+        }
+        try {
+            V value = load(key, loader, own);
+            own.complete(value);
+            return value;
+        } catch (RuntimeException ex) {
+            own.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(key, own);
+        }
+    }
+
+    private void refreshInBackground(K key, Supplier<V> loader, Entry<V> stale) {
+        CompletableFuture<V> own = new CompletableFuture<>();
+        if (inFlight.putIfAbsent(key, own) != null) {
+            return;
+        }
+        Refresh refresh = new Refresh(key, loader, stale, own);
+        try {
+            refreshExecutor.execute(refresh);
+        } catch (RuntimeException rejected) {
+            refresh.discard();
+        }
+    }
+
+    private V load(K key, Supplier<V> loader, CompletableFuture<V> own) {
+        loadCounter.increment();
+        V value = loader.get();
+        // An eviction while loading means the value may predate the write that
+        // triggered it, so it is handed to the waiting readers but not kept.
+        if (inFlight.get(key) == own) {
+            entries.put(key, new Entry<>(value, clock.millis()));
+            trimIfNeeded();
+        }
+        return value;
+    }
+
+    private V await(K key, Supplier<V> loader, CompletableFuture<V> future) {
+        try {
+            return future.get();
+        } catch (ExecutionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(cause);
+        } catch (CancellationException ex) {
+            // A background refresh rejected by its executor: load here instead
+            return loadCoalesced(key, loader);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for cache " + name, ex);
+        }
+    }
+
+    private void trimIfNeeded() {
+        int overflow = entries.size() - maxEntries;
+        if (overflow <= 0) {
+            return;
+        }
+        entries.entrySet().stream()
+                .sorted(Comparator.comparingLong(e -> e.getValue().loadedAt()))
+                .limit(overflow + (maxEntries / 10))
+                .map(Map.Entry::getKey)
+                .toList()
+                .forEach(entries::remove);
+    }
+
+    private record Entry<V>(V value, long loadedAt) {
+    }
+
+    /**
+     * Background reload of one stale key
+     */
+    private final class Refresh implements Runnable {
+        private final K key;
+        private final Supplier<V> loader;
+        private final Entry<V> stale;
+        private final CompletableFuture<V> own;
+
+        Refresh(K key, Supplier<V> loader, Entry<V> stale, CompletableFuture<V> own) {
+            this.key = key;
+            this.loader = loader;
+            this.stale = stale;
+            this.own = own;
+        }
+
+        @Override
+        public void run() {
+            try {
+                own.complete(load(key, loader, own));
+            } catch (RuntimeException ex) {
+                LoggerUtils.logServiceError("Background refresh of cache {} failed for key {}: {}",
+                        name, key, ex.getMessage());
+                if (fallbackOn.test(ex)) {
+                    fallbackCounter.increment();
+                } else {
+                    entries.remove(key, stale);
+                }
+                own.completeExceptionally(ex);
+            } finally {
+                inFlight.remove(key, own);
+            }
+        }
+
+        void discard() {
+            inFlight.remove(key, own);
+            own.cancel(false);
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package ma.ensa.apms.cache;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import ma.ensa.apms.dto.Response.ProductBacklogResponse;
+import ma.ensa.apms.dto.Response.ProgressResponse;
+import ma.ensa.apms.dto.Response.UserStoryResponse;
+
+/**
+ * Cache for the hot product backlog read endpoints.
+ * Wraps {@code GET /product-backlogs/{id}} and
+ * {@code GET /product-backlogs/{id}/user-stories} with request coalescing and
+ * stale-while-revalidate, keeping the last good value while the database is
+ * unavailable, up to max-stale.
+ *
+ * <p>
+ * The response DTOs are mutable, so every read returns its own copy of the
+ * cached value. A refresh that does not fit in the refresh queue is dropped
+ * and the stale value keeps being served.
+ * </p>
+ */
+@Component
+public class ProductBacklogReadCache {
+
+    private final ExecutorService refreshExecutor;
+    private final CoalescingCache<UUID, ProductBacklogResponse> backlogs;
+    private final CoalescingCache<UUID, List<UserStoryResponse>> userStories;
+
+    public ProductBacklogReadCache(MeterRegistry meterRegistry,
+            @Value("${apms.cache.product-backlog.fresh-for:5s}") Duration freshFor,
+            @Value("${apms.cache.product-backlog.max-stale:60s}") Duration maxStale,
+            @Value("${apms.cache.product-backlog.max-entries:10000}") int maxEntries,
+            @Value("${apms.cache.product-backlog.refresh-threads:2}") int refreshThreads) {
+        this.refreshExecutor = new ThreadPoolExecutor(refreshThreads, refreshThreads, 30, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(1000), new CustomizableThreadFactory("backlog-cache-refresh-"),
+                CoalescingCache.discardRefreshes());
+        this.backlogs = new CoalescingCache<>("product-backlog", freshFor, maxStale, maxEntries,
+                refreshExecutor, DataAccessException.class::isInstance, meterRegistry, Clock.systemUTC());
+        this.userStories = new CoalescingCache<>("product-backlog-user-stories", freshFor, maxStale, maxEntries,
+                refreshExecutor, DataAccessException.class::isInstance, meterRegistry, Clock.systemUTC());
+    }
+
+    /**
+     * Get a product backlog response through the cache
+     *
+     * @param id     the product backlog ID
+     * @param loader the database load
+     * @return the product backlog response
+     */
+    public ProductBacklogResponse getProductBacklog(UUID id, Supplier<ProductBacklogResponse> loader) {
+        return copy(backlogs.get(id, loader));
+    }
+
+    /**
+     * Get a product backlog response if the cache holds a fresh one
+     *
+     * @param id the product backlog ID
+     * @return the cached response, or null
+     */
+    public ProductBacklogResponse peekProductBacklog(UUID id) {
+        return copy(backlogs.getIfFresh(id));
+    }
+
+    /**
+     * Get the user stories of a product backlog through the cache
+     *
+     * @param productBacklogId the product backlog ID
+     * @param loader           the database load
+     * @return the user stories of the product backlog
+     */
+    public List<UserStoryResponse> getUserStories(UUID productBacklogId, Supplier<List<UserStoryResponse>> loader) {
+        return userStories.get(productBacklogId, loader).stream()
+                .map(ProductBacklogReadCache::copy)
+                .toList();
+    }
+
+    /**
+     * Evict every cached read of a product backlog after a write to it.
+     * Inside a transaction the eviction is repeated after commit, so a read
+     * racing with the write cannot re-cache the pre-commit state.
+     *
+     * @param productBacklogId the product backlog ID
+     */
+    public void evict(UUID productBacklogId) {
+        evictNow(productBacklogId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictNow(productBacklogId);
+                }
+            });
+        }
+    }
+
+    private void evictNow(UUID productBacklogId) {
+        backlogs.evict(productBacklogId);
+        userStories.evict(productBacklogId);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
+
+    private static ProductBacklogResponse copy(ProductBacklogResponse response) {
+        if (response == null) {
+            return null;
+        }
+        return ProductBacklogResponse.builder()
+                .id(response.getId())
+                .name(response.getName())
+                .createdAt(response.getCreatedAt())
+                .updatedAt(response.getUpdatedAt())
+                .userStoryCount(response.getUserStoryCount())
+                .epicCount(response.getEpicCount())
+                .progress(copy(response.getProgress()))
+                .build();
+    }
+
+    private static ProgressResponse copy(ProgressResponse progress) {
+        if (progress == null) {
+            return null;
+        }
+        return ProgressResponse.builder()
+                .storiesByStatus(progress.getStoriesByStatus() != null
+                        ? new LinkedHashMap<>(progress.getStoriesByStatus())
+                        : null)
+                .totalStories(progress.getTotalStories())
+                .percentComplete(progress.getPercentComplete())
+                .build();
+    }
+
+    private static UserStoryResponse copy(UserStoryResponse story) {
+        return UserStoryResponse.builder()
+                .id(story.getId())
+                .name(story.getName())
+                .role(story.getRole())
+                .feature(story.getFeature())
+                .benefit(story.getBenefit())
+                .priority(story.getPriority())
+                .status(story.getStatus())
+                .rank(story.getRank())
+                .build();
+    }
+}
@@ -0,0 +1,259 @@
+package ma.ensa.apms.cache;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
+import org.springframework.util.unit.DataSize;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Cache of response bodies already serialized to UTF-8 JSON, one fragment per
+ * entity.
+ *
+ * <p>
+ * A fragment is keyed by entity type, ID and field set, and is only served for
+ * the entity version it was serialized from, so an update never needs to
+ * invalidate anything: the next read carries a new version and replaces the
+ * fragment. Single responses are copied as-is to the output stream and list
+ * responses are assembled by joining fragments, skipping both the DTO mapping
+ * and Jackson on a hit. The cache is bounded by the bytes it holds and evicts
+ * the least recently used fragments first.
+ * </p>
+ *
+ * <p>
+ * On a miss, the time and the bytes allocated by the current thread to map and
+ * serialize the entity are kept with the fragment. Each request then records
+ * the sum of those costs over its hits as the CPU time and allocation it was
+ * spared.
+ * </p>
+ */
+@Component
+public class SerializedResponseCache {
+
+    /** Estimated heap cost of a fragment on top of its bytes: entry, slot and map node */
+    static final int ENTRY_OVERHEAD = 160;
+
+    private static final com.sun.management.ThreadMXBean THREADS = threadMXBean();
+
+    private final ObjectMapper objectMapper;
+    private final long maxBytes;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<Slot, Fragment> fragments = new LinkedHashMap<>(1024, 0.75f, true);
+    private long bytes;
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter evictionCounter;
+    private final Timer savedCpu;
+    private final DistributionSummary savedAllocation;
+
+    public SerializedResponseCache(ObjectMapper objectMapper, MeterRegistry meterRegistry,
+            @Value("${apms.cache.serialized-responses.max-size:64MB}") DataSize maxSize) {
+        this.objectMapper = objectMapper;
+        this.maxBytes = maxSize.toBytes();
+        this.hitCounter = Counter.builder("apms.cache.fragments.hits")
+                .description("Entities written from an already serialized fragment")
+                .register(meterRegistry);
+        this.missCounter = Counter.builder("apms.cache.fragments.misses")
+                .description("Entities mapped and serialized because no fragment matched their version")
+                .register(meterRegistry);
+        this.evictionCounter = Counter.builder("apms.cache.fragments.evictions")
+                .description("Fragments evicted to keep the cache within its size")
+                .register(meterRegistry);
+        Gauge.builder("apms.cache.fragments.size", this, SerializedResponseCache::size)
+                .description("Bytes held by the cached fragments, overhead included")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        this.savedCpu = Timer.builder("apms.cache.fragments.saved.cpu")
+                .description("Mapping and serialization time spared to a request by fragment hits")
+                .register(meterRegistry);
+        this.savedAllocation = DistributionSummary.builder("apms.cache.fragments.saved.allocation")
+                .description("Bytes the mapping and serialization would have allocated for a request")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Write one entity as a JSON object
+     *
+     * @param out   the response stream, left open
+     * @param key   the fragment key of the entity
+     * @param item  the entity
+     * @param value the mapping of the entity to the serialized value, only
+     *              called on a miss
+     */
+    public <T> void writeObject(OutputStream out, Key key, T item, Function<T, ?> value) throws IOException {
+        Saving saving = new Saving();
+        out.write(fragment(key, item, value, saving));
+        saving.record();
+    }
+
+    /**
+     * Write entities as a JSON array of their fragments, in list order
+     *
+     * @param out   the response stream, left open
+     * @param items the entities
+     * @param key   the fragment key of an entity
+     * @param value the mapping of an entity to the serialized value, only
+     *              called on a miss
+     */
+    public <T> void writeArray(OutputStream out, List<T> items, Function<T, Key> key, Function<T, ?> value)
+            throws IOException {
+        Saving saving = new Saving();
+        out.write('[');
+        for (int i = 0; i < items.size(); i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            T item = items.get(i);
+            out.write(fragment(key.apply(item), item, value, saving));
+        }
+        out.write(']');
+        saving.record();
+    }
+
+    /**
+     * Write a value with the application object mapper, bypassing the cache
+     *
+     * @param out   the response stream, left open
+     * @param value the value to serialize
+     */
+    public void writeUncached(OutputStream out, Object value) throws IOException {
+        objectMapper.writeValue(StreamUtils.nonClosing(out), value);
+    }
+
+    /**
+     * Bytes held by the cached fragments, overhead included
+     *
+     * @return the size of the cache in bytes
+     */
+    public long size() {
+        lock.lock();
+        try {
+            return bytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private <T> byte[] fragment(Key key, T item, Function<T, ?> value, Saving saving) throws IOException {
+        Slot slot = new Slot(key.type(), key.id(), key.fields());
+        Fragment cached;
+        lock.lock();
+        try {
+            cached = fragments.get(slot);
+        } finally {
+            lock.unlock();
+        }
+        if (cached != null && cached.version() == key.version()) {
+            hitCounter.increment();
+            saving.add(cached);
+            return cached.json();
+        }
+
+        missCounter.increment();
+        long allocatedBefore = allocatedBytes();
+        long start = System.nanoTime();
+        byte[] json = objectMapper.writeValueAsBytes(value.apply(item));
+        Fragment fragment = new Fragment(key.version(), json, System.nanoTime() - start,
+                allocatedBytes() - allocatedBefore);
+        put(slot, fragment);
+        return json;
+    }
+
+    private void put(Slot slot, Fragment fragment) {
+        long weight = fragment.json().length + ENTRY_OVERHEAD;
+        if (weight > maxBytes) {
+            return;
+        }
+        lock.lock();
+        try {
+            Fragment previous = fragments.put(slot, fragment);
+            if (previous != null) {
+                bytes -= previous.json().length + ENTRY_OVERHEAD;
+            }
+            bytes += weight;
+            Iterator<Map.Entry<Slot, Fragment>> eldest = fragments.entrySet().iterator();
+            while (bytes > maxBytes) {
+                bytes -= eldest.next().getValue().json().length + ENTRY_OVERHEAD;
+                eldest.remove();
+                evictionCounter.increment();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static long allocatedBytes() {
+        return THREADS != null ? THREADS.getCurrentThreadAllocatedBytes() : 0;
+    }
+
+    private static com.sun.management.ThreadMXBean threadMXBean() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads
+                && threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled()) {
+            return threads;
+        }
+        return null;
+    }
+
+    /**
+     * Key of a fragment
+     *
+     * @param type    the serialized type
+     * @param id      the entity ID
+     * @param version the entity version the fragment must have been
+     *                serialized from
+     * @param fields  the serialized field set, empty for the full type
+     */
+    public record Key(Class<?> type, UUID id, long version, String fields) {
+
+        public static Key of(Class<?> type, UUID id, long version) {
+            return new Key(type, id, version, "");
+        }
+    }
+
+    private record Slot(Class<?> type, UUID id, String fields) {
+    }
+
+    private record Fragment(long version, byte[] json, long costNanos, long costBytes) {
+    }
+
+    /**
+     * Cost spared to the current request by its hits
+     */
+    private final class Saving {
+
+        private long nanos;
+        private long allocated;
+
+        private void add(Fragment fragment) {
+            nanos += fragment.costNanos();
+            allocated += fragment.costBytes();
+        }
+
+        private void record() {
+            savedCpu.record(nanos, TimeUnit.NANOSECONDS);
+            savedAllocation.record(allocated);
+        }
+    }
+}
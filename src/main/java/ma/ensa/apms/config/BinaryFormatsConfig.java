@@ -0,0 +1,76 @@
+package ma.ensa.apms.config;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.lang.NonNull;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.protobuf.ProtobufFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+import lombok.RequiredArgsConstructor;
+import ma.ensa.apms.serialization.JacksonProtobufHttpMessageConverter;
+import ma.ensa.apms.serialization.ProtobufUuidDeserializer;
+import ma.ensa.apms.serialization.SerializedBodyHttpMessageConverter;
+
+/**
+ * Binary encodings of the API, negotiated through the {@code Accept} header:
+ * {@code application/cbor}, {@code application/x-jackson-smile} and
+ * {@code application/x-protobuf}.
+ *
+ * <p>
+ * The converters are appended after the JSON one, so JSON stays the default
+ * when a client accepts anything. They are built from the same Jackson
+ * settings as JSON; CBOR and Smile additionally write dates as numeric
+ * timestamps and UUIDs as raw bytes, sparing clients the string parsing.
+ * Protobuf keeps ISO dates and UUID strings so the generated schemas stay
+ * plain scalar fields; the UUID strings are read back by
+ * {@link ProtobufUuidDeserializer}.
+ * </p>
+ *
+ * <p>
+ * Handlers returning a {@link ma.ensa.apms.serialization.SerializedBody} go
+ * through the first converter, which writes JSON from cached fragments and
+ * hands every other type to the converters below.
+ * </p>
+ */
+@Configuration
+@RequiredArgsConstructor
+public class BinaryFormatsConfig implements WebMvcConfigurer {
+
+    private final ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilder;
+
+    @Override
+    public void extendMessageConverters(@NonNull List<HttpMessageConverter<?>> converters) {
+        converters.removeIf(converter -> converter instanceof MappingJackson2CborHttpMessageConverter
+                || converter instanceof MappingJackson2SmileHttpMessageConverter);
+        converters.add(new MappingJackson2CborHttpMessageConverter(binaryMapper(new CBORFactory())));
+        converters.add(new MappingJackson2SmileHttpMessageConverter(binaryMapper(new SmileFactory())));
+        converters.add(new JacksonProtobufHttpMessageConverter(objectMapperBuilder.getObject()
+                .factory(new ProtobufFactory())
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .serializerByType(UUID.class, ToStringSerializer.instance)
+                .deserializerByType(UUID.class, new ProtobufUuidDeserializer())
+                .build()));
+        converters.add(0, new SerializedBodyHttpMessageConverter(converters));
+    }
+
+    private ObjectMapper binaryMapper(JsonFactory factory) {
+        return objectMapperBuilder.getObject()
+                .factory(factory)
+                .featuresToEnable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+    }
+}
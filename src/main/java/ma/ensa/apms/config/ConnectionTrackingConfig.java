@@ -0,0 +1,45 @@
+package ma.ensa.apms.config;
+
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import ma.ensa.apms.connection.ConnectionTrackingDataSource;
+
+/**
+ * Wraps the data source in a {@link ConnectionTrackingDataSource}, so every
+ * connection taken from the pool reports its hold time.
+ *
+ * <p>
+ * The pool metrics still bind to the pool behind the wrapper, which Spring
+ * Boot unwraps. Open session in view is off ({@code spring.jpa.open-in-view}),
+ * so a request holds a connection only for its transactions, never while the
+ * response is serialized.
+ * </p>
+ */
+@Configuration
+@ConditionalOnProperty(name = "apms.connection-tracking.enabled", havingValue = "true", matchIfMissing = true)
+public class ConnectionTrackingConfig {
+
+    @Bean
+    static BeanPostProcessor connectionTrackingPostProcessor(ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${apms.connection-tracking.hold-warning:500ms}") Duration holdWarning) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ConnectionTrackingDataSource)) {
+                    return new ConnectionTrackingDataSource(dataSource, meterRegistry.getObject(), holdWarning);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,42 @@
+package ma.ensa.apms.config;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+import ma.ensa.apms.jfr.JfrRecordingEndpoint;
+import ma.ensa.apms.jfr.RepositoryCallInterceptor;
+
+/**
+ * Flight Recorder support: a {@link RepositoryCallInterceptor} on every
+ * repository and the {@code /actuator/jfr} endpoint, exposed with the
+ * {@code profiling} profile only. The service operation events come from the
+ * logging aspect.
+ */
+@Configuration
+@ConditionalOnProperty(name = "apms.jfr.enabled", havingValue = "true", matchIfMissing = true)
+public class JfrConfig {
+
+    @Bean
+    public JfrRecordingEndpoint jfrRecordingEndpoint() {
+        return new JfrRecordingEndpoint();
+    }
+
+    @Bean
+    static BeanPostProcessor repositoryCallEventsPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxyFactory, repositoryInformation) -> proxyFactory.addAdvice(
+                                    new RepositoryCallInterceptor(repositoryInformation.getRepositoryInterface(),
+                                            factory.getEntityInformation(repositoryInformation.getDomainType())))));
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,66 @@
+package ma.ensa.apms.config;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import ma.ensa.apms.limiter.ConcurrencyLimiter;
+import ma.ensa.apms.limiter.GradientLimit;
+import ma.ensa.apms.limiter.LoadSheddingFilter;
+import ma.ensa.apms.limiter.RequestClass;
+
+/**
+ * Adaptive concurrency limits in front of the controllers, one per
+ * {@link RequestClass}, configured under {@code apms.limiter.<class>.*}.
+ *
+ * <p>
+ * The filter runs right after the observation filter, so shed requests still
+ * show up in the HTTP metrics.
+ * </p>
+ */
+@Configuration
+@ConditionalOnProperty(name = "apms.limiter.enabled", havingValue = "true", matchIfMissing = true)
+public class LoadSheddingConfig {
+
+    private static final Map<RequestClass, int[]> DEFAULT_LIMITS = Map.of(
+            RequestClass.READ, new int[] { 20, 4, 200 },
+            RequestClass.WRITE, new int[] { 10, 2, 50 },
+            RequestClass.BULK, new int[] { 2, 1, 8 });
+
+    @Bean
+    public FilterRegistrationBean<LoadSheddingFilter> loadSheddingFilter(Environment environment,
+            ObjectMapper objectMapper, MeterRegistry meterRegistry,
+            @Value("${apms.limiter.tolerance:1.5}") double tolerance,
+            @Value("${apms.limiter.rtt-window:500}") int rttWindow,
+            @Value("${apms.limiter.retry-after:1s}") Duration retryAfter,
+            @Value("${apms.limiter.bulk-paths:/**/batch-get,/**/export/**,/**/snapshot}") List<String> bulkPaths,
+            @Value("${apms.limiter.excluded-paths:/actuator/**,/**/events}") List<String> excludedPaths) {
+        Map<RequestClass, ConcurrencyLimiter> limiters = new EnumMap<>(RequestClass.class);
+        for (RequestClass requestClass : RequestClass.values()) {
+            String prefix = "apms.limiter." + requestClass.tag() + ".";
+            int[] defaults = DEFAULT_LIMITS.get(requestClass);
+            limiters.put(requestClass, new ConcurrencyLimiter(new GradientLimit(
+                    environment.getProperty(prefix + "initial-limit", Integer.class, defaults[0]),
+                    environment.getProperty(prefix + "min-limit", Integer.class, defaults[1]),
+                    environment.getProperty(prefix + "max-limit", Integer.class, defaults[2]),
+                    tolerance, rttWindow)));
+        }
+
+        FilterRegistrationBean<LoadSheddingFilter> registration = new FilterRegistrationBean<>(new LoadSheddingFilter(
+                limiters, bulkPaths, excludedPaths, retryAfter, objectMapper, meterRegistry));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 2);
+        return registration;
+    }
+}
@@ -0,0 +1,12 @@
+package ma.ensa.apms.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables the {@code @Scheduled} background jobs
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,43 @@
+package ma.ensa.apms.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import ma.ensa.apms.connection.SlowQueryEndpoint;
+import ma.ensa.apms.connection.SlowQueryLog;
+
+/**
+ * Slow-query log: registers the {@link SlowQueryLog} as a datasource-proxy
+ * listener and serves its report at {@code /actuator/slowqueries}.
+ *
+ * <p>
+ * The listener is picked up by the datasource-proxy wrapper that JDBC tracing
+ * already puts around the data source ({@code jdbc.datasource-proxy.enabled}),
+ * so statements go through a single proxy for both.
+ * </p>
+ */
+@Configuration
+@ConditionalOnProperty(name = "apms.slow-query.enabled", havingValue = "true", matchIfMissing = true)
+public class SlowQueryConfig {
+
+    @Bean
+    public SlowQueryLog slowQueryLog(ObjectProvider<JdbcTemplate> jdbcTemplate,
+            @Value("${apms.slow-query.threshold:200ms}") Duration threshold,
+            @Value("${apms.slow-query.max-shapes:500}") int maxShapes,
+            @Value("${apms.slow-query.recent-size:100}") int recentSize,
+            @Value("${apms.slow-query.explain-top:5}") int explainTop,
+            @Value("${apms.slow-query.include-parameter-values:false}") boolean includeParameterValues) {
+        return new SlowQueryLog(threshold, maxShapes, recentSize, explainTop, includeParameterValues, jdbcTemplate);
+    }
+
+    @Bean
+    public SlowQueryEndpoint slowQueryEndpoint(SlowQueryLog slowQueryLog) {
+        return new SlowQueryEndpoint(slowQueryLog);
+    }
+}
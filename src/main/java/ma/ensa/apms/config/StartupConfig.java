@@ -0,0 +1,44 @@
+package ma.ensa.apms.config;
+
+import java.lang.reflect.Method;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Keeps the beans that do their work at startup eager when
+ * {@code spring.main.lazy-initialization} is on (profile
+ * {@code fast-startup}).
+ *
+ * <p>
+ * A bean with a {@code @PostConstruct} method registers Hibernate listeners,
+ * loads an index or prepares the schema; a bean with {@code @Scheduled}
+ * methods is never asked for, so created lazily its jobs would never run.
+ * Every other bean is created on first use.
+ * </p>
+ */
+@Configuration
+public class StartupConfig {
+
+    @Bean
+    static LazyInitializationExcludeFilter startupWorkExcludeFilter() {
+        return (beanName, beanDefinition, beanType) -> beanType != null && hasStartupWork(beanType);
+    }
+
+    static boolean hasStartupWork(Class<?> beanType) {
+        for (Method method : ReflectionUtils.getUniqueDeclaredMethods(ClassUtils.getUserClass(beanType))) {
+            if (method.isAnnotationPresent(PostConstruct.class)
+                    || AnnotatedElementUtils.hasAnnotation(method, Scheduled.class)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,27 @@
+package ma.ensa.apms.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.server.observation.ServerRequestObservationConvention;
+
+import ma.ensa.apms.tracing.PathVariablesObservationConvention;
+
+/**
+ * Tracing, on top of the OpenTelemetry bridge configured by Spring Boot
+ * ({@code management.tracing.*}, {@code management.otlp.tracing.*}).
+ *
+ * <p>
+ * Each request gets a span with its path variables, each service
+ * implementation method a child span (see {@code LoggingAspect}), and each
+ * JDBC statement and result set a span with its parameters and row count
+ * ({@code jdbc.*}). Trace and span ids are put in the MDC and logged.
+ * </p>
+ */
+@Configuration
+public class TracingConfig {
+
+    @Bean
+    public ServerRequestObservationConvention pathVariablesObservationConvention() {
+        return new PathVariablesObservationConvention();
+    }
+}
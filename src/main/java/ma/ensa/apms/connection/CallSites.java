@@ -0,0 +1,42 @@
+package ma.ensa.apms.connection;
+
+/**
+ * Finds the application code behind a JDBC call
+ */
+final class CallSites {
+
+    static final String NONE = "none";
+
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+    private static final String APPLICATION_PACKAGE = "ma.ensa.apms.";
+    private static final String[] SKIPPED_PACKAGES = { "ma.ensa.apms.connection.", "ma.ensa.apms.aspect." };
+
+    private CallSites() {
+    }
+
+    /**
+     * @return the first application frame on the current stack, outside this
+     *         package and the logging aspect and skipping generated proxies, as
+     *         {@code class.method:line}; for a {@code @Transactional} method
+     *         that takes its connection on entry, that is its caller
+     */
+    static String current() {
+        return STACK_WALKER.walk(frames -> frames
+                .filter(frame -> isApplicationFrame(frame.getClassName()))
+                .findFirst()
+                .map(frame -> frame.getClassName() + "." + frame.getMethodName() + ":" + frame.getLineNumber()))
+                .orElse(NONE);
+    }
+
+    private static boolean isApplicationFrame(String className) {
+        if (!className.startsWith(APPLICATION_PACKAGE) || className.contains("$$")) {
+            return false;
+        }
+        for (String skipped : SKIPPED_PACKAGES) {
+            if (className.startsWith(skipped)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
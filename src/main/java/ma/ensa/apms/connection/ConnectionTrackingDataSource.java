@@ -0,0 +1,139 @@
+package ma.ensa.apms.connection;
+
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.util.StringUtils;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import ma.ensa.apms.logging.LoggerUtils;
+
+/**
+ * Measures how long each pooled connection is held, per endpoint.
+ *
+ * <p>
+ * Every connection handed out is wrapped; its hold time, from checkout until
+ * {@code close()} returns it to the pool, is recorded in the
+ * {@code apms.db.connection.hold} timer, tagged with the HTTP method and the
+ * matched URI pattern of the request that took it ({@code none} outside
+ * requests). A connection held longer than the warning threshold is logged
+ * with the first application frame that was on the stack when it was taken.
+ * Pool wait time and active / idle counts come from the pool itself
+ * ({@code hikaricp.connections.*}).
+ * </p>
+ */
+public class ConnectionTrackingDataSource extends DelegatingDataSource {
+
+    private final MeterRegistry meterRegistry;
+    private final long holdWarningNanos;
+    private final Counter longHolds;
+
+    public ConnectionTrackingDataSource(DataSource target, MeterRegistry meterRegistry, Duration holdWarning) {
+        super(target);
+        this.meterRegistry = meterRegistry;
+        this.holdWarningNanos = holdWarning.toNanos();
+        this.longHolds = Counter.builder("apms.db.connection.long-holds")
+                .description("Connections held longer than the warning threshold")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return track(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return track(super.getConnection(username, password));
+    }
+
+    private Connection track(Connection connection) {
+        return ForwardingHandler.proxy(Connection.class,
+                new HeldConnection(connection, currentEndpoint(), CallSites.current()));
+    }
+
+    void released(Endpoint endpoint, String callSite, long heldNanos) {
+        Timer.builder("apms.db.connection.hold")
+                .description("Time a pooled connection is held, from checkout to close")
+                .tags("method", endpoint.method(), "uri", endpoint.uri())
+                .register(meterRegistry)
+                .record(heldNanos, TimeUnit.NANOSECONDS);
+        if (heldNanos > holdWarningNanos) {
+            longHolds.increment();
+            LoggerUtils.logServiceWarn("Connection held for {} ms by {} {} (taken at {})",
+                    TimeUnit.NANOSECONDS.toMillis(heldNanos), endpoint.method(), endpoint.uri(), callSite);
+        }
+    }
+
+    /**
+     * @return the method and matched pattern of the current request, or
+     *         {@code none} when the connection is not taken for a request or
+     *         either is empty
+     */
+    static Endpoint currentEndpoint() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes servletAttributes)) {
+            return new Endpoint(CallSites.NONE, CallSites.NONE);
+        }
+        HttpServletRequest request = servletAttributes.getRequest();
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return new Endpoint(orNone(request.getMethod()), orNone(pattern != null ? pattern.toString() : null));
+    }
+
+    /**
+     * Tag values must not be empty: a missing method or pattern is tagged
+     * {@code none}
+     */
+    private static String orNone(String value) {
+        return StringUtils.hasText(value) ? value : CallSites.NONE;
+    }
+
+    record Endpoint(String method, String uri) {
+    }
+
+    /**
+     * Reports the hold time on the first {@code close()}
+     */
+    private final class HeldConnection extends ForwardingHandler {
+
+        private final Endpoint endpoint;
+        private final String callSite;
+        private final long takenAt = System.nanoTime();
+        private boolean closed;
+
+        private HeldConnection(Connection target, Endpoint endpoint, String callSite) {
+            super(target);
+            this.endpoint = endpoint;
+            this.callSite = callSite;
+        }
+
+        @Override
+        Object intercept(Object proxy, Method method, Object[] args) throws Throwable {
+            if (!"close".equals(method.getName())) {
+                return forward(method, args);
+            }
+            if (!closed) {
+                closed = true;
+                try {
+                    forward(method, args);
+                } finally {
+                    released(endpoint, callSite, System.nanoTime() - takenAt);
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package ma.ensa.apms.connection;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+/**
+ * Base of the JDBC proxies: forwards every call to the wrapped object, keeps
+ * identity equality, and lets {@code unwrap} reach either the proxy or the
+ * object behind it.
+ */
+abstract class ForwardingHandler implements InvocationHandler {
+
+    final Object target;
+
+    ForwardingHandler(Object target) {
+        this.target = target;
+    }
+
+    static <T> T proxy(Class<T> type, ForwardingHandler handler) {
+        return type.cast(Proxy.newProxyInstance(ForwardingHandler.class.getClassLoader(), new Class<?>[] { type },
+                handler));
+    }
+
+    @Override
+    public final Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        switch (method.getName()) {
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "unwrap":
+                if (((Class<?>) args[0]).isInstance(proxy)) {
+                    return proxy;
+                }
+                break;
+            case "isWrapperFor":
+                if (((Class<?>) args[0]).isInstance(proxy)) {
+                    return true;
+                }
+                break;
+            default:
+                break;
+        }
+        return intercept(proxy, method, args);
+    }
+
+    /**
+     * Handle a call not answered by the proxy itself; forwards by default
+     */
+    Object intercept(Object proxy, Method method, Object[] args) throws Throwable {
+        return forward(method, args);
+    }
+
+    final Object forward(Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package ma.ensa.apms.connection;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free latency histogram in microseconds, four buckets per power of two
+ * (at most 25% above the true value).
+ */
+final class LatencyHistogram {
+
+    private static final int BUCKETS = 248;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+    void record(long micros) {
+        counts.incrementAndGet(index(micros));
+    }
+
+    /**
+     * @param quantile between 0 and 1, e.g. 0.99
+     * @return the upper bound in microseconds of the bucket holding the
+     *         quantile, 0 when nothing was recorded
+     */
+    long percentile(double quantile) {
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            total += counts.get(i);
+        }
+        long rank = (long) Math.ceil(quantile * total);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS && total > 0; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return upperBound(i);
+            }
+        }
+        return 0;
+    }
+
+    static int index(long micros) {
+        if (micros < 4) {
+            return (int) Math.max(micros, 0);
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(micros);
+        int sub = (int) ((micros >>> (exponent - 2)) & 3);
+        return 4 * (exponent - 1) + sub;
+    }
+
+    static long upperBound(int index) {
+        if (index < 4) {
+            return index + 1L;
+        }
+        int exponent = index / 4 + 1;
+        return (1L << exponent) + ((long) (index % 4 + 1) << (exponent - 2));
+    }
+}
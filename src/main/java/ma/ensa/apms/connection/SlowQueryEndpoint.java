@@ -0,0 +1,22 @@
+package ma.ensa.apms.connection;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * {@code /actuator/slowqueries}: per-shape statement statistics, recent slow
+ * statements and the sampled execution plans
+ */
+@Endpoint(id = "slowqueries")
+@RequiredArgsConstructor
+public class SlowQueryEndpoint {
+
+    private final SlowQueryLog slowQueryLog;
+
+    @ReadOperation
+    public SlowQueryLog.Report slowQueries() {
+        return slowQueryLog.report();
+    }
+}
@@ -0,0 +1,311 @@
+package ma.ensa.apms.connection;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import ma.ensa.apms.logging.LoggerUtils;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+
+/**
+ * In-memory statistics of the SQL statements run through the datasource-proxy
+ * wrapper installed for JDBC tracing, replacing {@code spring.jpa.show-sql}.
+ *
+ * <p>
+ * Every execution is counted against its {@link SqlShape}: count, total time,
+ * max and p99. An execution slower than the threshold is also logged and kept,
+ * with its bind parameters and the application frame that ran it, in a
+ * bounded list of recent slow statements; the slowest one of each shape is
+ * kept as its sample. On a schedule, the shapes with the most total time are
+ * run through {@code EXPLAIN} with their sample's parameters (queries only, so
+ * nothing is executed). The report is served at {@code /actuator/slowqueries}.
+ * </p>
+ *
+ * <p>
+ * Bind values may hold user data: unless they are explicitly included, they
+ * are reported and logged as {@code ?}, slow statements are reported by their
+ * shape, and the quoted literals of the plans are masked. The values are only
+ * kept in memory to run the {@code EXPLAIN}.
+ * </p>
+ */
+public class SlowQueryLog implements QueryExecutionListener {
+
+    static final String OTHER_SHAPES = "(other)";
+
+    private static final int MAX_PARAMETER_LENGTH = 200;
+    private static final String MASKED = "?";
+    private static final String STARTED_AT = SlowQueryLog.class.getName() + ".startedAt";
+
+    private final long thresholdNanos;
+    private final int maxShapes;
+    private final int recentSize;
+    private final int explainTop;
+    private final boolean includeParameterValues;
+    private final ObjectProvider<JdbcTemplate> jdbcTemplate;
+
+    private final Map<String, String> shapeCache = new ConcurrentHashMap<>();
+    private final Map<String, ShapeStats> shapes = new ConcurrentHashMap<>();
+    private final Deque<SlowStatement> recent = new ArrayDeque<>();
+
+    public SlowQueryLog(Duration threshold, int maxShapes, int recentSize, int explainTop,
+            boolean includeParameterValues, ObjectProvider<JdbcTemplate> jdbcTemplate) {
+        this.thresholdNanos = threshold.toNanos();
+        this.maxShapes = maxShapes;
+        this.recentSize = recentSize;
+        this.explainTop = explainTop;
+        this.includeParameterValues = includeParameterValues;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        execInfo.addCustomValue(STARTED_AT, System.nanoTime());
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Long startedAt = execInfo.getCustomValue(STARTED_AT, Long.class);
+        long nanos = startedAt != null ? System.nanoTime() - startedAt
+                : TimeUnit.MILLISECONDS.toNanos(execInfo.getElapsedTime());
+        for (QueryInfo query : queryInfoList) {
+            record(query.getQuery(), nanos, () -> parameters(query));
+        }
+    }
+
+    /**
+     * @return the positional bind values of the first parameter set of a
+     *         query, by position
+     */
+    private static List<Object> parameters(QueryInfo query) {
+        if (query.getParametersList().isEmpty()) {
+            return List.of();
+        }
+        Map<Integer, Object> byIndex = new TreeMap<>();
+        for (ParameterSetOperation operation : query.getParametersList().get(0)) {
+            Object[] args = operation.getArgs();
+            if (ParameterSetOperation.isRegisterOutParameterOperation(operation) || args == null
+                    || args.length < 2 || !(args[0] instanceof Integer index)) {
+                continue;
+            }
+            byIndex.put(index, ParameterSetOperation.isSetNullParameterOperation(operation) ? null : args[1]);
+        }
+        return new ArrayList<>(byIndex.values());
+    }
+
+    /**
+     * Count one execution
+     *
+     * @param sql        the statement as sent to the driver
+     * @param nanos      its execution time
+     * @param parameters its bind parameters by position, only read when the
+     *                   execution was slow
+     */
+    void record(String sql, long nanos, Supplier<List<Object>> parameters) {
+        if (sql == null || sql.regionMatches(true, 0, "explain ", 0, 8)) {
+            return;
+        }
+        String shape = shapeOf(sql);
+        ShapeStats stats = shapes.get(shape);
+        if (stats == null) {
+            stats = shapes.computeIfAbsent(shapes.size() < maxShapes ? shape : OTHER_SHAPES,
+                    key -> new ShapeStats());
+        }
+        stats.record(nanos);
+        if (nanos < thresholdNanos) {
+            return;
+        }
+
+        SlowStatement slow = new SlowStatement(shape, sql, parameters.get(), CallSites.current(), nanos,
+                Instant.now());
+        stats.slow(slow);
+        synchronized (recent) {
+            recent.addFirst(slow);
+            while (recent.size() > recentSize) {
+                recent.removeLast();
+            }
+        }
+        LoggerUtils.logServiceWarn("Slow query: {} ms at {}: {} {}", TimeUnit.NANOSECONDS.toMillis(nanos),
+                slow.caller(), shape, render(slow.parameters()));
+    }
+
+    private String shapeOf(String sql) {
+        String shape = shapeCache.get(sql);
+        if (shape == null) {
+            shape = SqlShape.of(sql);
+            if (shapeCache.size() < maxShapes * 4) {
+                shapeCache.put(sql, shape);
+            }
+        }
+        return shape;
+    }
+
+    /**
+     * Explain the sample of the shapes with the most total time
+     */
+    @Scheduled(fixedDelayString = "${apms.slow-query.explain-interval:PT5M}",
+            initialDelayString = "${apms.slow-query.explain-interval:PT5M}")
+    public void explainWorstShapes() {
+        JdbcTemplate jdbc = jdbcTemplate.getIfAvailable();
+        if (jdbc == null) {
+            return;
+        }
+        shapes.values().stream()
+                .filter(stats -> stats.sample != null && isQuery(stats.sample.sql()))
+                .sorted(Comparator.comparingLong((ShapeStats stats) -> stats.totalNanos.sum()).reversed())
+                .limit(explainTop)
+                .forEach(stats -> explain(jdbc, stats));
+    }
+
+    private void explain(JdbcTemplate jdbc, ShapeStats stats) {
+        SlowStatement sample = stats.sample;
+        List<String> plan;
+        try {
+            plan = jdbc.query("EXPLAIN " + sample.sql(), (rs, rowNum) -> rs.getString(1),
+                    sample.parameters().toArray());
+        } catch (DataAccessException e) {
+            plan = List.of("EXPLAIN failed: " + e.getMostSpecificCause().getMessage());
+        }
+        // The plan conditions repeat the bound values
+        stats.plan = includeParameterValues ? plan : plan.stream().map(SqlShape::maskStringLiterals).toList();
+        stats.explainedAt = Instant.now();
+    }
+
+    private static boolean isQuery(String sql) {
+        String start = sql.stripLeading();
+        return start.regionMatches(true, 0, "select", 0, 6) || start.regionMatches(true, 0, "with", 0, 4);
+    }
+
+    /**
+     * @return the shapes by total time, most first, and the recent slow
+     *         statements, most recent first
+     */
+    public Report report() {
+        List<ShapeReport> shapeReports = shapes.entrySet().stream()
+                .map(entry -> entry.getValue().report(entry.getKey()))
+                .sorted(Comparator.comparingDouble(ShapeReport::totalMillis).reversed())
+                .toList();
+        List<SlowStatementReport> recentReports;
+        synchronized (recent) {
+            recentReports = recent.stream().map(this::report).toList();
+        }
+        return new Report(millis(thresholdNanos), shapeReports, recentReports);
+    }
+
+    private SlowStatementReport report(SlowStatement statement) {
+        return statement == null
+                ? null
+                : new SlowStatementReport(includeParameterValues ? statement.sql() : statement.shape(),
+                        render(statement.parameters()), statement.caller(), millis(statement.nanos()),
+                        statement.at());
+    }
+
+    private List<String> render(List<Object> parameters) {
+        List<String> rendered = new ArrayList<>(parameters.size());
+        for (Object parameter : parameters) {
+            if (!includeParameterValues) {
+                rendered.add(MASKED);
+                continue;
+            }
+            String value = String.valueOf(parameter);
+            rendered.add(value.length() > MAX_PARAMETER_LENGTH ? value.substring(0, MAX_PARAMETER_LENGTH) + "..."
+                    : value);
+        }
+        return rendered;
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    /**
+     * Statistics of one shape
+     */
+    private final class ShapeStats {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAdder slowCount = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+        private final LatencyHistogram histogram = new LatencyHistogram();
+        private volatile SlowStatement sample;
+        private volatile List<String> plan = List.of();
+        private volatile Instant explainedAt;
+
+        private void record(long nanos) {
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+            histogram.record(TimeUnit.NANOSECONDS.toMicros(nanos));
+        }
+
+        private synchronized void slow(SlowStatement statement) {
+            slowCount.increment();
+            if (sample == null || statement.nanos() > sample.nanos()) {
+                sample = statement;
+            }
+        }
+
+        private ShapeReport report(String shape) {
+            long executions = count.sum();
+            long total = totalNanos.sum();
+            long max = maxNanos.get();
+            long p99 = Math.min(TimeUnit.MICROSECONDS.toNanos(histogram.percentile(0.99)), max);
+            return new ShapeReport(shape, executions, millis(total), executions > 0 ? millis(total / executions) : 0,
+                    millis(p99), millis(max), slowCount.sum(), SlowQueryLog.this.report(sample), plan, explainedAt);
+        }
+    }
+
+    /**
+     * One execution above the threshold
+     */
+    record SlowStatement(String shape, String sql, List<Object> parameters, String caller, long nanos, Instant at) {
+    }
+
+    /**
+     * Content of {@code /actuator/slowqueries}
+     *
+     * @param thresholdMillis executions above it are logged and kept
+     * @param shapes          statistics per shape, most total time first
+     * @param recent          the latest slow executions, most recent first
+     */
+    public record Report(double thresholdMillis, List<ShapeReport> shapes, List<SlowStatementReport> recent) {
+    }
+
+    /**
+     * Statistics of one shape
+     *
+     * @param slowest     its slowest execution above the threshold, if any
+     * @param plan        the {@code EXPLAIN} of that execution, once run
+     * @param explainedAt when the plan was taken
+     */
+    public record ShapeReport(String shape, long count, double totalMillis, double meanMillis, double p99Millis,
+            double maxMillis, long slowCount, SlowStatementReport slowest, List<String> plan, Instant explainedAt) {
+    }
+
+    /**
+     * One execution above the threshold
+     *
+     * @param caller the first application frame that ran it
+     */
+    public record SlowStatementReport(String sql, List<String> parameters, String caller, double millis,
+            Instant at) {
+    }
+}
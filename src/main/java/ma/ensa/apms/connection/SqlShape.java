@@ -0,0 +1,33 @@
+package ma.ensa.apms.connection;
+
+import java.util.regex.Pattern;
+
+/**
+ * Normalized form of a SQL statement: literals become {@code ?}, {@code IN}
+ * lists collapse to one placeholder and whitespace to single spaces, so every
+ * execution of the same query shares one shape.
+ */
+final class SqlShape {
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w.$])-?\\d+(?:\\.\\d+)?(?![\\w.])");
+    private static final Pattern IN_LIST = Pattern.compile("(?i)\\bin\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private SqlShape() {
+    }
+
+    static String of(String sql) {
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = WHITESPACE.matcher(shape).replaceAll(" ").trim();
+        return IN_LIST.matcher(shape).replaceAll("in (?)");
+    }
+
+    /**
+     * @return the text with its quoted literals replaced by {@code '?'}
+     */
+    static String maskStringLiterals(String text) {
+        return STRING_LITERAL.matcher(text).replaceAll("'?'");
+    }
+}
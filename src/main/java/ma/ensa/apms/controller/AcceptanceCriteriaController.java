@@ -19,7 +19,9 @@ import org.springframework.web.bind.annotation.RestController;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import ma.ensa.apms.dto.Request.AcceptanceCriteriaRequest;
+import ma.ensa.apms.dto.Request.BatchGetRequest;
 import ma.ensa.apms.dto.Response.AcceptanceCriteriaResponse;
+import ma.ensa.apms.dto.Response.BatchGetResponse;
 import ma.ensa.apms.dto.Response.UserStoryResponse;
 import ma.ensa.apms.service.AcceptanceCriteriaService;
 
@@ -40,6 +42,12 @@ public class AcceptanceCriteriaController {
         return ResponseEntity.ok(acceptanceCriteriaService.findById(id));
     }
 
+    @PostMapping("/batch-get")
+    public ResponseEntity<BatchGetResponse<AcceptanceCriteriaResponse>> findByIds(
+            @Valid @RequestBody BatchGetRequest request) {
+        return ResponseEntity.ok(acceptanceCriteriaService.findByIds(request.getIds()));
+    }
+
     @GetMapping
     public ResponseEntity<List<AcceptanceCriteriaResponse>> finyAllByMet(@RequestParam Boolean met) {
         return ResponseEntity.ok(acceptanceCriteriaService.findAllByMet(met));
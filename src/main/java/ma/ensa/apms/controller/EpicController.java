@@ -16,8 +16,10 @@ import org.springframework.web.bind.annotation.RestController;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import ma.ensa.apms.dto.Request.BatchGetRequest;
 import ma.ensa.apms.dto.Request.EpicRequest;
 import ma.ensa.apms.dto.Request.UserStoryToEpicRequest;
+import ma.ensa.apms.dto.Response.BatchGetResponse;
 import ma.ensa.apms.dto.Response.EpicResponse;
 import ma.ensa.apms.dto.Response.ProductBacklogResponse;
 import ma.ensa.apms.dto.Response.UserStoryResponse;
@@ -40,6 +42,11 @@ public class EpicController {
         return ResponseEntity.ok(epicService.findById(id));
     }
 
+    @PostMapping("/batch-get")
+    public ResponseEntity<BatchGetResponse<EpicResponse>> findByIds(@Valid @RequestBody BatchGetRequest request) {
+        return ResponseEntity.ok(epicService.findByIds(request.getIds()));
+    }
+
     @GetMapping
     public ResponseEntity<List<EpicResponse>> findAll() {
         return ResponseEntity.ok(epicService.findAll());
@@ -1,6 +1,7 @@
 package ma.ensa.apms.controller;
 
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import org.springframework.http.HttpStatus;
@@ -9,19 +10,32 @@ import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import ma.ensa.apms.dto.Request.BatchGetRequest;
 import ma.ensa.apms.dto.Request.EpicRequest;
 import ma.ensa.apms.dto.Request.ProductBacklogRequest;
+import ma.ensa.apms.dto.Request.UserStoryPositionRequest;
 import ma.ensa.apms.dto.Request.UserStoryRequest;
+import ma.ensa.apms.dto.Response.BatchGetResponse;
+import ma.ensa.apms.dto.Response.BoardColumnResponse;
 import ma.ensa.apms.dto.Response.EpicResponse;
+import ma.ensa.apms.dto.Response.FacetSearchResponse;
 import ma.ensa.apms.dto.Response.ProductBacklogResponse;
 import ma.ensa.apms.dto.Response.ProjectResponse;
+import ma.ensa.apms.dto.Response.UserStoryPageResponse;
 import ma.ensa.apms.dto.Response.UserStoryResponse;
+import ma.ensa.apms.dto.Response.VelocityResponse;
+import ma.ensa.apms.facet.FacetFilter;
+import ma.ensa.apms.modal.enums.UserStoryStatus;
+import ma.ensa.apms.service.BoardColumnService;
+import ma.ensa.apms.service.BurndownService;
 import ma.ensa.apms.service.ProductBacklogService;
 
 @RestController
@@ -30,6 +44,8 @@ import ma.ensa.apms.service.ProductBacklogService;
 public class ProductBacklogController {
 
     private final ProductBacklogService productBacklogService;
+    private final BurndownService burndownService;
+    private final BoardColumnService boardColumnService;
 
     @PostMapping
     public ResponseEntity<ProductBacklogResponse> createProductBacklog(
@@ -45,6 +61,14 @@ public class ProductBacklogController {
 
     }
 
+    @PostMapping("/batch-get")
+    public ResponseEntity<BatchGetResponse<ProductBacklogResponse>> getProductBacklogsByIds(
+            @Valid @RequestBody BatchGetRequest request) {
+        BatchGetResponse<ProductBacklogResponse> response = productBacklogService
+                .getProductBacklogsByIds(request.getIds());
+        return ResponseEntity.ok(response);
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<String> deleteProductBacklog(@PathVariable UUID id) {
         productBacklogService.deleteProductBacklog(id);
@@ -64,6 +88,52 @@ public class ProductBacklogController {
         return ResponseEntity.ok(userStories);
     }
 
+    @GetMapping("/{id}/user-stories/ranked")
+    public ResponseEntity<UserStoryPageResponse> getRankedUserStories(@PathVariable UUID id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        UserStoryPageResponse response = productBacklogService.getRankedUserStories(id, cursor, size);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/{id}/top")
+    public ResponseEntity<List<UserStoryResponse>> getTopUserStories(@PathVariable UUID id,
+            @RequestParam(defaultValue = "20") int k) {
+        List<UserStoryResponse> response = productBacklogService.getTopUserStories(id, k);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/{id}/user-stories/search")
+    public ResponseEntity<FacetSearchResponse> searchUserStories(@PathVariable UUID id,
+            @RequestParam Map<String, String> params,
+            @RequestParam(defaultValue = "50") int limit) {
+        FacetSearchResponse response = productBacklogService.searchUserStories(id, FacetFilter.of(params), limit);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/{id}/board/columns")
+    public ResponseEntity<List<BoardColumnResponse>> getBoardColumns(@PathVariable UUID id,
+            @RequestParam(defaultValue = "25") int perColumn) {
+        List<BoardColumnResponse> response = boardColumnService.getProductBacklogColumns(id, perColumn);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/{id}/board/columns/{status}")
+    public ResponseEntity<BoardColumnResponse> getBoardColumn(@PathVariable UUID id,
+            @PathVariable UserStoryStatus status,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "25") int size) {
+        BoardColumnResponse response = boardColumnService.getProductBacklogColumn(id, status, cursor, size);
+        return ResponseEntity.ok(response);
+    }
+
+    @PutMapping("/{id}/user-stories/{storyId}/position")
+    public ResponseEntity<UserStoryResponse> moveUserStory(@PathVariable UUID id, @PathVariable UUID storyId,
+            @RequestBody UserStoryPositionRequest request) {
+        UserStoryResponse response = productBacklogService.moveUserStory(id, storyId, request);
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/{id}/epics")
     public ResponseEntity<List<EpicResponse>> getEpicsByProductBacklogId(@PathVariable UUID id) {
         List<EpicResponse> epics = productBacklogService.getEpicsByProductBacklogId(id);
@@ -90,4 +160,10 @@ public class ProductBacklogController {
         return ResponseEntity.ok(projectResponse);
     }
 
+    @GetMapping("/{id}/velocity")
+    public ResponseEntity<VelocityResponse> getVelocity(@PathVariable UUID id) {
+        VelocityResponse response = burndownService.getVelocity(id);
+        return ResponseEntity.ok(response);
+    }
+
 }
\ No newline at end of file
@@ -1,12 +1,16 @@
 package ma.ensa.apms.controller;
 
 import org.springframework.web.bind.annotation.RequestMapping;
+import ma.ensa.apms.dto.Request.BatchGetRequest;
 import ma.ensa.apms.dto.Request.ProjectRequest;
+import ma.ensa.apms.dto.Response.BatchGetResponse;
 import ma.ensa.apms.dto.Response.ProjectResponse;
 import ma.ensa.apms.modal.enums.ProjectStatus;
 
 import org.springframework.web.bind.annotation.RestController;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 
 import org.springframework.web.bind.annotation.PostMapping;
@@ -15,12 +19,17 @@ import ma.ensa.apms.service.ProjectService;
 
 import lombok.RequiredArgsConstructor;
 
+import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
@@ -51,6 +60,26 @@ public class ProjectController {
         return projectService.getProjectsBetweenDates(startDate, endDate);
     }
 
+    @GetMapping("/overlapping")
+    public List<ProjectResponse> getProjectsOverlapping(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return projectService.getProjectsOverlapping(from, to);
+    }
+
+    @GetMapping("/within")
+    public List<ProjectResponse> getProjectsWithin(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return projectService.getProjectsWithin(from, to);
+    }
+
+    @GetMapping("/active")
+    public List<ProjectResponse> getProjectsActiveAt(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at) {
+        return projectService.getProjectsActiveAt(at);
+    }
+
     @PatchMapping("/{id}/startDate")
     public ProjectResponse updateProjectStartDate(@PathVariable UUID id, @Valid @RequestBody LocalDateTime startDate) {
         return projectService.updateProjectStartDate(id, startDate);
@@ -71,6 +100,30 @@ public class ProjectController {
         return projectService.getProject(id);
     }
 
+    @GetMapping(value = "/{id}/tree", produces = MediaType.APPLICATION_JSON_VALUE)
+    public void getProjectTree(@PathVariable UUID id, HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        projectService.writeProjectTree(id, response.getOutputStream());
+    }
+
+    @GetMapping(value = "/{id}/snapshot", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public void getProjectSnapshot(@PathVariable UUID id, HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename("project-" + id + ".apms").build().toString());
+        projectService.writeProjectSnapshot(id, response.getOutputStream());
+    }
+
+    @PostMapping(value = "/snapshot", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ProjectResponse restoreProjectSnapshot(HttpServletRequest request) throws IOException {
+        return projectService.restoreProjectSnapshot(request.getInputStream());
+    }
+
+    @PostMapping("/batch-get")
+    public BatchGetResponse<ProjectResponse> getProjectsByIds(@Valid @RequestBody BatchGetRequest request) {
+        return projectService.getProjectsByIds(request.getIds());
+    }
+
     @GetMapping
     public List<ProjectResponse> getAllProjects(@RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size) {
@@ -1,15 +1,29 @@
 package ma.ensa.apms.controller;
 
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import ma.ensa.apms.dto.Request.BatchGetRequest;
 import ma.ensa.apms.dto.Request.SprintBacklogRequest;
 import ma.ensa.apms.dto.Request.UserStoryRequest;
+import ma.ensa.apms.dto.Response.BatchGetResponse;
+import ma.ensa.apms.dto.Response.BoardColumnResponse;
 import ma.ensa.apms.dto.Response.SprintBacklogResponse;
+import ma.ensa.apms.dto.Response.SprintBoardResponse;
+import ma.ensa.apms.dto.Response.SprintBurndownResponse;
 import ma.ensa.apms.dto.Response.UserStoryResponse;
+import ma.ensa.apms.modal.enums.UserStoryStatus;
+import ma.ensa.apms.service.BoardColumnService;
+import ma.ensa.apms.service.BoardHistoryService;
+import ma.ensa.apms.service.BurndownService;
 import ma.ensa.apms.service.SprintBacklogService;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
@@ -19,6 +33,9 @@ import java.util.UUID;
 public class SprintBacklogController {
 
     private final SprintBacklogService sprintBacklogService;
+    private final BurndownService burndownService;
+    private final BoardHistoryService boardHistoryService;
+    private final BoardColumnService boardColumnService;
 
     @PostMapping
     public ResponseEntity<SprintBacklogResponse> createSprintBacklog(@RequestBody SprintBacklogRequest request) {
@@ -32,6 +49,14 @@ public class SprintBacklogController {
         return ResponseEntity.ok(response);
     }
 
+    @PostMapping("/batch-get")
+    public ResponseEntity<BatchGetResponse<SprintBacklogResponse>> getSprintBacklogsByIds(
+            @Valid @RequestBody BatchGetRequest request) {
+        BatchGetResponse<SprintBacklogResponse> response = sprintBacklogService
+                .getSprintBacklogsByIds(request.getIds());
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping
     public ResponseEntity<List<SprintBacklogResponse>> getAllSprintBacklogs() {
         List<SprintBacklogResponse> response = sprintBacklogService.getAllSprintBacklogs();
@@ -70,4 +95,38 @@ public class SprintBacklogController {
         sprintBacklogService.removeUserStoryFromSprintBacklog(id, userStoryId);
         return ResponseEntity.noContent().build();
     }
+
+    @GetMapping("/{id}/burndown")
+    public ResponseEntity<SprintBurndownResponse> getSprintBurndown(@PathVariable UUID id) {
+        SprintBurndownResponse response = burndownService.getSprintBurndown(id);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/{id}/board")
+    public ResponseEntity<SprintBoardResponse> getBoardAsOf(@PathVariable UUID id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime asOf) {
+        SprintBoardResponse response = boardHistoryService.getBoardAsOf(id, asOf);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/{id}/board/columns")
+    public ResponseEntity<List<BoardColumnResponse>> getBoardColumns(@PathVariable UUID id,
+            @RequestParam(defaultValue = "25") int perColumn) {
+        List<BoardColumnResponse> response = boardColumnService.getSprintBacklogColumns(id, perColumn);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/{id}/board/columns/{status}")
+    public ResponseEntity<BoardColumnResponse> getBoardColumn(@PathVariable UUID id,
+            @PathVariable UserStoryStatus status,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "25") int size) {
+        BoardColumnResponse response = boardColumnService.getSprintBacklogColumn(id, status, cursor, size);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping(value = "/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamBoardEvents(@PathVariable UUID id) {
+        return sprintBacklogService.streamBoardEvents(id);
+    }
 }
\ No newline at end of file
@@ -20,12 +20,15 @@ import org.springframework.web.bind.annotation.RestController;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import ma.ensa.apms.dto.Request.BatchGetRequest;
+import ma.ensa.apms.dto.Response.BatchGetResponse;
 import ma.ensa.apms.dto.TaskEndDateUpdateDto;
 import ma.ensa.apms.dto.TaskRequestDto;
 import ma.ensa.apms.dto.TaskResponseDto;
 import ma.ensa.apms.dto.TaskStartDateUpdateDto;
 import ma.ensa.apms.dto.TaskStatusUpdateDto;
 import ma.ensa.apms.modal.enums.TaskStatus;
+import ma.ensa.apms.projection.FieldSelection;
 import ma.ensa.apms.service.TaskService;
 
 @RestController
@@ -42,14 +45,26 @@ public class TaskController {
     }
 
     @GetMapping
-    public ResponseEntity<List<TaskResponseDto>> getTasks() {
-        return ResponseEntity.ok(taskService.getAllTasks());
+    public ResponseEntity<List<?>> getTasks(
+            @RequestParam(required = false) List<String> fields,
+            @RequestParam(required = false) List<String> expand) {
+        FieldSelection selection = FieldSelection.of(fields, expand);
+        if (selection.isEmpty()) {
+            return ResponseEntity.ok(taskService.getAllTasks());
+        }
+        return ResponseEntity.ok(taskService.getAllTasks(selection));
     }
 
     @GetMapping("/status")
-    public ResponseEntity<List<TaskResponseDto>> getTasksByStatus(
-            @RequestParam TaskStatus status) {
-        return ResponseEntity.ok(taskService.getTasksByStatus(status));
+    public ResponseEntity<List<?>> getTasksByStatus(
+            @RequestParam TaskStatus status,
+            @RequestParam(required = false) List<String> fields,
+            @RequestParam(required = false) List<String> expand) {
+        FieldSelection selection = FieldSelection.of(fields, expand);
+        if (selection.isEmpty()) {
+            return ResponseEntity.ok(taskService.getTasksByStatus(status));
+        }
+        return ResponseEntity.ok(taskService.getTasksByStatus(status, selection));
     }
 
     @GetMapping("/range")
@@ -59,11 +74,37 @@ public class TaskController {
         return ResponseEntity.ok(taskService.getTasksByDateRange(startDate, endDate));
     }
 
+    @GetMapping("/overlapping")
+    public ResponseEntity<List<TaskResponseDto>> getTasksOverlapping(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return ResponseEntity.ok(taskService.getTasksOverlapping(from, to));
+    }
+
+    @GetMapping("/within")
+    public ResponseEntity<List<TaskResponseDto>> getTasksWithin(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return ResponseEntity.ok(taskService.getTasksWithin(from, to));
+    }
+
+    @GetMapping("/active")
+    public ResponseEntity<List<TaskResponseDto>> getTasksActiveAt(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at) {
+        return ResponseEntity.ok(taskService.getTasksActiveAt(at));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<TaskResponseDto> getTaskById(@PathVariable UUID id) {
         return ResponseEntity.ok(taskService.getTaskById(id));
     }
 
+    @PostMapping("/batch-get")
+    public ResponseEntity<BatchGetResponse<TaskResponseDto>> getTasksByIds(
+            @Valid @RequestBody BatchGetRequest request) {
+        return ResponseEntity.ok(taskService.getTasksByIds(request.getIds()));
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<TaskResponseDto> updateTask(@PathVariable UUID id, @RequestBody TaskRequestDto taskDto) {
         return ResponseEntity.ok(taskService.updateTask(id, taskDto));
@@ -13,14 +13,19 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import ma.ensa.apms.dto.Request.BatchGetRequest;
 import ma.ensa.apms.dto.Request.UserStoryRequest;
 import ma.ensa.apms.dto.Response.AcceptanceCriteriaResponse;
+import ma.ensa.apms.dto.Response.BatchGetResponse;
 import ma.ensa.apms.dto.Response.UserStoryResponse;
 import ma.ensa.apms.modal.enums.UserStoryStatus;
+import ma.ensa.apms.projection.FieldSelection;
+import ma.ensa.apms.serialization.SerializedBody;
 import ma.ensa.apms.service.UserStoryService;
 
 @RestController
@@ -35,9 +40,18 @@ public class UserStoryController {
         return new ResponseEntity<>(userStoryService.create(dto), HttpStatus.CREATED);
     }
 
-    @GetMapping("/{id}")
-    public ResponseEntity<UserStoryResponse> getUserStoryById(@PathVariable UUID id) {
-        return ResponseEntity.ok(userStoryService.getUserStoryById(id));
+    // The id is restricted to UUID characters, otherwise "/{id}" (fewer
+    // captures, so more specific) wins over the status route below
+    @GetMapping("/{id:[0-9a-fA-F-]+}")
+    public ResponseEntity<SerializedBody<UserStoryResponse>> getUserStoryById(@PathVariable UUID id) {
+        return ResponseEntity.ok(SerializedBody.of(() -> userStoryService.getUserStoryById(id),
+                out -> userStoryService.writeUserStoryById(id, out)));
+    }
+
+    @PostMapping("/batch-get")
+    public ResponseEntity<BatchGetResponse<UserStoryResponse>> getUserStoriesByIds(
+            @Valid @RequestBody BatchGetRequest request) {
+        return ResponseEntity.ok(userStoryService.getUserStoriesByIds(request.getIds()));
     }
 
     @GetMapping("/{id}/acceptance-criterias")
@@ -73,24 +87,37 @@ public class UserStoryController {
     }
 
     @GetMapping("/productBacklog={productBacklogId}&status={status}")
-    public ResponseEntity<List<UserStoryResponse>> getUserStoriesByStatus(
+    public ResponseEntity<SerializedBody<List<UserStoryResponse>>> getUserStoriesByStatus(
             @PathVariable UUID productBacklogId ,
             @PathVariable UserStoryStatus status
     ){
-        List<UserStoryResponse> userStories = userStoryService.getUserStoriesByStatusAndProductBacklogId(status,productBacklogId);
-        return ResponseEntity.ok(userStories);
+        return ResponseEntity.ok(SerializedBody.of(
+                () -> userStoryService.getUserStoriesByStatusAndProductBacklogId(status, productBacklogId),
+                out -> userStoryService.writeUserStoriesByStatusAndProductBacklogId(status, productBacklogId, out)));
     }
 
     @GetMapping("/epic/{epicId}")
-    public ResponseEntity<List<UserStoryResponse>> getUserStoriesByEpicId(@PathVariable UUID epicId) {
-        List<UserStoryResponse> userStories = userStoryService.getUserStoriesByEpicId(epicId);
-        return ResponseEntity.ok(userStories);
+    public ResponseEntity<SerializedBody<List<?>>> getUserStoriesByEpicId(
+            @PathVariable UUID epicId,
+            @RequestParam(required = false) List<String> fields,
+            @RequestParam(required = false) List<String> expand) {
+        FieldSelection selection = FieldSelection.of(fields, expand);
+        return ResponseEntity.ok(SerializedBody.of(
+                () -> selection.isEmpty() ? userStoryService.getUserStoriesByEpicId(epicId)
+                        : userStoryService.getUserStoriesByEpicId(epicId, selection),
+                out -> userStoryService.writeUserStoriesByEpicId(epicId, selection, out)));
     }
 
     @GetMapping("/sprint-backlog/{sprintId}")
-    public ResponseEntity<List<UserStoryResponse>> getUserStoriesBySprintBacklogId(@PathVariable UUID sprintId) {
-        List<UserStoryResponse> userStories = userStoryService.getUserStoriesBySprintBacklogId(sprintId);
-        return ResponseEntity.ok(userStories);
+    public ResponseEntity<SerializedBody<List<?>>> getUserStoriesBySprintBacklogId(
+            @PathVariable UUID sprintId,
+            @RequestParam(required = false) List<String> fields,
+            @RequestParam(required = false) List<String> expand) {
+        FieldSelection selection = FieldSelection.of(fields, expand);
+        return ResponseEntity.ok(SerializedBody.of(
+                () -> selection.isEmpty() ? userStoryService.getUserStoriesBySprintBacklogId(sprintId)
+                        : userStoryService.getUserStoriesBySprintBacklogId(sprintId, selection),
+                out -> userStoryService.writeUserStoriesBySprintBacklogId(sprintId, selection, out)));
     }
 
     @DeleteMapping("/{id}")
@@ -0,0 +1,19 @@
+package ma.ensa.apms.dto.Request;
+
+import java.util.List;
+import java.util.UUID;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchGetRequest {
+    @NotEmpty(message = "At least one id is required")
+    private List<UUID> ids;
+}
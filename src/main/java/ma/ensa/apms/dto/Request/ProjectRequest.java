@@ -9,6 +9,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import ma.ensa.apms.modal.enums.ProjectStatus;
+import ma.ensa.apms.validation.DateRangeHolder;
 import ma.ensa.apms.validation.StartEndDateValidator;
 
 @Data
@@ -16,7 +17,7 @@ import ma.ensa.apms.validation.StartEndDateValidator;
 @NoArgsConstructor
 @AllArgsConstructor
 @StartEndDateValidator
-public class ProjectRequest {
+public class ProjectRequest implements DateRangeHolder {
     @NotBlank(message = "Name is required")
     private String name;
 
@@ -0,0 +1,17 @@
+package ma.ensa.apms.dto.Request;
+
+import java.util.UUID;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserStoryPositionRequest {
+    private UUID previousStoryId;
+    private UUID nextStoryId;
+}
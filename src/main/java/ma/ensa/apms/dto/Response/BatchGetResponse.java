@@ -0,0 +1,18 @@
+package ma.ensa.apms.dto.Response;
+
+import java.util.List;
+import java.util.UUID;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchGetResponse<T> {
+    private List<T> items;
+    private List<UUID> missing;
+}
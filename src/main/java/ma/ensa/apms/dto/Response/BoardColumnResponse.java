@@ -0,0 +1,20 @@
+package ma.ensa.apms.dto.Response;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ma.ensa.apms.modal.enums.UserStoryStatus;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BoardColumnResponse {
+    private UserStoryStatus status;
+    private long total;
+    private List<UserStoryResponse> items;
+    private String nextCursor;
+}
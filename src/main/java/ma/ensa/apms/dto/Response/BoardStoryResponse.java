@@ -0,0 +1,19 @@
+package ma.ensa.apms.dto.Response;
+
+import java.util.List;
+import java.util.UUID;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BoardStoryResponse {
+    private UUID userStoryId;
+    private String status;
+    private List<BoardTaskResponse> tasks;
+}
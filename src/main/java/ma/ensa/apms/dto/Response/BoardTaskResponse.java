@@ -0,0 +1,17 @@
+package ma.ensa.apms.dto.Response;
+
+import java.util.UUID;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BoardTaskResponse {
+    private UUID taskId;
+    private String status;
+}
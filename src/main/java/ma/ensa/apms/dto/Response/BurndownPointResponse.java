@@ -0,0 +1,19 @@
+package ma.ensa.apms.dto.Response;
+
+import java.time.LocalDate;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BurndownPointResponse {
+    private LocalDate date;
+    private int remainingStories;
+    private int remainingTasks;
+    private int completedStories;
+}
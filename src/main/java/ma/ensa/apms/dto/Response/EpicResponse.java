@@ -16,4 +16,5 @@ public class EpicResponse {
     private String name;
     private String description;
     private int userStoriesCount;
+    private ProgressResponse progress;
 }
@@ -0,0 +1,19 @@
+package ma.ensa.apms.dto.Response;
+
+import java.util.List;
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FacetSearchResponse {
+    private List<UserStoryResponse> items;
+    private long total;
+    private Map<String, Map<String, Long>> facets;
+}
@@ -19,4 +19,5 @@ public class ProductBacklogResponse {
     private LocalDateTime updatedAt;
     private long userStoryCount;
     private long epicCount;
+    private ProgressResponse progress;
 }
@@ -0,0 +1,19 @@
+package ma.ensa.apms.dto.Response;
+
+import java.util.List;
+import java.util.UUID;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductBacklogTreeResponse {
+    private UUID id;
+    private String name;
+    private List<EpicTreeResponse> epics;
+}
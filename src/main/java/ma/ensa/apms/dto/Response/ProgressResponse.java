@@ -0,0 +1,19 @@
+package ma.ensa.apms.dto.Response;
+
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ma.ensa.apms.modal.enums.UserStoryStatus;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProgressResponse {
+    private Map<UserStoryStatus, Long> storiesByStatus;
+    private long totalStories;
+    private double percentComplete;
+}
@@ -20,4 +20,5 @@ public class ProjectResponse {
     private ProjectStatus status;
     private LocalDateTime startDate;
     private LocalDateTime endDate;
+    private ProgressResponse progress;
 }
@@ -0,0 +1,24 @@
+package ma.ensa.apms.dto.Response;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ma.ensa.apms.modal.enums.ProjectStatus;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProjectTreeResponse {
+    private UUID id;
+    private String name;
+    private String description;
+    private ProjectStatus status;
+    private LocalDateTime startDate;
+    private LocalDateTime endDate;
+    private ProductBacklogTreeResponse productBacklog;
+}
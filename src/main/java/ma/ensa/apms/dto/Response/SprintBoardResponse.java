@@ -0,0 +1,20 @@
+package ma.ensa.apms.dto.Response;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SprintBoardResponse {
+    private UUID sprintBacklogId;
+    private LocalDateTime asOf;
+    private List<BoardStoryResponse> stories;
+}
@@ -0,0 +1,18 @@
+package ma.ensa.apms.dto.Response;
+
+import java.util.List;
+import java.util.UUID;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SprintBurndownResponse {
+    private UUID sprintBacklogId;
+    private List<BurndownPointResponse> points;
+}
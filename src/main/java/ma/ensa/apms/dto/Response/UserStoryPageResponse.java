@@ -0,0 +1,17 @@
+package ma.ensa.apms.dto.Response;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserStoryPageResponse {
+    private List<UserStoryResponse> items;
+    private String nextCursor;
+}
@@ -20,4 +20,5 @@ public class UserStoryResponse {
     private String benefit;
     private int priority;
     private UserStoryStatus status;
+    private String rank;
 }
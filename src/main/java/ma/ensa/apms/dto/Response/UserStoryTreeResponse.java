@@ -0,0 +1,26 @@
+package ma.ensa.apms.dto.Response;
+
+import java.util.List;
+import java.util.UUID;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ma.ensa.apms.dto.TaskResponseDto;
+import ma.ensa.apms.modal.enums.UserStoryStatus;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserStoryTreeResponse {
+    private UUID id;
+    private String name;
+    private String role;
+    private String feature;
+    private String benefit;
+    private int priority;
+    private UserStoryStatus status;
+    private List<TaskResponseDto> tasks;
+}
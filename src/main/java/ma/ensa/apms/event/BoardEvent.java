@@ -0,0 +1,37 @@
+package ma.ensa.apms.event;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * A committed change to a sprint board.
+ * Published by the service layer and delivered to board subscribers once the
+ * surrounding transaction has committed.
+ */
+@Value
+@Builder
+public class BoardEvent {
+    BoardEventType type;
+    UUID entityId;
+    UUID userStoryId;
+    UUID sprintBacklogId;
+    UUID previousSprintBacklogId;
+    String status;
+    String previousStatus;
+    Boolean met;
+    LocalDateTime occurredAt;
+
+    /**
+     * Key under which events for the same entity are coalesced. The sprints
+     * are part of it, so that a later move of a story never hides an earlier
+     * one from the board it left.
+     *
+     * @return the coalescing key
+     */
+    public String coalescingKey() {
+        return type + ":" + entityId + ":" + previousSprintBacklogId + ":" + sprintBacklogId;
+    }
+}
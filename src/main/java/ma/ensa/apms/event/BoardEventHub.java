@@ -0,0 +1,267 @@
+package ma.ensa.apms.event;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import ma.ensa.apms.logging.LoggerUtils;
+
+/**
+ * Fans committed board events out to the subscribers of each sprint.
+ *
+ * <p>
+ * Events are collected after commit and flushed every coalescing window;
+ * several events of one kind for the same entity and the same sprints within
+ * one window collapse into the latest one. Each subscriber then receives the flushed events through its
+ * own bounded, drop-oldest buffer.
+ * </p>
+ *
+ * <p>
+ * Sends are blocking, so a client that stops reading holds a delivery thread
+ * until its socket gives up. A watchdog evicts any subscriber whose send has
+ * been blocked for longer than the send timeout, and the delivery pool grows
+ * on demand up to its bound, so a few stalled clients cannot starve the
+ * others.
+ * </p>
+ */
+@Component
+public class BoardEventHub {
+
+    private final Duration coalesceWindow;
+    private final int bufferSize;
+    private final long emitterTimeoutMillis;
+    private final Duration sendTimeout;
+    private final ThreadPoolExecutor deliveryExecutor;
+    private final ScheduledExecutorService flushScheduler;
+
+    private final Map<UUID, Set<BoardSubscription>> subscriptions = new ConcurrentHashMap<>();
+    private final Map<String, Pending> pending = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    private final Counter publishedCounter;
+    private final Counter coalescedCounter;
+    private final Counter droppedCounter;
+    private final Counter evictedCounter;
+
+    public BoardEventHub(MeterRegistry meterRegistry,
+            @Value("${apms.board-events.coalesce-window:250ms}") Duration coalesceWindow,
+            @Value("${apms.board-events.buffer-size:256}") int bufferSize,
+            @Value("${apms.board-events.delivery-threads:64}") int deliveryThreads,
+            @Value("${apms.board-events.emitter-timeout:30m}") Duration emitterTimeout,
+            @Value("${apms.board-events.send-timeout:10s}") Duration sendTimeout) {
+        this.coalesceWindow = coalesceWindow;
+        this.bufferSize = bufferSize;
+        this.emitterTimeoutMillis = emitterTimeout.toMillis();
+        this.sendTimeout = sendTimeout;
+        // Idle threads exit, so the bound only costs threads while clients are slow
+        this.deliveryExecutor = new ThreadPoolExecutor(deliveryThreads, deliveryThreads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), new CustomizableThreadFactory("board-events-delivery-"));
+        this.deliveryExecutor.allowCoreThreadTimeOut(true);
+        this.flushScheduler = Executors.newSingleThreadScheduledExecutor(
+                new CustomizableThreadFactory("board-events-flush-"));
+        this.publishedCounter = Counter.builder("apms.board.events.published")
+                .description("Board events delivered to subscriber buffers after coalescing")
+                .register(meterRegistry);
+        this.coalescedCounter = Counter.builder("apms.board.events.coalesced")
+                .description("Board events replaced by a later event for the same entity")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("apms.board.events.dropped")
+                .description("Board events dropped from the buffer of a slow subscriber")
+                .register(meterRegistry);
+        this.evictedCounter = Counter.builder("apms.board.events.evicted")
+                .description("Board subscribers closed because a send stayed blocked past the send timeout")
+                .register(meterRegistry);
+        Gauge.builder("apms.board.subscribers", this, BoardEventHub::subscriberCount)
+                .description("Open board event subscriptions")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        long window = Math.max(1, coalesceWindow.toMillis());
+        flushScheduler.scheduleWithFixedDelay(() -> {
+            try {
+                flush();
+            } catch (RuntimeException ex) {
+                LoggerUtils.logServiceError("Board event flush failed", ex);
+            }
+        }, window, window, TimeUnit.MILLISECONDS);
+        long check = Math.max(1, sendTimeout.toMillis() / 2);
+        flushScheduler.scheduleWithFixedDelay(() -> {
+            try {
+                evictStalled();
+            } catch (RuntimeException ex) {
+                LoggerUtils.logServiceError("Board subscriber eviction failed", ex);
+            }
+        }, check, check, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flushScheduler.shutdownNow();
+        deliveryExecutor.shutdownNow();
+        subscriptions.values().forEach(set -> set.forEach(BoardSubscription::close));
+        subscriptions.clear();
+    }
+
+    public long getEmitterTimeoutMillis() {
+        return emitterTimeoutMillis;
+    }
+
+    /**
+     * Subscribe to the events of a sprint
+     *
+     * @param sprintBacklogId the sprint backlog ID
+     * @param sink            where the events are sent
+     * @return the subscription, to be passed to {@link #unsubscribe}
+     */
+    public BoardSubscription subscribe(UUID sprintBacklogId, BoardEventSink sink) {
+        return subscribe(sprintBacklogId, sink, () -> {
+        });
+    }
+
+    /**
+     * Subscribe to the events of a sprint
+     *
+     * @param sprintBacklogId the sprint backlog ID
+     * @param sink            where the events are sent
+     * @param onEvicted       run when the subscriber is evicted for a stalled
+     *                        send, to end its stream
+     * @return the subscription, to be passed to {@link #unsubscribe}
+     */
+    public BoardSubscription subscribe(UUID sprintBacklogId, BoardEventSink sink, Runnable onEvicted) {
+        BoardSubscription subscription = new BoardSubscription(sprintBacklogId, sink, onEvicted, bufferSize);
+        subscriptions.compute(sprintBacklogId, (id, set) -> {
+            Set<BoardSubscription> subscribers = set != null ? set : ConcurrentHashMap.newKeySet();
+            subscribers.add(subscription);
+            return subscribers;
+        });
+        return subscription;
+    }
+
+    /**
+     * Close a subscription
+     *
+     * @param subscription the subscription to close
+     */
+    public void unsubscribe(BoardSubscription subscription) {
+        if (subscription == null) {
+            return;
+        }
+        subscription.close();
+        subscriptions.computeIfPresent(subscription.getSprintBacklogId(), (id, set) -> {
+            set.remove(subscription);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    /**
+     * Collect a board event once its transaction has committed
+     *
+     * @param event the committed event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBoardEvent(BoardEvent event) {
+        if (event.getSprintBacklogId() == null && event.getPreviousSprintBacklogId() == null) {
+            return;
+        }
+        Pending replaced = pending.put(event.coalescingKey(), new Pending(sequence.incrementAndGet(), event));
+        if (replaced != null) {
+            coalescedCounter.increment();
+        }
+    }
+
+    /**
+     * Deliver every event collected during the current window
+     */
+    void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<Pending> batch = new ArrayList<>(pending.size());
+        for (String key : pending.keySet()) {
+            Pending event = pending.remove(key);
+            if (event != null) {
+                batch.add(event);
+            }
+        }
+        batch.sort(Comparator.comparingLong(Pending::sequence));
+        for (Pending event : batch) {
+            dispatch(event.event(), event.event().getSprintBacklogId());
+            UUID previous = event.event().getPreviousSprintBacklogId();
+            if (previous != null && !previous.equals(event.event().getSprintBacklogId())) {
+                dispatch(event.event(), previous);
+            }
+        }
+    }
+
+    /**
+     * Evict every subscriber whose current send is blocked past the send
+     * timeout
+     */
+    void evictStalled() {
+        long now = System.nanoTime();
+        long timeout = sendTimeout.toNanos();
+        for (Set<BoardSubscription> subscribers : subscriptions.values()) {
+            for (BoardSubscription subscription : subscribers) {
+                if (subscription.isStalled(now, timeout)) {
+                    unsubscribe(subscription);
+                    evictedCounter.increment();
+                    try {
+                        subscription.evict();
+                    } catch (RuntimeException ex) {
+                        LoggerUtils.logServiceError("Board subscriber could not be closed", ex);
+                    }
+                }
+            }
+        }
+    }
+
+    int subscriberCount() {
+        return subscriptions.values().stream().mapToInt(Set::size).sum();
+    }
+
+    private void dispatch(BoardEvent event, UUID sprintBacklogId) {
+        if (sprintBacklogId == null) {
+            return;
+        }
+        Set<BoardSubscription> subscribers = subscriptions.get(sprintBacklogId);
+        if (subscribers == null) {
+            return;
+        }
+        for (BoardSubscription subscription : subscribers) {
+            if (subscription.isClosed()) {
+                unsubscribe(subscription);
+                continue;
+            }
+            if (subscription.offer(event, deliveryExecutor)) {
+                droppedCounter.increment();
+            }
+            publishedCounter.increment();
+        }
+    }
+
+    private record Pending(long sequence, BoardEvent event) {
+    }
+}
@@ -0,0 +1,162 @@
+package ma.ensa.apms.event;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+import ma.ensa.apms.modal.AcceptanceCriteria;
+import ma.ensa.apms.modal.Task;
+import ma.ensa.apms.modal.UserStory;
+import ma.ensa.apms.modal.enums.TaskStatus;
+import ma.ensa.apms.modal.enums.UserStoryStatus;
+
+/**
+ * Helper used by the service layer to publish board changes.
+ * Events are plain Spring application events; listeners decide whether they
+ * run inside the transaction or after it commits.
+ */
+@Component
+@RequiredArgsConstructor
+public class BoardEventPublisher {
+
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    /**
+     * Publish the status change of a user story
+     *
+     * @param story          the updated user story
+     * @param previousStatus the status before the change
+     */
+    public void storyStatusChanged(UserStory story, UserStoryStatus previousStatus) {
+        publish(BoardEvent.builder()
+                .type(BoardEventType.STORY_STATUS_CHANGED)
+                .entityId(story.getId())
+                .userStoryId(story.getId())
+                .sprintBacklogId(sprintIdOf(story))
+                .status(nameOf(story.getStatus()))
+                .previousStatus(nameOf(previousStatus)));
+    }
+
+    /**
+     * Publish the status change of a task
+     *
+     * @param task           the updated task
+     * @param previousStatus the status before the change
+     */
+    public void taskStatusChanged(Task task, TaskStatus previousStatus) {
+        UserStory story = task.getUserStory();
+        publish(BoardEvent.builder()
+                .type(BoardEventType.TASK_STATUS_CHANGED)
+                .entityId(task.getId())
+                .userStoryId(story != null ? story.getId() : null)
+                .sprintBacklogId(sprintIdOf(story))
+                .status(nameOf(task.getStatus()))
+                .previousStatus(nameOf(previousStatus)));
+    }
+
+    /**
+     * Publish the creation of a task
+     *
+     * @param task the created task
+     */
+    public void taskAdded(Task task) {
+        UserStory story = task.getUserStory();
+        publish(BoardEvent.builder()
+                .type(BoardEventType.TASK_ADDED)
+                .entityId(task.getId())
+                .userStoryId(story != null ? story.getId() : null)
+                .sprintBacklogId(sprintIdOf(story))
+                .status(nameOf(task.getStatus())));
+    }
+
+    /**
+     * Publish the deletion of a task
+     *
+     * @param task the task, as it was before the deletion
+     */
+    public void taskRemoved(Task task) {
+        UserStory story = task.getUserStory();
+        publish(BoardEvent.builder()
+                .type(BoardEventType.TASK_REMOVED)
+                .entityId(task.getId())
+                .userStoryId(story != null ? story.getId() : null)
+                .sprintBacklogId(sprintIdOf(story))
+                .previousStatus(nameOf(task.getStatus())));
+    }
+
+    /**
+     * Publish the change of the met flag of an acceptance criteria
+     *
+     * @param criteria the updated acceptance criteria
+     */
+    public void criteriaMetChanged(AcceptanceCriteria criteria) {
+        UserStory story = criteria.getUserStory();
+        publish(BoardEvent.builder()
+                .type(BoardEventType.CRITERIA_MET_CHANGED)
+                .entityId(criteria.getId())
+                .userStoryId(story != null ? story.getId() : null)
+                .sprintBacklogId(sprintIdOf(story))
+                .met(criteria.isMet()));
+    }
+
+    /**
+     * Publish the creation of a user story directly in a sprint
+     *
+     * @param story the created user story
+     */
+    public void storyAddedToSprint(UserStory story) {
+        publish(BoardEvent.builder()
+                .type(BoardEventType.STORY_ADDED_TO_SPRINT)
+                .entityId(story.getId())
+                .userStoryId(story.getId())
+                .sprintBacklogId(sprintIdOf(story))
+                .status(nameOf(story.getStatus())));
+    }
+
+    /**
+     * Publish the move of a user story to a sprint
+     *
+     * @param story                   the moved user story
+     * @param previousSprintBacklogId the sprint it was in before, if any
+     */
+    public void storyMovedToSprint(UserStory story, UUID previousSprintBacklogId) {
+        publish(BoardEvent.builder()
+                .type(BoardEventType.STORY_MOVED_TO_SPRINT)
+                .entityId(story.getId())
+                .userStoryId(story.getId())
+                .sprintBacklogId(sprintIdOf(story))
+                .previousSprintBacklogId(previousSprintBacklogId)
+                .status(nameOf(story.getStatus())));
+    }
+
+    /**
+     * Publish the removal of a user story from a sprint
+     *
+     * @param story           the removed user story
+     * @param sprintBacklogId the sprint it was removed from
+     */
+    public void storyRemovedFromSprint(UserStory story, UUID sprintBacklogId) {
+        publish(BoardEvent.builder()
+                .type(BoardEventType.STORY_REMOVED_FROM_SPRINT)
+                .entityId(story.getId())
+                .userStoryId(story.getId())
+                .sprintBacklogId(sprintBacklogId)
+                .status(nameOf(story.getStatus()))
+                .previousStatus(nameOf(story.getStatus())));
+    }
+
+    private void publish(BoardEvent.BoardEventBuilder builder) {
+        applicationEventPublisher.publishEvent(builder.occurredAt(LocalDateTime.now()).build());
+    }
+
+    private static UUID sprintIdOf(UserStory story) {
+        return story != null && story.getSprintBacklog() != null ? story.getSprintBacklog().getId() : null;
+    }
+
+    private static String nameOf(Enum<?> value) {
+        return value != null ? value.name() : null;
+    }
+}
@@ -0,0 +1,12 @@
+package ma.ensa.apms.event;
+
+import java.io.IOException;
+
+/**
+ * Destination of the events delivered to one board subscriber.
+ */
+@FunctionalInterface
+public interface BoardEventSink {
+
+    void send(BoardEvent event) throws IOException;
+}
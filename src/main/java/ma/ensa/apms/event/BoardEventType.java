@@ -0,0 +1,15 @@
+package ma.ensa.apms.event;
+
+/**
+ * Kinds of board changes pushed to sprint subscribers.
+ */
+public enum BoardEventType {
+    STORY_STATUS_CHANGED,
+    TASK_STATUS_CHANGED,
+    TASK_ADDED,
+    TASK_REMOVED,
+    CRITERIA_MET_CHANGED,
+    STORY_ADDED_TO_SPRINT,
+    STORY_MOVED_TO_SPRINT,
+    STORY_REMOVED_FROM_SPRINT
+}
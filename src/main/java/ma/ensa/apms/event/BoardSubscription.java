@@ -0,0 +1,128 @@
+package ma.ensa.apms.event;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * One subscriber of a sprint board stream.
+ *
+ * <p>
+ * Events are queued in a bounded buffer and drained by at most one delivery
+ * task at a time. When the subscriber falls behind and the buffer is full,
+ * the oldest queued event is dropped so a slow consumer can never hold memory.
+ * A send that blocks for too long marks the subscription as stalled; the hub
+ * then evicts it so it stops holding a delivery thread.
+ * </p>
+ */
+public class BoardSubscription {
+
+    private final UUID sprintBacklogId;
+    private final BoardEventSink sink;
+    private final Runnable onEvicted;
+    private final int capacity;
+    private final ArrayDeque<BoardEvent> buffer;
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private volatile boolean closed;
+    private volatile long sendStartedNanos;
+    private long dropped;
+
+    BoardSubscription(UUID sprintBacklogId, BoardEventSink sink, Runnable onEvicted, int capacity) {
+        this.sprintBacklogId = sprintBacklogId;
+        this.sink = sink;
+        this.onEvicted = onEvicted;
+        this.capacity = capacity;
+        this.buffer = new ArrayDeque<>(Math.min(capacity, 16));
+    }
+
+    public UUID getSprintBacklogId() {
+        return sprintBacklogId;
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    public synchronized long getDropped() {
+        return dropped;
+    }
+
+    /**
+     * Queue an event and make sure a delivery task is running
+     *
+     * @param event    the event to deliver
+     * @param delivery the executor running delivery tasks
+     * @return true if an older event had to be dropped to make room
+     */
+    boolean offer(BoardEvent event, Executor delivery) {
+        if (closed) {
+            return false;
+        }
+        boolean droppedOldest = false;
+        synchronized (this) {
+            if (buffer.size() >= capacity) {
+                buffer.pollFirst();
+                dropped++;
+                droppedOldest = true;
+            }
+            buffer.addLast(event);
+        }
+        if (draining.compareAndSet(false, true)) {
+            delivery.execute(this::drain);
+        }
+        return droppedOldest;
+    }
+
+    /**
+     * Whether the current send has been blocked for longer than the timeout
+     *
+     * @param nowNanos     the current {@link System#nanoTime()}
+     * @param timeoutNanos the longest a send may take
+     * @return true if the subscriber stopped reading
+     */
+    boolean isStalled(long nowNanos, long timeoutNanos) {
+        long started = sendStartedNanos;
+        return started != 0 && nowNanos - started > timeoutNanos;
+    }
+
+    /**
+     * Close the subscription and let its owner end the stream
+     */
+    void evict() {
+        close();
+        onEvicted.run();
+    }
+
+    void close() {
+        closed = true;
+        synchronized (this) {
+            buffer.clear();
+        }
+    }
+
+    private void drain() {
+        while (true) {
+            BoardEvent next;
+            synchronized (this) {
+                next = buffer.pollFirst();
+                if (next == null) {
+                    draining.set(false);
+                    return;
+                }
+            }
+            if (closed) {
+                continue;
+            }
+            sendStartedNanos = System.nanoTime();
+            try {
+                sink.send(next);
+            } catch (IOException | RuntimeException ex) {
+                close();
+            } finally {
+                sendStartedNanos = 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package ma.ensa.apms.facet;
+
+/**
+ * Attributes a backlog can be filtered and counted on.
+ * Each facet is read from the request parameter of the same name.
+ */
+public enum Facet {
+    STATUS("status"),
+    PRIORITY("priority"),
+    EPIC("epic"),
+    SPRINT("sprint"),
+    UNMET_CRITERIA("unmetCriteria");
+
+    /**
+     * Value of the epic and sprint facets for stories without one
+     */
+    public static final String NONE = "none";
+
+    private final String param;
+
+    Facet(String param) {
+        this.param = param;
+    }
+
+    public String param() {
+        return param;
+    }
+}
@@ -0,0 +1,79 @@
+package ma.ensa.apms.facet;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import ma.ensa.apms.exception.BusinessException;
+import ma.ensa.apms.modal.enums.UserStoryPriority;
+import ma.ensa.apms.modal.enums.UserStoryStatus;
+
+/**
+ * Facet filter of a backlog search: the values selected for a facet are
+ * ORed, the selected facets are ANDed. A facet without selection matches
+ * every story.
+ *
+ * @param selections the selected values by facet
+ */
+public record FacetFilter(Map<Facet, Set<String>> selections) {
+
+    public FacetFilter {
+        Map<Facet, Set<String>> copy = new EnumMap<>(Facet.class);
+        selections.forEach((facet, values) -> copy.put(facet, Set.copyOf(values)));
+        selections = Collections.unmodifiableMap(copy);
+    }
+
+    /**
+     * Build a filter from request parameters, each holding comma-separated
+     * values. Parameters that are not facets are ignored.
+     *
+     * @param params the request parameters
+     * @return the filter
+     * @throws BusinessException if a value is not valid for its facet
+     */
+    public static FacetFilter of(Map<String, String> params) {
+        Map<Facet, Set<String>> selections = new EnumMap<>(Facet.class);
+        for (Facet facet : Facet.values()) {
+            String values = params.get(facet.param());
+            if (values == null || values.isBlank()) {
+                continue;
+            }
+            Set<String> selected = new LinkedHashSet<>();
+            for (String value : values.split(",")) {
+                selected.add(normalize(facet, value.trim()));
+            }
+            selections.put(facet, selected);
+        }
+        return new FacetFilter(selections);
+    }
+
+    public Set<Facet> facets() {
+        return selections.keySet();
+    }
+
+    public Set<String> selected(Facet facet) {
+        return selections.getOrDefault(facet, Set.of());
+    }
+
+    private static String normalize(Facet facet, String value) {
+        try {
+            return switch (facet) {
+                case STATUS -> UserStoryStatus.valueOf(value.toUpperCase()).name();
+                case PRIORITY -> UserStoryPriority.valueOf(value.toUpperCase()).name();
+                case EPIC, SPRINT -> Facet.NONE.equalsIgnoreCase(value) ? Facet.NONE
+                        : UUID.fromString(value).toString();
+                case UNMET_CRITERIA -> {
+                    if (!"true".equalsIgnoreCase(value) && !"false".equalsIgnoreCase(value)) {
+                        throw new IllegalArgumentException(value);
+                    }
+                    yield value.toLowerCase();
+                }
+            };
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException("Invalid " + facet.param() + " filter value: " + value);
+        }
+    }
+}
@@ -0,0 +1,404 @@
+package ma.ensa.apms.facet;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import ma.ensa.apms.listener.TransactionalEntityListener;
+import ma.ensa.apms.modal.AcceptanceCriteria;
+import ma.ensa.apms.modal.ProductBacklog;
+import ma.ensa.apms.modal.UserStory;
+import ma.ensa.apms.repository.UserStoryRepository;
+
+/**
+ * In-memory facet index of the user stories of each product backlog.
+ *
+ * <p>
+ * Each loaded backlog numbers its stories with dense ordinals, reused once a
+ * story leaves, and keeps one RoaringBitmap of ordinals per facet value. A
+ * search ORs the postings selected within a facet, ANDs the facets, and counts
+ * each facet value by intersection cardinality with the filters on the other
+ * facets, so a value count tells how many stories selecting it would add.
+ * </p>
+ *
+ * <p>
+ * A backlog is built in the background on its first search, which the caller
+ * answers from SQL meanwhile. Like the top stories index, a Hibernate
+ * listener records the stories written by each session, directly or through
+ * their acceptance criteria; once the transaction has committed, the stories
+ * are read again and moved between postings. Builds and refreshes run in order on one thread, so a
+ * refresh never races with the build it follows. Backlogs are kept in least
+ * recently used order and the coldest are dropped once the index holds more
+ * than {@code apms.facets.max-stories} stories. If a refresh cannot run, the
+ * whole index is dropped rather than left stale.
+ * </p>
+ */
+@Component
+public class FacetIndex extends TransactionalEntityListener<FacetIndex.PendingChanges> {
+
+    private static final Comparator<FacetRow> ORDER = Comparator.comparingInt(FacetRow::priority)
+            .thenComparing(FacetRow::id);
+
+    private final UserStoryRepository userStoryRepository;
+    private final int maxStories;
+    private final Executor executor;
+    private final Counter evictedCounter;
+    private final Counter resetCounter;
+
+    private final Map<UUID, BacklogFacets> backlogs = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<UUID, UUID> backlogOfStory = new HashMap<>();
+    private final Set<UUID> building = new HashSet<>();
+    private int stories;
+
+    @Autowired
+    public FacetIndex(EntityManagerFactory entityManagerFactory,
+            UserStoryRepository userStoryRepository,
+            MeterRegistry meterRegistry,
+            @Value("${apms.facets.max-stories:500000}") int maxStories,
+            @Value("${apms.facets.queue-capacity:10000}") int queueCapacity) {
+        this(entityManagerFactory, userStoryRepository, meterRegistry, maxStories,
+                new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(queueCapacity),
+                        new CustomizableThreadFactory("facet-index-")));
+    }
+
+    FacetIndex(EntityManagerFactory entityManagerFactory, UserStoryRepository userStoryRepository,
+            MeterRegistry meterRegistry, int maxStories, Executor executor) {
+        super(entityManagerFactory);
+        this.userStoryRepository = userStoryRepository;
+        this.maxStories = maxStories;
+        this.executor = executor;
+        this.evictedCounter = Counter.builder("apms.facets.evicted")
+                .description("Product backlogs dropped from the facet index")
+                .register(meterRegistry);
+        this.resetCounter = Counter.builder("apms.facets.resets")
+                .description("Times the facet index was dropped after a failed build or refresh")
+                .register(meterRegistry);
+        Gauge.builder("apms.facets.stories", this, FacetIndex::size)
+                .description("Stories held by the facet index")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Search the stories of a product backlog, scheduling its build if it is
+     * not loaded yet
+     *
+     * @param productBacklogId the product backlog ID
+     * @param filter           the facet filter
+     * @param limit            the maximum number of story IDs
+     * @return the result, or null when the backlog is not loaded
+     */
+    public synchronized FacetSearchResult search(UUID productBacklogId, FacetFilter filter, int limit) {
+        BacklogFacets backlog = backlogs.get(productBacklogId);
+        if (backlog == null) {
+            if (building.add(productBacklogId)) {
+                submit(() -> install(productBacklogId, userStoryRepository.findFacetRows(productBacklogId)));
+            }
+            return null;
+        }
+        return backlog.search(filter, limit);
+    }
+
+    /**
+     * Number of stories held, over every loaded backlog
+     */
+    public synchronized int size() {
+        return stories;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        track(event.getSession(), event.getEntity(), false);
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        track(event.getSession(), event.getEntity(), false);
+        // A criteria moved to another story also changes the story it left
+        if (event.getEntity() instanceof AcceptanceCriteria && event.getOldState() != null
+                && event.getOldState()[indexOf(event.getPersister().getPropertyNames(), "userStory")]
+                        instanceof UserStory previous) {
+            pendingFor(event.getSession()).stories.add(previous.getId());
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        track(event.getSession(), event.getEntity(), true);
+    }
+
+    @Override
+    protected PendingChanges newPending() {
+        return new PendingChanges();
+    }
+
+    @Override
+    protected void afterCommit(PendingChanges changes) {
+        if (!changes.stories.isEmpty()) {
+            List<UUID> ids = List.copyOf(changes.stories);
+            submit(() -> refresh(ids));
+        }
+        changes.deletedBacklogs.forEach(productBacklogId -> submit(() -> drop(productBacklogId)));
+    }
+
+    /**
+     * Move stories to the postings of their committed values
+     *
+     * @param storyIds the stories read again
+     * @param rows     their rows, without the deleted stories
+     */
+    synchronized void apply(Collection<UUID> storyIds, List<FacetRow> rows) {
+        storyIds.forEach(this::remove);
+        for (FacetRow row : rows) {
+            BacklogFacets backlog = row.productBacklogId() != null ? backlogs.get(row.productBacklogId()) : null;
+            if (backlog != null) {
+                put(row.productBacklogId(), backlog, row);
+            }
+        }
+    }
+
+    synchronized void install(UUID productBacklogId, List<FacetRow> rows) {
+        building.remove(productBacklogId);
+        drop(productBacklogId);
+        BacklogFacets backlog = new BacklogFacets();
+        backlogs.put(productBacklogId, backlog);
+        rows.forEach(row -> put(productBacklogId, backlog, row));
+        evictColdBacklogs(productBacklogId);
+    }
+
+    synchronized void drop(UUID productBacklogId) {
+        BacklogFacets backlog = backlogs.remove(productBacklogId);
+        if (backlog != null) {
+            backlog.ordinalOf.keySet().forEach(backlogOfStory::remove);
+            stories -= backlog.ordinalOf.size();
+        }
+    }
+
+    private void refresh(List<UUID> storyIds) {
+        synchronized (this) {
+            if (backlogs.isEmpty()) {
+                return;
+            }
+        }
+        apply(storyIds, userStoryRepository.findFacetRowsByIds(storyIds));
+    }
+
+    private synchronized void reset() {
+        backlogs.clear();
+        backlogOfStory.clear();
+        building.clear();
+        stories = 0;
+        resetCounter.increment();
+    }
+
+    private void evictColdBacklogs(UUID keep) {
+        Iterator<Map.Entry<UUID, BacklogFacets>> coldest = backlogs.entrySet().iterator();
+        while (stories > maxStories && coldest.hasNext()) {
+            Map.Entry<UUID, BacklogFacets> backlog = coldest.next();
+            if (!backlog.getKey().equals(keep)) {
+                backlog.getValue().ordinalOf.keySet().forEach(backlogOfStory::remove);
+                stories -= backlog.getValue().ordinalOf.size();
+                coldest.remove();
+                evictedCounter.increment();
+            }
+        }
+    }
+
+    private void put(UUID productBacklogId, BacklogFacets backlog, FacetRow row) {
+        remove(row.id());
+        backlog.add(row);
+        backlogOfStory.put(row.id(), productBacklogId);
+        stories++;
+    }
+
+    private void remove(UUID storyId) {
+        UUID productBacklogId = backlogOfStory.remove(storyId);
+        BacklogFacets backlog = productBacklogId != null ? backlogs.get(productBacklogId) : null;
+        if (backlog != null && backlog.remove(storyId)) {
+            stories--;
+        }
+    }
+
+    private void submit(Runnable task) {
+        try {
+            executor.execute(() -> {
+                try {
+                    task.run();
+                } catch (RuntimeException e) {
+                    reset();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            reset();
+        }
+    }
+
+    private void track(EventSource session, Object entity, boolean deleted) {
+        if (entity instanceof UserStory story) {
+            pendingFor(session).stories.add(story.getId());
+        } else if (entity instanceof AcceptanceCriteria criteria && criteria.getUserStory() != null) {
+            pendingFor(session).stories.add(criteria.getUserStory().getId());
+        } else if (entity instanceof ProductBacklog backlog && deleted) {
+            pendingFor(session).deletedBacklogs.add(backlog.getId());
+        }
+    }
+
+    /**
+     * Stories and backlogs written by one session
+     */
+    static final class PendingChanges {
+        private final Set<UUID> stories = new LinkedHashSet<>();
+        private final Set<UUID> deletedBacklogs = new HashSet<>();
+    }
+
+    /**
+     * Postings of one backlog over dense story ordinals
+     */
+    private static final class BacklogFacets {
+        private final Map<UUID, Integer> ordinalOf = new HashMap<>();
+        private final List<FacetRow> rowAt = new ArrayList<>();
+        private final Deque<Integer> freeOrdinals = new ArrayDeque<>();
+        private final RoaringBitmap live = new RoaringBitmap();
+        private final Map<Facet, Map<String, RoaringBitmap>> postings = new EnumMap<>(Facet.class);
+
+        private BacklogFacets() {
+            for (Facet facet : Facet.values()) {
+                postings.put(facet, new HashMap<>());
+            }
+        }
+
+        private void add(FacetRow row) {
+            int ordinal;
+            if (freeOrdinals.isEmpty()) {
+                ordinal = rowAt.size();
+                rowAt.add(row);
+            } else {
+                ordinal = freeOrdinals.pop();
+                rowAt.set(ordinal, row);
+            }
+            ordinalOf.put(row.id(), ordinal);
+            live.add(ordinal);
+            for (Facet facet : Facet.values()) {
+                postings.get(facet).computeIfAbsent(row.value(facet), value -> new RoaringBitmap()).add(ordinal);
+            }
+        }
+
+        private boolean remove(UUID storyId) {
+            Integer ordinal = ordinalOf.remove(storyId);
+            if (ordinal == null) {
+                return false;
+            }
+            FacetRow row = rowAt.set(ordinal, null);
+            live.remove(ordinal);
+            for (Facet facet : Facet.values()) {
+                Map<String, RoaringBitmap> values = postings.get(facet);
+                RoaringBitmap posting = values.get(row.value(facet));
+                posting.remove(ordinal);
+                if (posting.isEmpty()) {
+                    values.remove(row.value(facet));
+                }
+            }
+            freeOrdinals.push(ordinal);
+            return true;
+        }
+
+        private FacetSearchResult search(FacetFilter filter, int limit) {
+            Map<Facet, RoaringBitmap> matches = new EnumMap<>(Facet.class);
+            for (Facet facet : filter.facets()) {
+                RoaringBitmap match = new RoaringBitmap();
+                for (String value : filter.selected(facet)) {
+                    RoaringBitmap posting = postings.get(facet).get(value);
+                    if (posting != null) {
+                        match.or(posting);
+                    }
+                }
+                matches.put(facet, match);
+            }
+            RoaringBitmap result = intersect(matches, null);
+
+            Map<Facet, Map<String, Long>> counts = new EnumMap<>(Facet.class);
+            for (Facet facet : Facet.values()) {
+                RoaringBitmap base = matches.containsKey(facet) ? intersect(matches, facet) : result;
+                Map<String, Long> values = new TreeMap<>();
+                postings.get(facet).forEach((value, posting) -> {
+                    long count = RoaringBitmap.andCardinality(base, posting);
+                    if (count > 0) {
+                        values.put(value, count);
+                    }
+                });
+                counts.put(facet, values);
+            }
+            return new FacetSearchResult(first(result, limit), result.getLongCardinality(), counts);
+        }
+
+        private RoaringBitmap intersect(Map<Facet, RoaringBitmap> matches, Facet skipped) {
+            RoaringBitmap result = live.clone();
+            matches.forEach((facet, match) -> {
+                if (facet != skipped) {
+                    result.and(match);
+                }
+            });
+            return result;
+        }
+
+        /**
+         * First stories of a result by priority then id, through a heap
+         * bounded to the limit
+         */
+        private List<UUID> first(RoaringBitmap result, int limit) {
+            PriorityQueue<FacetRow> kept = new PriorityQueue<>(ORDER.reversed());
+            IntIterator ordinals = result.getIntIterator();
+            while (ordinals.hasNext()) {
+                kept.add(rowAt.get(ordinals.next()));
+                if (kept.size() > limit) {
+                    kept.poll();
+                }
+            }
+            List<FacetRow> rows = new ArrayList<>(kept);
+            rows.sort(ORDER);
+            return rows.stream().map(FacetRow::id).toList();
+        }
+    }
+}
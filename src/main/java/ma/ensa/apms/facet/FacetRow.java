@@ -0,0 +1,37 @@
+package ma.ensa.apms.facet;
+
+import java.util.UUID;
+
+import ma.ensa.apms.modal.enums.UserStoryPriority;
+import ma.ensa.apms.modal.enums.UserStoryStatus;
+
+/**
+ * Facet attributes of a user story, as loaded into the facet index.
+ *
+ * @param id               the user story ID
+ * @param productBacklogId the product backlog ID, null outside any backlog
+ * @param status           the status
+ * @param priority         the numeric priority
+ * @param epicId           the epic ID, null when not linked
+ * @param sprintBacklogId  the sprint backlog ID, null when not planned
+ * @param unmetCriteria    the number of acceptance criteria not met yet
+ */
+public record FacetRow(UUID id, UUID productBacklogId, UserStoryStatus status, int priority, UUID epicId,
+        UUID sprintBacklogId, Long unmetCriteria) {
+
+    /**
+     * Value of the story for a facet
+     *
+     * @param facet the facet
+     * @return the value, as it appears in filters and counts
+     */
+    public String value(Facet facet) {
+        return switch (facet) {
+            case STATUS -> status.name();
+            case PRIORITY -> UserStoryPriority.of(priority).name();
+            case EPIC -> epicId != null ? epicId.toString() : Facet.NONE;
+            case SPRINT -> sprintBacklogId != null ? sprintBacklogId.toString() : Facet.NONE;
+            case UNMET_CRITERIA -> Boolean.toString(unmetCriteria > 0);
+        };
+    }
+}
@@ -0,0 +1,16 @@
+package ma.ensa.apms.facet;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Result of a facet search over one product backlog.
+ *
+ * @param ids    the matching story IDs, by priority then id, up to the limit
+ * @param total  the number of matching stories
+ * @param counts for each facet, the number of stories per value with the
+ *               filters on the other facets applied
+ */
+public record FacetSearchResult(List<UUID> ids, long total, Map<Facet, Map<String, Long>> counts) {
+}
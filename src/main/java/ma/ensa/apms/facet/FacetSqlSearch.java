@@ -0,0 +1,172 @@
+package ma.ensa.apms.facet;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+
+import org.springframework.stereotype.Component;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import lombok.RequiredArgsConstructor;
+import ma.ensa.apms.modal.enums.UserStoryPriority;
+import ma.ensa.apms.modal.enums.UserStoryStatus;
+
+/**
+ * SQL answer to a facet search, used while the facet index of a backlog is
+ * being built. Runs the same filter semantics as the index: one query for the
+ * page, one for the total and one grouped count per facet.
+ */
+@Component
+@RequiredArgsConstructor
+public class FacetSqlSearch {
+
+    private static final String FROM = " from UserStory us left join us.epic e left join us.sprintBacklog sb "
+            + "where (us.productBacklog.id = :productBacklogId or sb.productBacklog.id = :productBacklogId)";
+    private static final String UNMET = "exists (select ac.id from AcceptanceCriteria ac "
+            + "where ac.userStory = us and ac.met = false)";
+
+    private final EntityManager entityManager;
+
+    /**
+     * Search the stories of a product backlog
+     *
+     * @param productBacklogId the product backlog ID
+     * @param filter           the facet filter
+     * @param limit            the maximum number of story IDs
+     * @return the result
+     */
+    public FacetSearchResult search(UUID productBacklogId, FacetFilter filter, int limit) {
+        Map<String, Object> params = new HashMap<>();
+        String where = FROM + predicates(filter, null, params);
+        List<UUID> ids = query("select us.id" + where + " order by us.priority, us.id", UUID.class,
+                productBacklogId, params)
+                .setMaxResults(limit)
+                .getResultList();
+        long total = count(where, productBacklogId, params);
+
+        Map<Facet, Map<String, Long>> counts = new EnumMap<>(Facet.class);
+        for (Facet facet : Facet.values()) {
+            counts.put(facet, countValues(productBacklogId, filter, facet));
+        }
+        return new FacetSearchResult(ids, total, counts);
+    }
+
+    private Map<String, Long> countValues(UUID productBacklogId, FacetFilter filter, Facet facet) {
+        Map<String, Object> params = new HashMap<>();
+        String where = FROM + predicates(filter, facet, params);
+        Map<String, Long> counts = new TreeMap<>();
+        String group = groupBy(facet);
+        if (group == null) {
+            long all = count(where, productBacklogId, params);
+            long unmet = count(where + " and " + UNMET, productBacklogId, params);
+            putIfPositive(counts, "true", unmet);
+            putIfPositive(counts, "false", all - unmet);
+            return counts;
+        }
+        List<Object[]> rows = query("select " + group + ", count(us)" + where + " group by " + group,
+                Object[].class, productBacklogId, params).getResultList();
+        for (Object[] row : rows) {
+            counts.merge(label(facet, row[0]), (Long) row[1], Long::sum);
+        }
+        return counts;
+    }
+
+    private long count(String where, UUID productBacklogId, Map<String, Object> params) {
+        return query("select count(us)" + where, Long.class, productBacklogId, params).getSingleResult();
+    }
+
+    private <T> TypedQuery<T> query(String jpql, Class<T> resultType, UUID productBacklogId,
+            Map<String, Object> params) {
+        TypedQuery<T> query = entityManager.createQuery(jpql, resultType);
+        query.setParameter("productBacklogId", productBacklogId);
+        params.forEach(query::setParameter);
+        return query;
+    }
+
+    /**
+     * JPQL predicates of the selected facets, the skipped one aside
+     */
+    private static String predicates(FacetFilter filter, Facet skipped, Map<String, Object> params) {
+        StringBuilder jpql = new StringBuilder();
+        for (Facet facet : filter.facets()) {
+            if (facet == skipped) {
+                continue;
+            }
+            Set<String> selected = filter.selected(facet);
+            String predicate = switch (facet) {
+                case STATUS -> {
+                    params.put("status", selected.stream().map(UserStoryStatus::valueOf).toList());
+                    yield "us.status in :status";
+                }
+                case PRIORITY -> priorityPredicate(selected, params);
+                case EPIC -> referencePredicate("e", "epic", selected, params);
+                case SPRINT -> referencePredicate("sb", "sprint", selected, params);
+                case UNMET_CRITERIA -> selected.size() > 1 ? null
+                        : selected.contains("true") ? UNMET : "not " + UNMET;
+            };
+            if (predicate != null) {
+                jpql.append(" and (").append(predicate).append(')');
+            }
+        }
+        return jpql.toString();
+    }
+
+    private static String priorityPredicate(Set<String> selected, Map<String, Object> params) {
+        List<String> bands = new ArrayList<>();
+        for (String value : selected) {
+            UserStoryPriority band = UserStoryPriority.valueOf(value);
+            String name = "priority" + band.name();
+            params.put(name + "Min", band.getMin());
+            params.put(name + "Max", band.getMax());
+            bands.add("us.priority between :" + name + "Min and :" + name + "Max");
+        }
+        return String.join(" or ", bands);
+    }
+
+    private static String referencePredicate(String alias, String name, Set<String> selected,
+            Map<String, Object> params) {
+        List<String> options = new ArrayList<>();
+        List<UUID> ids = selected.stream()
+                .filter(value -> !Facet.NONE.equals(value))
+                .map(UUID::fromString)
+                .toList();
+        if (!ids.isEmpty()) {
+            params.put(name, ids);
+            options.add(alias + ".id in :" + name);
+        }
+        if (selected.contains(Facet.NONE)) {
+            options.add(alias + ".id is null");
+        }
+        return String.join(" or ", options);
+    }
+
+    private static String groupBy(Facet facet) {
+        return switch (facet) {
+            case STATUS -> "us.status";
+            case PRIORITY -> "us.priority";
+            case EPIC -> "e.id";
+            case SPRINT -> "sb.id";
+            case UNMET_CRITERIA -> null;
+        };
+    }
+
+    private static String label(Facet facet, Object value) {
+        return switch (facet) {
+            case STATUS -> ((UserStoryStatus) value).name();
+            case PRIORITY -> UserStoryPriority.of((Integer) value).name();
+            default -> value != null ? value.toString() : Facet.NONE;
+        };
+    }
+
+    private static void putIfPositive(Map<String, Long> counts, String value, long count) {
+        if (count > 0) {
+            counts.put(value, count);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package ma.ensa.apms.history;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ma.ensa.apms.modal.StatusTransition;
+import ma.ensa.apms.modal.enums.TransitionEntityType;
+
+/**
+ * State of a sprint board rebuilt from the status transition log.
+ * Serialized as JSON in board snapshots.
+ */
+@Data
+@NoArgsConstructor
+public class BoardState {
+
+    private Map<UUID, StoryState> stories = new LinkedHashMap<>();
+
+    /**
+     * Replay one transition of the sprint on this board
+     *
+     * @param transition the transition, in chronological order
+     */
+    public void apply(StatusTransition transition) {
+        if (transition.getEntityType() == TransitionEntityType.STORY) {
+            if (transition.getToStatus() == null) {
+                stories.remove(transition.getEntityId());
+            } else {
+                stories.computeIfAbsent(transition.getEntityId(), id -> new StoryState())
+                        .setStatus(transition.getToStatus());
+            }
+            return;
+        }
+
+        if (transition.getUserStoryId() == null) {
+            return;
+        }
+        if (transition.getToStatus() == null) {
+            StoryState story = stories.get(transition.getUserStoryId());
+            if (story != null) {
+                story.getTasks().remove(transition.getEntityId());
+            }
+        } else {
+            stories.computeIfAbsent(transition.getUserStoryId(), id -> new StoryState())
+                    .getTasks().put(transition.getEntityId(), transition.getToStatus());
+        }
+    }
+
+    /**
+     * A story on the board with the status of each of its tasks
+     */
+    @Data
+    @NoArgsConstructor
+    public static class StoryState {
+        private String status;
+        private Map<UUID, String> tasks = new LinkedHashMap<>();
+    }
+}
@@ -0,0 +1,229 @@
+package ma.ensa.apms.history;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+import org.hibernate.Hibernate;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.springframework.stereotype.Component;
+
+import jakarta.persistence.EntityManagerFactory;
+import ma.ensa.apms.listener.TransactionalEntityListener;
+import ma.ensa.apms.modal.SprintBacklog;
+import ma.ensa.apms.modal.StatusTransition;
+import ma.ensa.apms.modal.Task;
+import ma.ensa.apms.modal.UserStory;
+import ma.ensa.apms.modal.enums.TransitionEntityType;
+
+/**
+ * Hibernate listener appending a {@link StatusTransition} for every status
+ * change of a user story or a task, for every story entering or leaving a
+ * sprint and for every deletion.
+ *
+ * <p>
+ * Transitions are collected per session and inserted with one JDBC batch just
+ * before the transaction commits, so the log is written in the same
+ * transaction as the change and rolled back with it. A story entering a sprint
+ * also brings the current status of each of its tasks onto that sprint's
+ * board.
+ * </p>
+ */
+@Component
+public class StatusTransitionListener extends TransactionalEntityListener<StatusTransitionListener.Batch> {
+
+    private static final String INSERT_STORY_TRANSITION = "insert into status_transition "
+            + "(entity_type, entity_id, user_story_id, sprint_backlog_id, from_status, to_status, occurred_at) "
+            + "values (?, ?, ?, ?, ?, ?, ?)";
+
+    // The sprint of a task is the sprint of its story when the transaction commits
+    private static final String INSERT_TASK_TRANSITION = "insert into status_transition "
+            + "(entity_type, entity_id, user_story_id, sprint_backlog_id, from_status, to_status, occurred_at) "
+            + "values (?, ?, ?, (select us.sprint_backlog_id from user_story us where us.id = ?), ?, ?, ?)";
+
+    // The tasks of a story entering a sprint appear on its board as they are
+    private static final String INSERT_TASKS_ENTERING_SPRINT = "insert into status_transition "
+            + "(entity_type, entity_id, user_story_id, sprint_backlog_id, from_status, to_status, occurred_at) "
+            + "select 'TASK', t.id, t.user_story_id, ?, cast(null as varchar(16)), t.status, ? "
+            + "from task t where t.user_story_id = ?";
+
+    public StatusTransitionListener(EntityManagerFactory entityManagerFactory) {
+        super(entityManagerFactory);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (event.getEntity() instanceof UserStory story) {
+            record(event.getSession(), story(story.getId(), sprintIdOf(story.getSprintBacklog()), null,
+                    nameOf(story.getStatus())));
+        } else if (event.getEntity() instanceof Task task) {
+            record(event.getSession(), task(task, null, nameOf(task.getStatus())));
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        Object[] oldState = event.getOldState();
+        if (oldState == null) {
+            return;
+        }
+        String[] properties = event.getPersister().getPropertyNames();
+
+        if (event.getEntity() instanceof UserStory story) {
+            String previousStatus = nameOf(oldState[indexOf(properties, "status")]);
+            String status = nameOf(story.getStatus());
+            UUID previousSprintId = sprintIdOf(oldState[indexOf(properties, "sprintBacklog")]);
+            UUID sprintId = sprintIdOf(story.getSprintBacklog());
+
+            if (!Objects.equals(previousSprintId, sprintId)) {
+                if (previousSprintId != null) {
+                    record(event.getSession(), story(story.getId(), previousSprintId, previousStatus, null));
+                }
+                if (sprintId != null) {
+                    StatusTransition entered = story(story.getId(), sprintId, previousStatus, status);
+                    record(event.getSession(), entered);
+                    pendingFor(event.getSession()).sprintEntries.add(entered);
+                }
+            } else if (!Objects.equals(previousStatus, status)) {
+                record(event.getSession(), story(story.getId(), sprintId, previousStatus, status));
+            }
+        } else if (event.getEntity() instanceof Task task) {
+            String previousStatus = nameOf(oldState[indexOf(properties, "status")]);
+            String status = nameOf(task.getStatus());
+            if (!Objects.equals(previousStatus, status)) {
+                record(event.getSession(), task(task, previousStatus, status));
+            }
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (event.getEntity() instanceof UserStory story) {
+            record(event.getSession(), story(story.getId(), sprintIdOf(story.getSprintBacklog()),
+                    nameOf(story.getStatus()), null));
+        } else if (event.getEntity() instanceof Task task) {
+            StatusTransition transition = task(task, nameOf(task.getStatus()), null);
+            // Deleted along with its story, whose row is gone by commit time:
+            // take the sprint from the story as it was loaded
+            if (task.getUserStory() != null && Hibernate.isInitialized(task.getUserStory())) {
+                transition.setSprintBacklogId(sprintIdOf(task.getUserStory().getSprintBacklog()));
+            }
+            record(event.getSession(), transition);
+        }
+    }
+
+    @Override
+    protected Batch newPending() {
+        return new Batch();
+    }
+
+    @Override
+    protected void beforeCommit(SharedSessionContractImplementor session, Batch batch) {
+        if (batch.transitions.isEmpty()) {
+            return;
+        }
+        session.doWork(connection -> {
+            try (PreparedStatement direct = connection.prepareStatement(INSERT_STORY_TRANSITION);
+                    PreparedStatement viaStory = connection.prepareStatement(INSERT_TASK_TRANSITION)) {
+                boolean hasDirect = false;
+                boolean hasViaStory = false;
+                for (StatusTransition transition : batch.transitions) {
+                    boolean resolveSprint = transition.getEntityType() == TransitionEntityType.TASK
+                            && transition.getSprintBacklogId() == null;
+                    PreparedStatement statement = resolveSprint ? viaStory : direct;
+                    statement.setString(1, transition.getEntityType().name());
+                    statement.setObject(2, transition.getEntityId());
+                    statement.setObject(3, transition.getUserStoryId());
+                    statement.setObject(4,
+                            resolveSprint ? transition.getUserStoryId() : transition.getSprintBacklogId());
+                    setNullableString(statement, 5, transition.getFromStatus());
+                    setNullableString(statement, 6, transition.getToStatus());
+                    statement.setObject(7, transition.getOccurredAt());
+                    statement.addBatch();
+                    hasViaStory |= resolveSprint;
+                    hasDirect |= !resolveSprint;
+                }
+                if (hasDirect) {
+                    direct.executeBatch();
+                }
+                if (hasViaStory) {
+                    viaStory.executeBatch();
+                }
+            }
+            if (batch.sprintEntries.isEmpty()) {
+                return;
+            }
+            try (PreparedStatement tasks = connection.prepareStatement(INSERT_TASKS_ENTERING_SPRINT)) {
+                for (StatusTransition entered : batch.sprintEntries) {
+                    tasks.setObject(1, entered.getSprintBacklogId());
+                    tasks.setObject(2, entered.getOccurredAt());
+                    tasks.setObject(3, entered.getUserStoryId());
+                    tasks.addBatch();
+                }
+                tasks.executeBatch();
+            }
+        });
+    }
+
+    private void record(EventSource session, StatusTransition transition) {
+        pendingFor(session).transitions.add(transition);
+    }
+
+    private static StatusTransition story(UUID storyId, UUID sprintId, String from, String to) {
+        return StatusTransition.builder()
+                .entityType(TransitionEntityType.STORY)
+                .entityId(storyId)
+                .userStoryId(storyId)
+                .sprintBacklogId(sprintId)
+                .fromStatus(from)
+                .toStatus(to)
+                .occurredAt(LocalDateTime.now())
+                .build();
+    }
+
+    private static StatusTransition task(Task task, String from, String to) {
+        return StatusTransition.builder()
+                .entityType(TransitionEntityType.TASK)
+                .entityId(task.getId())
+                .userStoryId(task.getUserStory() != null ? task.getUserStory().getId() : null)
+                .fromStatus(from)
+                .toStatus(to)
+                .occurredAt(LocalDateTime.now())
+                .build();
+    }
+
+    private static void setNullableString(PreparedStatement statement, int index, String value)
+            throws SQLException {
+        if (value == null) {
+            statement.setNull(index, Types.VARCHAR);
+        } else {
+            statement.setString(index, value);
+        }
+    }
+
+    /**
+     * Transitions of one session, and the stories among them that entered a
+     * sprint
+     */
+    static final class Batch {
+        private final List<StatusTransition> transitions = new ArrayList<>();
+        private final List<StatusTransition> sprintEntries = new ArrayList<>();
+    }
+
+    private static UUID sprintIdOf(Object sprintBacklog) {
+        return sprintBacklog instanceof SprintBacklog sprint ? sprint.getId() : null;
+    }
+
+    private static String nameOf(Object status) {
+        return status instanceof Enum<?> value ? value.name() : null;
+    }
+}
@@ -0,0 +1,164 @@
+package ma.ensa.apms.jfr;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import ma.ensa.apms.logging.LoggerUtils;
+
+/**
+ * {@code /actuator/jfr}: starts, dumps and stops a Flight Recorder recording
+ * with the JDK {@code default} settings plus {@code jfr/apms.jfc}, which turns
+ * the APMS events on.
+ *
+ * <ul>
+ * <li>{@code GET /actuator/jfr}: the running recordings</li>
+ * <li>{@code POST /actuator/jfr}: start the {@code apms} recording, with an
+ * optional {@code duration} (ISO-8601) after which it stops</li>
+ * <li>{@code GET /actuator/jfr/{name}}: a {@code .jfr} snapshot of a running
+ * recording</li>
+ * <li>{@code DELETE /actuator/jfr}: stop the {@code apms} recording</li>
+ * </ul>
+ *
+ * <p>
+ * Recordings hold stack traces and event payloads, so the endpoint is only
+ * exposed over HTTP with the {@code profiling} profile.
+ * </p>
+ */
+@WebEndpoint(id = "jfr")
+public class JfrRecordingEndpoint {
+
+    static final String RECORDING_NAME = "apms";
+    static final String SETTINGS = "jfr/apms.jfc";
+
+    private Recording recording;
+
+    @ReadOperation
+    public Map<String, Object> recordings() {
+        Map<String, Object> recordings = new LinkedHashMap<>();
+        for (Recording running : FlightRecorder.getFlightRecorder().getRecordings()) {
+            Map<String, Object> status = new LinkedHashMap<>();
+            status.put("state", running.getState());
+            status.put("startTime", running.getStartTime());
+            status.put("duration", running.getDuration());
+            status.put("size", running.getSize());
+            recordings.put(running.getName(), status);
+        }
+        return recordings;
+    }
+
+    @WriteOperation
+    public synchronized Map<String, Object> start(@Nullable String duration) {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            return Map.of("name", RECORDING_NAME, "state", RecordingState.RUNNING, "started", false);
+        }
+        recording = new Recording(settings());
+        recording.setName(RECORDING_NAME);
+        recording.setToDisk(true);
+        if (duration != null) {
+            recording.setDuration(Duration.parse(duration));
+        }
+        recording.start();
+        LoggerUtils.logServiceInfo("JFR recording {} started", RECORDING_NAME);
+        return Map.of("name", RECORDING_NAME, "state", recording.getState(), "started", true);
+    }
+
+    @ReadOperation(produces = "application/octet-stream")
+    public WebEndpointResponse<Resource> dump(@Selector String name) throws IOException {
+        Recording running = FlightRecorder.getFlightRecorder().getRecordings().stream()
+                .filter(candidate -> candidate.getName().equals(name))
+                .findFirst()
+                .orElse(null);
+        if (running == null || running.getState() != RecordingState.RUNNING
+                && running.getState() != RecordingState.STOPPED) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        Path file = Files.createTempFile(name + "-" + Instant.now().toEpochMilli() + "-", ".jfr");
+        running.dump(file);
+        return new WebEndpointResponse<>(new TemporaryFileResource(file));
+    }
+
+    @DeleteOperation
+    public synchronized Map<String, Object> stop() {
+        if (recording == null) {
+            return Map.of("name", RECORDING_NAME, "stopped", false);
+        }
+        recording.close();
+        recording = null;
+        LoggerUtils.logServiceInfo("JFR recording {} stopped", RECORDING_NAME);
+        return Map.of("name", RECORDING_NAME, "stopped", true);
+    }
+
+    /**
+     * @return the JDK default settings with the APMS events turned on
+     */
+    static Map<String, String> settings() {
+        try (Reader reader = new InputStreamReader(new ClassPathResource(SETTINGS).getInputStream(),
+                StandardCharsets.UTF_8)) {
+            Map<String, String> settings = new HashMap<>(Configuration.getConfiguration("default").getSettings());
+            settings.putAll(Configuration.create(reader).getSettings());
+            return settings;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (ParseException e) {
+            throw new IllegalStateException("Invalid JFR settings " + SETTINGS, e);
+        }
+    }
+
+    /**
+     * Snapshot file deleted once sent
+     */
+    private static final class TemporaryFileResource extends FileSystemResource {
+
+        private TemporaryFileResource(Path file) {
+            super(file);
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return new FilterInputStream(super.getInputStream()) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        Files.deleteIfExists(getFile().toPath());
+                    }
+                }
+            };
+        }
+
+        @Override
+        public boolean isFile() {
+            // Served through getInputStream so the file is deleted afterwards
+            return false;
+        }
+    }
+}
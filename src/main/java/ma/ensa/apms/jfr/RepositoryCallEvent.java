@@ -0,0 +1,39 @@
+package ma.ensa.apms.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for a Spring Data repository call, emitted by
+ * {@link RepositoryCallInterceptor}. Off unless a recording enables it.
+ */
+@Name(RepositoryCallEvent.NAME)
+@Label("Repository Call")
+@Category({ "APMS", "Repository" })
+@Description("A call to an APMS Spring Data repository")
+@Enabled(false)
+@StackTrace(false)
+public class RepositoryCallEvent extends Event {
+
+    public static final String NAME = "ma.ensa.apms.RepositoryCall";
+
+    @Label("Repository")
+    String repository;
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Entity Type")
+    String entityType;
+
+    @Label("Entity Id")
+    String entityId;
+
+    @Label("Failed")
+    boolean failed;
+}
@@ -0,0 +1,76 @@
+package ma.ensa.apms.jfr;
+
+import java.util.Collection;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.data.repository.core.EntityInformation;
+
+/**
+ * Emits a {@link RepositoryCallEvent} around every call to one repository.
+ *
+ * <p>
+ * The entity id is the first argument that is an id or an entity of the
+ * repository's domain type; a collection argument is reported by size. When
+ * no recording enables the event, the call goes straight through.
+ * </p>
+ */
+public class RepositoryCallInterceptor implements MethodInterceptor {
+
+    private final String repository;
+    private final Class<?> domainType;
+    private final Class<?> idType;
+    private final EntityInformation<?, ?> entityInformation;
+
+    public RepositoryCallInterceptor(Class<?> repositoryInterface, EntityInformation<?, ?> entityInformation) {
+        this.repository = repositoryInterface.getSimpleName();
+        this.domainType = entityInformation.getJavaType();
+        this.idType = entityInformation.getIdType();
+        this.entityInformation = entityInformation;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        RepositoryCallEvent event = new RepositoryCallEvent();
+        if (!event.isEnabled()) {
+            return invocation.proceed();
+        }
+        event.begin();
+        boolean failed = true;
+        try {
+            Object result = invocation.proceed();
+            failed = false;
+            return result;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.repository = repository;
+                event.operation = invocation.getMethod().getName();
+                event.entityType = domainType.getSimpleName();
+                event.entityId = entityIdOf(invocation.getArguments());
+                event.failed = failed;
+                event.commit();
+            }
+        }
+    }
+
+    private String entityIdOf(Object[] args) {
+        for (Object arg : args) {
+            if (idType.isInstance(arg)) {
+                return arg.toString();
+            }
+            if (domainType.isInstance(arg)) {
+                return String.valueOf(idOf(arg));
+            }
+            if (arg instanceof Collection<?> collection) {
+                return collection.size() + " items";
+            }
+        }
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object idOf(Object entity) {
+        return ((EntityInformation<Object, ?>) entityInformation).getId(entity);
+    }
+}
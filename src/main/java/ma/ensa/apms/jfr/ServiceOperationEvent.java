@@ -0,0 +1,88 @@
+package ma.ensa.apms.jfr;
+
+import java.util.UUID;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for a service method annotated with {@code @LogOperation} or
+ * {@code @LogExecutionTime}, emitted by the logging aspect.
+ *
+ * <p>
+ * Off unless a recording enables it, e.g. with {@code jfr/apms.jfc}; the
+ * fields are only filled for events that will be committed.
+ * </p>
+ */
+@Name(ServiceOperationEvent.NAME)
+@Label("Service Operation")
+@Category({ "APMS", "Service" })
+@Description("A logged APMS service operation")
+@Enabled(false)
+@StackTrace(false)
+public class ServiceOperationEvent extends Event {
+
+    public static final String NAME = "ma.ensa.apms.ServiceOperation";
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Service")
+    String service;
+
+    @Label("Method")
+    String method;
+
+    @Label("Entity Type")
+    String entityType;
+
+    @Label("Entity Id")
+    String entityId;
+
+    @Label("Failed")
+    boolean failed;
+
+    /**
+     * Fill the event before committing it
+     *
+     * @param operation the operation description, or class.method
+     * @param service   the service class
+     * @param method    the method name
+     * @param args      the call arguments; the first UUID is taken as the
+     *                  entity id
+     * @param failed    whether the call threw
+     */
+    public void set(String operation, Class<?> service, String method, Object[] args, boolean failed) {
+        this.operation = operation;
+        this.service = service.getSimpleName();
+        this.method = method;
+        this.entityType = entityTypeOf(service);
+        this.entityId = firstId(args);
+        this.failed = failed;
+    }
+
+    /**
+     * {@code TaskServiceImpl} manages {@code Task}
+     */
+    static String entityTypeOf(Class<?> service) {
+        String name = service.getSimpleName();
+        int suffix = name.indexOf("Service");
+        return suffix > 0 ? name.substring(0, suffix) : name;
+    }
+
+    private static String firstId(Object[] args) {
+        if (args != null) {
+            for (Object arg : args) {
+                if (arg instanceof UUID id) {
+                    return id.toString();
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,86 @@
+package ma.ensa.apms.limiter;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounds the requests in flight by a {@link GradientLimit}, fed with the
+ * latency of every request let through
+ */
+public class ConcurrencyLimiter {
+
+    private final GradientLimit limit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public ConcurrencyLimiter(GradientLimit limit) {
+        this.limit = limit;
+    }
+
+    public int getLimit() {
+        return limit.getLimit();
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * Take a permit without waiting
+     *
+     * @return the permit, or null when the limit is reached
+     */
+    public Permit tryAcquire() {
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= limit.getLimit()) {
+                return null;
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+        return new Permit(System.nanoTime());
+    }
+
+    /**
+     * A request let through, to be released exactly once
+     */
+    public final class Permit {
+
+        private final long startNanos;
+        private boolean released;
+
+        private Permit(long startNanos) {
+            this.startNanos = startNanos;
+        }
+
+        /**
+         * Release after a request that completed normally
+         */
+        public void onSuccess() {
+            release(true, false);
+        }
+
+        /**
+         * Release after a request that failed or timed out
+         */
+        public void onDropped() {
+            release(true, true);
+        }
+
+        /**
+         * Release without feeding the limit, e.g. for a request gone async
+         */
+        public void onIgnore() {
+            release(false, false);
+        }
+
+        private void release(boolean sample, boolean dropped) {
+            if (released) {
+                return;
+            }
+            released = true;
+            int current = inFlight.getAndDecrement();
+            if (sample) {
+                limit.onSample(System.nanoTime() - startNanos, current, dropped);
+            }
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package ma.ensa.apms.limiter;
+
+/**
+ * Concurrency limit driven by measured latency.
+ *
+ * <p>
+ * Every completed request is compared with the no-load latency, the lowest
+ * latency seen over the last two windows of samples. While requests stay
+ * within {@code tolerance} times that latency the limit grows by its square
+ * root, leaving room for a short queue; past it the limit shrinks in
+ * proportion to the slowdown, by half at most. Changes are smoothed over
+ * several samples. Samples taken while fewer than half the permits are in use
+ * say nothing about the limit and only feed the no-load latency. A dropped
+ * request (failure or timeout) multiplies the limit by
+ * {@link #BACKOFF_RATIO}.
+ * </p>
+ */
+public class GradientLimit {
+
+    static final double BACKOFF_RATIO = 0.9;
+    private static final double SMOOTHING = 0.2;
+    private static final double MIN_GRADIENT = 0.5;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final int window;
+
+    private volatile double limit;
+    private long currentMinRtt = Long.MAX_VALUE;
+    private long previousMinRtt = Long.MAX_VALUE;
+    private int windowSamples;
+
+    /**
+     * @param initialLimit the limit before any sample
+     * @param minLimit     the lowest limit, at least 1
+     * @param maxLimit     the highest limit
+     * @param tolerance    how many times the no-load latency is still healthy
+     * @param window       the number of samples per no-load latency window
+     */
+    public GradientLimit(int initialLimit, int minLimit, int maxLimit, double tolerance, int window) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("Limits must satisfy 1 <= min <= max");
+        }
+        if (tolerance < 1 || window < 1) {
+            throw new IllegalArgumentException("Tolerance must be at least 1 and window positive");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.window = window;
+        this.limit = clamp(initialLimit);
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    /**
+     * Record a completed request
+     *
+     * @param rttNanos the time the request took
+     * @param inFlight the requests in flight when it completed, itself included
+     * @param dropped  whether the request failed or timed out
+     */
+    public synchronized void onSample(long rttNanos, int inFlight, boolean dropped) {
+        if (dropped) {
+            limit = clamp(limit * BACKOFF_RATIO);
+            return;
+        }
+        if (rttNanos <= 0) {
+            return;
+        }
+        trackNoLoadRtt(rttNanos);
+        if (inFlight * 2 < limit) {
+            return;
+        }
+        double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, tolerance * noLoadRtt() / rttNanos));
+        double target = limit * gradient + Math.sqrt(limit);
+        limit = clamp(limit * (1 - SMOOTHING) + target * SMOOTHING);
+    }
+
+    long noLoadRtt() {
+        return Math.min(currentMinRtt, previousMinRtt);
+    }
+
+    private void trackNoLoadRtt(long rttNanos) {
+        currentMinRtt = Math.min(currentMinRtt, rttNanos);
+        if (++windowSamples >= window) {
+            previousMinRtt = currentMinRtt;
+            currentMinRtt = Long.MAX_VALUE;
+            windowSamples = 0;
+        }
+    }
+
+    private double clamp(double value) {
+        return Math.max(minLimit, Math.min(maxLimit, value));
+    }
+}
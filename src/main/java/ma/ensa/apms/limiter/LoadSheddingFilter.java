@@ -0,0 +1,149 @@
+package ma.ensa.apms.limiter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import ma.ensa.apms.dto.Response.ApiErrorResponse;
+
+/**
+ * Sheds load before it reaches the connection pool.
+ *
+ * <p>
+ * Each request takes a permit from the limiter of its class: bulk when its
+ * path matches one of the bulk patterns, write for any other non-GET method,
+ * read otherwise. Without a free permit the request is answered at once with
+ * a 503 and a {@code Retry-After} header instead of parking a servlet thread
+ * on the pool. Excluded paths (actuator, event streams) are never limited.
+ * Responses of 500 and above count as dropped and shrink the limit.
+ * </p>
+ */
+public class LoadSheddingFilter extends OncePerRequestFilter {
+
+    private final Map<RequestClass, ConcurrencyLimiter> limiters;
+    private final List<String> bulkPaths;
+    private final List<String> excludedPaths;
+    private final String retryAfterSeconds;
+    private final ObjectMapper objectMapper;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    private final Map<RequestClass, Counter> rejectedCounters = new EnumMap<>(RequestClass.class);
+    private final Map<RequestClass, Counter> droppedCounters = new EnumMap<>(RequestClass.class);
+
+    public LoadSheddingFilter(Map<RequestClass, ConcurrencyLimiter> limiters, List<String> bulkPaths,
+            List<String> excludedPaths, Duration retryAfter, ObjectMapper objectMapper,
+            MeterRegistry meterRegistry) {
+        this.limiters = new EnumMap<>(limiters);
+        this.bulkPaths = List.copyOf(bulkPaths);
+        this.excludedPaths = List.copyOf(excludedPaths);
+        this.retryAfterSeconds = String.valueOf(Math.max(1, (retryAfter.toMillis() + 999) / 1000));
+        this.objectMapper = objectMapper;
+        this.limiters.forEach((requestClass, limiter) -> {
+            Gauge.builder("apms.limiter.limit", limiter, ConcurrencyLimiter::getLimit)
+                    .description("Current concurrency limit")
+                    .tag("class", requestClass.tag())
+                    .register(meterRegistry);
+            Gauge.builder("apms.limiter.inflight", limiter, ConcurrencyLimiter::getInFlight)
+                    .description("Requests holding a permit")
+                    .tag("class", requestClass.tag())
+                    .register(meterRegistry);
+            rejectedCounters.put(requestClass, Counter.builder("apms.limiter.rejected")
+                    .description("Requests rejected with 503 because the limit was reached")
+                    .tag("class", requestClass.tag())
+                    .register(meterRegistry));
+            droppedCounters.put(requestClass, Counter.builder("apms.limiter.dropped")
+                    .description("Requests let through that failed, shrinking the limit")
+                    .tag("class", requestClass.tag())
+                    .register(meterRegistry));
+        });
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        String path = pathOf(request);
+        return excludedPaths.stream().anyMatch(pattern -> pathMatcher.match(pattern, path));
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+        RequestClass requestClass = classify(request);
+        ConcurrencyLimiter limiter = limiters.get(requestClass);
+        if (limiter == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        ConcurrencyLimiter.Permit permit = limiter.tryAcquire();
+        if (permit == null) {
+            rejectedCounters.get(requestClass).increment();
+            reject(request, response, requestClass);
+            return;
+        }
+
+        boolean completed = false;
+        try {
+            filterChain.doFilter(request, response);
+            completed = true;
+        } finally {
+            if (request.isAsyncStarted()) {
+                permit.onIgnore();
+            } else if (!completed || response.getStatus() >= HttpStatus.INTERNAL_SERVER_ERROR.value()) {
+                droppedCounters.get(requestClass).increment();
+                permit.onDropped();
+            } else {
+                permit.onSuccess();
+            }
+        }
+    }
+
+    RequestClass classify(HttpServletRequest request) {
+        String path = pathOf(request);
+        if (bulkPaths.stream().anyMatch(pattern -> pathMatcher.match(pattern, path))) {
+            return RequestClass.BULK;
+        }
+        HttpMethod method = HttpMethod.valueOf(request.getMethod());
+        if (HttpMethod.GET.equals(method) || HttpMethod.HEAD.equals(method) || HttpMethod.OPTIONS.equals(method)) {
+            return RequestClass.READ;
+        }
+        return RequestClass.WRITE;
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, RequestClass requestClass)
+            throws IOException {
+        HttpStatus status = HttpStatus.SERVICE_UNAVAILABLE;
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), ApiErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(status.value())
+                .error(status.getReasonPhrase())
+                .message("Too many concurrent " + requestClass.tag() + " requests, retry later")
+                .path(request.getRequestURI())
+                .build());
+    }
+
+    private static String pathOf(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+}
@@ -0,0 +1,15 @@
+package ma.ensa.apms.limiter;
+
+/**
+ * Kinds of requests limited separately, so that a burst of one cannot starve
+ * the others
+ */
+public enum RequestClass {
+    READ,
+    WRITE,
+    BULK;
+
+    public String tag() {
+        return name().toLowerCase();
+    }
+}
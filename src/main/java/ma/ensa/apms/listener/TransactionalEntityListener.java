@@ -0,0 +1,123 @@
+package ma.ensa.apms.listener;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.hibernate.action.spi.AfterTransactionCompletionProcess;
+import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Base of the Hibernate listeners that collect the entity writes of each
+ * session and act on them when its transaction completes.
+ *
+ * <p>
+ * The listener appends itself to the insert, update and delete events at
+ * startup. The first write a session reports creates its pending work and
+ * registers the completion hooks: {@link #beforeCommit} runs just before the
+ * transaction commits, in the same transaction, and {@link #afterCommit} once
+ * it has committed. The pending work is dropped when the transaction
+ * completes, so a rolled back change never reaches either hook.
+ * </p>
+ *
+ * @param <P> the work collected for one session
+ */
+public abstract class TransactionalEntityListener<P>
+        implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final Map<SharedSessionContractImplementor, P> pending = new ConcurrentHashMap<>();
+
+    protected TransactionalEntityListener(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @PostConstruct
+    public void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    /**
+     * Create the work of a session on its first write
+     */
+    protected abstract P newPending();
+
+    /**
+     * Write the work of a session in its transaction, just before it commits
+     *
+     * @param session the session being committed
+     * @param work    the work collected by the session
+     */
+    protected void beforeCommit(SharedSessionContractImplementor session, P work) {
+    }
+
+    /**
+     * Apply the work of a session once its transaction has committed
+     *
+     * @param work the work collected by the session
+     */
+    protected void afterCommit(P work) {
+    }
+
+    /**
+     * Get the work of a session, creating it on the first write
+     *
+     * @param session the session reporting a write
+     * @return the work collected so far
+     */
+    protected P pendingFor(EventSource session) {
+        return pending.computeIfAbsent(session, key -> {
+            session.getActionQueue().registerProcess((BeforeTransactionCompletionProcess) completing -> {
+                P work = pending.get(completing);
+                if (work != null) {
+                    beforeCommit(completing, work);
+                }
+            });
+            session.getActionQueue().registerProcess((AfterTransactionCompletionProcess) (success, completed) -> {
+                P work = pending.remove(completed);
+                if (success && work != null) {
+                    afterCommit(work);
+                }
+            });
+            return newPending();
+        });
+    }
+
+    /**
+     * Position of a property in the entity state arrays of an event
+     *
+     * @param properties the property names of the entity persister
+     * @param name       the property name
+     * @return its index
+     * @throws IllegalStateException if the entity has no such property
+     */
+    protected static int indexOf(String[] properties, String name) {
+        for (int i = 0; i < properties.length; i++) {
+            if (properties[i].equals(name)) {
+                return i;
+            }
+        }
+        throw new IllegalStateException("No property " + name);
+    }
+}
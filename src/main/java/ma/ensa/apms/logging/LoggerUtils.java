@@ -53,6 +53,16 @@ public class LoggerUtils {
         serviceLogger.error(format, args);
     }
 
+    /**
+     * Log service warning with format
+     * 
+     * @param format The message format
+     * @param args   The arguments
+     */
+    public static void logServiceWarn(String format, Object... args) {
+        serviceLogger.warn(format, args);
+    }
+
     /**
      * Log service debug message
      * 
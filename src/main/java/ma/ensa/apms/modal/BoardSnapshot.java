@@ -0,0 +1,71 @@
+package ma.ensa.apms.modal;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Entité représentant l'état sérialisé d'un tableau de sprint à un instant
+ * donné.
+ * 
+ * <p>
+ * Un snapshot couvre toutes les transitions du sprint jusqu'à
+ * {@code (takenAt, lastTransitionId)} inclus. Une requête « à date » repart du
+ * snapshot le plus proche et ne rejoue que les transitions suivantes.
+ * </p>
+ * 
+ * @author APMS Team
+ * @version 1.0
+ * @since 1.0
+ * @see StatusTransition
+ */
+@Entity
+@Table(name = "board_snapshot", indexes = @Index(name = "idx_board_snapshot_sprint_time", columnList = "sprint_backlog_id, taken_at"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BoardSnapshot {
+
+    /**
+     * Identifiant unique du snapshot généré automatiquement.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    /**
+     * Identifiant du Sprint Backlog dont le tableau est sauvegardé.
+     */
+    @Column(name = "sprint_backlog_id", nullable = false)
+    private UUID sprintBacklogId;
+
+    /**
+     * Date de la dernière transition prise en compte.
+     */
+    @Column(name = "taken_at", nullable = false)
+    private LocalDateTime takenAt;
+
+    /**
+     * Identifiant de la dernière transition prise en compte.
+     */
+    @Column(name = "last_transition_id", nullable = false)
+    private Long lastTransitionId;
+
+    /**
+     * État du tableau sérialisé en JSON.
+     */
+    @Column(columnDefinition = "TEXT", nullable = false)
+    private String payload;
+}
@@ -0,0 +1,82 @@
+package ma.ensa.apms.modal;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Entité représentant un point journalier du burndown d'un sprint.
+ * 
+ * <p>
+ * Chaque bucket conserve, pour un sprint et un jour donnés, le nombre de User
+ * Stories et de tâches restantes ainsi que le nombre de User Stories terminées.
+ * Les buckets sont mis à jour de manière incrémentale à chaque changement de
+ * statut, ce qui permet de lire un burndown en O(jours) sans parcourir les
+ * User Stories du sprint.
+ * </p>
+ * 
+ * <p>
+ * Un bucket n'existe que pour les jours où le sprint a changé : un jour sans
+ * bucket reprend les valeurs du bucket précédent.
+ * </p>
+ * 
+ * @author APMS Team
+ * @version 1.0
+ * @since 1.0
+ * @see SprintBacklog
+ */
+@Entity
+@Table(name = "sprint_burndown_bucket", uniqueConstraints = @UniqueConstraint(columnNames = { "sprint_backlog_id",
+        "bucket_date" }))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SprintBurndownBucket {
+
+    /**
+     * Identifiant unique du bucket généré automatiquement.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    /**
+     * Identifiant du Sprint Backlog auquel appartient ce bucket.
+     * Conservé comme simple colonne pour ne jamais charger le sprint.
+     */
+    @Column(name = "sprint_backlog_id", nullable = false)
+    private UUID sprintBacklogId;
+
+    /**
+     * Jour représenté par ce bucket.
+     */
+    @Column(name = "bucket_date", nullable = false)
+    private LocalDate bucketDate;
+
+    /**
+     * Nombre de User Stories du sprint qui ne sont pas terminées.
+     */
+    private int remainingStories;
+
+    /**
+     * Nombre de tâches du sprint qui ne sont pas terminées.
+     */
+    private int remainingTasks;
+
+    /**
+     * Nombre de User Stories du sprint terminées (vélocité du sprint).
+     */
+    private int completedStories;
+}
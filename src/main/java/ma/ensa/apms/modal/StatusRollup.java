@@ -0,0 +1,81 @@
+package ma.ensa.apms.modal;
+
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ma.ensa.apms.modal.enums.RollupScope;
+import ma.ensa.apms.modal.enums.UserStoryStatus;
+
+/**
+ * Entité représentant un compteur de User Stories par statut pour un Epic ou
+ * un Product Backlog.
+ * 
+ * <p>
+ * Les compteurs sont maintenus de manière incrémentale, dans la même
+ * transaction que le changement de la User Story, par des incréments SQL
+ * atomiques. Une ligne existe pour chaque statut de chaque périmètre ; elles
+ * sont créées avec le périmètre et corrigées périodiquement par un
+ * vérificateur qui recompte par lots.
+ * </p>
+ * 
+ * <p>
+ * La progression d'un projet est celle de son unique Product Backlog.
+ * </p>
+ * 
+ * @author APMS Team
+ * @version 1.0
+ * @since 1.0
+ * @see RollupScope
+ * @see UserStoryStatus
+ */
+@Entity
+@Table(name = "status_rollup", uniqueConstraints = @UniqueConstraint(columnNames = { "scope_type", "scope_id",
+        "status" }))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StatusRollup {
+
+    /**
+     * Identifiant unique du compteur.
+     */
+    @Id
+    private UUID id;
+
+    /**
+     * Type du périmètre compté (Epic ou Product Backlog).
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "scope_type", nullable = false, length = 16)
+    private RollupScope scopeType;
+
+    /**
+     * Identifiant de l'Epic ou du Product Backlog.
+     */
+    @Column(name = "scope_id", nullable = false)
+    private UUID scopeId;
+
+    /**
+     * Statut des User Stories comptées.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private UserStoryStatus status;
+
+    /**
+     * Nombre de User Stories du périmètre ayant ce statut.
+     */
+    @Column(name = "story_count", nullable = false)
+    private long storyCount;
+}
@@ -0,0 +1,109 @@
+package ma.ensa.apms.modal;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ma.ensa.apms.modal.enums.TransitionEntityType;
+
+/**
+ * Entité représentant une transition de statut d'une User Story ou d'une
+ * tâche.
+ * 
+ * <p>
+ * Le journal des transitions est en ajout seul : chaque changement de statut,
+ * chaque entrée ou sortie d'une User Story d'un sprint et chaque suppression y
+ * ajoute une ligne, écrite dans la même transaction que le changement. Il
+ * permet de reconstruire l'état d'un tableau de sprint à n'importe quel
+ * instant passé.
+ * </p>
+ * 
+ * <p>
+ * La table est volontairement étroite (statuts en texte court, aucune clé
+ * étrangère) et indexée par sprint puis par date, afin de pouvoir être
+ * partitionnée par mois sous PostgreSQL (voir
+ * {@code db/postgres/status_transition.sql}).
+ * </p>
+ * 
+ * @author APMS Team
+ * @version 1.0
+ * @since 1.0
+ * @see UserStory
+ * @see Task
+ */
+@Entity
+@Table(name = "status_transition", indexes = {
+        @Index(name = "idx_status_transition_sprint_time", columnList = "sprint_backlog_id, occurred_at, id"),
+        @Index(name = "idx_status_transition_entity_time", columnList = "entity_id, occurred_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StatusTransition {
+
+    /**
+     * Identifiant séquentiel de la transition, croissant dans le temps.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * Type de l'entité concernée (User Story ou tâche).
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entity_type", nullable = false, length = 8)
+    private TransitionEntityType entityType;
+
+    /**
+     * Identifiant de l'entité concernée.
+     */
+    @Column(name = "entity_id", nullable = false)
+    private UUID entityId;
+
+    /**
+     * Identifiant de la User Story concernée, ou de la User Story parent pour
+     * une tâche.
+     */
+    @Column(name = "user_story_id")
+    private UUID userStoryId;
+
+    /**
+     * Identifiant du Sprint Backlog de la User Story au moment de la
+     * transition.
+     */
+    @Column(name = "sprint_backlog_id")
+    private UUID sprintBacklogId;
+
+    /**
+     * Statut avant la transition, null à la création.
+     */
+    @Column(name = "from_status", length = 16)
+    private String fromStatus;
+
+    /**
+     * Statut après la transition, null lorsque l'entité quitte le sprint ou
+     * est supprimée.
+     */
+    @Column(name = "to_status", length = 16)
+    private String toStatus;
+
+    /**
+     * Date et heure de la transition.
+     */
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+}
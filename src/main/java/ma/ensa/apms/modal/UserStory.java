@@ -7,7 +7,10 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
+import org.hibernate.annotations.ColumnDefault;
+
 import jakarta.persistence.CascadeType;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
@@ -15,9 +18,12 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
@@ -45,7 +51,8 @@ import ma.ensa.apms.modal.enums.UserStoryStatus;
  * <ul>
  * <li>Décrit une fonctionnalité du point de vue utilisateur avec rôle, feature
  * et bénéfice</li>
- * <li>Possède une priorité pour le tri dans le backlog</li>
+ * <li>Possède une priorité et un rang lexicographique qui fixe son ordre dans
+ * le backlog</li>
  * <li>Suit un cycle de vie avec différents statuts (TO DO, IN_PROGRESS, DONE,
  * etc.)</li>
  * <li>Peut appartenir à un Epic pour regroupement thématique</li>
@@ -81,6 +88,10 @@ import ma.ensa.apms.modal.enums.UserStoryStatus;
  * @see Task
  */
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_user_story_backlog_rank", columnList = "product_backlog_id, backlog_rank"),
+        @Index(name = "idx_user_story_backlog_column", columnList = "product_backlog_id, status, priority, id"),
+        @Index(name = "idx_user_story_sprint_column", columnList = "sprint_backlog_id, status, priority, id") })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -140,6 +151,27 @@ public class UserStory implements Serializable {
     @NotNull(message = STATUS_REQUIRED_MESSAGE)
     private UserStoryStatus status;
 
+    /**
+     * Rang de la User Story dans son Product Backlog, comparé
+     * lexicographiquement. Déplacer une User Story ne modifie que son propre
+     * rang.
+     * 
+     * @see ma.ensa.apms.ranking.RankKeys
+     */
+    @Column(name = "backlog_rank")
+    private String rank;
+
+    /**
+     * Version de la User Story, incrémentée par Hibernate à chaque
+     * modification. Assure le verrouillage optimiste, et permet de reconnaître
+     * une réponse déjà sérialisée qui est encore à jour.
+     *
+     * @see ma.ensa.apms.cache.SerializedResponseCache
+     */
+    @Version
+    @ColumnDefault("0")
+    private long version;
+
     /**
      * Product Backlog auquel appartient cette User Story.
      * Relation obligatoire, chargée en mode lazy.
@@ -0,0 +1,6 @@
+package ma.ensa.apms.modal.enums;
+
+public enum RollupScope {
+    EPIC,
+    PRODUCT_BACKLOG
+}
@@ -1,5 +1,38 @@
 package ma.ensa.apms.modal.enums;
 
+/**
+ * Priority bands of the backlog filters, over the numeric priority of a user
+ * story where a lower number ranks first.
+ */
 public enum UserStoryPriority {
-    LOW, MEDIUM, HIGH;
-}
\ No newline at end of file
+    LOW(5, Integer.MAX_VALUE), MEDIUM(3, 4), HIGH(Integer.MIN_VALUE, 2);
+
+    private final int min;
+    private final int max;
+
+    UserStoryPriority(int min, int max) {
+        this.min = min;
+        this.max = max;
+    }
+
+    public int getMin() {
+        return min;
+    }
+
+    public int getMax() {
+        return max;
+    }
+
+    /**
+     * Band of a numeric priority
+     *
+     * @param priority the priority of a user story
+     * @return the band holding it
+     */
+    public static UserStoryPriority of(int priority) {
+        if (priority <= HIGH.max) {
+            return HIGH;
+        }
+        return priority <= MEDIUM.max ? MEDIUM : LOW;
+    }
+}
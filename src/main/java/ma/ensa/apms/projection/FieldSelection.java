@@ -0,0 +1,80 @@
+package ma.ensa.apms.projection;
+
+import java.util.Collection;
+import java.util.List;
+
+import ma.ensa.apms.exception.BusinessException;
+
+/**
+ * Output fields and nested resources requested on a list endpoint through the
+ * {@code fields} and {@code expand} query parameters.
+ *
+ * @param fields the requested fields, empty for every field
+ * @param expand the requested expansions
+ */
+public record FieldSelection(List<String> fields, List<String> expand) {
+
+    /**
+     * Build a selection from raw query parameters, ignoring blanks and
+     * duplicates
+     *
+     * @param fields the {@code fields} parameter values, may be null
+     * @param expand the {@code expand} parameter values, may be null
+     * @return the selection
+     */
+    public static FieldSelection of(Collection<String> fields, Collection<String> expand) {
+        return new FieldSelection(clean(fields), clean(expand));
+    }
+
+    /**
+     * Whether neither fields nor expansions were requested
+     */
+    public boolean isEmpty() {
+        return fields.isEmpty() && expand.isEmpty();
+    }
+
+    public boolean expands(String name) {
+        return expand.contains(name);
+    }
+
+    /**
+     * The requested fields, or every field when none was requested
+     *
+     * @param allFields the fields of the resource
+     * @return the fields to return
+     */
+    public List<String> fieldsOr(List<String> allFields) {
+        return fields.isEmpty() ? allFields : fields;
+    }
+
+    /**
+     * Reject unknown field or expansion names
+     *
+     * @param allowedFields     the fields of the resource
+     * @param allowedExpansions the expansions of the resource
+     * @throws BusinessException if a name is not allowed
+     */
+    public void validate(Collection<String> allowedFields, Collection<String> allowedExpansions) {
+        check(fields, allowedFields, "field");
+        check(expand, allowedExpansions, "expansion");
+    }
+
+    private static void check(List<String> names, Collection<String> allowed, String kind) {
+        for (String name : names) {
+            if (!allowed.contains(name)) {
+                throw new BusinessException("Unknown " + kind + " '" + name + "', expected one of " + allowed);
+            }
+        }
+    }
+
+    private static List<String> clean(Collection<String> names) {
+        if (names == null) {
+            return List.of();
+        }
+        return names.stream()
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .distinct()
+                .toList();
+    }
+}
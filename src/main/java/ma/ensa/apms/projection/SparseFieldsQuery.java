@@ -0,0 +1,163 @@
+package ma.ensa.apms.projection;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.springframework.stereotype.Component;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Tuple queries selecting only the requested attributes of an entity.
+ *
+ * <p>
+ * Columns are given as an ordered map from output name to attribute path
+ * ({@code "epicId" -> "epic.id"}); rows come back as maps with the same keys,
+ * so unrequested columns are neither selected nor serialized. Expansions load
+ * the related rows of a whole page with chunked {@code IN} queries instead of
+ * one query per row.
+ * </p>
+ */
+@Component
+@RequiredArgsConstructor
+public class SparseFieldsQuery {
+
+    static final int IN_CHUNK_SIZE = 1000;
+
+    private static final String PARENT_KEY = "__parent";
+
+    private final EntityManager entityManager;
+
+    /**
+     * Identity columns, each output name being its own attribute path
+     *
+     * @param names the attribute names
+     * @return the columns, in the given order
+     */
+    public static Map<String, String> columns(Collection<String> names) {
+        Map<String, String> columns = new LinkedHashMap<>();
+        names.forEach(name -> columns.put(name, name));
+        return columns;
+    }
+
+    /**
+     * Select some columns of the entities matching an optional equality filter
+     *
+     * @param entityType  the entity class
+     * @param columns     output name to attribute path
+     * @param filterPath  the filtered attribute path, null for no filter
+     * @param filterValue the value the filtered attribute must equal
+     * @return one map per entity
+     */
+    public List<Map<String, Object>> select(Class<?> entityType, Map<String, String> columns, String filterPath,
+            Object filterValue) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = builder.createTupleQuery();
+        Root<?> root = query.from(entityType);
+        query.multiselect(selections(root, columns));
+        if (filterPath != null) {
+            query.where(builder.equal(path(root, filterPath), filterValue));
+        }
+        return toRows(entityManager.createQuery(query).getResultList(), columns);
+    }
+
+    /**
+     * Attach to each row the list of child rows pointing at it
+     *
+     * @param rows       the parent rows
+     * @param key        the row key holding the parent ID
+     * @param as         the row key receiving the children
+     * @param childType  the child entity class
+     * @param columns    the child columns
+     * @param parentPath the attribute path of the parent ID on the child
+     */
+    public void expandMany(List<Map<String, Object>> rows, String key, String as, Class<?> childType,
+            Map<String, String> columns, String parentPath) {
+        Map<String, String> childColumns = new LinkedHashMap<>(columns);
+        childColumns.put(PARENT_KEY, parentPath);
+        Map<Object, List<Map<String, Object>>> children = new HashMap<>();
+        for (Map<String, Object> child : selectIn(childType, childColumns, parentPath, keysOf(rows, key))) {
+            Object parentId = child.remove(PARENT_KEY);
+            children.computeIfAbsent(parentId, id -> new ArrayList<>()).add(child);
+        }
+        rows.forEach(row -> row.put(as, children.getOrDefault(row.get(key), List.of())));
+    }
+
+    /**
+     * Attach to each row the single entity it references
+     *
+     * @param rows       the rows
+     * @param key        the row key holding the referenced ID
+     * @param as         the row key receiving the referenced entity, null when
+     *                   there is none
+     * @param targetType the referenced entity class
+     * @param columns    the referenced entity columns, including {@code id}
+     */
+    public void expandOne(List<Map<String, Object>> rows, String key, String as, Class<?> targetType,
+            Map<String, String> columns) {
+        Map<Object, Map<String, Object>> targets = new HashMap<>();
+        for (Map<String, Object> target : selectIn(targetType, columns, "id", keysOf(rows, key))) {
+            targets.put(target.get("id"), target);
+        }
+        rows.forEach(row -> row.put(as, targets.get(row.get(key))));
+    }
+
+    private List<Map<String, Object>> selectIn(Class<?> entityType, Map<String, String> columns, String keyPath,
+            List<Object> keys) {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (int from = 0; from < keys.size(); from += IN_CHUNK_SIZE) {
+            List<Object> chunk = keys.subList(from, Math.min(keys.size(), from + IN_CHUNK_SIZE));
+            CriteriaQuery<Tuple> query = entityManager.getCriteriaBuilder().createTupleQuery();
+            Root<?> root = query.from(entityType);
+            query.multiselect(selections(root, columns)).where(path(root, keyPath).in(chunk));
+            rows.addAll(toRows(entityManager.createQuery(query).getResultList(), columns));
+        }
+        return rows;
+    }
+
+    private static List<Object> keysOf(List<Map<String, Object>> rows, String key) {
+        LinkedHashSet<Object> keys = new LinkedHashSet<>();
+        rows.stream().map(row -> row.get(key)).filter(Objects::nonNull).forEach(keys::add);
+        return new ArrayList<>(keys);
+    }
+
+    private static List<Selection<?>> selections(Root<?> root, Map<String, String> columns) {
+        List<Selection<?>> selections = new ArrayList<>(columns.size());
+        columns.values().forEach(attribute -> selections.add(path(root, attribute)));
+        return selections;
+    }
+
+    private static Path<?> path(Root<?> root, String attributePath) {
+        Path<?> path = root;
+        for (String attribute : attributePath.split("\\.")) {
+            path = path.get(attribute);
+        }
+        return path;
+    }
+
+    private static List<Map<String, Object>> toRows(List<Tuple> tuples, Map<String, String> columns) {
+        List<String> names = List.copyOf(columns.keySet());
+        List<Map<String, Object>> rows = new ArrayList<>(tuples.size());
+        for (Tuple tuple : tuples) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (int i = 0; i < names.size(); i++) {
+                row.put(names.get(i), tuple.get(i));
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,145 @@
+package ma.ensa.apms.ranking;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import ma.ensa.apms.cache.ProductBacklogReadCache;
+import ma.ensa.apms.logging.LoggerUtils;
+import ma.ensa.apms.modal.UserStory;
+import ma.ensa.apms.repository.UserStoryRepository;
+
+/**
+ * Background job rewriting the rank keys of a backlog once they get too long.
+ *
+ * <p>
+ * Repeated moves into the same gap make keys grow by roughly one character
+ * every five moves. Backlogs flagged by {@link #requestRebalance} are handled
+ * within seconds; a slower sweep also catches long, missing or duplicate
+ * ranks left by other writers. A rebalance locks the backlog and then every
+ * story of it, in id order like a move does, and gives them short, evenly
+ * spaced keys in their current order. The cached reads of the backlog are
+ * evicted once the new keys have committed.
+ * </p>
+ */
+@Component
+public class BacklogRankRebalancer {
+
+    private static final int SWEEP_BATCH = 100;
+
+    private final UserStoryRepository userStoryRepository;
+    private final BacklogRanks backlogRanks;
+    private final ProductBacklogReadCache productBacklogReadCache;
+    private final TransactionTemplate transaction;
+    private final Counter rebalancedCounter;
+    private final int maxRankLength;
+    private final Set<UUID> requested = ConcurrentHashMap.newKeySet();
+
+    public BacklogRankRebalancer(UserStoryRepository userStoryRepository, BacklogRanks backlogRanks,
+            ProductBacklogReadCache productBacklogReadCache,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${apms.ranking.max-rank-length:12}") int maxRankLength) {
+        this.userStoryRepository = userStoryRepository;
+        this.backlogRanks = backlogRanks;
+        this.productBacklogReadCache = productBacklogReadCache;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.rebalancedCounter = Counter.builder("apms.ranking.rebalanced")
+                .description("Product backlogs whose rank keys were rewritten")
+                .register(meterRegistry);
+        this.maxRankLength = maxRankLength;
+    }
+
+    /**
+     * Whether a freshly generated key is long enough to call for a rebalance
+     *
+     * @param rank the new key
+     * @return true if the key exceeds the configured length
+     */
+    public boolean isTooLong(String rank) {
+        return rank != null && rank.length() > maxRankLength;
+    }
+
+    /**
+     * Ask for a backlog to be rebalanced on the next run
+     *
+     * @param productBacklogId the product backlog ID
+     */
+    public void requestRebalance(UUID productBacklogId) {
+        requested.add(productBacklogId);
+    }
+
+    @Scheduled(fixedDelayString = "${apms.ranking.rebalance-delay:PT10S}")
+    public void rebalanceRequested() {
+        for (UUID productBacklogId : List.copyOf(requested)) {
+            requested.remove(productBacklogId);
+            rebalanceQuietly(productBacklogId);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${apms.ranking.sweep-interval:PT1H}",
+            initialDelayString = "${apms.ranking.sweep-initial-delay:PT1M}")
+    public void sweep() {
+        try {
+            List<UUID> productBacklogIds = userStoryRepository
+                    .findProductBacklogIdsNeedingRebalance(maxRankLength, PageRequest.of(0, SWEEP_BATCH));
+            productBacklogIds.forEach(this::rebalanceQuietly);
+        } catch (RuntimeException ex) {
+            LoggerUtils.logServiceError("Backlog rank sweep failed", ex);
+        }
+    }
+
+    /**
+     * Rewrite the rank keys of one backlog, keeping the current order
+     *
+     * @param productBacklogId the product backlog ID
+     * @return the number of stories whose key changed
+     */
+    public int rebalance(UUID productBacklogId) {
+        Integer changed = transaction.execute(status -> {
+            backlogRanks.lock(productBacklogId);
+            List<UserStory> stories = new ArrayList<>(userStoryRepository.lockByProductBacklogId(productBacklogId));
+            // Unranked stories go last, by priority as before ranks existed
+            stories.sort(Comparator.comparing(UserStory::getRank, Comparator.nullsLast(Comparator.naturalOrder()))
+                    .thenComparingInt(UserStory::getPriority)
+                    .thenComparing(UserStory::getId));
+            List<String> keys = RankKeys.evenlySpaced(stories.size());
+            int rewritten = 0;
+            for (int i = 0; i < stories.size(); i++) {
+                UserStory story = stories.get(i);
+                if (!keys.get(i).equals(story.getRank())) {
+                    story.setRank(keys.get(i));
+                    rewritten++;
+                }
+            }
+            if (rewritten > 0) {
+                productBacklogReadCache.evict(productBacklogId);
+            }
+            return rewritten;
+        });
+        rebalancedCounter.increment();
+        return changed != null ? changed : 0;
+    }
+
+    private void rebalanceQuietly(UUID productBacklogId) {
+        try {
+            int changed = rebalance(productBacklogId);
+            LoggerUtils.logServiceInfo("Rebalanced ranks of product backlog {} ({} stories rewritten)",
+                    productBacklogId, changed);
+        } catch (RuntimeException ex) {
+            LoggerUtils.logServiceError("Rank rebalance failed for product backlog " + productBacklogId, ex);
+        }
+    }
+}
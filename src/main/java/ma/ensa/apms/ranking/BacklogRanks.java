@@ -0,0 +1,63 @@
+package ma.ensa.apms.ranking;
+
+import java.util.UUID;
+
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+import ma.ensa.apms.exception.ResourceNotFoundException;
+import ma.ensa.apms.modal.UserStory;
+import ma.ensa.apms.repository.ProductBacklogRepository;
+import ma.ensa.apms.repository.UserStoryRepository;
+
+/**
+ * Serializes the rank writes of a product backlog.
+ *
+ * <p>
+ * A new key is computed from the keys around it, so two writers reading the
+ * same neighbours would produce the same key. Moves and the rebalancer
+ * therefore first lock the product backlog row, in the caller's transaction,
+ * and only then read the neighbouring keys; story rows are locked after the
+ * backlog row, always in id order.
+ * </p>
+ *
+ * <p>
+ * Appends are the frequent writes and must not queue on the backlog row: they
+ * read the last key without a lock and add random trailing digits, so
+ * concurrent appends get distinct keys after it, in no particular order
+ * between themselves. The rebalancer also rewrites any duplicate left behind.
+ * </p>
+ */
+@Component
+@RequiredArgsConstructor
+public class BacklogRanks {
+
+    private final ProductBacklogRepository productBacklogRepository;
+    private final UserStoryRepository userStoryRepository;
+
+    /**
+     * Lock a backlog against concurrent rank writes until the current
+     * transaction ends
+     *
+     * @param productBacklogId the product backlog ID
+     * @throws ResourceNotFoundException if the product backlog does not exist
+     */
+    public void lock(UUID productBacklogId) {
+        productBacklogRepository.lockById(productBacklogId)
+                .orElseThrow(() -> new ResourceNotFoundException("Product backlog not found"));
+    }
+
+    /**
+     * Compute the key of a story appended after the last ranked story of a
+     * backlog, without locking the backlog
+     *
+     * @param productBacklogId the product backlog ID
+     * @return the new key
+     */
+    public String rankLast(UUID productBacklogId) {
+        return RankKeys.after(userStoryRepository
+                .findFirstByProductBacklogIdAndRankNotNullOrderByRankDesc(productBacklogId)
+                .map(UserStory::getRank)
+                .orElse(null));
+    }
+}
@@ -0,0 +1,12 @@
+package ma.ensa.apms.ranking;
+
+import java.util.UUID;
+
+/**
+ * Priority of a story still to plan, as loaded into the top stories index.
+ *
+ * @param id       the user story ID
+ * @param priority the priority, lowest first
+ */
+public record PriorityEntry(UUID id, int priority) {
+}
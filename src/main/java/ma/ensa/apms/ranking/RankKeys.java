@@ -0,0 +1,121 @@
+package ma.ensa.apms.ranking;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Lexicographic rank keys for ordering user stories in a backlog.
+ *
+ * <p>
+ * Keys are strings over {@code [0-9a-z]} compared character by character, so
+ * there is always room for a key between two others and moving an item only
+ * rewrites its own key. A key never ends in {@code '0'}: otherwise no key
+ * could fit between {@code "a"} and {@code "a0"}.
+ * </p>
+ */
+public final class RankKeys {
+
+    static final String ALPHABET = "0123456789abcdefghijklmnopqrstuvwxyz";
+    private static final int BASE = ALPHABET.length();
+    private static final int SUFFIX_LENGTH = 6;
+
+    private RankKeys() {
+    }
+
+    /**
+     * A key strictly between two keys
+     *
+     * @param lower the key to sort after, or null for the start of the list
+     * @param upper the key to sort before, or null for the end of the list
+     * @return the new key
+     * @throws IllegalArgumentException if {@code lower} does not sort before
+     *                                  {@code upper}
+     */
+    public static String between(String lower, String upper) {
+        String low = lower != null ? lower : "";
+        if (upper != null && low.compareTo(upper) >= 0) {
+            throw new IllegalArgumentException("Rank " + low + " does not sort before " + upper);
+        }
+        StringBuilder key = new StringBuilder();
+        String high = upper;
+        for (int i = 0;; i++) {
+            int lo = i < low.length() ? digit(low.charAt(i)) : 0;
+            int hi = high != null && i < high.length() ? digit(high.charAt(i)) : BASE;
+            if (lo == hi) {
+                key.append(ALPHABET.charAt(lo));
+                continue;
+            }
+            int mid = (lo + hi) / 2;
+            if (mid > lo) {
+                return key.append(ALPHABET.charAt(mid)).toString();
+            }
+            // Adjacent digits: keep the lower one, then anything above the rest
+            // of the lower key fits.
+            key.append(ALPHABET.charAt(lo));
+            high = null;
+        }
+    }
+
+    /**
+     * A key sorting after {@code lower} with random trailing digits, so two
+     * writers that read the same last key still get different keys without
+     * coordinating
+     *
+     * @param lower the key to sort after, or null for an empty list
+     * @return the new key
+     */
+    public static String after(String lower) {
+        StringBuilder key = new StringBuilder(between(lower, null));
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 1; i < SUFFIX_LENGTH; i++) {
+            key.append(ALPHABET.charAt(random.nextInt(BASE)));
+        }
+        // Never end in '0'
+        return key.append(ALPHABET.charAt(1 + random.nextInt(BASE - 1))).toString();
+    }
+
+    /**
+     * Evenly spaced keys of equal length, used to rebalance a whole backlog
+     *
+     * @param count the number of keys
+     * @return {@code count} increasing keys
+     */
+    public static List<String> evenlySpaced(int count) {
+        int width = 1;
+        BigInteger space = BigInteger.valueOf(BASE);
+        BigInteger slots = BigInteger.valueOf(count + 1L);
+        // At least two free slots between neighbours leaves room for moves
+        while (space.compareTo(slots.multiply(BigInteger.valueOf(BASE))) < 0) {
+            space = space.multiply(BigInteger.valueOf(BASE));
+            width++;
+        }
+        BigInteger step = space.divide(slots);
+        List<String> keys = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            keys.add(toKey(step.multiply(BigInteger.valueOf(i)), width));
+        }
+        return keys;
+    }
+
+    private static String toKey(BigInteger value, int width) {
+        StringBuilder digits = new StringBuilder(value.toString(BASE));
+        while (digits.length() < width) {
+            digits.insert(0, '0');
+        }
+        int end = digits.length();
+        while (end > 1 && digits.charAt(end - 1) == '0') {
+            end--;
+        }
+        return digits.substring(0, end);
+    }
+
+    private static int digit(char c) {
+        int digit = ALPHABET.indexOf(c);
+        if (digit < 0) {
+            throw new IllegalArgumentException("Invalid rank character: " + c);
+        }
+        return digit;
+    }
+}
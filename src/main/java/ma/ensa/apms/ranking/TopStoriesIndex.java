@@ -0,0 +1,279 @@
+package ma.ensa.apms.ranking;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import ma.ensa.apms.listener.TransactionalEntityListener;
+import ma.ensa.apms.modal.ProductBacklog;
+import ma.ensa.apms.modal.UserStory;
+import ma.ensa.apms.modal.enums.UserStoryStatus;
+import ma.ensa.apms.repository.UserStoryRepository;
+
+/**
+ * In-memory index of the highest priority stories still to plan in each
+ * product backlog, that is the stories neither done nor in a sprint.
+ *
+ * <p>
+ * A backlog is loaded on its first read as (priority, id) pairs kept in a
+ * sorted set, so a top-k read walks k entries. Like the timeline index, a
+ * Hibernate listener records the stories written by each session and applies
+ * them once its transaction has committed; changes committed while a backlog
+ * loads are replayed onto it. Backlogs are kept in least recently used order
+ * and the coldest are dropped once the index holds more than
+ * {@code apms.top-stories.max-entries} stories.
+ * </p>
+ */
+@Component
+public class TopStoriesIndex extends TransactionalEntityListener<TopStoriesIndex.PendingChanges> {
+
+    private static final Comparator<PriorityEntry> ORDER = Comparator.comparingInt(PriorityEntry::priority)
+            .thenComparing(PriorityEntry::id);
+
+    private final UserStoryRepository userStoryRepository;
+    private final int maxEntries;
+    private final Counter evictedCounter;
+
+    private final Map<UUID, BacklogPriorities> backlogs = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<UUID, UUID> backlogOfStory = new HashMap<>();
+    private int entries;
+
+    public TopStoriesIndex(EntityManagerFactory entityManagerFactory,
+            UserStoryRepository userStoryRepository,
+            MeterRegistry meterRegistry,
+            @Value("${apms.top-stories.max-entries:200000}") int maxEntries) {
+        super(entityManagerFactory);
+        this.userStoryRepository = userStoryRepository;
+        this.maxEntries = maxEntries;
+        this.evictedCounter = Counter.builder("apms.top-stories.evicted")
+                .description("Product backlogs dropped from the top stories index")
+                .register(meterRegistry);
+        Gauge.builder("apms.top-stories.entries", this, TopStoriesIndex::size)
+                .description("Stories held by the top stories index")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Get the highest priority stories still to plan in a product backlog,
+     * loading the backlog on first use
+     *
+     * @param productBacklogId the product backlog ID
+     * @param k                the number of stories
+     * @return the story IDs, highest priority first
+     */
+    public List<UUID> top(UUID productBacklogId, int k) {
+        synchronized (this) {
+            BacklogPriorities backlog = backlogs.get(productBacklogId);
+            if (backlog != null && backlog.loaded) {
+                return backlog.top(k);
+            }
+            if (backlog == null) {
+                backlogs.put(productBacklogId, new BacklogPriorities());
+            }
+        }
+        List<PriorityEntry> loaded = userStoryRepository.findPlanningPriorities(productBacklogId);
+        return install(productBacklogId, loaded, k);
+    }
+
+    /**
+     * Number of stories held, over every loaded backlog
+     */
+    public synchronized int size() {
+        return entries;
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        track(event.getSession(), event.getEntity(), false);
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        track(event.getSession(), event.getEntity(), false);
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        track(event.getSession(), event.getEntity(), true);
+    }
+
+    @Override
+    protected PendingChanges newPending() {
+        return new PendingChanges();
+    }
+
+    @Override
+    protected void afterCommit(PendingChanges changes) {
+        changes.stories.values().forEach(this::apply);
+        changes.deletedBacklogs.forEach(this::drop);
+    }
+
+    /**
+     * Apply a committed story change to the loaded backlogs and record it for
+     * the backlogs being loaded
+     */
+    synchronized void apply(PriorityChange change) {
+        for (BacklogPriorities backlog : backlogs.values()) {
+            if (!backlog.loaded) {
+                backlog.replay.add(change);
+            }
+        }
+        UUID previous = backlogOfStory.get(change.storyId());
+        if (previous != null) {
+            remove(previous, change.storyId());
+        }
+        if (change.productBacklogId() != null) {
+            BacklogPriorities backlog = backlogs.get(change.productBacklogId());
+            if (backlog != null && backlog.loaded) {
+                put(change.productBacklogId(), backlog, new PriorityEntry(change.storyId(), change.priority()));
+            }
+        }
+    }
+
+    /**
+     * Drop a deleted product backlog
+     */
+    synchronized void drop(UUID productBacklogId) {
+        BacklogPriorities backlog = backlogs.remove(productBacklogId);
+        if (backlog != null) {
+            backlog.byStory.keySet().forEach(backlogOfStory::remove);
+            entries -= backlog.byStory.size();
+        }
+    }
+
+    private synchronized List<UUID> install(UUID productBacklogId, List<PriorityEntry> loaded, int k) {
+        BacklogPriorities backlog = backlogs.get(productBacklogId);
+        if (backlog == null) {
+            // Dropped while loading: serve the load without keeping it
+            BacklogPriorities transientBacklog = new BacklogPriorities();
+            transientBacklog.order.addAll(loaded);
+            return transientBacklog.top(k);
+        }
+        if (!backlog.loaded) {
+            loaded.forEach(entry -> put(productBacklogId, backlog, entry));
+            for (PriorityChange change : backlog.replay) {
+                remove(productBacklogId, change.storyId());
+                if (productBacklogId.equals(change.productBacklogId())) {
+                    put(productBacklogId, backlog, new PriorityEntry(change.storyId(), change.priority()));
+                }
+            }
+            backlog.replay.clear();
+            backlog.loaded = true;
+            evictColdBacklogs(productBacklogId);
+        }
+        return backlog.top(k);
+    }
+
+    private void evictColdBacklogs(UUID keep) {
+        Iterator<Map.Entry<UUID, BacklogPriorities>> coldest = backlogs.entrySet().iterator();
+        while (entries > maxEntries && coldest.hasNext()) {
+            Map.Entry<UUID, BacklogPriorities> backlog = coldest.next();
+            if (backlog.getValue().loaded && !backlog.getKey().equals(keep)) {
+                backlog.getValue().byStory.keySet().forEach(backlogOfStory::remove);
+                entries -= backlog.getValue().byStory.size();
+                coldest.remove();
+                evictedCounter.increment();
+            }
+        }
+    }
+
+    private void put(UUID productBacklogId, BacklogPriorities backlog, PriorityEntry entry) {
+        PriorityEntry previous = backlog.byStory.put(entry.id(), entry);
+        if (previous != null) {
+            backlog.order.remove(previous);
+        } else {
+            entries++;
+        }
+        backlog.order.add(entry);
+        backlogOfStory.put(entry.id(), productBacklogId);
+    }
+
+    private void remove(UUID productBacklogId, UUID storyId) {
+        BacklogPriorities backlog = backlogs.get(productBacklogId);
+        if (backlog != null) {
+            PriorityEntry previous = backlog.byStory.remove(storyId);
+            if (previous != null) {
+                backlog.order.remove(previous);
+                entries--;
+            }
+        }
+        backlogOfStory.remove(storyId, productBacklogId);
+    }
+
+    private void track(EventSource session, Object entity, boolean deleted) {
+        if (entity instanceof UserStory story) {
+            pendingFor(session).stories.put(story.getId(),
+                    deleted ? new PriorityChange(story.getId(), null, 0) : PriorityChange.of(story));
+        } else if (entity instanceof ProductBacklog backlog && deleted) {
+            pendingFor(session).deletedBacklogs.add(backlog.getId());
+        }
+    }
+
+    /**
+     * Committed state of a story for the index
+     *
+     * @param storyId          the user story ID
+     * @param productBacklogId the backlog whose top list holds the story, null
+     *                         when it is deleted, done or in a sprint
+     * @param priority         the priority
+     */
+    record PriorityChange(UUID storyId, UUID productBacklogId, int priority) {
+
+        static PriorityChange of(UserStory story) {
+            boolean toPlan = story.getProductBacklog() != null && story.getSprintBacklog() == null
+                    && story.getStatus() != UserStoryStatus.DONE;
+            return new PriorityChange(story.getId(), toPlan ? story.getProductBacklog().getId() : null,
+                    story.getPriority());
+        }
+    }
+
+    /**
+     * Stories of one backlog by priority, with the changes committed while it
+     * loads
+     */
+    private static final class BacklogPriorities {
+        private final NavigableSet<PriorityEntry> order = new TreeSet<>(ORDER);
+        private final Map<UUID, PriorityEntry> byStory = new HashMap<>();
+        private final List<PriorityChange> replay = new ArrayList<>();
+        private boolean loaded;
+
+        private List<UUID> top(int k) {
+            List<UUID> ids = new ArrayList<>(Math.min(k, order.size()));
+            for (PriorityEntry entry : order) {
+                if (ids.size() == k) {
+                    break;
+                }
+                ids.add(entry.id());
+            }
+            return ids;
+        }
+    }
+
+    /**
+     * Changes written by one session
+     */
+    static final class PendingChanges {
+        private final Map<UUID, PriorityChange> stories = new LinkedHashMap<>();
+        private final Set<UUID> deletedBacklogs = new HashSet<>();
+    }
+}
@@ -0,0 +1,33 @@
+package ma.ensa.apms.repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import ma.ensa.apms.modal.BoardSnapshot;
+
+/**
+ * Repository Spring Data JPA pour l'entité BoardSnapshot.
+ * 
+ * @author APMS Team
+ * @version 1.0
+ * @since 1.0
+ * @see BoardSnapshot
+ */
+@Repository
+public interface BoardSnapshotRepository extends JpaRepository<BoardSnapshot, UUID> {
+
+    /**
+     * Recherche le snapshot le plus récent d'un sprint antérieur ou égal à un
+     * instant donné.
+     * 
+     * @param sprintBacklogId l'identifiant du Sprint Backlog
+     * @param asOf            l'instant recherché
+     * @return le snapshot le plus proche, s'il existe
+     */
+    Optional<BoardSnapshot> findFirstBySprintBacklogIdAndTakenAtLessThanEqualOrderByTakenAtDescLastTransitionIdDesc(
+            UUID sprintBacklogId, LocalDateTime asOf);
+}
@@ -1,11 +1,16 @@
 package ma.ensa.apms.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import ma.ensa.apms.batch.IdCount;
 import ma.ensa.apms.modal.Epic;
 
 /**
@@ -32,4 +37,39 @@ public interface EpicRepository extends JpaRepository<Epic, UUID> {
      * @return liste des Epics correspondants
      */
     List<Epic> findByNameContainingIgnoreCase(String keyword);
+
+    /**
+     * Recherche les Epics d'un Product Backlog, triés par nom.
+     * 
+     * @param productBacklogId l'identifiant du Product Backlog
+     * @return les Epics du backlog
+     */
+    List<Epic> findByProductBacklogIdOrderByNameAscIdAsc(UUID productBacklogId);
+
+    /**
+     * Compte les Epics d'un Product Backlog sans charger la collection.
+     * 
+     * @param productBacklogId l'identifiant du Product Backlog
+     * @return le nombre d'Epics du backlog
+     */
+    long countByProductBacklogId(UUID productBacklogId);
+
+    /**
+     * Compte les Epics de chacun des Product Backlogs donnés.
+     * 
+     * @param productBacklogIds les identifiants des Product Backlogs
+     * @return le nombre d'Epics par backlog, sans les backlogs vides
+     */
+    @Query("select new ma.ensa.apms.batch.IdCount(e.productBacklog.id, count(e)) "
+            + "from Epic e where e.productBacklog.id in :productBacklogIds group by e.productBacklog.id")
+    List<IdCount> countByProductBacklogIds(@Param("productBacklogIds") Collection<UUID> productBacklogIds);
+
+    /**
+     * Recherche une page d'identifiants d'Epics, triés par identifiant.
+     * 
+     * @param pageable la page demandée
+     * @return les identifiants de la page
+     */
+    @Query("select e.id from Epic e order by e.id")
+    List<UUID> findAllIds(Pageable pageable);
 }
\ No newline at end of file
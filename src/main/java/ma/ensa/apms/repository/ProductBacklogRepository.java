@@ -1,10 +1,17 @@
 package ma.ensa.apms.repository;
 
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.LockModeType;
 import ma.ensa.apms.modal.ProductBacklog;
 
 /**
@@ -23,4 +30,24 @@ import ma.ensa.apms.modal.ProductBacklog;
 @Repository
 public interface ProductBacklogRepository extends JpaRepository<ProductBacklog, UUID> {
 
-}
\ No newline at end of file
+    /**
+     * Recherche une page d'identifiants de Product Backlogs, triés par
+     * identifiant.
+     * 
+     * @param pageable la page demandée
+     * @return les identifiants de la page
+     */
+    @Query("select pb.id from ProductBacklog pb order by pb.id")
+    List<UUID> findAllIds(Pageable pageable);
+
+    /**
+     * Verrouille la ligne d'un Product Backlog sans le charger, pour
+     * sérialiser l'attribution des rangs de ses User Stories.
+     * 
+     * @param id l'identifiant du Product Backlog
+     * @return l'identifiant, vide si le Product Backlog n'existe pas
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select pb.id from ProductBacklog pb where pb.id = :id")
+    Optional<UUID> lockById(@Param("id") UUID id);
+}
@@ -5,9 +5,12 @@ import java.util.List;
 import java.util.UUID;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import ma.ensa.apms.modal.Project;
 import ma.ensa.apms.modal.enums.ProjectStatus;
+import ma.ensa.apms.timeline.TimelineEntry;
 
 /**
  * Repository Spring Data JPA pour l'entité Project.
@@ -52,4 +55,37 @@ public interface ProjectRepository extends JpaRepository<Project, UUID> {
      * @return liste des projets ayant ce statut
      */
     List<Project> findByStatus(ProjectStatus status);
+
+    /**
+     * Recherche les projets dont la période chevauche une fenêtre, via l'index
+     * GiST de la colonne {@code period} (PostgreSQL uniquement).
+     * 
+     * @param from début de la fenêtre, inclus
+     * @param to   fin de la fenêtre, incluse
+     * @return les projets correspondants, triés par date de début
+     */
+    @Query(value = "select p.* from project p where p.period && tsrange(:from, :to, '[]') "
+            + "order by p.start_date nulls first, p.id", nativeQuery = true)
+    List<Project> findByPeriodOverlapping(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    /**
+     * Recherche les projets dont la période est entièrement contenue dans une
+     * fenêtre, via l'index GiST de la colonne {@code period} (PostgreSQL
+     * uniquement).
+     * 
+     * @param from début de la fenêtre, inclus
+     * @param to   fin de la fenêtre, incluse
+     * @return les projets correspondants, triés par date de début
+     */
+    @Query(value = "select p.* from project p where p.period <@ tsrange(:from, :to, '[]') "
+            + "order by p.start_date, p.id", nativeQuery = true)
+    List<Project> findByPeriodWithin(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    /**
+     * Charge la période de tous les projets, pour l'index en mémoire.
+     * 
+     * @return l'identifiant et les dates de chaque projet
+     */
+    @Query("select new ma.ensa.apms.timeline.TimelineEntry(p.id, p.startDate, p.endDate) from Project p")
+    List<TimelineEntry> findAllPeriods();
 }
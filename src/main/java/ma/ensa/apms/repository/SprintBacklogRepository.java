@@ -3,6 +3,7 @@ package ma.ensa.apms.repository;
 import ma.ensa.apms.modal.SprintBacklog;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -19,4 +20,12 @@ import java.util.UUID;
  * @see SprintBacklog
  */
 public interface SprintBacklogRepository extends JpaRepository<SprintBacklog, UUID> {
+
+    /**
+     * Recherche les Sprint Backlogs d'un Product Backlog par ordre de création.
+     * 
+     * @param productBacklogId l'identifiant du Product Backlog
+     * @return liste des Sprint Backlogs du backlog
+     */
+    List<SprintBacklog> findByProductBacklogIdOrderByCreatedAtAsc(UUID productBacklogId);
 }
\ No newline at end of file
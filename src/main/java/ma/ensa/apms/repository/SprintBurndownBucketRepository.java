@@ -0,0 +1,82 @@
+package ma.ensa.apms.repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import ma.ensa.apms.modal.SprintBurndownBucket;
+
+/**
+ * Repository Spring Data JPA pour l'entité SprintBurndownBucket.
+ * 
+ * <p>
+ * Fournit la lecture des séries de burndown et la mise à jour atomique des
+ * compteurs journaliers d'un sprint.
+ * </p>
+ * 
+ * @author APMS Team
+ * @version 1.0
+ * @since 1.0
+ * @see SprintBurndownBucket
+ */
+@Repository
+public interface SprintBurndownBucketRepository extends JpaRepository<SprintBurndownBucket, UUID> {
+
+    /**
+     * Recherche les buckets d'un sprint triés par jour croissant.
+     * 
+     * @param sprintBacklogId l'identifiant du Sprint Backlog
+     * @return la série journalière du sprint
+     */
+    List<SprintBurndownBucket> findBySprintBacklogIdOrderByBucketDateAsc(UUID sprintBacklogId);
+
+    /**
+     * Recherche le dernier bucket de chacun des sprints donnés.
+     * 
+     * @param sprintBacklogIds les identifiants des Sprint Backlogs
+     * @return le bucket le plus récent de chaque sprint ayant un burndown
+     */
+    @Query("select b from SprintBurndownBucket b where b.sprintBacklogId in :sprintBacklogIds "
+            + "and b.bucketDate = (select max(l.bucketDate) from SprintBurndownBucket l "
+            + "where l.sprintBacklogId = b.sprintBacklogId)")
+    List<SprintBurndownBucket> findLatestBySprintBacklogIds(
+            @Param("sprintBacklogIds") Collection<UUID> sprintBacklogIds);
+
+    /**
+     * Applique des variations aux compteurs du bucket d'un jour donné, de
+     * manière atomique en base.
+     * 
+     * @param sprintBacklogId  l'identifiant du Sprint Backlog
+     * @param bucketDate       le jour du bucket
+     * @param remainingStories variation du nombre de User Stories restantes
+     * @param remainingTasks   variation du nombre de tâches restantes
+     * @param completedStories variation du nombre de User Stories terminées
+     * @return le nombre de buckets mis à jour (0 si le bucket n'existe pas)
+     */
+    @Modifying
+    @Query("update SprintBurndownBucket b set b.remainingStories = b.remainingStories + :remainingStories, "
+            + "b.remainingTasks = b.remainingTasks + :remainingTasks, "
+            + "b.completedStories = b.completedStories + :completedStories "
+            + "where b.sprintBacklogId = :sprintBacklogId and b.bucketDate = :bucketDate")
+    int applyDelta(@Param("sprintBacklogId") UUID sprintBacklogId, @Param("bucketDate") LocalDate bucketDate,
+            @Param("remainingStories") int remainingStories, @Param("remainingTasks") int remainingTasks,
+            @Param("completedStories") int completedStories);
+
+    /**
+     * Recherche le bucket d'un sprint pour un jour donné.
+     * 
+     * @param sprintBacklogId l'identifiant du Sprint Backlog
+     * @param bucketDate      le jour recherché
+     * @return le bucket s'il existe
+     */
+    Optional<SprintBurndownBucket> findBySprintBacklogIdAndBucketDate(UUID sprintBacklogId,
+            LocalDate bucketDate);
+}
@@ -0,0 +1,64 @@
+package ma.ensa.apms.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import jakarta.persistence.LockModeType;
+import ma.ensa.apms.modal.StatusRollup;
+import ma.ensa.apms.modal.enums.RollupScope;
+
+/**
+ * Repository Spring Data JPA pour l'entité StatusRollup.
+ * 
+ * <p>
+ * Les incréments sont appliqués en SQL par le listener Hibernate ; ce
+ * repository sert à lire les compteurs et à les corriger.
+ * </p>
+ * 
+ * @author APMS Team
+ * @version 1.0
+ * @since 1.0
+ * @see StatusRollup
+ */
+@Repository
+public interface StatusRollupRepository extends JpaRepository<StatusRollup, UUID> {
+
+    /**
+     * Recherche les compteurs d'un périmètre.
+     * 
+     * @param scopeType le type de périmètre
+     * @param scopeId   l'identifiant de l'Epic ou du Product Backlog
+     * @return les compteurs par statut
+     */
+    List<StatusRollup> findByScopeTypeAndScopeId(RollupScope scopeType, UUID scopeId);
+
+    /**
+     * Recherche les compteurs de plusieurs périmètres d'un même type.
+     * 
+     * @param scopeType le type de périmètre
+     * @param scopeIds  les identifiants des périmètres
+     * @return les compteurs par statut
+     */
+    List<StatusRollup> findByScopeTypeAndScopeIdIn(RollupScope scopeType, Collection<UUID> scopeIds);
+
+    /**
+     * Verrouille les compteurs de plusieurs périmètres avant leur vérification,
+     * afin qu'aucun incrément concurrent ne soit perdu.
+     * 
+     * @param scopeType le type de périmètre
+     * @param scopeIds  les identifiants des périmètres
+     * @return les compteurs verrouillés
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select r from StatusRollup r where r.scopeType = :scopeType and r.scopeId in :scopeIds "
+            + "order by r.scopeId, r.status")
+    List<StatusRollup> lockByScope(@Param("scopeType") RollupScope scopeType,
+            @Param("scopeIds") Collection<UUID> scopeIds);
+}
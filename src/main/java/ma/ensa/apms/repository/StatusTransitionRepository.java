@@ -0,0 +1,66 @@
+package ma.ensa.apms.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import ma.ensa.apms.modal.StatusTransition;
+
+/**
+ * Repository Spring Data JPA pour l'entité StatusTransition.
+ * 
+ * <p>
+ * Le journal n'est écrit que par le listener Hibernate ; ce repository sert à
+ * le relire dans l'ordre chronologique pour reconstruire un tableau de sprint.
+ * </p>
+ * 
+ * @author APMS Team
+ * @version 1.0
+ * @since 1.0
+ * @see StatusTransition
+ */
+@Repository
+public interface StatusTransitionRepository extends JpaRepository<StatusTransition, Long> {
+
+    /**
+     * Recherche toutes les transitions d'un sprint jusqu'à un instant donné,
+     * dans l'ordre chronologique.
+     * 
+     * @param sprintBacklogId l'identifiant du Sprint Backlog
+     * @param asOf            l'instant de fin (inclus)
+     * @return les transitions à rejouer
+     */
+    List<StatusTransition> findBySprintBacklogIdAndOccurredAtLessThanEqualOrderByOccurredAtAscIdAsc(
+            UUID sprintBacklogId, LocalDateTime asOf);
+
+    /**
+     * Recherche les transitions d'un sprint postérieures à un snapshot et
+     * antérieures à un instant donné, dans l'ordre chronologique.
+     * 
+     * @param sprintBacklogId  l'identifiant du Sprint Backlog
+     * @param takenAt          la date de la dernière transition du snapshot
+     * @param lastTransitionId l'identifiant de la dernière transition du snapshot
+     * @param asOf             l'instant de fin (inclus)
+     * @return les transitions à rejouer après le snapshot
+     */
+    @Query("select t from StatusTransition t where t.sprintBacklogId = :sprintBacklogId "
+            + "and t.occurredAt <= :asOf "
+            + "and (t.occurredAt > :takenAt or (t.occurredAt = :takenAt and t.id > :lastTransitionId)) "
+            + "order by t.occurredAt asc, t.id asc")
+    List<StatusTransition> findReplayAfterSnapshot(@Param("sprintBacklogId") UUID sprintBacklogId,
+            @Param("takenAt") LocalDateTime takenAt, @Param("lastTransitionId") Long lastTransitionId,
+            @Param("asOf") LocalDateTime asOf);
+
+    /**
+     * Recherche l'historique d'une entité dans l'ordre chronologique.
+     * 
+     * @param entityId l'identifiant de la User Story ou de la tâche
+     * @return les transitions de l'entité
+     */
+    List<StatusTransition> findByEntityIdOrderByOccurredAtAscIdAsc(UUID entityId);
+}
@@ -2,13 +2,17 @@ package ma.ensa.apms.repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import ma.ensa.apms.modal.Task;
 import ma.ensa.apms.modal.enums.TaskStatus;
+import ma.ensa.apms.timeline.TimelineEntry;
 
 /**
  * Repository Spring Data JPA pour l'entité Task.
@@ -43,4 +47,68 @@ public interface TaskRepository extends JpaRepository<Task, UUID> {
      * @return liste des tâches correspondantes
      */
     List<Task> findByStartDateGreaterThanEqualAndEndDateLessThanEqual(LocalDateTime startDate, LocalDateTime endDate);
+
+    /**
+     * Compte les tâches des User Stories d'un Sprint Backlog n'ayant pas un
+     * statut donné.
+     * 
+     * @param sprintBacklogId l'identifiant du Sprint Backlog
+     * @param status          le statut exclu
+     * @return le nombre de tâches correspondantes
+     */
+    long countByUserStorySprintBacklogIdAndStatusNot(UUID sprintBacklogId, TaskStatus status);
+
+    /**
+     * Recherche la date de fin la plus tardive des tâches des User Stories
+     * d'un Sprint Backlog, qui tient lieu de date de fin du sprint.
+     * 
+     * @param sprintBacklogId l'identifiant du Sprint Backlog
+     * @return la date de fin, vide si aucune tâche n'en a
+     */
+    @Query("select max(t.endDate) from Task t where t.userStory.sprintBacklog.id = :sprintBacklogId")
+    Optional<LocalDateTime> findLatestEndDateBySprintBacklogId(@Param("sprintBacklogId") UUID sprintBacklogId);
+
+    /**
+     * Recherche les tâches dont la période chevauche une fenêtre, via l'index
+     * GiST de la colonne {@code period} (PostgreSQL uniquement).
+     * 
+     * @param from début de la fenêtre, inclus
+     * @param to   fin de la fenêtre, incluse
+     * @return les tâches correspondantes, triées par date de début
+     */
+    @Query(value = "select t.* from task t where t.period && tsrange(:from, :to, '[]') "
+            + "order by t.start_date nulls first, t.id", nativeQuery = true)
+    List<Task> findByPeriodOverlapping(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    /**
+     * Recherche les tâches dont la période est entièrement contenue dans une
+     * fenêtre, via l'index GiST de la colonne {@code period} (PostgreSQL
+     * uniquement).
+     * 
+     * @param from début de la fenêtre, inclus
+     * @param to   fin de la fenêtre, incluse
+     * @return les tâches correspondantes, triées par date de début
+     */
+    @Query(value = "select t.* from task t where t.period <@ tsrange(:from, :to, '[]') "
+            + "order by t.start_date, t.id", nativeQuery = true)
+    List<Task> findByPeriodWithin(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    /**
+     * Recherche les tâches des User Stories rattachées aux Epics d'un Product
+     * Backlog.
+     * 
+     * @param productBacklogId l'identifiant du Product Backlog des Epics
+     * @return les tâches correspondantes, triées par date de début
+     */
+    @Query("select t from Task t where t.userStory.epic.productBacklog.id = :productBacklogId "
+            + "order by t.startDate nulls last, t.id")
+    List<Task> findByEpicProductBacklogId(@Param("productBacklogId") UUID productBacklogId);
+
+    /**
+     * Charge la période de toutes les tâches, pour l'index en mémoire.
+     * 
+     * @return l'identifiant et les dates de chaque tâche
+     */
+    @Query("select new ma.ensa.apms.timeline.TimelineEntry(t.id, t.startDate, t.endDate) from Task t")
+    List<TimelineEntry> findAllPeriods();
 }
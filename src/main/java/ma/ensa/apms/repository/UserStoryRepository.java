@@ -1,10 +1,23 @@
 package ma.ensa.apms.repository;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.LockModeType;
+import ma.ensa.apms.batch.IdCount;
+import ma.ensa.apms.board.BoardColumnRow;
+import ma.ensa.apms.facet.FacetRow;
 import ma.ensa.apms.modal.UserStory;
+import ma.ensa.apms.ranking.PriorityEntry;
+import ma.ensa.apms.rollup.ScopeStatusCount;
+
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 import ma.ensa.apms.modal.enums.UserStoryStatus;
@@ -46,6 +59,46 @@ public interface UserStoryRepository extends JpaRepository<UserStory, UUID> {
      */
     List<UserStory> findByProductBacklogIdOrderByPriorityAsc(UUID productBacklogId);
 
+    /**
+     * Priorités des User Stories restant à planifier dans un Product Backlog,
+     * c'est-à-dire ni terminées ni affectées à un sprint. Charge l'index des
+     * User Stories les plus prioritaires.
+     * 
+     * @param productBacklogId l'identifiant du Product Backlog
+     * @return les couples (identifiant, priorité)
+     */
+    @Query("select new ma.ensa.apms.ranking.PriorityEntry(us.id, us.priority) from UserStory us "
+            + "where us.productBacklog.id = :productBacklogId and us.sprintBacklog is null "
+            + "and us.status <> ma.ensa.apms.modal.enums.UserStoryStatus.DONE")
+    List<PriorityEntry> findPlanningPriorities(@Param("productBacklogId") UUID productBacklogId);
+
+    /**
+     * Attributs de filtrage des User Stories d'un Product Backlog, y compris
+     * celles affectées à un sprint de ce backlog. Charge l'index des facettes.
+     * 
+     * @param productBacklogId l'identifiant du Product Backlog
+     * @return une ligne par User Story, avec son nombre de critères non satisfaits
+     */
+    @Query("select new ma.ensa.apms.facet.FacetRow(us.id, coalesce(us.productBacklog.id, sb.productBacklog.id), "
+            + "us.status, us.priority, e.id, sb.id, "
+            + "(select count(ac) from AcceptanceCriteria ac where ac.userStory = us and ac.met = false)) "
+            + "from UserStory us left join us.epic e left join us.sprintBacklog sb "
+            + "where us.productBacklog.id = :productBacklogId or sb.productBacklog.id = :productBacklogId")
+    List<FacetRow> findFacetRows(@Param("productBacklogId") UUID productBacklogId);
+
+    /**
+     * Attributs de filtrage de User Stories données, relus par l'index des
+     * facettes après leur modification.
+     * 
+     * @param ids les identifiants des User Stories
+     * @return une ligne par User Story existante
+     */
+    @Query("select new ma.ensa.apms.facet.FacetRow(us.id, coalesce(us.productBacklog.id, sb.productBacklog.id), "
+            + "us.status, us.priority, e.id, sb.id, "
+            + "(select count(ac) from AcceptanceCriteria ac where ac.userStory = us and ac.met = false)) "
+            + "from UserStory us left join us.epic e left join us.sprintBacklog sb where us.id in :ids")
+    List<FacetRow> findFacetRowsByIds(@Param("ids") Collection<UUID> ids);
+
     /**
      * Recherche les User Stories par statut dans un Product Backlog donné.
      * 
@@ -55,6 +108,88 @@ public interface UserStoryRepository extends JpaRepository<UserStory, UUID> {
      */
     List<UserStory> findByStatusAndProductBacklogId(UserStoryStatus status, UUID productBacklogId);
 
+    /**
+     * Premières User Stories de chaque colonne de statut d'un Product Backlog,
+     * par priorité, avec la taille de chaque colonne. Une seule requête de
+     * fenêtrage (SQL standard, exécutée telle quelle par PostgreSQL et H2).
+     * L'identifiant est lu sous forme de texte : H2 renvoie ses UUID natifs en
+     * {@code byte[]}, que la projection ne sait pas convertir.
+     * 
+     * @param productBacklogId l'identifiant du Product Backlog
+     * @param perColumn        le nombre maximal de User Stories par colonne
+     * @return les lignes, par statut puis par position dans la colonne
+     */
+    @Query(value = "select cast(ranked.id as varchar(36)) as id, ranked.status as status, ranked.priority as priority, "
+            + "ranked.total as total from (select us.id, us.status, us.priority, "
+            + "row_number() over (partition by us.status order by us.priority, us.id) as row_num, "
+            + "count(*) over (partition by us.status) as total "
+            + "from user_story us where us.product_backlog_id = :productBacklogId) ranked "
+            + "where ranked.row_num <= :perColumn order by ranked.status, ranked.row_num", nativeQuery = true)
+    List<BoardColumnRow> findBoardColumnsByProductBacklogId(@Param("productBacklogId") UUID productBacklogId,
+            @Param("perColumn") int perColumn);
+
+    /**
+     * Premières User Stories de chaque colonne de statut d'un Sprint Backlog,
+     * par priorité, avec la taille de chaque colonne.
+     * 
+     * @param sprintBacklogId l'identifiant du Sprint Backlog
+     * @param perColumn       le nombre maximal de User Stories par colonne
+     * @return les lignes, par statut puis par position dans la colonne
+     */
+    @Query(value = "select cast(ranked.id as varchar(36)) as id, ranked.status as status, ranked.priority as priority, "
+            + "ranked.total as total from (select us.id, us.status, us.priority, "
+            + "row_number() over (partition by us.status order by us.priority, us.id) as row_num, "
+            + "count(*) over (partition by us.status) as total "
+            + "from user_story us where us.sprint_backlog_id = :sprintBacklogId) ranked "
+            + "where ranked.row_num <= :perColumn order by ranked.status, ranked.row_num", nativeQuery = true)
+    List<BoardColumnRow> findBoardColumnsBySprintBacklogId(@Param("sprintBacklogId") UUID sprintBacklogId,
+            @Param("perColumn") int perColumn);
+
+    /**
+     * Suite d'une colonne de statut d'un Product Backlog par pagination
+     * keyset : reprend après le dernier couple (priorité, identifiant) lu.
+     * 
+     * @param productBacklogId l'identifiant du Product Backlog
+     * @param status           le statut de la colonne
+     * @param afterPriority    la priorité de la dernière User Story lue
+     * @param afterId          l'identifiant de la dernière User Story lue
+     * @param pageable         la taille de la page (toujours la page 0)
+     * @return les User Stories de la page
+     */
+    @Query("select us from UserStory us where us.productBacklog.id = :productBacklogId and us.status = :status "
+            + "and (us.priority > :afterPriority or (us.priority = :afterPriority and us.id > :afterId)) "
+            + "order by us.priority, us.id")
+    List<UserStory> findBoardColumnPageByProductBacklogId(@Param("productBacklogId") UUID productBacklogId,
+            @Param("status") UserStoryStatus status, @Param("afterPriority") int afterPriority,
+            @Param("afterId") UUID afterId, Pageable pageable);
+
+    /**
+     * Suite d'une colonne de statut d'un Sprint Backlog par pagination
+     * keyset.
+     * 
+     * @param sprintBacklogId l'identifiant du Sprint Backlog
+     * @param status          le statut de la colonne
+     * @param afterPriority   la priorité de la dernière User Story lue
+     * @param afterId         l'identifiant de la dernière User Story lue
+     * @param pageable        la taille de la page (toujours la page 0)
+     * @return les User Stories de la page
+     */
+    @Query("select us from UserStory us where us.sprintBacklog.id = :sprintBacklogId and us.status = :status "
+            + "and (us.priority > :afterPriority or (us.priority = :afterPriority and us.id > :afterId)) "
+            + "order by us.priority, us.id")
+    List<UserStory> findBoardColumnPageBySprintBacklogId(@Param("sprintBacklogId") UUID sprintBacklogId,
+            @Param("status") UserStoryStatus status, @Param("afterPriority") int afterPriority,
+            @Param("afterId") UUID afterId, Pageable pageable);
+
+    /**
+     * Compte les User Stories d'un Product Backlog ayant un statut donné.
+     * 
+     * @param productBacklogId l'identifiant du Product Backlog
+     * @param status           le statut recherché
+     * @return le nombre de User Stories correspondantes
+     */
+    long countByProductBacklogIdAndStatus(UUID productBacklogId, UserStoryStatus status);
+
     /**
      * Recherche les User Stories appartenant à un Epic.
      * 
@@ -63,6 +198,15 @@ public interface UserStoryRepository extends JpaRepository<UserStory, UUID> {
      */
     List<UserStory> findByEpicId(UUID epicId);
 
+    /**
+     * Recherche les User Stories rattachées aux Epics d'un Product Backlog,
+     * triées par priorité.
+     * 
+     * @param productBacklogId l'identifiant du Product Backlog des Epics
+     * @return les User Stories des Epics du backlog
+     */
+    List<UserStory> findByEpicProductBacklogIdOrderByPriorityAscIdAsc(UUID productBacklogId);
+
     /**
      * Recherche les User Stories assignées à un Sprint Backlog.
      * 
@@ -78,4 +222,187 @@ public interface UserStoryRepository extends JpaRepository<UserStory, UUID> {
      * @return liste des User Stories du backlog
      */
     List<UserStory> findByProductBacklogId(UUID productBacklogId);
-}
\ No newline at end of file
+
+    /**
+     * Compte les User Stories d'un Product Backlog sans charger la collection.
+     * 
+     * @param productBacklogId l'identifiant du Product Backlog
+     * @return le nombre de User Stories du backlog
+     */
+    long countByProductBacklogId(UUID productBacklogId);
+
+    /**
+     * Compte les User Stories d'un Epic sans charger la collection.
+     * 
+     * @param epicId l'identifiant de l'Epic
+     * @return le nombre de User Stories de l'Epic
+     */
+    long countByEpicId(UUID epicId);
+
+    /**
+     * Compte les User Stories de chacun des Epics donnés.
+     * 
+     * @param epicIds les identifiants des Epics
+     * @return le nombre de User Stories par Epic, sans les Epics vides
+     */
+    @Query("select new ma.ensa.apms.batch.IdCount(us.epic.id, count(us)) "
+            + "from UserStory us where us.epic.id in :epicIds group by us.epic.id")
+    List<IdCount> countByEpicIds(@Param("epicIds") Collection<UUID> epicIds);
+
+    /**
+     * Compte les User Stories d'un Sprint Backlog ayant un statut donné.
+     * 
+     * @param sprintBacklogId l'identifiant du Sprint Backlog
+     * @param status          le statut recherché
+     * @return le nombre de User Stories correspondantes
+     */
+    long countBySprintBacklogIdAndStatus(UUID sprintBacklogId, UserStoryStatus status);
+
+    /**
+     * Compte les User Stories d'un Sprint Backlog n'ayant pas un statut donné.
+     * 
+     * @param sprintBacklogId l'identifiant du Sprint Backlog
+     * @param status          le statut exclu
+     * @return le nombre de User Stories correspondantes
+     */
+    long countBySprintBacklogIdAndStatusNot(UUID sprintBacklogId, UserStoryStatus status);
+
+    /**
+     * Recompte les User Stories par statut pour chacun des Epics donnés.
+     * 
+     * @param epicIds les identifiants des Epics
+     * @return le nombre de User Stories par Epic et par statut
+     */
+    @Query("select new ma.ensa.apms.rollup.ScopeStatusCount(us.epic.id, us.status, count(us)) "
+            + "from UserStory us where us.epic.id in :epicIds group by us.epic.id, us.status")
+    List<ScopeStatusCount> countByEpicIdsGroupByStatus(@Param("epicIds") Collection<UUID> epicIds);
+
+    /**
+     * Recompte les User Stories par statut pour chacun des Product Backlogs
+     * donnés. Une User Story assignée à un sprint compte pour le Product
+     * Backlog de ce sprint.
+     * 
+     * @param productBacklogIds les identifiants des Product Backlogs
+     * @return le nombre de User Stories par Product Backlog et par statut
+     */
+    @Query("select new ma.ensa.apms.rollup.ScopeStatusCount("
+            + "coalesce(us.productBacklog.id, sb.productBacklog.id), us.status, count(us)) "
+            + "from UserStory us left join us.sprintBacklog sb "
+            + "where coalesce(us.productBacklog.id, sb.productBacklog.id) in :productBacklogIds "
+            + "group by coalesce(us.productBacklog.id, sb.productBacklog.id), us.status")
+    List<ScopeStatusCount> countByProductBacklogIdsGroupByStatus(
+            @Param("productBacklogIds") Collection<UUID> productBacklogIds);
+
+    /**
+     * Recherche les User Stories d'un Product Backlog dans l'ordre de leur
+     * rang.
+     * 
+     * @param productBacklogId l'identifiant du Product Backlog
+     * @return liste des User Stories triées par rang
+     */
+    List<UserStory> findByProductBacklogIdOrderByRankAscIdAsc(UUID productBacklogId);
+
+    /**
+     * Première page d'un Product Backlog dans l'ordre des rangs, servie par
+     * l'index (product_backlog_id, backlog_rank).
+     * 
+     * @param productBacklogId l'identifiant du Product Backlog
+     * @param pageable         la taille de la page (toujours la page 0)
+     * @return les User Stories de la page
+     */
+    @Query("select us from UserStory us where us.productBacklog.id = :productBacklogId and us.rank is not null "
+            + "order by us.rank, us.id")
+    List<UserStory> findRankedPage(@Param("productBacklogId") UUID productBacklogId, Pageable pageable);
+
+    /**
+     * Page suivante d'un Product Backlog par pagination keyset : reprend
+     * après le dernier couple (rang, identifiant) lu, sans OFFSET.
+     * 
+     * @param productBacklogId l'identifiant du Product Backlog
+     * @param afterRank        le rang de la dernière User Story lue
+     * @param afterId          l'identifiant de la dernière User Story lue
+     * @param pageable         la taille de la page (toujours la page 0)
+     * @return les User Stories de la page
+     */
+    @Query("select us from UserStory us where us.productBacklog.id = :productBacklogId "
+            + "and (us.rank > :afterRank or (us.rank = :afterRank and us.id > :afterId)) "
+            + "order by us.rank, us.id")
+    List<UserStory> findRankedPageAfter(@Param("productBacklogId") UUID productBacklogId,
+            @Param("afterRank") String afterRank, @Param("afterId") UUID afterId, Pageable pageable);
+
+    /**
+     * Recherche la User Story de rang le plus élevé d'un Product Backlog.
+     * 
+     * @param productBacklogId l'identifiant du Product Backlog
+     * @return la dernière User Story classée, si elle existe
+     */
+    Optional<UserStory> findFirstByProductBacklogIdAndRankNotNullOrderByRankDesc(UUID productBacklogId);
+
+    /**
+     * Recherche la première User Story classée d'un Product Backlog, en
+     * ignorant une User Story donnée.
+     * 
+     * @param productBacklogId l'identifiant du Product Backlog
+     * @param excludedId       la User Story à ignorer
+     * @return la première User Story classée, si elle existe
+     */
+    Optional<UserStory> findFirstByProductBacklogIdAndRankNotNullAndIdNotOrderByRankAsc(UUID productBacklogId,
+            UUID excludedId);
+
+    /**
+     * Recherche la User Story qui suit immédiatement un rang donné.
+     * 
+     * @param productBacklogId l'identifiant du Product Backlog
+     * @param rank             le rang de référence
+     * @param excludedId       la User Story à ignorer
+     * @return la User Story suivante, si elle existe
+     */
+    Optional<UserStory> findFirstByProductBacklogIdAndRankGreaterThanAndIdNotOrderByRankAsc(UUID productBacklogId,
+            String rank, UUID excludedId);
+
+    /**
+     * Recherche la User Story qui précède immédiatement un rang donné.
+     * 
+     * @param productBacklogId l'identifiant du Product Backlog
+     * @param rank             le rang de référence
+     * @param excludedId       la User Story à ignorer
+     * @return la User Story précédente, si elle existe
+     */
+    Optional<UserStory> findFirstByProductBacklogIdAndRankLessThanAndIdNotOrderByRankDesc(UUID productBacklogId,
+            String rank, UUID excludedId);
+
+    /**
+     * Verrouille des User Stories, dans l'ordre de leurs identifiants pour
+     * éviter les interblocages avec le rééquilibrage des rangs.
+     * 
+     * @param ids les identifiants des User Stories
+     * @return les User Stories verrouillées
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select us from UserStory us where us.id in :ids order by us.id")
+    List<UserStory> lockByIds(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Verrouille toutes les User Stories d'un Product Backlog avant le
+     * rééquilibrage de leurs rangs.
+     * 
+     * @param productBacklogId l'identifiant du Product Backlog
+     * @return les User Stories verrouillées, dans l'ordre de leurs identifiants
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select us from UserStory us where us.productBacklog.id = :productBacklogId order by us.id")
+    List<UserStory> lockByProductBacklogId(@Param("productBacklogId") UUID productBacklogId);
+
+    /**
+     * Recherche les Product Backlogs dont les rangs doivent être rééquilibrés :
+     * User Stories sans rang, rangs devenus trop longs ou rangs en double.
+     * 
+     * @param maxLength la longueur de rang au-delà de laquelle rééquilibrer
+     * @param pageable  le nombre maximal de backlogs à retourner
+     * @return les identifiants des Product Backlogs concernés
+     */
+    @Query("select distinct us.productBacklog.id from UserStory us where us.productBacklog is not null "
+            + "and (us.rank is null or length(us.rank) > :maxLength or exists (select 1 from UserStory other "
+            + "where other.productBacklog = us.productBacklog and other.rank = us.rank and other.id <> us.id))")
+    List<UUID> findProductBacklogIdsNeedingRebalance(@Param("maxLength") int maxLength, Pageable pageable);
+}
@@ -0,0 +1,16 @@
+package ma.ensa.apms.rollup;
+
+import java.util.UUID;
+
+import ma.ensa.apms.modal.enums.UserStoryStatus;
+
+/**
+ * Number of user stories of one status in one rollup scope, as recounted from
+ * the user story table.
+ *
+ * @param scopeId the epic or product backlog ID
+ * @param status  the user story status
+ * @param count   the number of user stories
+ */
+public record ScopeStatusCount(UUID scopeId, UserStoryStatus status, Long count) {
+}
@@ -0,0 +1,259 @@
+package ma.ensa.apms.rollup;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.springframework.stereotype.Component;
+
+import jakarta.persistence.EntityManagerFactory;
+import ma.ensa.apms.listener.TransactionalEntityListener;
+import ma.ensa.apms.modal.Epic;
+import ma.ensa.apms.modal.ProductBacklog;
+import ma.ensa.apms.modal.SprintBacklog;
+import ma.ensa.apms.modal.UserStory;
+import ma.ensa.apms.modal.enums.RollupScope;
+import ma.ensa.apms.modal.enums.UserStoryStatus;
+
+/**
+ * Hibernate listener keeping the {@code status_rollup} counters of epics and
+ * product backlogs in step with their user stories.
+ *
+ * <p>
+ * Every insert, delete or status/epic/backlog/sprint change of a user story
+ * becomes a -1 on its old counters and a +1 on its new ones. Deltas are summed
+ * per session and applied just before commit as atomic
+ * {@code story_count = story_count + ?} updates, in the same transaction as
+ * the change. A story assigned to a sprint counts for the product backlog of
+ * that sprint.
+ * </p>
+ *
+ * <p>
+ * Counters are incremented in (scope, status) order, the order in which
+ * {@link StatusRollupVerifier} locks them, so that two transactions never
+ * wait on each other's counters.
+ * </p>
+ */
+@Component
+public class StatusRollupListener extends TransactionalEntityListener<StatusRollupListener.PendingRollups> {
+
+    private static final String INSERT_SCOPE = "insert into status_rollup "
+            + "(id, scope_type, scope_id, status, story_count) values (?, ?, ?, ?, 0)";
+
+    private static final String DELETE_SCOPE = "delete from status_rollup where scope_type = ? and scope_id = ?";
+
+    private static final String INCREMENT_EPIC = "update status_rollup set story_count = story_count + ? "
+            + "where scope_type = 'EPIC' and scope_id = ? and status = ?";
+
+    private static final String INCREMENT_PRODUCT_BACKLOG = "update status_rollup set story_count = story_count + ? "
+            + "where scope_type = 'PRODUCT_BACKLOG' and scope_id = ? and status = ?";
+
+    private static final String SELECT_SPRINT_BACKLOG = "select product_backlog_id from sprint_backlog where id = ?";
+
+    /**
+     * Lock order of {@link StatusRollupVerifier}: by scope ID as the database
+     * sorts UUIDs, then by status name
+     */
+    private static final Comparator<Counter> LOCK_ORDER = Comparator
+            .comparing((Counter counter) -> counter.scopeId().toString())
+            .thenComparing(counter -> counter.status().name());
+
+    public StatusRollupListener(EntityManagerFactory entityManagerFactory) {
+        super(entityManagerFactory);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        Object entity = event.getEntity();
+        if (entity instanceof UserStory story) {
+            pendingFor(event.getSession()).count(StoryKey.of(story), 1);
+        } else if (entity instanceof Epic epic) {
+            pendingFor(event.getSession()).createdScopes.add(new Scope(RollupScope.EPIC, epic.getId()));
+        } else if (entity instanceof ProductBacklog backlog) {
+            pendingFor(event.getSession()).createdScopes.add(new Scope(RollupScope.PRODUCT_BACKLOG, backlog.getId()));
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (!(event.getEntity() instanceof UserStory story) || event.getOldState() == null) {
+            return;
+        }
+        StoryKey previous = StoryKey.of(event.getOldState(), event.getPersister().getPropertyNames());
+        StoryKey current = StoryKey.of(story);
+        if (!previous.equals(current)) {
+            PendingRollups rollups = pendingFor(event.getSession());
+            rollups.count(previous, -1);
+            rollups.count(current, 1);
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        Object entity = event.getEntity();
+        if (entity instanceof UserStory && event.getDeletedState() != null) {
+            pendingFor(event.getSession())
+                    .count(StoryKey.of(event.getDeletedState(), event.getPersister().getPropertyNames()), -1);
+        } else if (entity instanceof Epic epic) {
+            pendingFor(event.getSession()).deletedScopes.add(new Scope(RollupScope.EPIC, epic.getId()));
+        } else if (entity instanceof ProductBacklog backlog) {
+            pendingFor(event.getSession()).deletedScopes.add(new Scope(RollupScope.PRODUCT_BACKLOG, backlog.getId()));
+        }
+    }
+
+    @Override
+    protected PendingRollups newPending() {
+        return new PendingRollups();
+    }
+
+    @Override
+    protected void beforeCommit(SharedSessionContractImplementor session, PendingRollups rollups) {
+        session.doWork(connection -> {
+            if (!rollups.createdScopes.isEmpty()) {
+                try (PreparedStatement insert = connection.prepareStatement(INSERT_SCOPE)) {
+                    for (Scope scope : rollups.createdScopes) {
+                        for (UserStoryStatus status : UserStoryStatus.values()) {
+                            insert.setObject(1, UUID.randomUUID());
+                            insert.setString(2, scope.type().name());
+                            insert.setObject(3, scope.id());
+                            insert.setString(4, status.name());
+                            insert.addBatch();
+                        }
+                    }
+                    insert.executeBatch();
+                }
+            }
+            applyDeltas(connection, rollups.deltas);
+            if (!rollups.deletedScopes.isEmpty()) {
+                try (PreparedStatement delete = connection.prepareStatement(DELETE_SCOPE)) {
+                    for (Scope scope : rollups.deletedScopes) {
+                        delete.setString(1, scope.type().name());
+                        delete.setObject(2, scope.id());
+                        delete.addBatch();
+                    }
+                    delete.executeBatch();
+                }
+            }
+        });
+    }
+
+    private static void applyDeltas(Connection connection, Map<StoryKey, Integer> deltas) throws SQLException {
+        Map<Counter, Integer> epicDeltas = new TreeMap<>(LOCK_ORDER);
+        Map<Counter, Integer> backlogDeltas = new TreeMap<>(LOCK_ORDER);
+        Map<UUID, UUID> backlogOfSprint = new HashMap<>();
+        for (Map.Entry<StoryKey, Integer> entry : deltas.entrySet()) {
+            StoryKey key = entry.getKey();
+            if (key.status() == null) {
+                continue;
+            }
+            if (key.epicId() != null) {
+                epicDeltas.merge(new Counter(key.status(), key.epicId()), entry.getValue(), Integer::sum);
+            }
+            UUID productBacklogId = key.productBacklogId();
+            if (productBacklogId == null && key.sprintBacklogId() != null) {
+                productBacklogId = backlogOfSprint.computeIfAbsent(key.sprintBacklogId(),
+                        sprintBacklogId -> productBacklogOf(connection, sprintBacklogId));
+            }
+            if (productBacklogId != null) {
+                backlogDeltas.merge(new Counter(key.status(), productBacklogId), entry.getValue(), Integer::sum);
+            }
+        }
+
+        try (PreparedStatement epics = connection.prepareStatement(INCREMENT_EPIC)) {
+            increment(epics, epicDeltas);
+        }
+        try (PreparedStatement backlogs = connection.prepareStatement(INCREMENT_PRODUCT_BACKLOG)) {
+            increment(backlogs, backlogDeltas);
+        }
+    }
+
+    private static void increment(PreparedStatement statement, Map<Counter, Integer> deltas) throws SQLException {
+        int rows = 0;
+        for (Map.Entry<Counter, Integer> entry : deltas.entrySet()) {
+            if (entry.getValue() != 0) {
+                statement.setLong(1, entry.getValue());
+                statement.setObject(2, entry.getKey().scopeId());
+                statement.setString(3, entry.getKey().status().name());
+                statement.addBatch();
+                rows++;
+            }
+        }
+        if (rows > 0) {
+            statement.executeBatch();
+        }
+    }
+
+    private static UUID productBacklogOf(Connection connection, UUID sprintBacklogId) {
+        try (PreparedStatement select = connection.prepareStatement(SELECT_SPRINT_BACKLOG)) {
+            select.setObject(1, sprintBacklogId);
+            try (ResultSet rs = select.executeQuery()) {
+                return rs.next() ? rs.getObject(1, UUID.class) : null;
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not read the product backlog of sprint " + sprintBacklogId, e);
+        }
+    }
+
+    /**
+     * Counters a user story contributes to
+     */
+    private record StoryKey(UserStoryStatus status, UUID epicId, UUID productBacklogId, UUID sprintBacklogId) {
+
+        static StoryKey of(UserStory story) {
+            return new StoryKey(story.getStatus(), idOf(story.getEpic()), idOf(story.getProductBacklog()),
+                    idOf(story.getSprintBacklog()));
+        }
+
+        static StoryKey of(Object[] state, String[] properties) {
+            return new StoryKey((UserStoryStatus) state[indexOf(properties, "status")],
+                    idOf(state[indexOf(properties, "epic")]),
+                    idOf(state[indexOf(properties, "productBacklog")]),
+                    idOf(state[indexOf(properties, "sprintBacklog")]));
+        }
+
+        private static UUID idOf(Object entity) {
+            if (entity instanceof Epic epic) {
+                return epic.getId();
+            }
+            if (entity instanceof ProductBacklog backlog) {
+                return backlog.getId();
+            }
+            if (entity instanceof SprintBacklog sprint) {
+                return sprint.getId();
+            }
+            return null;
+        }
+    }
+
+    private record Scope(RollupScope type, UUID id) {
+    }
+
+    private record Counter(UserStoryStatus status, UUID scopeId) {
+    }
+
+    /**
+     * Rollup work collected for one session until its transaction commits
+     */
+    static final class PendingRollups {
+        private final List<Scope> createdScopes = new ArrayList<>();
+        private final List<Scope> deletedScopes = new ArrayList<>();
+        private final Map<StoryKey, Integer> deltas = new LinkedHashMap<>();
+
+        void count(StoryKey key, int delta) {
+            deltas.merge(key, delta, Integer::sum);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package ma.ensa.apms.rollup;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+import ma.ensa.apms.dto.Response.ProgressResponse;
+import ma.ensa.apms.modal.StatusRollup;
+import ma.ensa.apms.modal.enums.RollupScope;
+import ma.ensa.apms.modal.enums.UserStoryStatus;
+import ma.ensa.apms.repository.StatusRollupRepository;
+
+/**
+ * Turns the stored rollup counters into progress responses.
+ *
+ * <p>
+ * Reads never count stories: they only load the few counter rows of the
+ * requested scopes. A project's progress is the progress of its product
+ * backlog.
+ * </p>
+ */
+@Component
+@RequiredArgsConstructor
+public class StatusRollupReader {
+
+    private final StatusRollupRepository statusRollupRepository;
+
+    /**
+     * Progress of a single epic or product backlog
+     *
+     * @param scopeType the kind of scope
+     * @param scopeId   the epic or product backlog ID, may be null
+     * @return the progress, empty when the scope is null or has no counters
+     */
+    public ProgressResponse progressOf(RollupScope scopeType, UUID scopeId) {
+        if (scopeId == null) {
+            return toProgress(List.of());
+        }
+        return toProgress(statusRollupRepository.findByScopeTypeAndScopeId(scopeType, scopeId));
+    }
+
+    /**
+     * Progress of several scopes of the same kind, read in one query
+     *
+     * @param scopeType the kind of scope
+     * @param scopeIds  the epic or product backlog IDs
+     * @return the progress of each requested scope
+     */
+    public Map<UUID, ProgressResponse> progressOf(RollupScope scopeType, Collection<UUID> scopeIds) {
+        Map<UUID, List<StatusRollup>> rowsByScope = new HashMap<>();
+        if (!scopeIds.isEmpty()) {
+            for (StatusRollup row : statusRollupRepository.findByScopeTypeAndScopeIdIn(scopeType, scopeIds)) {
+                rowsByScope.computeIfAbsent(row.getScopeId(), id -> new ArrayList<>()).add(row);
+            }
+        }
+        Map<UUID, ProgressResponse> progress = new HashMap<>();
+        for (UUID scopeId : scopeIds) {
+            progress.put(scopeId, toProgress(rowsByScope.getOrDefault(scopeId, List.of())));
+        }
+        return progress;
+    }
+
+    static ProgressResponse toProgress(List<StatusRollup> rows) {
+        Map<UserStoryStatus, Long> byStatus = new EnumMap<>(UserStoryStatus.class);
+        for (UserStoryStatus status : UserStoryStatus.values()) {
+            byStatus.put(status, 0L);
+        }
+        long total = 0;
+        for (StatusRollup row : rows) {
+            // Clamp transient negatives until the verifier corrects the drift
+            long count = Math.max(0, row.getStoryCount());
+            byStatus.merge(row.getStatus(), count, Long::sum);
+            total += count;
+        }
+        double percent = total == 0 ? 0.0 : byStatus.get(UserStoryStatus.DONE) * 100.0 / total;
+        return ProgressResponse.builder()
+                .storiesByStatus(byStatus)
+                .totalStories(total)
+                .percentComplete(percent)
+                .build();
+    }
+}
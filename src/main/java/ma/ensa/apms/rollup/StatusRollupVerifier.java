@@ -0,0 +1,169 @@
+package ma.ensa.apms.rollup;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import ma.ensa.apms.logging.LoggerUtils;
+import ma.ensa.apms.modal.StatusRollup;
+import ma.ensa.apms.modal.enums.RollupScope;
+import ma.ensa.apms.modal.enums.UserStoryStatus;
+import ma.ensa.apms.repository.EpicRepository;
+import ma.ensa.apms.repository.ProductBacklogRepository;
+import ma.ensa.apms.repository.StatusRollupRepository;
+import ma.ensa.apms.repository.UserStoryRepository;
+
+/**
+ * Background job recounting the rollup counters and correcting any drift.
+ *
+ * <p>
+ * Scopes are verified in chunks, each in its own short transaction: the
+ * counter rows of the chunk are locked first so that no concurrent increment
+ * can slip between the recount and the correction. Missing counter rows are
+ * created, which also backfills scopes that existed before the rollups did.
+ * </p>
+ */
+@Component
+public class StatusRollupVerifier {
+
+    private final StatusRollupRepository statusRollupRepository;
+    private final UserStoryRepository userStoryRepository;
+    private final EpicRepository epicRepository;
+    private final ProductBacklogRepository productBacklogRepository;
+    private final TransactionTemplate transaction;
+    private final Counter correctionsCounter;
+    private final int chunkSize;
+
+    public StatusRollupVerifier(StatusRollupRepository statusRollupRepository,
+            UserStoryRepository userStoryRepository,
+            EpicRepository epicRepository,
+            ProductBacklogRepository productBacklogRepository,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${apms.rollup.verify-chunk-size:500}") int chunkSize) {
+        this.statusRollupRepository = statusRollupRepository;
+        this.userStoryRepository = userStoryRepository;
+        this.epicRepository = epicRepository;
+        this.productBacklogRepository = productBacklogRepository;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.correctionsCounter = Counter.builder("apms.rollup.corrections")
+                .description("Rollup counters corrected by the background verifier")
+                .register(meterRegistry);
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    /**
+     * Verify every epic and product backlog rollup
+     */
+    @Scheduled(fixedDelayString = "${apms.rollup.verify-interval:PT1H}",
+            initialDelayString = "${apms.rollup.verify-initial-delay:PT5M}")
+    public void verifyAll() {
+        try {
+            int corrected = verifyScope(RollupScope.EPIC, epicRepository::findAllIds);
+            corrected += verifyScope(RollupScope.PRODUCT_BACKLOG, productBacklogRepository::findAllIds);
+            if (corrected > 0) {
+                LoggerUtils.logServiceInfo("Corrected {} drifted rollup counters", corrected);
+            }
+        } catch (RuntimeException ex) {
+            LoggerUtils.logServiceError("Rollup verification failed", ex);
+        }
+    }
+
+    private int verifyScope(RollupScope scopeType, Function<Pageable, List<UUID>> idPages) {
+        int corrected = 0;
+        for (int page = 0;; page++) {
+            List<UUID> ids = idPages.apply(PageRequest.of(page, chunkSize));
+            if (ids.isEmpty()) {
+                return corrected;
+            }
+            Integer chunkCorrections = transaction.execute(status -> verifyChunk(scopeType, ids));
+            corrected += chunkCorrections != null ? chunkCorrections : 0;
+            if (ids.size() < chunkSize) {
+                return corrected;
+            }
+        }
+    }
+
+    /**
+     * Count the rollups of scopes whose stories were inserted without going
+     * through the entities, such as a restored snapshot; must run in a
+     * transaction
+     *
+     * @param scopeType the scope type
+     * @param scopeIds  the scope IDs
+     */
+    public void recount(RollupScope scopeType, List<UUID> scopeIds) {
+        for (int from = 0; from < scopeIds.size(); from += chunkSize) {
+            recountChunk(scopeType, scopeIds.subList(from, Math.min(scopeIds.size(), from + chunkSize)));
+        }
+    }
+
+    /**
+     * Recount one chunk of scopes and fix their counters; must run in a
+     * transaction
+     *
+     * @return the number of counters corrected or created
+     */
+    int verifyChunk(RollupScope scopeType, Collection<UUID> scopeIds) {
+        int corrected = recountChunk(scopeType, scopeIds);
+        if (corrected > 0) {
+            correctionsCounter.increment(corrected);
+        }
+        return corrected;
+    }
+
+    private int recountChunk(RollupScope scopeType, Collection<UUID> scopeIds) {
+        Map<UUID, Map<UserStoryStatus, StatusRollup>> stored = new HashMap<>();
+        for (StatusRollup row : statusRollupRepository.lockByScope(scopeType, scopeIds)) {
+            stored.computeIfAbsent(row.getScopeId(), id -> new HashMap<>()).put(row.getStatus(), row);
+        }
+
+        Map<UUID, Map<UserStoryStatus, Long>> actual = new HashMap<>();
+        List<ScopeStatusCount> counts = scopeType == RollupScope.EPIC
+                ? userStoryRepository.countByEpicIdsGroupByStatus(scopeIds)
+                : userStoryRepository.countByProductBacklogIdsGroupByStatus(scopeIds);
+        for (ScopeStatusCount count : counts) {
+            actual.computeIfAbsent(count.scopeId(), id -> new HashMap<>()).put(count.status(), count.count());
+        }
+
+        List<StatusRollup> changed = new ArrayList<>();
+        for (UUID scopeId : scopeIds) {
+            Map<UserStoryStatus, StatusRollup> rows = stored.getOrDefault(scopeId, Map.of());
+            Map<UserStoryStatus, Long> expected = actual.getOrDefault(scopeId, Map.of());
+            for (UserStoryStatus status : UserStoryStatus.values()) {
+                long count = expected.getOrDefault(status, 0L);
+                StatusRollup row = rows.get(status);
+                if (row == null) {
+                    changed.add(StatusRollup.builder()
+                            .id(UUID.randomUUID())
+                            .scopeType(scopeType)
+                            .scopeId(scopeId)
+                            .status(status)
+                            .storyCount(count)
+                            .build());
+                } else if (row.getStoryCount() != count) {
+                    row.setStoryCount(count);
+                    changed.add(row);
+                }
+            }
+        }
+        if (!changed.isEmpty()) {
+            statusRollupRepository.saveAll(changed);
+        }
+        return changed.size();
+    }
+}
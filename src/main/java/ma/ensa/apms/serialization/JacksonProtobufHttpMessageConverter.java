@@ -0,0 +1,209 @@
+package ma.ensa.apms.serialization;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.core.GenericTypeResolver;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.lang.Nullable;
+import org.springframework.util.StreamUtils;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.protobuf.ProtobufFactory;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchema;
+import com.fasterxml.jackson.dataformat.protobuf.schemagen.ProtobufSchemaGenerator;
+
+/**
+ * Protobuf encoding of the API DTOs, for clients sending
+ * {@code Accept: application/x-protobuf}.
+ *
+ * <p>
+ * The message schema of each DTO is generated from the class by Jackson, so
+ * field numbers follow the declaration order of the DTO fields. Protobuf has
+ * no top-level lists: a list is written as a wrapper message holding the
+ * items in a {@code repeated} field number 1. DTOs the generator cannot map
+ * (maps, for instance) are simply not offered in this format, so such
+ * requests get a 406.
+ * </p>
+ */
+public class JacksonProtobufHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    public static final MediaType APPLICATION_X_PROTOBUF = new MediaType("application", "x-protobuf");
+    public static final MediaType APPLICATION_PROTOBUF = new MediaType("application", "protobuf");
+
+    /** Field 1, length-delimited: the {@code repeated} items of a list */
+    private static final int ITEMS_TAG = (1 << 3) | 2;
+
+    private final ObjectMapper objectMapper;
+    private final Map<JavaType, Optional<ProtobufSchema>> schemas = new ConcurrentHashMap<>();
+
+    public JacksonProtobufHttpMessageConverter(ObjectMapper objectMapper) {
+        super(APPLICATION_X_PROTOBUF, APPLICATION_PROTOBUF);
+        if (!(objectMapper.getFactory() instanceof ProtobufFactory)) {
+            throw new IllegalArgumentException("The object mapper must use a ProtobufFactory");
+        }
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return schemaFor(itemType(clazz)) != null;
+    }
+
+    @Override
+    public boolean canRead(Type type, @Nullable Class<?> contextClass, @Nullable MediaType mediaType) {
+        if (!canRead(mediaType)) {
+            return false;
+        }
+        JavaType itemType = itemType(GenericTypeResolver.resolveType(type, contextClass));
+        return !itemType.isJavaLangObject() && schemaFor(itemType) != null;
+    }
+
+    @Override
+    public boolean canWrite(@Nullable Type type, Class<?> clazz, @Nullable MediaType mediaType) {
+        if (!canWrite(mediaType)) {
+            return false;
+        }
+        JavaType itemType = itemType(type != null ? type : clazz);
+        // List<?>: the item type is only known once the list is written
+        return itemType.isJavaLangObject() || schemaFor(itemType) != null;
+    }
+
+    @Override
+    public Object read(Type type, @Nullable Class<?> contextClass, HttpInputMessage inputMessage)
+            throws IOException {
+        JavaType javaType = objectMapper.constructType(GenericTypeResolver.resolveType(type, contextClass));
+        byte[] body = inputMessage.getBody().readAllBytes();
+        try {
+            if (!javaType.isCollectionLikeType()) {
+                return reader(javaType, inputMessage).readValue(body);
+            }
+            ObjectReader reader = reader(javaType.getContentType(), inputMessage);
+            Collection<Object> items = javaType.isTypeOrSubTypeOf(Set.class) ? new LinkedHashSet<>()
+                    : new ArrayList<>();
+            int[] position = { 0 };
+            while (position[0] < body.length) {
+                if (readVarint(body, position) != ITEMS_TAG) {
+                    throw new HttpMessageNotReadableException("Unexpected field in protobuf list", inputMessage);
+                }
+                int length = readVarint(body, position);
+                if (length < 0 || length > body.length - position[0]) {
+                    throw new HttpMessageNotReadableException("Truncated protobuf list item", inputMessage);
+                }
+                // the protobuf parser mishandles a non-zero offset into the input array
+                items.add(reader.readValue(Arrays.copyOfRange(body, position[0], position[0] + length)));
+                position[0] += length;
+            }
+            return items;
+        } catch (JsonProcessingException ex) {
+            throw new HttpMessageNotReadableException("Invalid protobuf message: " + ex.getOriginalMessage(), ex,
+                    inputMessage);
+        } catch (IndexOutOfBoundsException ex) {
+            throw new HttpMessageNotReadableException("Truncated protobuf message", ex, inputMessage);
+        }
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+        return read(clazz, null, inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(Object object, @Nullable Type type, HttpOutputMessage outputMessage)
+            throws IOException {
+        OutputStream body = StreamUtils.nonClosing(outputMessage.getBody());
+        if (!(object instanceof Collection<?> items)) {
+            writer(objectMapper.constructType(type != null ? type : object.getClass())).writeValue(body, object);
+            return;
+        }
+        JavaType declared = itemType(type != null ? type : object.getClass());
+        ByteArrayOutputStream item = new ByteArrayOutputStream(256);
+        for (Object value : items) {
+            if (value == null) {
+                continue;
+            }
+            JavaType itemType = declared.isJavaLangObject() ? objectMapper.constructType(value.getClass()) : declared;
+            item.reset();
+            writer(itemType).writeValue(item, value);
+            body.write(ITEMS_TAG);
+            writeVarint(body, item.size());
+            item.writeTo(body);
+        }
+    }
+
+    private JavaType itemType(Type type) {
+        JavaType javaType = objectMapper.constructType(type);
+        return javaType.isCollectionLikeType() ? javaType.getContentType() : javaType;
+    }
+
+    private ObjectReader reader(JavaType type, HttpInputMessage inputMessage) {
+        ProtobufSchema schema = schemaFor(type);
+        if (schema == null) {
+            throw new HttpMessageNotReadableException("No protobuf schema for " + type, inputMessage);
+        }
+        return objectMapper.readerFor(type).with(schema);
+    }
+
+    private ObjectWriter writer(JavaType type) {
+        ProtobufSchema schema = schemaFor(type);
+        if (schema == null) {
+            throw new HttpMessageNotWritableException("No protobuf schema for " + type);
+        }
+        return objectMapper.writerFor(type).with(schema);
+    }
+
+    @Nullable
+    private ProtobufSchema schemaFor(JavaType type) {
+        return schemas.computeIfAbsent(type, this::generateSchema).orElse(null);
+    }
+
+    private Optional<ProtobufSchema> generateSchema(JavaType type) {
+        try {
+            ProtobufSchemaGenerator generator = new ProtobufSchemaGenerator();
+            objectMapper.acceptJsonFormatVisitor(type, generator);
+            return Optional.of(generator.getGeneratedSchema());
+        } catch (JsonMappingException | RuntimeException ex) {
+            return Optional.empty();
+        }
+    }
+
+    private static void writeVarint(OutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    private static int readVarint(byte[] bytes, int[] position) {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            byte b = bytes[position[0]++];
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IndexOutOfBoundsException("Malformed varint");
+    }
+}
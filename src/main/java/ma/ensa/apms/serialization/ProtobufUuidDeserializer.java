@@ -0,0 +1,50 @@
+package ma.ensa.apms.serialization;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer;
+import com.fasterxml.jackson.databind.deser.std.UUIDDeserializer;
+
+/**
+ * Reads back the UUIDs written as strings by
+ * {@link com.fasterxml.jackson.databind.ser.std.ToStringSerializer} in
+ * protobuf messages.
+ *
+ * <p>
+ * The generated schemas declare UUIDs as {@code bytes}, so the parser hands a
+ * string UUID over as 36 bytes of text rather than as a string. Those are
+ * decoded as the canonical text form; anything else (16 raw bytes, a string)
+ * goes through the standard UUID deserializer.
+ * </p>
+ */
+public class ProtobufUuidDeserializer extends StdScalarDeserializer<UUID> {
+
+    private static final int TEXT_LENGTH = 36;
+
+    private final UUIDDeserializer standard = new UUIDDeserializer();
+
+    public ProtobufUuidDeserializer() {
+        super(UUID.class);
+    }
+
+    @Override
+    public UUID deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        if (p.hasToken(JsonToken.VALUE_EMBEDDED_OBJECT)) {
+            byte[] bytes = p.getBinaryValue();
+            if (bytes.length == TEXT_LENGTH) {
+                try {
+                    return UUID.fromString(new String(bytes, StandardCharsets.US_ASCII));
+                } catch (IllegalArgumentException e) {
+                    return (UUID) ctxt.handleWeirdStringValue(UUID.class, new String(bytes,
+                            StandardCharsets.US_ASCII), "not a valid UUID");
+                }
+            }
+        }
+        return standard.deserialize(p, ctxt);
+    }
+}
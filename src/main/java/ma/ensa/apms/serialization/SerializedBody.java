@@ -0,0 +1,56 @@
+package ma.ensa.apms.serialization;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.function.Supplier;
+
+/**
+ * Response body that can be written as JSON straight from serialized
+ * fragments, or built as a DTO for every other encoding.
+ *
+ * <p>
+ * Neither side runs until {@link SerializedBodyHttpMessageConverter} has
+ * negotiated the content type, so a handler returns one of these instead of
+ * choosing between the fragments and the DTO itself.
+ * </p>
+ *
+ * @param <T> the DTO type
+ */
+public final class SerializedBody<T> {
+
+    /**
+     * Writes the JSON of the body to the response stream
+     */
+    @FunctionalInterface
+    public interface JsonWriter {
+        void write(OutputStream out) throws IOException;
+    }
+
+    private final Supplier<T> value;
+    private final JsonWriter json;
+
+    private SerializedBody(Supplier<T> value, JsonWriter json) {
+        this.value = value;
+        this.json = json;
+    }
+
+    /**
+     * Create a body
+     *
+     * @param value builds the DTO, for the encodings other than JSON
+     * @param json  writes the JSON, for {@code application/json}
+     * @param <T>   the DTO type
+     * @return the body
+     */
+    public static <T> SerializedBody<T> of(Supplier<T> value, JsonWriter json) {
+        return new SerializedBody<>(value, json);
+    }
+
+    public T value() {
+        return value.get();
+    }
+
+    public void writeJson(OutputStream out) throws IOException {
+        json.write(out);
+    }
+}
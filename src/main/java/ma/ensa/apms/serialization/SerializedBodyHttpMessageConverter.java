@@ -0,0 +1,156 @@
+package ma.ensa.apms.serialization;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.GenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.lang.Nullable;
+import org.springframework.util.StreamUtils;
+
+/**
+ * Writes a {@link SerializedBody}: JSON goes straight from its fragments to
+ * the response, any other negotiated type is written from its DTO by the
+ * converter that handles the DTO.
+ *
+ * <p>
+ * It offers JSON plus every type the other converters offer, and is placed
+ * first so it is the one picked for a {@link SerializedBody}. A type none of
+ * them can write for the DTO is refused, so such requests get a 406 as they
+ * would for the DTO itself.
+ * </p>
+ */
+public class SerializedBodyHttpMessageConverter implements GenericHttpMessageConverter<SerializedBody<?>> {
+
+    private final List<HttpMessageConverter<?>> converters;
+
+    /**
+     * @param converters the converters of the application, read when writing,
+     *                   so this one can be added to the same list
+     */
+    public SerializedBodyHttpMessageConverter(List<HttpMessageConverter<?>> converters) {
+        this.converters = converters;
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, @Nullable MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canRead(Type type, @Nullable Class<?> contextClass, @Nullable MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(Class<?> clazz, @Nullable MediaType mediaType) {
+        return canWrite(null, clazz, mediaType);
+    }
+
+    @Override
+    public boolean canWrite(@Nullable Type type, Class<?> clazz, @Nullable MediaType mediaType) {
+        if (!SerializedBody.class.isAssignableFrom(clazz)) {
+            return false;
+        }
+        if (isJson(mediaType)) {
+            return true;
+        }
+        ResolvableType valueType = valueType(type);
+        return delegateFor(valueType.getType(), valueType.toClass(), mediaType) != null;
+    }
+
+    @Override
+    public List<MediaType> getSupportedMediaTypes() {
+        List<MediaType> mediaTypes = new ArrayList<>();
+        mediaTypes.add(MediaType.APPLICATION_JSON);
+        for (HttpMessageConverter<?> converter : converters) {
+            if (converter != this) {
+                converter.getSupportedMediaTypes().stream()
+                        .filter(MediaType::isConcrete)
+                        .filter(mediaType -> !mediaTypes.contains(mediaType))
+                        .forEach(mediaTypes::add);
+            }
+        }
+        return mediaTypes;
+    }
+
+    @Override
+    public SerializedBody<?> read(Class<? extends SerializedBody<?>> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Serialized bodies are written only", inputMessage);
+    }
+
+    @Override
+    public SerializedBody<?> read(Type type, @Nullable Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Serialized bodies are written only", inputMessage);
+    }
+
+    @Override
+    public void write(SerializedBody<?> body, @Nullable MediaType contentType, HttpOutputMessage outputMessage)
+            throws IOException {
+        write(body, null, contentType, outputMessage);
+    }
+
+    @Override
+    public void write(SerializedBody<?> body, @Nullable Type type, @Nullable MediaType contentType,
+            HttpOutputMessage outputMessage) throws IOException {
+        if (isJson(contentType)) {
+            outputMessage.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            body.writeJson(StreamUtils.nonClosing(outputMessage.getBody()));
+            return;
+        }
+        Object value = body.value();
+        Type valueType = valueType(type).getType();
+        HttpMessageConverter<?> delegate = delegateFor(valueType, value != null ? value.getClass() : Object.class,
+                contentType);
+        if (delegate == null) {
+            throw new HttpMessageNotWritableException("No converter for " + valueType + " as " + contentType);
+        }
+        writeWith(delegate, value, valueType, contentType, outputMessage);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> void writeWith(HttpMessageConverter<T> converter, Object value, Type valueType,
+            @Nullable MediaType contentType, HttpOutputMessage outputMessage) throws IOException {
+        if (converter instanceof GenericHttpMessageConverter<T> generic) {
+            generic.write((T) value, valueType, contentType, outputMessage);
+        } else {
+            converter.write((T) value, contentType, outputMessage);
+        }
+    }
+
+    @Nullable
+    private HttpMessageConverter<?> delegateFor(Type valueType, Class<?> valueClass, @Nullable MediaType mediaType) {
+        for (HttpMessageConverter<?> converter : converters) {
+            if (converter == this) {
+                continue;
+            }
+            boolean canWrite = converter instanceof GenericHttpMessageConverter<?> generic
+                    ? generic.canWrite(valueType, valueClass, mediaType)
+                    : converter.canWrite(valueClass, mediaType);
+            if (canWrite) {
+                return converter;
+            }
+        }
+        return null;
+    }
+
+    private static ResolvableType valueType(@Nullable Type type) {
+        if (type == null) {
+            return ResolvableType.forClass(Object.class);
+        }
+        ResolvableType valueType = ResolvableType.forType(type).as(SerializedBody.class).getGeneric(0);
+        return valueType.resolve() != null ? valueType : ResolvableType.forClass(Object.class);
+    }
+
+    private static boolean isJson(@Nullable MediaType mediaType) {
+        return mediaType != null && mediaType.isConcrete() && MediaType.APPLICATION_JSON.isCompatibleWith(mediaType);
+    }
+}
@@ -5,6 +5,7 @@ import java.util.UUID;
 
 import ma.ensa.apms.dto.Request.AcceptanceCriteriaRequest;
 import ma.ensa.apms.dto.Response.AcceptanceCriteriaResponse;
+import ma.ensa.apms.dto.Response.BatchGetResponse;
 import ma.ensa.apms.dto.Response.UserStoryResponse;
 
 public interface AcceptanceCriteriaService {
@@ -12,6 +13,8 @@ public interface AcceptanceCriteriaService {
 
     AcceptanceCriteriaResponse findById(UUID id);
 
+    BatchGetResponse<AcceptanceCriteriaResponse> findByIds(List<UUID> ids);
+
     List<AcceptanceCriteriaResponse> findAllByMet(Boolean met);
 
     AcceptanceCriteriaResponse update(UUID id, AcceptanceCriteriaRequest dto);
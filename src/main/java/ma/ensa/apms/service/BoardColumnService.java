@@ -0,0 +1,21 @@
+package ma.ensa.apms.service;
+
+import java.util.List;
+import java.util.UUID;
+
+import ma.ensa.apms.dto.Response.BoardColumnResponse;
+import ma.ensa.apms.modal.enums.UserStoryStatus;
+
+public interface BoardColumnService {
+
+    List<BoardColumnResponse> getProductBacklogColumns(UUID productBacklogId, int perColumn);
+
+    BoardColumnResponse getProductBacklogColumn(UUID productBacklogId, UserStoryStatus status, String cursor,
+            int size);
+
+    List<BoardColumnResponse> getSprintBacklogColumns(UUID sprintBacklogId, int perColumn);
+
+    BoardColumnResponse getSprintBacklogColumn(UUID sprintBacklogId, UserStoryStatus status, String cursor,
+            int size);
+
+}
@@ -0,0 +1,12 @@
+package ma.ensa.apms.service;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import ma.ensa.apms.dto.Response.SprintBoardResponse;
+
+public interface BoardHistoryService {
+
+    SprintBoardResponse getBoardAsOf(UUID sprintBacklogId, LocalDateTime asOf);
+
+}
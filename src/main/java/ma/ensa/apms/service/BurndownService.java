@@ -0,0 +1,14 @@
+package ma.ensa.apms.service;
+
+import java.util.UUID;
+
+import ma.ensa.apms.dto.Response.SprintBurndownResponse;
+import ma.ensa.apms.dto.Response.VelocityResponse;
+
+public interface BurndownService {
+
+    SprintBurndownResponse getSprintBurndown(UUID sprintBacklogId);
+
+    VelocityResponse getVelocity(UUID productBacklogId);
+
+}
@@ -4,6 +4,7 @@ import java.util.List;
 import java.util.UUID;
 
 import ma.ensa.apms.dto.Request.EpicRequest;
+import ma.ensa.apms.dto.Response.BatchGetResponse;
 import ma.ensa.apms.dto.Response.EpicResponse;
 import ma.ensa.apms.dto.Response.ProductBacklogResponse;
 import ma.ensa.apms.dto.Response.UserStoryResponse;
@@ -13,6 +14,8 @@ public interface EpicService {
 
     EpicResponse findById(UUID id);
 
+    BatchGetResponse<EpicResponse> findByIds(List<UUID> ids);
+
     List<EpicResponse> findAll();
 
     EpicResponse update(UUID id, EpicRequest dto);
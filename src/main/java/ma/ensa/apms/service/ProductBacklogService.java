@@ -5,11 +5,16 @@ import java.util.UUID;
 
 import ma.ensa.apms.dto.Request.EpicRequest;
 import ma.ensa.apms.dto.Request.ProductBacklogRequest;
+import ma.ensa.apms.dto.Request.UserStoryPositionRequest;
 import ma.ensa.apms.dto.Request.UserStoryRequest;
+import ma.ensa.apms.dto.Response.BatchGetResponse;
 import ma.ensa.apms.dto.Response.EpicResponse;
+import ma.ensa.apms.dto.Response.FacetSearchResponse;
 import ma.ensa.apms.dto.Response.ProductBacklogResponse;
 import ma.ensa.apms.dto.Response.ProjectResponse;
+import ma.ensa.apms.dto.Response.UserStoryPageResponse;
 import ma.ensa.apms.dto.Response.UserStoryResponse;
+import ma.ensa.apms.facet.FacetFilter;
 
 public interface ProductBacklogService {
 
@@ -17,6 +22,8 @@ public interface ProductBacklogService {
 
     ProductBacklogResponse getProductBacklogById(UUID id);
 
+    BatchGetResponse<ProductBacklogResponse> getProductBacklogsByIds(List<UUID> ids);
+
     void deleteProductBacklog(UUID id);
 
     // getUserStoryCount(UUID id);
@@ -33,4 +40,12 @@ public interface ProductBacklogService {
 
     ProjectResponse getProjectByProductBacklogId(UUID productBacklogId);
 
+    UserStoryResponse moveUserStory(UUID productBacklogId, UUID userStoryId, UserStoryPositionRequest request);
+
+    UserStoryPageResponse getRankedUserStories(UUID productBacklogId, String cursor, int size);
+
+    List<UserStoryResponse> getTopUserStories(UUID productBacklogId, int k);
+
+    FacetSearchResponse searchUserStories(UUID productBacklogId, FacetFilter filter, int limit);
+
 }
@@ -1,11 +1,15 @@
 package ma.ensa.apms.service;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
 import org.springframework.data.domain.Pageable;
 import ma.ensa.apms.dto.Request.ProjectRequest;
+import ma.ensa.apms.dto.Response.BatchGetResponse;
 import ma.ensa.apms.dto.Response.ProjectResponse;
 import ma.ensa.apms.modal.enums.ProjectStatus;
 
@@ -24,12 +28,26 @@ public interface ProjectService {
 
     ProjectResponse getProject(UUID id);
 
+    void writeProjectTree(UUID id, OutputStream out) throws IOException;
+
+    void writeProjectSnapshot(UUID id, OutputStream out) throws IOException;
+
+    ProjectResponse restoreProjectSnapshot(InputStream in) throws IOException;
+
+    BatchGetResponse<ProjectResponse> getProjectsByIds(List<UUID> ids);
+
     List<ProjectResponse> getAllProjects(Pageable pageable);
 
     List<ProjectResponse> getProjectsByStatus(ProjectStatus status);
 
     List<ProjectResponse> getProjectsBetweenDates(LocalDateTime startDate, LocalDateTime endDate);
 
+    List<ProjectResponse> getProjectsOverlapping(LocalDateTime from, LocalDateTime to);
+
+    List<ProjectResponse> getProjectsWithin(LocalDateTime from, LocalDateTime to);
+
+    List<ProjectResponse> getProjectsActiveAt(LocalDateTime at);
+
     ProjectResponse assignProductBacklogToProject(UUID projectId, UUID productBacklogId);
 
 }
@@ -2,9 +2,12 @@ package ma.ensa.apms.service;
 
 import ma.ensa.apms.dto.Request.SprintBacklogRequest;
 import ma.ensa.apms.dto.Request.UserStoryRequest;
+import ma.ensa.apms.dto.Response.BatchGetResponse;
 import ma.ensa.apms.dto.Response.SprintBacklogResponse;
 import ma.ensa.apms.dto.Response.UserStoryResponse;
 
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
 import java.util.List;
 import java.util.UUID;
 
@@ -13,6 +16,8 @@ public interface SprintBacklogService {
 
     SprintBacklogResponse getSprintBacklogById(UUID id);
 
+    BatchGetResponse<SprintBacklogResponse> getSprintBacklogsByIds(List<UUID> ids);
+
     List<SprintBacklogResponse> getAllSprintBacklogs();
 
     SprintBacklogResponse updateSprintBacklog(UUID id, SprintBacklogRequest request);
@@ -25,4 +30,6 @@ public interface SprintBacklogService {
 
     void removeUserStoryFromSprintBacklog(UUID sprintBacklogId, UUID userStoryId);
 
+    SseEmitter streamBoardEvents(UUID sprintBacklogId);
+
 }
\ No newline at end of file
@@ -2,26 +2,41 @@ package ma.ensa.apms.service;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
+import ma.ensa.apms.dto.Response.BatchGetResponse;
 import ma.ensa.apms.dto.TaskEndDateUpdateDto;
 import ma.ensa.apms.dto.TaskRequestDto;
 import ma.ensa.apms.dto.TaskResponseDto;
 import ma.ensa.apms.dto.TaskStartDateUpdateDto;
 import ma.ensa.apms.dto.TaskStatusUpdateDto;
 import ma.ensa.apms.modal.enums.TaskStatus;
+import ma.ensa.apms.projection.FieldSelection;
 
 public interface TaskService {
     TaskResponseDto createTask(TaskRequestDto taskDto);
 
     List<TaskResponseDto> getAllTasks();
 
+    List<Map<String, Object>> getAllTasks(FieldSelection selection);
+
     TaskResponseDto getTaskById(UUID id);
 
+    BatchGetResponse<TaskResponseDto> getTasksByIds(List<UUID> ids);
+
     List<TaskResponseDto> getTasksByStatus(TaskStatus status);
 
+    List<Map<String, Object>> getTasksByStatus(TaskStatus status, FieldSelection selection);
+
     List<TaskResponseDto> getTasksByDateRange(LocalDateTime startDate, LocalDateTime endDate);
 
+    List<TaskResponseDto> getTasksOverlapping(LocalDateTime from, LocalDateTime to);
+
+    List<TaskResponseDto> getTasksWithin(LocalDateTime from, LocalDateTime to);
+
+    List<TaskResponseDto> getTasksActiveAt(LocalDateTime at);
+
     TaskResponseDto updateTask(UUID id, TaskRequestDto taskDto);
 
     TaskResponseDto updateTaskStatus(UUID id, TaskStatusUpdateDto statusDto);
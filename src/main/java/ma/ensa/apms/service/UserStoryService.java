@@ -1,12 +1,17 @@
 package ma.ensa.apms.service;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import ma.ensa.apms.dto.Request.UserStoryRequest;
 import ma.ensa.apms.dto.Response.AcceptanceCriteriaResponse;
+import ma.ensa.apms.dto.Response.BatchGetResponse;
 import ma.ensa.apms.dto.Response.UserStoryResponse;
 import ma.ensa.apms.modal.enums.UserStoryStatus;
+import ma.ensa.apms.projection.FieldSelection;
 
 /**
  * Interface de service pour la gestion des User Stories.
@@ -73,6 +78,28 @@ public interface UserStoryService {
      */
     UserStoryResponse getUserStoryById(UUID id);
 
+    /**
+     * Écrit une User Story en JSON, depuis sa réponse déjà sérialisée lorsque
+     * celle-ci est en cache pour la version courante de la User Story.
+     * 
+     * @param id  l'identifiant de la User Story
+     * @param out le flux de la réponse, laissé ouvert
+     * @throws ma.ensa.apms.exception.ResourceNotFoundException si la User Story
+     *                                                          n'est pas trouvée
+     */
+    void writeUserStoryById(UUID id, OutputStream out) throws IOException;
+
+    /**
+     * Récupère plusieurs User Stories par leurs identifiants.
+     * 
+     * @param ids les identifiants des User Stories, dans l'ordre souhaité
+     * @return les User Stories trouvées dans l'ordre demandé, et les
+     *         identifiants introuvables
+     * @throws ma.ensa.apms.exception.BusinessException si la liste est vide ou
+     *                                                  trop longue
+     */
+    BatchGetResponse<UserStoryResponse> getUserStoriesByIds(List<UUID> ids);
+
     /**
      * Change le statut d'une User Story.
      * 
@@ -148,6 +175,17 @@ public interface UserStoryService {
      */
     List<UserStoryResponse> getUserStoriesByStatusAndProductBacklogId(UserStoryStatus statut, UUID productBacklogId);
 
+    /**
+     * Écrit en JSON les User Stories d'un statut dans un Product Backlog, en
+     * assemblant les réponses déjà sérialisées de chaque User Story.
+     * 
+     * @param statut           le statut recherché
+     * @param productBacklogId l'identifiant du Product Backlog
+     * @param out              le flux de la réponse, laissé ouvert
+     */
+    void writeUserStoriesByStatusAndProductBacklogId(UserStoryStatus statut, UUID productBacklogId,
+            OutputStream out) throws IOException;
+
     /**
      * Récupère toutes les User Stories d'un Epic.
      * 
@@ -156,6 +194,32 @@ public interface UserStoryService {
      */
     List<UserStoryResponse> getUserStoriesByEpicId(UUID epicId);
 
+    /**
+     * Récupère les User Stories d'un Epic en ne sélectionnant que les champs
+     * demandés, avec les tâches, critères d'acceptation ou Epic demandés en
+     * expansion.
+     * 
+     * @param epicId    l'identifiant de l'Epic
+     * @param selection les champs et expansions demandés
+     * @return une ligne par User Story, limitée aux champs demandés
+     * @throws ma.ensa.apms.exception.BusinessException si un champ ou une
+     *                                                  expansion est inconnu
+     */
+    List<Map<String, Object>> getUserStoriesByEpicId(UUID epicId, FieldSelection selection);
+
+    /**
+     * Écrit en JSON les User Stories d'un Epic, limitées aux champs et
+     * expansions demandés. Sans expansion, la réponse est assemblée à partir
+     * des lignes déjà sérialisées de chaque User Story pour ces champs.
+     * 
+     * @param epicId    l'identifiant de l'Epic
+     * @param selection les champs et expansions demandés, éventuellement vides
+     * @param out       le flux de la réponse, laissé ouvert
+     * @throws ma.ensa.apms.exception.BusinessException si un champ ou une
+     *                                                  expansion est inconnu
+     */
+    void writeUserStoriesByEpicId(UUID epicId, FieldSelection selection, OutputStream out) throws IOException;
+
     /**
      * Récupère toutes les User Stories d'un Sprint Backlog.
      * 
@@ -164,6 +228,31 @@ public interface UserStoryService {
      */
     List<UserStoryResponse> getUserStoriesBySprintBacklogId(UUID sprintId);
 
+    /**
+     * Récupère les User Stories d'un Sprint Backlog en ne sélectionnant que les
+     * champs demandés, avec les expansions demandées.
+     * 
+     * @param sprintId  l'identifiant du Sprint Backlog
+     * @param selection les champs et expansions demandés
+     * @return une ligne par User Story, limitée aux champs demandés
+     * @throws ma.ensa.apms.exception.BusinessException si un champ ou une
+     *                                                  expansion est inconnu
+     */
+    List<Map<String, Object>> getUserStoriesBySprintBacklogId(UUID sprintId, FieldSelection selection);
+
+    /**
+     * Écrit en JSON les User Stories d'un Sprint Backlog, limitées aux champs
+     * et expansions demandés.
+     * 
+     * @param sprintId  l'identifiant du Sprint Backlog
+     * @param selection les champs et expansions demandés, éventuellement vides
+     * @param out       le flux de la réponse, laissé ouvert
+     * @throws ma.ensa.apms.exception.BusinessException si un champ ou une
+     *                                                  expansion est inconnu
+     */
+    void writeUserStoriesBySprintBacklogId(UUID sprintId, FieldSelection selection, OutputStream out)
+            throws IOException;
+
     /**
      * Supprime une User Story.
      * 
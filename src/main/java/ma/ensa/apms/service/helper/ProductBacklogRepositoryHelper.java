@@ -31,6 +31,19 @@ public class ProductBacklogRepositoryHelper {
                 .orElseThrow(() -> new ResourceNotFoundException("Product backlog not found"));
     }
 
+    /**
+     * Get a reference to an existing product backlog without loading it, for
+     * use as the parent of a new child entity
+     *
+     * @param id the product backlog ID
+     * @return an uninitialized ProductBacklog reference
+     * @throws ResourceNotFoundException if product backlog does not exist
+     */
+    public ProductBacklog getReferenceOrThrow(UUID id) {
+        validateExists(id);
+        return productBacklogRepository.getReferenceById(id);
+    }
+
     /**
      * Check if a product backlog exists by ID
      *
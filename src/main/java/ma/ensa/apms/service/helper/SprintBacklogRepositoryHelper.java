@@ -52,6 +52,19 @@ public class SprintBacklogRepositoryHelper {
                 .orElseThrow(() -> new ResourceNotFoundException("Sprint backlog not found"));
     }
 
+    /**
+     * Gets a reference to an existing sprint backlog without loading it, for
+     * use as the parent of a new user story.
+     * 
+     * @param id the sprint backlog ID
+     * @return an uninitialized sprint backlog reference
+     * @throws ResourceNotFoundException if sprint backlog does not exist
+     */
+    public SprintBacklog getReferenceOrThrow(UUID id) {
+        validateExists(id);
+        return sprintBacklogRepository.getReferenceById(id);
+    }
+
     /**
      * Finds a user story by ID or throws ResourceNotFoundException.
      * 
@@ -7,9 +7,12 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import lombok.AllArgsConstructor;
+import ma.ensa.apms.batch.BatchLookup;
 import ma.ensa.apms.dto.Request.AcceptanceCriteriaRequest;
 import ma.ensa.apms.dto.Response.AcceptanceCriteriaResponse;
+import ma.ensa.apms.dto.Response.BatchGetResponse;
 import ma.ensa.apms.dto.Response.UserStoryResponse;
+import ma.ensa.apms.event.BoardEventPublisher;
 import ma.ensa.apms.exception.ResourceNotFoundException;
 import ma.ensa.apms.mapper.AcceptanceCriteriaMapper;
 import ma.ensa.apms.modal.AcceptanceCriteria;
@@ -17,6 +20,7 @@ import ma.ensa.apms.modal.UserStory;
 import ma.ensa.apms.repository.AcceptanceCriteriaRepository;
 import ma.ensa.apms.service.AcceptanceCriteriaService;
 import ma.ensa.apms.service.helper.AcceptanceCriteriaRepositoryHelper;
+import ma.ensa.apms.writebehind.WriteBehindBuffer;
 
 @Service
 @AllArgsConstructor
@@ -25,6 +29,9 @@ public class AcceptanceCriteriaServiceImpl implements AcceptanceCriteriaService
     private AcceptanceCriteriaRepository acceptanceCriteriaRepository;
     private AcceptanceCriteriaMapper acceptanceCriteriaMapper;
     private AcceptanceCriteriaRepositoryHelper acceptanceCriteriaRepositoryHelper;
+    private BoardEventPublisher boardEventPublisher;
+    private BatchLookup batchLookup;
+    private WriteBehindBuffer writeBehindBuffer;
 
     @Override
     @Transactional
@@ -40,6 +47,14 @@ public class AcceptanceCriteriaServiceImpl implements AcceptanceCriteriaService
         return acceptanceCriteriaMapper.toDto(entity);
     }
 
+    @Override
+    public BatchGetResponse<AcceptanceCriteriaResponse> findByIds(List<UUID> ids) {
+        List<UUID> distinct = batchLookup.distinctIds(ids);
+        return batchLookup.respond(distinct,
+                batchLookup.findAll(distinct, acceptanceCriteriaRepository::findAllById, AcceptanceCriteria::getId),
+                acceptanceCriteriaMapper::toDto);
+    }
+
     @Override
     public List<AcceptanceCriteriaResponse> findAllByMet(Boolean met) {
         return acceptanceCriteriaRepository.findByMet(met)
@@ -59,6 +74,7 @@ public class AcceptanceCriteriaServiceImpl implements AcceptanceCriteriaService
     @Override
     @Transactional
     public AcceptanceCriteriaResponse update(UUID id, AcceptanceCriteriaRequest dto) {
+        writeBehindBuffer.flush();
         AcceptanceCriteria existingEntity = acceptanceCriteriaRepositoryHelper.findByIdOrThrow(id);
 
         acceptanceCriteriaMapper.updateEntityFromDto(dto, existingEntity);
@@ -78,8 +94,14 @@ public class AcceptanceCriteriaServiceImpl implements AcceptanceCriteriaService
     @Transactional
     public AcceptanceCriteriaResponse updateMet(UUID id, Boolean met) {
         AcceptanceCriteria entity = acceptanceCriteriaRepositoryHelper.findByIdOrThrow(id);
+        if (writeBehindBuffer.isEnabled()) {
+            writeBehindBuffer.setCriteriaMet(entity, met);
+            boardEventPublisher.criteriaMetChanged(entity);
+            return acceptanceCriteriaMapper.toDto(entity);
+        }
         entity.setMet(met);
         entity = acceptanceCriteriaRepository.save(entity);
+        boardEventPublisher.criteriaMetChanged(entity);
         return acceptanceCriteriaMapper.toDto(entity);
     }
 
@@ -0,0 +1,145 @@
+package ma.ensa.apms.service.impl;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import lombok.RequiredArgsConstructor;
+import ma.ensa.apms.batch.BatchLookup;
+import ma.ensa.apms.board.BoardColumnRow;
+import ma.ensa.apms.board.BoardCursor;
+import ma.ensa.apms.dto.Response.BoardColumnResponse;
+import ma.ensa.apms.mapper.UserStoryMapper;
+import ma.ensa.apms.modal.UserStory;
+import ma.ensa.apms.modal.enums.UserStoryStatus;
+import ma.ensa.apms.repository.UserStoryRepository;
+import ma.ensa.apms.service.BoardColumnService;
+import ma.ensa.apms.service.helper.ProductBacklogRepositoryHelper;
+import ma.ensa.apms.service.helper.SprintBacklogRepositoryHelper;
+
+/**
+ * Serves the status columns of a backlog or sprint board.
+ *
+ * <p>
+ * The first page of every column comes from one window query numbering the
+ * stories of each status by priority and counting each column, then one
+ * batched load of the selected stories. A column whose stories do not all
+ * fit carries a cursor; the rest of it is read by keyset pagination on
+ * (priority, id), the order of the window.
+ * </p>
+ */
+@Service
+@RequiredArgsConstructor
+public class BoardColumnServiceImpl implements BoardColumnService {
+
+    private static final int MAX_COLUMN_SIZE = 100;
+
+    private final UserStoryRepository userStoryRepository;
+    private final UserStoryMapper userStoryMapper;
+    private final ProductBacklogRepositoryHelper productBacklogRepositoryHelper;
+    private final SprintBacklogRepositoryHelper sprintBacklogRepositoryHelper;
+    private final BatchLookup batchLookup;
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<BoardColumnResponse> getProductBacklogColumns(UUID productBacklogId, int perColumn) {
+        productBacklogRepositoryHelper.validateExists(productBacklogId);
+        return columns(userStoryRepository.findBoardColumnsByProductBacklogId(productBacklogId,
+                columnSize(perColumn)));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public BoardColumnResponse getProductBacklogColumn(UUID productBacklogId, UserStoryStatus status,
+            String cursor, int size) {
+        productBacklogRepositoryHelper.validateExists(productBacklogId);
+        BoardCursor after = BoardCursor.decode(cursor);
+        int pageSize = columnSize(size);
+        List<UserStory> stories = userStoryRepository.findBoardColumnPageByProductBacklogId(productBacklogId,
+                status, after.priority(), after.id(), PageRequest.of(0, pageSize + 1));
+        return page(status, userStoryRepository.countByProductBacklogIdAndStatus(productBacklogId, status),
+                stories, pageSize);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<BoardColumnResponse> getSprintBacklogColumns(UUID sprintBacklogId, int perColumn) {
+        sprintBacklogRepositoryHelper.validateExists(sprintBacklogId);
+        return columns(userStoryRepository.findBoardColumnsBySprintBacklogId(sprintBacklogId,
+                columnSize(perColumn)));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public BoardColumnResponse getSprintBacklogColumn(UUID sprintBacklogId, UserStoryStatus status,
+            String cursor, int size) {
+        sprintBacklogRepositoryHelper.validateExists(sprintBacklogId);
+        BoardCursor after = BoardCursor.decode(cursor);
+        int pageSize = columnSize(size);
+        List<UserStory> stories = userStoryRepository.findBoardColumnPageBySprintBacklogId(sprintBacklogId,
+                status, after.priority(), after.id(), PageRequest.of(0, pageSize + 1));
+        return page(status, userStoryRepository.countBySprintBacklogIdAndStatus(sprintBacklogId, status),
+                stories, pageSize);
+    }
+
+    /**
+     * One column per status, empty ones included, from the rows of the window
+     * query
+     */
+    private List<BoardColumnResponse> columns(List<BoardColumnRow> rows) {
+        Map<UUID, UserStory> stories = batchLookup.findAll(rows.stream().map(BoardColumnRow::getId).toList(),
+                userStoryRepository::findAllById, UserStory::getId);
+        Map<UserStoryStatus, List<BoardColumnRow>> byStatus = new EnumMap<>(UserStoryStatus.class);
+        rows.forEach(row -> byStatus.computeIfAbsent(UserStoryStatus.valueOf(row.getStatus()),
+                status -> new ArrayList<>()).add(row));
+
+        List<BoardColumnResponse> columns = new ArrayList<>();
+        for (UserStoryStatus status : UserStoryStatus.values()) {
+            List<BoardColumnRow> column = byStatus.getOrDefault(status, List.of());
+            long total = column.isEmpty() ? 0 : column.get(0).getTotal();
+            String nextCursor = null;
+            if (total > column.size()) {
+                BoardColumnRow last = column.get(column.size() - 1);
+                nextCursor = new BoardCursor(last.getPriority(), last.getId()).encode();
+            }
+            columns.add(BoardColumnResponse.builder()
+                    .status(status)
+                    .total(total)
+                    .items(column.stream()
+                            .map(row -> stories.get(row.getId()))
+                            .filter(Objects::nonNull)
+                            .map(userStoryMapper::toResponse)
+                            .toList())
+                    .nextCursor(nextCursor)
+                    .build());
+        }
+        return columns;
+    }
+
+    private BoardColumnResponse page(UserStoryStatus status, long total, List<UserStory> stories, int pageSize) {
+        boolean hasMore = stories.size() > pageSize;
+        List<UserStory> page = hasMore ? stories.subList(0, pageSize) : stories;
+        String nextCursor = null;
+        if (hasMore) {
+            UserStory last = page.get(page.size() - 1);
+            nextCursor = new BoardCursor(last.getPriority(), last.getId()).encode();
+        }
+        return BoardColumnResponse.builder()
+                .status(status)
+                .total(total)
+                .items(page.stream().map(userStoryMapper::toResponse).toList())
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    private static int columnSize(int size) {
+        return Math.min(Math.max(size, 1), MAX_COLUMN_SIZE);
+    }
+}
@@ -0,0 +1,136 @@
+package ma.ensa.apms.service.impl;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import ma.ensa.apms.dto.Response.BoardStoryResponse;
+import ma.ensa.apms.dto.Response.BoardTaskResponse;
+import ma.ensa.apms.dto.Response.SprintBoardResponse;
+import ma.ensa.apms.history.BoardState;
+import ma.ensa.apms.logging.LoggerUtils;
+import ma.ensa.apms.modal.BoardSnapshot;
+import ma.ensa.apms.modal.StatusTransition;
+import ma.ensa.apms.repository.BoardSnapshotRepository;
+import ma.ensa.apms.repository.StatusTransitionRepository;
+import ma.ensa.apms.service.BoardHistoryService;
+import ma.ensa.apms.service.helper.SprintBacklogRepositoryHelper;
+
+/**
+ * Rebuilds sprint boards at past instants from the nearest snapshot plus a
+ * replay of the status transition log.
+ *
+ * <p>
+ * When a query has to replay many transitions, the rebuilt state is stored as
+ * a new snapshot so later queries around the same instant replay less. Only
+ * transitions older than {@code apms.board-history.snapshot-min-age} are
+ * snapshotted, so a transaction still committing cannot slip in behind one.
+ * </p>
+ */
+@Service
+public class BoardHistoryServiceImpl implements BoardHistoryService {
+
+    private final StatusTransitionRepository statusTransitionRepository;
+    private final BoardSnapshotRepository boardSnapshotRepository;
+    private final SprintBacklogRepositoryHelper sprintBacklogRepositoryHelper;
+    private final ObjectMapper objectMapper;
+    private final int snapshotEvery;
+    private final Duration snapshotMinAge;
+
+    public BoardHistoryServiceImpl(StatusTransitionRepository statusTransitionRepository,
+            BoardSnapshotRepository boardSnapshotRepository,
+            SprintBacklogRepositoryHelper sprintBacklogRepositoryHelper,
+            ObjectMapper objectMapper,
+            @Value("${apms.board-history.snapshot-every:200}") int snapshotEvery,
+            @Value("${apms.board-history.snapshot-min-age:5m}") Duration snapshotMinAge) {
+        this.statusTransitionRepository = statusTransitionRepository;
+        this.boardSnapshotRepository = boardSnapshotRepository;
+        this.sprintBacklogRepositoryHelper = sprintBacklogRepositoryHelper;
+        this.objectMapper = objectMapper;
+        this.snapshotEvery = snapshotEvery;
+        this.snapshotMinAge = snapshotMinAge;
+    }
+
+    @Override
+    @Transactional
+    public SprintBoardResponse getBoardAsOf(UUID sprintBacklogId, LocalDateTime asOf) {
+        sprintBacklogRepositoryHelper.validateExists(sprintBacklogId);
+        LocalDateTime instant = asOf != null ? asOf : LocalDateTime.now();
+
+        Optional<BoardSnapshot> snapshot = boardSnapshotRepository
+                .findFirstBySprintBacklogIdAndTakenAtLessThanEqualOrderByTakenAtDescLastTransitionIdDesc(
+                        sprintBacklogId, instant);
+        BoardState state = snapshot.map(this::readState).orElse(null);
+
+        List<StatusTransition> replay;
+        if (state != null) {
+            replay = statusTransitionRepository.findReplayAfterSnapshot(sprintBacklogId,
+                    snapshot.get().getTakenAt(), snapshot.get().getLastTransitionId(), instant);
+        } else {
+            state = new BoardState();
+            replay = statusTransitionRepository
+                    .findBySprintBacklogIdAndOccurredAtLessThanEqualOrderByOccurredAtAscIdAsc(sprintBacklogId, instant);
+        }
+        replay.forEach(state::apply);
+
+        if (replay.size() >= snapshotEvery) {
+            saveSnapshot(sprintBacklogId, state, replay.get(replay.size() - 1));
+        }
+        return toResponse(sprintBacklogId, instant, state);
+    }
+
+    private BoardState readState(BoardSnapshot snapshot) {
+        try {
+            return objectMapper.readValue(snapshot.getPayload(), BoardState.class);
+        } catch (JsonProcessingException ex) {
+            // Fall back to a full replay
+            LoggerUtils.logServiceError("Unreadable board snapshot " + snapshot.getId(), ex);
+            return null;
+        }
+    }
+
+    private void saveSnapshot(UUID sprintBacklogId, BoardState state, StatusTransition last) {
+        if (last.getOccurredAt().isAfter(LocalDateTime.now().minus(snapshotMinAge))) {
+            return;
+        }
+        try {
+            boardSnapshotRepository.save(BoardSnapshot.builder()
+                    .sprintBacklogId(sprintBacklogId)
+                    .takenAt(last.getOccurredAt())
+                    .lastTransitionId(last.getId())
+                    .payload(objectMapper.writeValueAsString(state))
+                    .build());
+        } catch (JsonProcessingException ex) {
+            LoggerUtils.logServiceError("Board snapshot failed", ex);
+        }
+    }
+
+    private static SprintBoardResponse toResponse(UUID sprintBacklogId, LocalDateTime asOf, BoardState state) {
+        List<BoardStoryResponse> stories = state.getStories().entrySet().stream()
+                .map(story -> BoardStoryResponse.builder()
+                        .userStoryId(story.getKey())
+                        .status(story.getValue().getStatus())
+                        .tasks(story.getValue().getTasks().entrySet().stream()
+                                .map(task -> BoardTaskResponse.builder()
+                                        .taskId(task.getKey())
+                                        .status(task.getValue())
+                                        .build())
+                                .toList())
+                        .build())
+                .toList();
+        return SprintBoardResponse.builder()
+                .sprintBacklogId(sprintBacklogId)
+                .asOf(asOf)
+                .stories(stories)
+                .build();
+    }
+}
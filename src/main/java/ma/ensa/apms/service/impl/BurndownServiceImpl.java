@@ -0,0 +1,318 @@
+package ma.ensa.apms.service.impl;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PreDestroy;
+import ma.ensa.apms.dto.Response.BurndownPointResponse;
+import ma.ensa.apms.dto.Response.SprintBurndownResponse;
+import ma.ensa.apms.dto.Response.SprintVelocityResponse;
+import ma.ensa.apms.dto.Response.VelocityResponse;
+import ma.ensa.apms.event.BoardEvent;
+import ma.ensa.apms.logging.LoggerUtils;
+import ma.ensa.apms.modal.SprintBacklog;
+import ma.ensa.apms.modal.SprintBurndownBucket;
+import ma.ensa.apms.modal.enums.TaskStatus;
+import ma.ensa.apms.modal.enums.UserStoryStatus;
+import ma.ensa.apms.repository.SprintBacklogRepository;
+import ma.ensa.apms.repository.SprintBurndownBucketRepository;
+import ma.ensa.apms.repository.TaskRepository;
+import ma.ensa.apms.repository.UserStoryRepository;
+import ma.ensa.apms.service.BurndownService;
+import ma.ensa.apms.service.helper.ProductBacklogRepositoryHelper;
+import ma.ensa.apms.service.helper.SprintBacklogRepositoryHelper;
+import ma.ensa.apms.writebehind.WriteBehindBuffer;
+
+/**
+ * Maintains the daily burndown buckets of each sprint from committed board
+ * events and serves burndown and velocity reads from those buckets.
+ *
+ * <p>
+ * Status changes are applied as atomic deltas to the bucket of the day. The
+ * first change of a day, and any change of the stories in a sprint, takes a
+ * fresh snapshot from count queries instead, which also corrects any drift
+ * from writes that do not publish events.
+ * </p>
+ *
+ * <p>
+ * Updates run in order on one worker thread once the change has committed,
+ * so the request thread never holds a second connection for them. The worker
+ * flushes the write-behind buffer before each update, so a snapshot counts the
+ * toggles whose events it stands for; reads only count committed rows. An
+ * update that does not fit in the queue is dropped and logged, and the next
+ * snapshot of its sprint corrects it.
+ * </p>
+ */
+@Service
+public class BurndownServiceImpl implements BurndownService {
+
+    private final SprintBurndownBucketRepository bucketRepository;
+    private final SprintBacklogRepository sprintBacklogRepository;
+    private final UserStoryRepository userStoryRepository;
+    private final TaskRepository taskRepository;
+    private final SprintBacklogRepositoryHelper sprintBacklogRepositoryHelper;
+    private final ProductBacklogRepositoryHelper productBacklogRepositoryHelper;
+    private final PlatformTransactionManager transactionManager;
+    private final WriteBehindBuffer writeBehindBuffer;
+    private final Executor executor;
+
+    @Autowired
+    public BurndownServiceImpl(SprintBurndownBucketRepository bucketRepository,
+            SprintBacklogRepository sprintBacklogRepository,
+            UserStoryRepository userStoryRepository,
+            TaskRepository taskRepository,
+            SprintBacklogRepositoryHelper sprintBacklogRepositoryHelper,
+            ProductBacklogRepositoryHelper productBacklogRepositoryHelper,
+            PlatformTransactionManager transactionManager,
+            WriteBehindBuffer writeBehindBuffer,
+            @Value("${apms.burndown.queue-capacity:10000}") int queueCapacity) {
+        this(bucketRepository, sprintBacklogRepository, userStoryRepository, taskRepository,
+                sprintBacklogRepositoryHelper, productBacklogRepositoryHelper, transactionManager, writeBehindBuffer,
+                new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(queueCapacity),
+                        new CustomizableThreadFactory("burndown-")));
+    }
+
+    BurndownServiceImpl(SprintBurndownBucketRepository bucketRepository,
+            SprintBacklogRepository sprintBacklogRepository,
+            UserStoryRepository userStoryRepository,
+            TaskRepository taskRepository,
+            SprintBacklogRepositoryHelper sprintBacklogRepositoryHelper,
+            ProductBacklogRepositoryHelper productBacklogRepositoryHelper,
+            PlatformTransactionManager transactionManager,
+            WriteBehindBuffer writeBehindBuffer,
+            Executor executor) {
+        this.bucketRepository = bucketRepository;
+        this.sprintBacklogRepository = sprintBacklogRepository;
+        this.userStoryRepository = userStoryRepository;
+        this.taskRepository = taskRepository;
+        this.sprintBacklogRepositoryHelper = sprintBacklogRepositoryHelper;
+        this.productBacklogRepositoryHelper = productBacklogRepositoryHelper;
+        this.transactionManager = transactionManager;
+        this.writeBehindBuffer = writeBehindBuffer;
+        this.executor = executor;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public SprintBurndownResponse getSprintBurndown(UUID sprintBacklogId) {
+        sprintBacklogRepositoryHelper.validateExists(sprintBacklogId);
+
+        List<SprintBurndownBucket> buckets = bucketRepository.findBySprintBacklogIdOrderByBucketDateAsc(sprintBacklogId);
+        // Sprints carry no dates: an ended sprint is one whose tasks are all
+        // due, and its series stops on the last due date
+        LocalDate today = LocalDate.now();
+        LocalDate end = taskRepository.findLatestEndDateBySprintBacklogId(sprintBacklogId)
+                .map(LocalDateTime::toLocalDate)
+                .filter(sprintEnd -> sprintEnd.isBefore(today))
+                .orElse(today);
+        if (buckets.isEmpty()) {
+            buckets = List.of(snapshot(sprintBacklogId, end));
+        }
+
+        // Days without a bucket carry the values of the previous one forward
+        List<BurndownPointResponse> points = new ArrayList<>();
+        LocalDate first = buckets.get(0).getBucketDate();
+        if (end.isBefore(first)) {
+            // Only changed after it ended: one point with the first values
+            end = first;
+        }
+        int index = 0;
+        SprintBurndownBucket current = buckets.get(0);
+        for (LocalDate day = current.getBucketDate(); !day.isAfter(end); day = day.plusDays(1)) {
+            while (index < buckets.size() && !buckets.get(index).getBucketDate().isAfter(day)) {
+                current = buckets.get(index++);
+            }
+            points.add(toPoint(day, current));
+        }
+
+        return SprintBurndownResponse.builder()
+                .sprintBacklogId(sprintBacklogId)
+                .points(points)
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public VelocityResponse getVelocity(UUID productBacklogId) {
+        productBacklogRepositoryHelper.validateExists(productBacklogId);
+
+        List<SprintBacklog> sprints = sprintBacklogRepository.findByProductBacklogIdOrderByCreatedAtAsc(productBacklogId);
+        Map<UUID, SprintBurndownBucket> latest = sprints.isEmpty() ? Map.of()
+                : bucketRepository.findLatestBySprintBacklogIds(sprints.stream().map(SprintBacklog::getId).toList())
+                        .stream()
+                        .collect(Collectors.toMap(SprintBurndownBucket::getSprintBacklogId, Function.identity()));
+
+        List<SprintVelocityResponse> velocities = sprints.stream()
+                .map(sprint -> SprintVelocityResponse.builder()
+                        .sprintBacklogId(sprint.getId())
+                        .name(sprint.getName())
+                        .completedStories(completedStories(sprint.getId(), latest.get(sprint.getId())))
+                        .build())
+                .toList();
+
+        return VelocityResponse.builder()
+                .productBacklogId(productBacklogId)
+                .sprints(velocities)
+                .averageVelocity(velocities.stream()
+                        .mapToInt(SprintVelocityResponse::getCompletedStories)
+                        .average()
+                        .orElse(0))
+                .build();
+    }
+
+    /**
+     * Queue the burndown update of the affected sprints once a board change
+     * has committed. Failures are logged and never reach the caller, whose
+     * change is already committed.
+     *
+     * @param event the committed board event
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onBoardEvent(BoardEvent event) {
+        try {
+            executor.execute(() -> update(event));
+        } catch (RejectedExecutionException ex) {
+            LoggerUtils.logServiceError("Burndown update dropped: queue full", ex);
+        }
+    }
+
+    private void update(BoardEvent event) {
+        try {
+            record(event);
+        } catch (DataIntegrityViolationException ex) {
+            // Another transaction created the bucket of the day first: apply to it
+            try {
+                record(event);
+            } catch (RuntimeException retryEx) {
+                LoggerUtils.logServiceError("Burndown update failed", retryEx);
+            }
+        } catch (RuntimeException ex) {
+            LoggerUtils.logServiceError("Burndown update failed", ex);
+        }
+    }
+
+    private void record(BoardEvent event) {
+        // Events are published when a toggle is accepted, possibly before the
+        // buffer writes it: a snapshot must include it, as no delta follows.
+        writeBehindBuffer.flush();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        transaction.executeWithoutResult(status -> apply(event));
+    }
+
+    private void apply(BoardEvent event) {
+        switch (event.getType()) {
+            case STORY_STATUS_CHANGED -> {
+                int done = doneDelta(UserStoryStatus.DONE.name(), event);
+                applyDelta(event.getSprintBacklogId(), -done, 0, done);
+            }
+            case TASK_STATUS_CHANGED -> applyDelta(event.getSprintBacklogId(), 0,
+                    -doneDelta(TaskStatus.DONE.name(), event), 0);
+            case TASK_ADDED -> applyDelta(event.getSprintBacklogId(), 0,
+                    TaskStatus.DONE.name().equals(event.getStatus()) ? 0 : 1, 0);
+            case TASK_REMOVED -> applyDelta(event.getSprintBacklogId(), 0,
+                    TaskStatus.DONE.name().equals(event.getPreviousStatus()) ? 0 : -1, 0);
+            case STORY_ADDED_TO_SPRINT, STORY_MOVED_TO_SPRINT, STORY_REMOVED_FROM_SPRINT -> {
+                resync(event.getSprintBacklogId());
+                resync(event.getPreviousSprintBacklogId());
+            }
+            default -> {
+                // Other events do not change the burndown
+            }
+        }
+    }
+
+    private void applyDelta(UUID sprintBacklogId, int remainingStories, int remainingTasks, int completedStories) {
+        if (sprintBacklogId == null || (remainingStories == 0 && remainingTasks == 0 && completedStories == 0)) {
+            return;
+        }
+        LocalDate today = LocalDate.now();
+        int updated = bucketRepository.applyDelta(sprintBacklogId, today, remainingStories, remainingTasks,
+                completedStories);
+        if (updated == 0) {
+            // First change of the day: the snapshot already includes it
+            bucketRepository.saveAndFlush(snapshot(sprintBacklogId, today));
+        }
+    }
+
+    private void resync(UUID sprintBacklogId) {
+        if (sprintBacklogId == null) {
+            return;
+        }
+        LocalDate today = LocalDate.now();
+        SprintBurndownBucket snapshot = snapshot(sprintBacklogId, today);
+        bucketRepository.findBySprintBacklogIdAndBucketDate(sprintBacklogId, today)
+                .ifPresent(existing -> snapshot.setId(existing.getId()));
+        bucketRepository.saveAndFlush(snapshot);
+    }
+
+    private SprintBurndownBucket snapshot(UUID sprintBacklogId, LocalDate day) {
+        return SprintBurndownBucket.builder()
+                .sprintBacklogId(sprintBacklogId)
+                .bucketDate(day)
+                .remainingStories((int) userStoryRepository.countBySprintBacklogIdAndStatusNot(sprintBacklogId,
+                        UserStoryStatus.DONE))
+                .remainingTasks((int) taskRepository.countByUserStorySprintBacklogIdAndStatusNot(sprintBacklogId,
+                        TaskStatus.DONE))
+                .completedStories((int) userStoryRepository.countBySprintBacklogIdAndStatus(sprintBacklogId,
+                        UserStoryStatus.DONE))
+                .build();
+    }
+
+    private int completedStories(UUID sprintBacklogId, SprintBurndownBucket latest) {
+        if (latest != null) {
+            return latest.getCompletedStories();
+        }
+        // Sprint without any recorded change yet
+        return (int) userStoryRepository.countBySprintBacklogIdAndStatus(sprintBacklogId, UserStoryStatus.DONE);
+    }
+
+    private static int doneDelta(String done, BoardEvent event) {
+        boolean wasDone = done.equals(event.getPreviousStatus());
+        boolean isDone = done.equals(event.getStatus());
+        if (wasDone == isDone) {
+            return 0;
+        }
+        return isDone ? 1 : -1;
+    }
+
+    private static BurndownPointResponse toPoint(LocalDate day, SprintBurndownBucket bucket) {
+        return BurndownPointResponse.builder()
+                .date(day)
+                .remainingStories(bucket.getRemainingStories())
+                .remainingTasks(bucket.getRemainingTasks())
+                .completedStories(bucket.getCompletedStories())
+                .build();
+    }
+}
@@ -1,15 +1,20 @@
 package ma.ensa.apms.service.impl;
 
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import lombok.RequiredArgsConstructor;
+import ma.ensa.apms.batch.BatchLookup;
+import ma.ensa.apms.batch.IdCount;
 import ma.ensa.apms.dto.Request.EpicRequest;
+import ma.ensa.apms.dto.Response.BatchGetResponse;
 import ma.ensa.apms.dto.Response.EpicResponse;
 import ma.ensa.apms.dto.Response.ProductBacklogResponse;
+import ma.ensa.apms.dto.Response.ProgressResponse;
 import ma.ensa.apms.dto.Response.UserStoryResponse;
 import ma.ensa.apms.exception.ResourceNotFoundException;
 import ma.ensa.apms.mapper.EpicMapper;
@@ -17,8 +22,10 @@ import ma.ensa.apms.mapper.ProductBacklogMapper;
 import ma.ensa.apms.mapper.UserStoryMapper;
 import ma.ensa.apms.modal.Epic;
 import ma.ensa.apms.modal.UserStory;
+import ma.ensa.apms.modal.enums.RollupScope;
 import ma.ensa.apms.repository.EpicRepository;
 import ma.ensa.apms.repository.UserStoryRepository;
+import ma.ensa.apms.rollup.StatusRollupReader;
 import ma.ensa.apms.service.EpicService;
 import ma.ensa.apms.service.helper.EpicRepositoryHelper;
 
@@ -32,6 +39,8 @@ public class EpicServiceImpl implements EpicService {
     private final UserStoryMapper userStoryMapper;
     private final ProductBacklogMapper productBacklogMapper;
     private final EpicRepositoryHelper epicRepositoryHelper;
+    private final StatusRollupReader statusRollupReader;
+    private final BatchLookup batchLookup;
 
     @Override
     @Transactional
@@ -41,19 +50,44 @@ public class EpicServiceImpl implements EpicService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public EpicResponse findById(UUID id) {
         Epic epic = epicRepositoryHelper.findByIdOrThrow(id);
         EpicResponse response = epicMapper.toDto(epic);
-        response.setUserStoriesCount(epicRepositoryHelper.getUserStoriesCount(epic));
+        response.setUserStoriesCount((int) userStoryRepository.countByEpicId(id));
+        response.setProgress(statusRollupReader.progressOf(RollupScope.EPIC, id));
         return response;
     }
 
     @Override
+    public BatchGetResponse<EpicResponse> findByIds(List<UUID> ids) {
+        List<UUID> distinct = batchLookup.distinctIds(ids);
+        Map<UUID, Epic> epics = batchLookup.findAll(distinct, epicRepository::findAllById, Epic::getId);
+        // Counted in one grouped query rather than by loading each epic's stories
+        Map<UUID, Long> storyCounts = epics.isEmpty()
+                ? Map.of()
+                : IdCount.toMap(userStoryRepository.countByEpicIds(epics.keySet()));
+        Map<UUID, ProgressResponse> progress = statusRollupReader.progressOf(RollupScope.EPIC, epics.keySet());
+        return batchLookup.respond(distinct, epics, epic -> {
+            EpicResponse response = epicMapper.toDto(epic);
+            response.setUserStoriesCount(storyCounts.getOrDefault(epic.getId(), 0L).intValue());
+            response.setProgress(progress.get(epic.getId()));
+            return response;
+        });
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public List<EpicResponse> findAll() {
-        return epicRepository.findAll().stream()
+        List<Epic> epics = epicRepository.findAll();
+        List<UUID> ids = epics.stream().map(Epic::getId).toList();
+        Map<UUID, Long> storyCounts = ids.isEmpty() ? Map.of() : IdCount.toMap(userStoryRepository.countByEpicIds(ids));
+        Map<UUID, ProgressResponse> progress = statusRollupReader.progressOf(RollupScope.EPIC, ids);
+        return epics.stream()
                 .map(epic -> {
                     EpicResponse response = epicMapper.toDto(epic);
-                    response.setUserStoriesCount(epicRepositoryHelper.getUserStoriesCount(epic));
+                    response.setUserStoriesCount(storyCounts.getOrDefault(epic.getId(), 0L).intValue());
+                    response.setProgress(progress.get(epic.getId()));
                     return response;
                 })
                 .toList();
@@ -87,6 +121,7 @@ public class EpicServiceImpl implements EpicService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<UserStoryResponse> getUserStoriesByEpicId(UUID epicId) {
         Epic epic = epicRepositoryHelper.findByIdOrThrow(epicId);
         return epic.getUserStories().stream()
@@ -95,6 +130,7 @@ public class EpicServiceImpl implements EpicService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public ProductBacklogResponse getProductBacklogByEpicId(UUID epicId) {
         Epic epic = epicRepositoryHelper.findByIdOrThrow(epicId);
         if (epic.getProductBacklog() == null) {
@@ -1,19 +1,45 @@
 package ma.ensa.apms.service.impl;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import ma.ensa.apms.batch.BatchLookup;
+import ma.ensa.apms.batch.IdCount;
+import ma.ensa.apms.cache.ProductBacklogReadCache;
 import ma.ensa.apms.dto.Request.EpicRequest;
 import ma.ensa.apms.dto.Request.ProductBacklogRequest;
+import ma.ensa.apms.dto.Request.UserStoryPositionRequest;
 import ma.ensa.apms.dto.Request.UserStoryRequest;
+import ma.ensa.apms.dto.Response.BatchGetResponse;
 import ma.ensa.apms.dto.Response.EpicResponse;
+import ma.ensa.apms.dto.Response.FacetSearchResponse;
 import ma.ensa.apms.dto.Response.ProductBacklogResponse;
+import ma.ensa.apms.dto.Response.ProgressResponse;
 import ma.ensa.apms.dto.Response.ProjectResponse;
+import ma.ensa.apms.dto.Response.UserStoryPageResponse;
 import ma.ensa.apms.dto.Response.UserStoryResponse;
+import ma.ensa.apms.exception.BusinessException;
+import ma.ensa.apms.exception.ResourceNotFoundException;
+import ma.ensa.apms.facet.FacetFilter;
+import ma.ensa.apms.facet.FacetIndex;
+import ma.ensa.apms.facet.FacetSearchResult;
+import ma.ensa.apms.facet.FacetSqlSearch;
 import ma.ensa.apms.mapper.EpicMapper;
 import ma.ensa.apms.mapper.ProductBacklogMapper;
 import ma.ensa.apms.mapper.ProjectMapper;
@@ -22,9 +48,15 @@ import ma.ensa.apms.modal.Epic;
 import ma.ensa.apms.modal.ProductBacklog;
 import ma.ensa.apms.modal.Project;
 import ma.ensa.apms.modal.UserStory;
+import ma.ensa.apms.modal.enums.RollupScope;
+import ma.ensa.apms.ranking.BacklogRankRebalancer;
+import ma.ensa.apms.ranking.BacklogRanks;
+import ma.ensa.apms.ranking.RankKeys;
+import ma.ensa.apms.ranking.TopStoriesIndex;
 import ma.ensa.apms.repository.EpicRepository;
 import ma.ensa.apms.repository.ProductBacklogRepository;
 import ma.ensa.apms.repository.UserStoryRepository;
+import ma.ensa.apms.rollup.StatusRollupReader;
 import ma.ensa.apms.service.ProductBacklogService;
 import ma.ensa.apms.service.helper.ProductBacklogRepositoryHelper;
 import ma.ensa.apms.service.validator.ProductBacklogValidator;
@@ -33,6 +65,9 @@ import ma.ensa.apms.service.validator.ProductBacklogValidator;
 @RequiredArgsConstructor
 public class ProductBacklogServiceImpl implements ProductBacklogService {
 
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final int MAX_TOP_STORIES = 100;
+
     private final UserStoryRepository userStoryRepository;
     private final UserStoryMapper userStoryMapper;
     private final ProductBacklogRepository productBacklogRepository;
@@ -42,6 +77,14 @@ public class ProductBacklogServiceImpl implements ProductBacklogService {
     private final ProjectMapper projectMapper;
     private final ProductBacklogRepositoryHelper productBacklogRepositoryHelper;
     private final ProductBacklogValidator productBacklogValidator;
+    private final ProductBacklogReadCache productBacklogReadCache;
+    private final StatusRollupReader statusRollupReader;
+    private final BacklogRankRebalancer backlogRankRebalancer;
+    private final BacklogRanks backlogRanks;
+    private final BatchLookup batchLookup;
+    private final TopStoriesIndex topStoriesIndex;
+    private final FacetIndex facetIndex;
+    private final FacetSqlSearch facetSqlSearch;
 
     @Override
     @Transactional
@@ -53,31 +96,83 @@ public class ProductBacklogServiceImpl implements ProductBacklogService {
 
     @Override
     public ProductBacklogResponse getProductBacklogById(UUID id) {
+        return productBacklogReadCache.getProductBacklog(id, () -> loadProductBacklog(id));
+    }
+
+    private ProductBacklogResponse loadProductBacklog(UUID id) {
         ProductBacklog pb = productBacklogRepositoryHelper.findByIdOrThrow(id);
         ProductBacklogResponse response = productBacklogMapper.toResponse(pb);
-        setCounts(response, pb);
+        setProgress(response, statusRollupReader.progressOf(RollupScope.PRODUCT_BACKLOG, id));
+        // Count query rather than the collection size: the loader may run on a
+        // background refresh thread with no open persistence context.
+        response.setEpicCount(epicRepository.countByProductBacklogId(id));
         return response;
     }
 
+    @Override
+    public BatchGetResponse<ProductBacklogResponse> getProductBacklogsByIds(List<UUID> ids) {
+        List<UUID> distinct = batchLookup.distinctIds(ids);
+        Map<UUID, ProductBacklogResponse> responses = new HashMap<>(distinct.size() * 2);
+        List<UUID> uncached = new ArrayList<>();
+        for (UUID id : distinct) {
+            ProductBacklogResponse cached = productBacklogReadCache.peekProductBacklog(id);
+            if (cached != null) {
+                responses.put(id, cached);
+            } else {
+                uncached.add(id);
+            }
+        }
+
+        Map<UUID, ProductBacklog> backlogs = uncached.isEmpty()
+                ? Map.of()
+                : batchLookup.findAll(uncached, productBacklogRepository::findAllById, ProductBacklog::getId);
+        if (!backlogs.isEmpty()) {
+            Map<UUID, Long> epicCounts = IdCount.toMap(epicRepository.countByProductBacklogIds(backlogs.keySet()));
+            Map<UUID, ProgressResponse> progress = statusRollupReader.progressOf(RollupScope.PRODUCT_BACKLOG,
+                    backlogs.keySet());
+            backlogs.forEach((id, pb) -> {
+                ProductBacklogResponse response = productBacklogMapper.toResponse(pb);
+                setProgress(response, progress.get(id));
+                response.setEpicCount(epicCounts.getOrDefault(id, 0L));
+                responses.put(id, response);
+            });
+        }
+        return batchLookup.respond(distinct, responses, Function.identity());
+    }
+
     @Override
     @Transactional
     public void deleteProductBacklog(UUID productBacklogId) {
         productBacklogRepositoryHelper.validateExists(productBacklogId);
         productBacklogRepository.deleteById(productBacklogId);
+        productBacklogReadCache.evict(productBacklogId);
     }
 
     @Override
     public List<ProductBacklogResponse> getAllProductBacklogs() {
-        return productBacklogRepository.findAll().stream()
-                .map(productBacklogMapper::toResponse)
+        List<ProductBacklog> backlogs = productBacklogRepository.findAll();
+        Map<UUID, ProgressResponse> progress = statusRollupReader.progressOf(RollupScope.PRODUCT_BACKLOG,
+                backlogs.stream().map(ProductBacklog::getId).toList());
+        return backlogs.stream()
+                .map(pb -> {
+                    ProductBacklogResponse response = productBacklogMapper.toResponse(pb);
+                    setProgress(response, progress.get(pb.getId()));
+                    return response;
+                })
                 .toList();
     }
 
     @Override
-    @Transactional
     public List<UserStoryResponse> getUserStoriesByProductBacklogId(UUID productBacklogId) {
+        return productBacklogReadCache.getUserStories(productBacklogId,
+                () -> loadUserStories(productBacklogId));
+    }
+
+    // No transaction around the cache: a hit must not check out a connection.
+    // The miss runs two repository calls and maps scalar fields only.
+    private List<UserStoryResponse> loadUserStories(UUID productBacklogId) {
         productBacklogRepositoryHelper.validateExists(productBacklogId);
-        return userStoryRepository.findByProductBacklogId(productBacklogId).stream()
+        return userStoryRepository.findByProductBacklogIdOrderByRankAscIdAsc(productBacklogId).stream()
                 .map(userStoryMapper::toResponse)
                 .toList();
     }
@@ -91,36 +186,42 @@ public class ProductBacklogServiceImpl implements ProductBacklogService {
                 .toList();
     }
 
-    private void setCounts(ProductBacklogResponse response, ProductBacklog pb) {
-        response.setUserStoryCount(pb.getUserStories() != null ? pb.getUserStories().size() : 0);
-        response.setEpicCount(pb.getEpics() != null ? pb.getEpics().size() : 0);
+    // The story count is the progress total, so both include the stories
+    // planned in one of the backlog's sprints and can never disagree.
+    private static void setProgress(ProductBacklogResponse response, ProgressResponse progress) {
+        response.setProgress(progress);
+        response.setUserStoryCount(progress.getTotalStories());
     }
 
     @Override
     @Transactional
     public EpicResponse addEpicToProductBacklog(UUID productBacklogId, EpicRequest epicRequest) {
-        ProductBacklog productBacklog = productBacklogRepositoryHelper.findByIdOrThrow(productBacklogId);
+        // Only the child row is written: the backlog is neither loaded nor
+        // updated, so adds to a large or busy backlog stay cheap.
+        ProductBacklog productBacklog = productBacklogRepositoryHelper.getReferenceOrThrow(productBacklogId);
 
         Epic epic = epicMapper.toEntity(epicRequest);
         epic.setProductBacklog(productBacklog);
         Epic savedEpic = epicRepository.save(epic);
-        productBacklog.getEpics().add(savedEpic);
 
-        productBacklogRepository.save(productBacklog);
+        productBacklogReadCache.evict(productBacklogId);
         return epicMapper.toDto(savedEpic);
     }
 
     @Override
     @Transactional
     public UserStoryResponse addUserStoryToProductBacklog(UUID productBacklogId, UserStoryRequest userStoryRequest) {
-        ProductBacklog productBacklog = productBacklogRepositoryHelper.findByIdOrThrow(productBacklogId);
+        ProductBacklog productBacklog = productBacklogRepositoryHelper.getReferenceOrThrow(productBacklogId);
+        // No lock on the backlog row: concurrent appends get distinct keys
+        String rank = backlogRanks.rankLast(productBacklogId);
 
         UserStory userStory = userStoryMapper.toEntity(userStoryRequest);
         userStory.setProductBacklog(productBacklog);
-        productBacklog.getUserStories().add(userStory);
+        userStory.setRank(rank);
+        UserStory savedUserStory = userStoryRepository.save(userStory);
 
-        productBacklogRepository.save(productBacklog);
-        return userStoryMapper.toResponse(userStory);
+        productBacklogReadCache.evict(productBacklogId);
+        return userStoryMapper.toResponse(savedUserStory);
     }
 
     @Override
@@ -133,4 +234,166 @@ public class ProductBacklogServiceImpl implements ProductBacklogService {
         return projectMapper.toResponse(project);
     }
 
+    @Override
+    @Transactional
+    public UserStoryResponse moveUserStory(UUID productBacklogId, UUID userStoryId,
+            UserStoryPositionRequest request) {
+        UUID previousId = request.getPreviousStoryId();
+        UUID nextId = request.getNextStoryId();
+        if (userStoryId.equals(previousId) || userStoryId.equals(nextId)) {
+            throw new BusinessException("A user story cannot be positioned relative to itself");
+        }
+
+        // Lock the backlog, then the moved story and its named neighbours in
+        // id order like the rank rebalancer, so a move never interleaves with
+        // another move or a rebalance.
+        backlogRanks.lock(productBacklogId);
+        Map<UUID, UserStory> locked = userStoryRepository
+                .lockByIds(Stream.of(userStoryId, previousId, nextId)
+                        .filter(Objects::nonNull)
+                        .toList())
+                .stream()
+                .collect(Collectors.toMap(UserStory::getId, Function.identity()));
+        UserStory userStory = inBacklog(locked, userStoryId, productBacklogId);
+        String lower = previousId != null ? rankOf(inBacklog(locked, previousId, productBacklogId)) : null;
+        String upper = nextId != null ? rankOf(inBacklog(locked, nextId, productBacklogId)) : null;
+
+        // Only one neighbour given: the other one is whatever currently sits
+        // next to it.
+        if (previousId != null && nextId == null) {
+            upper = userStoryRepository
+                    .findFirstByProductBacklogIdAndRankGreaterThanAndIdNotOrderByRankAsc(productBacklogId, lower,
+                            userStoryId)
+                    .map(UserStory::getRank)
+                    .orElse(null);
+        } else if (previousId == null && nextId != null) {
+            lower = userStoryRepository
+                    .findFirstByProductBacklogIdAndRankLessThanAndIdNotOrderByRankDesc(productBacklogId, upper,
+                            userStoryId)
+                    .map(UserStory::getRank)
+                    .orElse(null);
+        } else if (previousId == null) {
+            upper = userStoryRepository
+                    .findFirstByProductBacklogIdAndRankNotNullAndIdNotOrderByRankAsc(productBacklogId, userStoryId)
+                    .map(UserStory::getRank)
+                    .orElse(null);
+        }
+        if (lower != null && lower.equals(upper)) {
+            // Only left by writes from before ranks were serialized
+            backlogRankRebalancer.requestRebalance(productBacklogId);
+            throw new BusinessException("The backlog ranks are being rebuilt, please retry shortly");
+        }
+        if (lower != null && upper != null && lower.compareTo(upper) > 0) {
+            throw new BusinessException("The previous user story must be ranked before the next one");
+        }
+
+        String rank = RankKeys.between(lower, upper);
+        userStory.setRank(rank);
+        UserStory savedUserStory = userStoryRepository.save(userStory);
+        if (backlogRankRebalancer.isTooLong(rank)) {
+            backlogRankRebalancer.requestRebalance(productBacklogId);
+        }
+        productBacklogReadCache.evict(productBacklogId);
+        return userStoryMapper.toResponse(savedUserStory);
+    }
+
+    @Override
+    public UserStoryPageResponse getRankedUserStories(UUID productBacklogId, String cursor, int size) {
+        productBacklogRepositoryHelper.validateExists(productBacklogId);
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        // One extra row tells whether another page follows
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+
+        List<UserStory> stories;
+        if (cursor == null || cursor.isBlank()) {
+            stories = userStoryRepository.findRankedPage(productBacklogId, limit);
+        } else {
+            String[] position = decodeCursor(cursor);
+            stories = userStoryRepository.findRankedPageAfter(productBacklogId, position[0],
+                    UUID.fromString(position[1]), limit);
+        }
+
+        boolean hasMore = stories.size() > pageSize;
+        List<UserStory> page = hasMore ? stories.subList(0, pageSize) : stories;
+        String nextCursor = null;
+        if (hasMore) {
+            UserStory last = page.get(page.size() - 1);
+            nextCursor = encodeCursor(last.getRank(), last.getId());
+        }
+        return UserStoryPageResponse.builder()
+                .items(page.stream().map(userStoryMapper::toResponse).toList())
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    @Override
+    public List<UserStoryResponse> getTopUserStories(UUID productBacklogId, int k) {
+        productBacklogRepositoryHelper.validateExists(productBacklogId);
+        List<UUID> ids = topStoriesIndex.top(productBacklogId, Math.min(Math.max(k, 1), MAX_TOP_STORIES));
+        Map<UUID, UserStory> stories = batchLookup.findAll(ids, userStoryRepository::findAllById, UserStory::getId);
+        return ids.stream()
+                .map(stories::get)
+                .filter(Objects::nonNull)
+                .map(userStoryMapper::toResponse)
+                .toList();
+    }
+
+    @Override
+    public FacetSearchResponse searchUserStories(UUID productBacklogId, FacetFilter filter, int limit) {
+        productBacklogRepositoryHelper.validateExists(productBacklogId);
+        int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        FacetSearchResult result = facetIndex.search(productBacklogId, filter, pageSize);
+        if (result == null) {
+            result = facetSqlSearch.search(productBacklogId, filter, pageSize);
+        }
+        Map<UUID, UserStory> stories = batchLookup.findAll(result.ids(), userStoryRepository::findAllById,
+                UserStory::getId);
+        Map<String, Map<String, Long>> facets = new LinkedHashMap<>();
+        result.counts().forEach((facet, counts) -> facets.put(facet.param(), counts));
+        return FacetSearchResponse.builder()
+                .items(result.ids().stream()
+                        .map(stories::get)
+                        .filter(Objects::nonNull)
+                        .map(userStoryMapper::toResponse)
+                        .toList())
+                .total(result.total())
+                .facets(facets)
+                .build();
+    }
+
+    private UserStory inBacklog(Map<UUID, UserStory> stories, UUID userStoryId, UUID productBacklogId) {
+        UserStory userStory = Optional.ofNullable(stories.get(userStoryId))
+                .orElseThrow(() -> new ResourceNotFoundException("User story not found"));
+        if (userStory.getProductBacklog() == null
+                || !userStory.getProductBacklog().getId().equals(productBacklogId)) {
+            throw new BusinessException("User story does not belong to the specified product backlog");
+        }
+        return userStory;
+    }
+
+    private String rankOf(UserStory userStory) {
+        if (userStory.getRank() == null) {
+            throw new BusinessException("The backlog ranks are being rebuilt, please retry shortly");
+        }
+        return userStory.getRank();
+    }
+
+    private static String encodeCursor(String rank, UUID id) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((rank + ":" + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String[] decodeCursor(String cursor) {
+        try {
+            String[] position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)
+                    .split(":", 2);
+            if (position.length != 2) {
+                throw new IllegalArgumentException("Malformed cursor");
+            }
+            UUID.fromString(position[1]);
+            return position;
+        } catch (IllegalArgumentException ex) {
+            throw new BusinessException("Invalid cursor");
+        }
+    }
 }
@@ -1,8 +1,15 @@
 package ma.ensa.apms.service.impl;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -10,18 +17,28 @@ import org.springframework.stereotype.Service;
 import jakarta.transaction.Transactional;
 import lombok.AllArgsConstructor;
 import ma.ensa.apms.annotation.LogOperation;
+import ma.ensa.apms.batch.BatchLookup;
 import ma.ensa.apms.dto.Request.ProjectRequest;
+import ma.ensa.apms.dto.Response.BatchGetResponse;
+import ma.ensa.apms.dto.Response.ProgressResponse;
 import ma.ensa.apms.dto.Response.ProjectResponse;
 import ma.ensa.apms.exception.ResourceNotFoundException;
 import ma.ensa.apms.mapper.ProjectMapper;
 import ma.ensa.apms.modal.ProductBacklog;
 import ma.ensa.apms.modal.Project;
 import ma.ensa.apms.modal.enums.ProjectStatus;
+import ma.ensa.apms.modal.enums.RollupScope;
 import ma.ensa.apms.repository.ProductBacklogRepository;
 import ma.ensa.apms.repository.ProjectRepository;
+import ma.ensa.apms.rollup.StatusRollupReader;
 import ma.ensa.apms.service.ProjectService;
 import ma.ensa.apms.service.helper.ProjectRepositoryHelper;
 import ma.ensa.apms.service.validator.ProjectValidator;
+import ma.ensa.apms.snapshot.SnapshotExporter;
+import ma.ensa.apms.snapshot.SnapshotRestorer;
+import ma.ensa.apms.timeline.RangeMatch;
+import ma.ensa.apms.timeline.TimelineIndex;
+import ma.ensa.apms.tree.ProjectTreeWriter;
 
 @Service
 @AllArgsConstructor
@@ -31,6 +48,12 @@ public class ProjectServiceImpl implements ProjectService {
     private final ProductBacklogRepository productBacklogRepository;
     private final ProjectRepositoryHelper projectRepositoryHelper;
     private final ProjectValidator projectValidator;
+    private final StatusRollupReader statusRollupReader;
+    private final TimelineIndex timelineIndex;
+    private final BatchLookup batchLookup;
+    private final ProjectTreeWriter projectTreeWriter;
+    private final SnapshotExporter snapshotExporter;
+    private final SnapshotRestorer snapshotRestorer;
 
     @Override
     @LogOperation(description = "Creating new project")
@@ -41,6 +64,7 @@ public class ProjectServiceImpl implements ProjectService {
     }
 
     @Override
+    @Transactional
     @LogOperation(description = "Updating project")
     public ProjectResponse updateProject(UUID id, ProjectRequest request) {
         Project project = projectRepositoryHelper.findByIdOrThrow(id);
@@ -55,6 +79,7 @@ public class ProjectServiceImpl implements ProjectService {
     }
 
     @Override
+    @Transactional
     public ProjectResponse updateProjectStartDate(UUID id, LocalDateTime startDate) {
         Project project = projectRepositoryHelper.findByIdOrThrow(id);
         projectValidator.validateStartDate(startDate, project.getEndDate());
@@ -64,6 +89,7 @@ public class ProjectServiceImpl implements ProjectService {
     }
 
     @Override
+    @Transactional
     public ProjectResponse updateProjectEndDate(UUID id, LocalDateTime endDate) {
         Project project = projectRepositoryHelper.findByIdOrThrow(id);
         projectValidator.validateEndDate(project.getStartDate(), endDate);
@@ -73,6 +99,7 @@ public class ProjectServiceImpl implements ProjectService {
     }
 
     @Override
+    @Transactional
     public ProjectResponse updateProjectStatus(UUID id, ProjectStatus status) {
         Project project = projectRepositoryHelper.findByIdOrThrow(id);
         project.setStatus(status);
@@ -84,33 +111,87 @@ public class ProjectServiceImpl implements ProjectService {
     @LogOperation(description = "Getting project by ID")
     public ProjectResponse getProject(UUID id) {
         Project project = projectRepositoryHelper.findByIdOrThrow(id);
-        return projectMapper.toResponse(project);
+        ProjectResponse response = projectMapper.toResponse(project);
+        response.setProgress(statusRollupReader.progressOf(RollupScope.PRODUCT_BACKLOG, productBacklogIdOf(project)));
+        return response;
+    }
+
+    @Override
+    public void writeProjectTree(UUID id, OutputStream out) throws IOException {
+        projectTreeWriter.write(id, out);
+    }
+
+    @Override
+    public void writeProjectSnapshot(UUID id, OutputStream out) throws IOException {
+        snapshotExporter.export(id, out);
+    }
+
+    @Override
+    @LogOperation(description = "Restoring project snapshot")
+    public ProjectResponse restoreProjectSnapshot(InputStream in) throws IOException {
+        return getProject(snapshotRestorer.restore(in));
+    }
+
+    @Override
+    public BatchGetResponse<ProjectResponse> getProjectsByIds(List<UUID> ids) {
+        List<UUID> distinct = batchLookup.distinctIds(ids);
+        Map<UUID, Project> projects = batchLookup.findAll(distinct, projectRepository::findAllById, Project::getId);
+        Map<UUID, ProjectResponse> responses = toResponsesWithProgress(List.copyOf(projects.values())).stream()
+                .collect(Collectors.toMap(ProjectResponse::getId, Function.identity()));
+        return batchLookup.respond(distinct, responses, Function.identity());
     }
 
     @Override
     public List<ProjectResponse> getAllProjects(Pageable pageable) {
-        return projectRepository.findAll(pageable)
-                .stream()
-                .map(projectMapper::toResponse)
-                .toList();
+        return toResponsesWithProgress(projectRepository.findAll(pageable).getContent());
     }
 
     @Override
     public List<ProjectResponse> getProjectsByStatus(ProjectStatus status) {
-        return projectRepository.findByStatus(status)
-                .stream()
-                .map(projectMapper::toResponse)
-                .toList();
+        return toResponsesWithProgress(projectRepository.findByStatus(status));
     }
 
     @Override
     public List<ProjectResponse> getProjectsBetweenDates(LocalDateTime startDate, LocalDateTime endDate) {
-        return projectRepository.findByStartDateAfterAndEndDateBefore(startDate, endDate)
-                .stream()
-                .map(projectMapper::toResponse)
+        return toResponsesWithProgress(projectRepository.findByStartDateAfterAndEndDateBefore(startDate, endDate));
+    }
+
+    @Override
+    public List<ProjectResponse> getProjectsOverlapping(LocalDateTime from, LocalDateTime to) {
+        projectValidator.validateQueryWindow(from, to);
+        return toResponsesWithProgress(timelineIndex.findProjects(RangeMatch.OVERLAPS, from, to));
+    }
+
+    @Override
+    public List<ProjectResponse> getProjectsWithin(LocalDateTime from, LocalDateTime to) {
+        projectValidator.validateQueryWindow(from, to);
+        return toResponsesWithProgress(timelineIndex.findProjects(RangeMatch.WITHIN, from, to));
+    }
+
+    @Override
+    public List<ProjectResponse> getProjectsActiveAt(LocalDateTime at) {
+        return toResponsesWithProgress(timelineIndex.findProjects(RangeMatch.OVERLAPS, at, at));
+    }
+
+    private List<ProjectResponse> toResponsesWithProgress(List<Project> projects) {
+        Map<UUID, ProgressResponse> progress = statusRollupReader.progressOf(RollupScope.PRODUCT_BACKLOG,
+                projects.stream().map(this::productBacklogIdOf).filter(Objects::nonNull).toList());
+        return projects.stream()
+                .map(project -> {
+                    ProjectResponse response = projectMapper.toResponse(project);
+                    UUID productBacklogId = productBacklogIdOf(project);
+                    response.setProgress(productBacklogId != null
+                            ? progress.get(productBacklogId)
+                            : statusRollupReader.progressOf(RollupScope.PRODUCT_BACKLOG, productBacklogId));
+                    return response;
+                })
                 .toList();
     }
 
+    private UUID productBacklogIdOf(Project project) {
+        return project.getProductBacklog() != null ? project.getProductBacklog().getId() : null;
+    }
+
     @Override
     @Transactional
     public ProjectResponse assignProductBacklogToProject(UUID projectId, UUID productBacklogId) {
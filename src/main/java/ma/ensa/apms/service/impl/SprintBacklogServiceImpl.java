@@ -2,10 +2,16 @@ package ma.ensa.apms.service.impl;
 
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import ma.ensa.apms.batch.BatchLookup;
+import ma.ensa.apms.cache.ProductBacklogReadCache;
 import ma.ensa.apms.dto.Request.SprintBacklogRequest;
 import ma.ensa.apms.dto.Request.UserStoryRequest;
+import ma.ensa.apms.dto.Response.BatchGetResponse;
 import ma.ensa.apms.dto.Response.SprintBacklogResponse;
 import ma.ensa.apms.dto.Response.UserStoryResponse;
+import ma.ensa.apms.event.BoardEventHub;
+import ma.ensa.apms.event.BoardEventPublisher;
+import ma.ensa.apms.event.BoardSubscription;
 import ma.ensa.apms.mapper.SprintBacklogMapper;
 import ma.ensa.apms.mapper.UserStoryMapper;
 import ma.ensa.apms.modal.SprintBacklog;
@@ -15,6 +21,7 @@ import ma.ensa.apms.repository.UserStoryRepository;
 import ma.ensa.apms.service.SprintBacklogService;
 import ma.ensa.apms.service.helper.SprintBacklogRepositoryHelper;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 import java.util.UUID;
@@ -28,6 +35,10 @@ public class SprintBacklogServiceImpl implements SprintBacklogService {
     private final UserStoryMapper userStoryMapper;
     private final UserStoryRepository userStoryRepository;
     private final SprintBacklogRepositoryHelper sprintBacklogRepositoryHelper;
+    private final BoardEventPublisher boardEventPublisher;
+    private final BoardEventHub boardEventHub;
+    private final BatchLookup batchLookup;
+    private final ProductBacklogReadCache productBacklogReadCache;
 
     @Override
     @Transactional
@@ -43,6 +54,14 @@ public class SprintBacklogServiceImpl implements SprintBacklogService {
         return sprintBacklogMapper.toResponse(sprintBacklog);
     }
 
+    @Override
+    public BatchGetResponse<SprintBacklogResponse> getSprintBacklogsByIds(List<UUID> ids) {
+        List<UUID> distinct = batchLookup.distinctIds(ids);
+        return batchLookup.respond(distinct,
+                batchLookup.findAll(distinct, sprintBacklogRepository::findAllById, SprintBacklog::getId),
+                sprintBacklogMapper::toResponse);
+    }
+
     @Override
     public List<SprintBacklogResponse> getAllSprintBacklogs() {
         return sprintBacklogRepository.findAll().stream()
@@ -80,11 +99,13 @@ public class SprintBacklogServiceImpl implements SprintBacklogService {
     @Override
     @Transactional
     public UserStoryResponse addUserStoryToSprintBacklog(UUID sprintBacklogId, UserStoryRequest userStoryRequest) {
-        SprintBacklog sprintBacklog = sprintBacklogRepositoryHelper.findByIdOrThrow(sprintBacklogId);
+        SprintBacklog sprintBacklog = sprintBacklogRepositoryHelper.getReferenceOrThrow(sprintBacklogId);
 
         UserStory userStory = userStoryMapper.toEntity(userStoryRequest);
         userStory.setSprintBacklog(sprintBacklog);
         UserStory savedUserStory = userStoryRepository.save(userStory);
+        boardEventPublisher.storyAddedToSprint(savedUserStory);
+        evictProductBacklogs(savedUserStory);
 
         return userStoryMapper.toResponse(savedUserStory);
     }
@@ -101,6 +122,32 @@ public class SprintBacklogServiceImpl implements SprintBacklogService {
         }
 
         userStoryRepository.delete(userStory);
+        boardEventPublisher.storyRemovedFromSprint(userStory, sprintBacklogId);
+        evictProductBacklogs(userStory);
+    }
+
+    @Override
+    public SseEmitter streamBoardEvents(UUID sprintBacklogId) {
+        sprintBacklogRepositoryHelper.validateExists(sprintBacklogId);
+
+        SseEmitter emitter = new SseEmitter(boardEventHub.getEmitterTimeoutMillis());
+        BoardSubscription subscription = boardEventHub.subscribe(sprintBacklogId, event -> emitter.send(
+                SseEmitter.event()
+                        .name(event.getType().name())
+                        .data(event)), emitter::complete);
+        emitter.onCompletion(() -> boardEventHub.unsubscribe(subscription));
+        emitter.onTimeout(() -> boardEventHub.unsubscribe(subscription));
+        emitter.onError(error -> boardEventHub.unsubscribe(subscription));
+        return emitter;
+    }
+
+    private void evictProductBacklogs(UserStory story) {
+        if (story.getProductBacklog() != null) {
+            productBacklogReadCache.evict(story.getProductBacklog().getId());
+        }
+        if (story.getSprintBacklog() != null && story.getSprintBacklog().getProductBacklog() != null) {
+            productBacklogReadCache.evict(story.getSprintBacklog().getProductBacklog().getId());
+        }
     }
 
 }
\ No newline at end of file
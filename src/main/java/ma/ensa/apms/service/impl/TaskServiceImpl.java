@@ -1,7 +1,9 @@
 package ma.ensa.apms.service.impl;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -9,32 +11,52 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import lombok.RequiredArgsConstructor;
+import ma.ensa.apms.batch.BatchLookup;
+import ma.ensa.apms.dto.Response.BatchGetResponse;
 import ma.ensa.apms.dto.TaskEndDateUpdateDto;
 import ma.ensa.apms.dto.TaskRequestDto;
 import ma.ensa.apms.dto.TaskResponseDto;
 import ma.ensa.apms.dto.TaskStartDateUpdateDto;
 import ma.ensa.apms.dto.TaskStatusUpdateDto;
+import ma.ensa.apms.event.BoardEventPublisher;
 import ma.ensa.apms.mapper.TaskMapper;
 import ma.ensa.apms.modal.Task;
+import ma.ensa.apms.modal.UserStory;
 import ma.ensa.apms.modal.enums.TaskStatus;
+import ma.ensa.apms.projection.FieldSelection;
+import ma.ensa.apms.projection.SparseFieldsQuery;
 import ma.ensa.apms.repository.TaskRepository;
 import ma.ensa.apms.service.TaskService;
 import ma.ensa.apms.service.helper.TaskRepositoryHelper;
 import ma.ensa.apms.service.validator.TaskDateValidator;
+import ma.ensa.apms.timeline.RangeMatch;
+import ma.ensa.apms.timeline.TimelineIndex;
+import ma.ensa.apms.writebehind.WriteBehindBuffer;
 
 @Service
 @RequiredArgsConstructor
 public class TaskServiceImpl implements TaskService {
+    static final List<String> FIELDS = List.of("id", "title", "description", "status", "startDate", "endDate");
+    static final List<String> EXPANSIONS = List.of("userStory");
+
+    private static final List<String> USER_STORY_FIELDS = List.of("id", "name", "status");
+
     private final TaskRepository taskRepository;
     private final TaskMapper taskMapper;
     private final TaskRepositoryHelper taskRepositoryHelper;
     private final TaskDateValidator taskDateValidator;
+    private final BoardEventPublisher boardEventPublisher;
+    private final TimelineIndex timelineIndex;
+    private final SparseFieldsQuery sparseFieldsQuery;
+    private final BatchLookup batchLookup;
+    private final WriteBehindBuffer writeBehindBuffer;
 
     @Override
     @Transactional
     public TaskResponseDto createTask(TaskRequestDto taskDto) {
         Task task = taskMapper.toEntity(taskDto);
         Task savedTask = taskRepository.save(task);
+        boardEventPublisher.taskAdded(savedTask);
         return taskMapper.toDto(savedTask);
     }
 
@@ -52,6 +74,14 @@ public class TaskServiceImpl implements TaskService {
         return taskMapper.toDto(task);
     }
 
+    @Override
+    public BatchGetResponse<TaskResponseDto> getTasksByIds(List<UUID> ids) {
+        List<UUID> distinct = batchLookup.distinctIds(ids);
+        return batchLookup.respond(distinct,
+                batchLookup.findAll(distinct, taskRepository::findAllById, Task::getId),
+                taskMapper::toDto);
+    }
+
     @Override
     public List<TaskResponseDto> getTasksByStatus(TaskStatus status) {
         return taskRepository.findByStatus(status)
@@ -60,6 +90,36 @@ public class TaskServiceImpl implements TaskService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getAllTasks(FieldSelection selection) {
+        return selectTasks(null, null, selection);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getTasksByStatus(TaskStatus status, FieldSelection selection) {
+        return selectTasks("status", status, selection);
+    }
+
+    private List<Map<String, Object>> selectTasks(String filterPath, Object filterValue, FieldSelection selection) {
+        selection.validate(FIELDS, EXPANSIONS);
+        List<String> fields = selection.fieldsOr(FIELDS);
+        Map<String, String> columns = SparseFieldsQuery.columns(fields);
+        if (selection.expands("userStory")) {
+            columns.put("userStoryId", "userStory.id");
+        }
+        List<Map<String, Object>> rows = sparseFieldsQuery.select(Task.class, columns, filterPath, filterValue);
+        if (selection.expands("userStory")) {
+            sparseFieldsQuery.expandOne(rows, "userStoryId", "userStory", UserStory.class,
+                    SparseFieldsQuery.columns(USER_STORY_FIELDS));
+        }
+        List<String> output = new ArrayList<>(fields);
+        output.addAll(selection.expand());
+        rows.forEach(row -> row.keySet().retainAll(output));
+        return rows;
+    }
+
     @Override
     public List<TaskResponseDto> getTasksByDateRange(LocalDateTime startDate, LocalDateTime endDate) {
         return taskRepository.findByStartDateGreaterThanEqualAndEndDateLessThanEqual(startDate, endDate)
@@ -68,9 +128,33 @@ public class TaskServiceImpl implements TaskService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public List<TaskResponseDto> getTasksOverlapping(LocalDateTime from, LocalDateTime to) {
+        taskDateValidator.validateQueryWindow(from, to);
+        return toDtos(timelineIndex.findTasks(RangeMatch.OVERLAPS, from, to));
+    }
+
+    @Override
+    public List<TaskResponseDto> getTasksWithin(LocalDateTime from, LocalDateTime to) {
+        taskDateValidator.validateQueryWindow(from, to);
+        return toDtos(timelineIndex.findTasks(RangeMatch.WITHIN, from, to));
+    }
+
+    @Override
+    public List<TaskResponseDto> getTasksActiveAt(LocalDateTime at) {
+        return toDtos(timelineIndex.findTasks(RangeMatch.OVERLAPS, at, at));
+    }
+
+    private List<TaskResponseDto> toDtos(List<Task> tasks) {
+        return tasks.stream()
+                .map(taskMapper::toDto)
+                .collect(Collectors.toList());
+    }
+
     @Override
     @Transactional
     public TaskResponseDto updateTask(UUID id, TaskRequestDto taskDto) {
+        writeBehindBuffer.flush();
         Task existingTask = taskRepositoryHelper.findByIdOrThrow(id);
 
         Task updatedTask = taskMapper.toEntity(taskDto);
@@ -84,8 +168,15 @@ public class TaskServiceImpl implements TaskService {
     public TaskResponseDto updateTaskStatus(UUID id, TaskStatusUpdateDto statusDto) {
         Task task = taskRepositoryHelper.findByIdOrThrow(id);
 
+        TaskStatus previousStatus = task.getStatus();
+        if (writeBehindBuffer.isEnabled()) {
+            writeBehindBuffer.setTaskStatus(task, statusDto.getStatus());
+            boardEventPublisher.taskStatusChanged(task, previousStatus);
+            return taskMapper.toDto(task);
+        }
         task.setStatus(statusDto.getStatus());
         Task updatedTask = taskRepository.save(task);
+        boardEventPublisher.taskStatusChanged(updatedTask, previousStatus);
         return taskMapper.toDto(updatedTask);
     }
 
@@ -119,6 +210,7 @@ public class TaskServiceImpl implements TaskService {
     @Transactional
     public void deleteTask(UUID id) {
         Task task = taskRepositoryHelper.findByIdOrThrow(id);
+        boardEventPublisher.taskRemoved(task);
         taskRepository.delete(task);
     }
 }
@@ -1,6 +1,10 @@
 package ma.ensa.apms.service.impl;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
 
@@ -9,15 +13,25 @@ import org.springframework.transaction.annotation.Transactional;
 
 import lombok.RequiredArgsConstructor;
 import ma.ensa.apms.annotation.LogOperation;
+import ma.ensa.apms.batch.BatchLookup;
+import ma.ensa.apms.cache.ProductBacklogReadCache;
+import ma.ensa.apms.cache.SerializedResponseCache;
 import ma.ensa.apms.dto.Request.UserStoryRequest;
 import ma.ensa.apms.dto.Response.AcceptanceCriteriaResponse;
+import ma.ensa.apms.dto.Response.BatchGetResponse;
 import ma.ensa.apms.dto.Response.UserStoryResponse;
+import ma.ensa.apms.event.BoardEventPublisher;
 import ma.ensa.apms.mapper.AcceptanceCriteriaMapper;
 import ma.ensa.apms.mapper.UserStoryMapper;
+import ma.ensa.apms.modal.AcceptanceCriteria;
 import ma.ensa.apms.modal.Epic;
 import ma.ensa.apms.modal.SprintBacklog;
+import ma.ensa.apms.modal.Task;
 import ma.ensa.apms.modal.UserStory;
 import ma.ensa.apms.modal.enums.UserStoryStatus;
+import ma.ensa.apms.projection.FieldSelection;
+import ma.ensa.apms.projection.SparseFieldsQuery;
+import ma.ensa.apms.ranking.BacklogRanks;
 import ma.ensa.apms.repository.UserStoryRepository;
 import ma.ensa.apms.service.UserStoryService;
 import ma.ensa.apms.service.helper.UserStoryRepositoryHelper;
@@ -71,11 +85,26 @@ import ma.ensa.apms.service.validator.UserStoryValidator;
 @RequiredArgsConstructor
 public class UserStoryServiceImpl implements UserStoryService {
 
+    static final List<String> FIELDS = List.of("id", "name", "role", "feature", "benefit", "priority", "status",
+            "rank");
+    static final List<String> EXPANSIONS = List.of("tasks", "acceptanceCriteria", "epic");
+
+    private static final List<String> TASK_FIELDS = List.of("id", "title", "description", "status", "startDate",
+            "endDate");
+    private static final List<String> ACCEPTANCE_CRITERIA_FIELDS = List.of("id", "given", "when", "then", "met");
+    private static final List<String> EPIC_FIELDS = List.of("id", "name", "description");
+
     private final UserStoryRepository userStoryRepository;
     private final UserStoryMapper userStoryMapper;
     private final AcceptanceCriteriaMapper acceptanceCriteriaMapper;
     private final UserStoryRepositoryHelper repositoryHelper;
     private final UserStoryValidator validator;
+    private final BoardEventPublisher boardEventPublisher;
+    private final SparseFieldsQuery sparseFieldsQuery;
+    private final BatchLookup batchLookup;
+    private final SerializedResponseCache responseCache;
+    private final ProductBacklogReadCache productBacklogReadCache;
+    private final BacklogRanks backlogRanks;
 
     /**
      * Create a new user story
@@ -90,7 +119,11 @@ public class UserStoryServiceImpl implements UserStoryService {
     public UserStoryResponse create(UserStoryRequest dto) {
         UserStory us = userStoryMapper.toEntity(dto);
         us.setStatus(UserStoryStatus.TODO);
+        if (us.getProductBacklog() != null) {
+            us.setRank(backlogRanks.rankLast(us.getProductBacklog().getId()));
+        }
         userStoryRepository.save(us);
+        evictProductBacklogs(us);
         return userStoryMapper.toResponse(us);
     }
 
@@ -108,6 +141,7 @@ public class UserStoryServiceImpl implements UserStoryService {
         UserStory us = repositoryHelper.findUserStoryById(id);
         userStoryMapper.updateEntityFromDto(dto, us);
         userStoryRepository.save(us);
+        evictProductBacklogs(us);
         return userStoryMapper.toResponse(us);
     }
 
@@ -125,6 +159,35 @@ public class UserStoryServiceImpl implements UserStoryService {
         return userStoryMapper.toResponse(us);
     }
 
+    /**
+     * Write a user story as JSON, from its cached serialized response when it
+     * matches the story version
+     * 
+     * @param id  the id of the user story
+     * @param out the response stream
+     * @throws ResourceNotFoundException if the user story is not found
+     */
+    @Override
+    public void writeUserStoryById(UUID id, OutputStream out) throws IOException {
+        UserStory us = repositoryHelper.findUserStoryById(id);
+        responseCache.writeObject(out, fragmentKey(us), us, userStoryMapper::toResponse);
+    }
+
+    /**
+     * Get several user stories by id
+     * 
+     * @param ids the ids of the user stories
+     * @return the found user stories in request order, and the missing ids
+     * @throws BusinessException if the list is empty or too long
+     */
+    @Override
+    public BatchGetResponse<UserStoryResponse> getUserStoriesByIds(List<UUID> ids) {
+        List<UUID> distinct = batchLookup.distinctIds(ids);
+        return batchLookup.respond(distinct,
+                batchLookup.findAll(distinct, userStoryRepository::findAllById, UserStory::getId),
+                userStoryMapper::toResponse);
+    }
+
     /**
      * Change the status of a user story
      * 
@@ -140,8 +203,12 @@ public class UserStoryServiceImpl implements UserStoryService {
         if (newStatus == UserStoryStatus.DONE) {
             validator.validateCanMarkAsDone(story);
         }
+        UserStoryStatus previousStatus = story.getStatus();
         story.setStatus(newStatus);
-        return userStoryMapper.toResponse(userStoryRepository.save(story));
+        UserStory saved = userStoryRepository.save(story);
+        boardEventPublisher.storyStatusChanged(saved, previousStatus);
+        evictProductBacklogs(saved);
+        return userStoryMapper.toResponse(saved);
     }
 
     /**
@@ -160,7 +227,9 @@ public class UserStoryServiceImpl implements UserStoryService {
         Epic epic = repositoryHelper.findEpicById(epicId);
         validator.validateCanLinkToEpic(story);
         story.setEpic(epic);
-        return userStoryMapper.toResponse(userStoryRepository.save(story));
+        UserStory saved = userStoryRepository.save(story);
+        evictProductBacklogs(saved);
+        return userStoryMapper.toResponse(saved);
     }
 
     /**
@@ -176,9 +245,14 @@ public class UserStoryServiceImpl implements UserStoryService {
     public UserStoryResponse moveToSprint(UUID usId, UUID sprintId) {
         UserStory us = repositoryHelper.findUserStoryById(usId);
         SprintBacklog sprint = repositoryHelper.findSprintBacklogById(sprintId);
+        UUID previousSprintId = us.getSprintBacklog() != null ? us.getSprintBacklog().getId() : null;
+        evictProductBacklogs(us);
         us.setSprintBacklog(sprint);
         us.setProductBacklog(null);
-        return userStoryMapper.toResponse(userStoryRepository.save(us));
+        UserStory saved = userStoryRepository.save(us);
+        boardEventPublisher.storyMovedToSprint(saved, previousSprintId);
+        evictProductBacklogs(saved);
+        return userStoryMapper.toResponse(saved);
     }
 
     /**
@@ -189,6 +263,7 @@ public class UserStoryServiceImpl implements UserStoryService {
      * @throws ResourceNotFoundException if the user story is not found
      */
     @Override
+    @Transactional(readOnly = true)
     public List<AcceptanceCriteriaResponse> getAcceptanceCriteriasByUserStoryId(UUID id) {
         UserStory us = repositoryHelper.findUserStoryById(id);
         return us.getAcceptanceCriterias().stream()
@@ -205,15 +280,34 @@ public class UserStoryServiceImpl implements UserStoryService {
     @Override
     public List<UserStoryResponse> getUserStoriesByStatusAndProductBacklogId(UserStoryStatus statut,
             UUID productBacklogId) {
-        Objects.requireNonNull(statut, "Status is required");
-        Objects.requireNonNull(productBacklogId, "Product Backlog ID is required");
-        repositoryHelper.validateProductBacklogExists(productBacklogId);
-        return userStoryRepository.findByStatusAndProductBacklogId(statut, productBacklogId)
+        return findUserStoriesByStatusAndProductBacklogId(statut, productBacklogId)
                 .stream()
                 .map(userStoryMapper::toResponse)
                 .toList();
     }
 
+    /**
+     * Write the user stories of a product backlog with a status as a JSON
+     * array of their serialized responses
+     * 
+     * @param statut           the status of the user stories to write
+     * @param productBacklogId the id of the product backlog
+     * @param out              the response stream
+     */
+    @Override
+    public void writeUserStoriesByStatusAndProductBacklogId(UserStoryStatus statut, UUID productBacklogId,
+            OutputStream out) throws IOException {
+        writeUserStories(out, findUserStoriesByStatusAndProductBacklogId(statut, productBacklogId));
+    }
+
+    private List<UserStory> findUserStoriesByStatusAndProductBacklogId(UserStoryStatus statut,
+            UUID productBacklogId) {
+        Objects.requireNonNull(statut, "Status is required");
+        Objects.requireNonNull(productBacklogId, "Product Backlog ID is required");
+        repositoryHelper.validateProductBacklogExists(productBacklogId);
+        return userStoryRepository.findByStatusAndProductBacklogId(statut, productBacklogId);
+    }
+
     /**
      * Get all user stories by epic
      * 
@@ -222,14 +316,18 @@ public class UserStoryServiceImpl implements UserStoryService {
      */
     @Override
     public List<UserStoryResponse> getUserStoriesByEpicId(UUID epicId) {
-        Objects.requireNonNull(epicId, "Epic ID is required");
-        repositoryHelper.findEpicById(epicId);
-        return userStoryRepository.findByEpicId(epicId)
+        return findUserStoriesByEpicId(epicId)
                 .stream()
                 .map(userStoryMapper::toResponse)
                 .toList();
     }
 
+    private List<UserStory> findUserStoriesByEpicId(UUID epicId) {
+        Objects.requireNonNull(epicId, "Epic ID is required");
+        repositoryHelper.findEpicById(epicId);
+        return userStoryRepository.findByEpicId(epicId);
+    }
+
     /**
      * Get all user stories by sprint
      * 
@@ -238,13 +336,161 @@ public class UserStoryServiceImpl implements UserStoryService {
      */
     @Override
     public List<UserStoryResponse> getUserStoriesBySprintBacklogId(UUID sprintId) {
-        Objects.requireNonNull(sprintId, "Sprint ID is required");
-        return userStoryRepository.findBySprintBacklogId(sprintId)
+        return findUserStoriesBySprintBacklogId(sprintId)
                 .stream()
                 .map(userStoryMapper::toResponse)
                 .toList();
     }
 
+    private List<UserStory> findUserStoriesBySprintBacklogId(UUID sprintId) {
+        Objects.requireNonNull(sprintId, "Sprint ID is required");
+        return userStoryRepository.findBySprintBacklogId(sprintId);
+    }
+
+    /**
+     * Get the requested fields and expansions of the user stories of an epic
+     * 
+     * @param epicId    the id of the epic to get user stories for
+     * @param selection the requested fields and expansions
+     * @return one row per user story
+     * @throws BusinessException if a field or expansion is unknown
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getUserStoriesByEpicId(UUID epicId, FieldSelection selection) {
+        Objects.requireNonNull(epicId, "Epic ID is required");
+        selection.validate(FIELDS, EXPANSIONS);
+        repositoryHelper.findEpicById(epicId);
+        return selectUserStories("epic.id", epicId, selection);
+    }
+
+    /**
+     * Get the requested fields and expansions of the user stories of a sprint
+     * 
+     * @param sprintId  the id of the sprint to get user stories for
+     * @param selection the requested fields and expansions
+     * @return one row per user story
+     * @throws BusinessException if a field or expansion is unknown
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getUserStoriesBySprintBacklogId(UUID sprintId, FieldSelection selection) {
+        Objects.requireNonNull(sprintId, "Sprint ID is required");
+        selection.validate(FIELDS, EXPANSIONS);
+        return selectUserStories("sprintBacklog.id", sprintId, selection);
+    }
+
+    /**
+     * Write the user stories of an epic as JSON, limited to the requested
+     * fields and expansions
+     * 
+     * @param epicId    the id of the epic to write user stories for
+     * @param selection the requested fields and expansions, possibly empty
+     * @param out       the response stream
+     * @throws BusinessException if a field or expansion is unknown
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void writeUserStoriesByEpicId(UUID epicId, FieldSelection selection, OutputStream out)
+            throws IOException {
+        if (selection.isEmpty()) {
+            writeUserStories(out, findUserStoriesByEpicId(epicId));
+            return;
+        }
+        Objects.requireNonNull(epicId, "Epic ID is required");
+        selection.validate(FIELDS, EXPANSIONS);
+        repositoryHelper.findEpicById(epicId);
+        writeSelectedUserStories(out, "epic.id", epicId, selection);
+    }
+
+    /**
+     * Write the user stories of a sprint as JSON, limited to the requested
+     * fields and expansions
+     * 
+     * @param sprintId  the id of the sprint to write user stories for
+     * @param selection the requested fields and expansions, possibly empty
+     * @param out       the response stream
+     * @throws BusinessException if a field or expansion is unknown
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void writeUserStoriesBySprintBacklogId(UUID sprintId, FieldSelection selection, OutputStream out)
+            throws IOException {
+        if (selection.isEmpty()) {
+            writeUserStories(out, findUserStoriesBySprintBacklogId(sprintId));
+            return;
+        }
+        Objects.requireNonNull(sprintId, "Sprint ID is required");
+        selection.validate(FIELDS, EXPANSIONS);
+        writeSelectedUserStories(out, "sprintBacklog.id", sprintId, selection);
+    }
+
+    private void writeUserStories(OutputStream out, List<UserStory> stories) throws IOException {
+        responseCache.writeArray(out, stories, UserStoryServiceImpl::fragmentKey, userStoryMapper::toResponse);
+    }
+
+    private static SerializedResponseCache.Key fragmentKey(UserStory story) {
+        return SerializedResponseCache.Key.of(UserStoryResponse.class, story.getId(), story.getVersion());
+    }
+
+    /**
+     * Write the requested user story columns. Rows without expansions are
+     * cached per field set: their ID and version are selected to key them and
+     * dropped before serialization. Expanded rows are written as they are.
+     */
+    private void writeSelectedUserStories(OutputStream out, String filterPath, UUID filterValue,
+            FieldSelection selection) throws IOException {
+        if (!selection.expand().isEmpty()) {
+            responseCache.writeUncached(out, selectUserStories(filterPath, filterValue, selection));
+            return;
+        }
+        List<String> fields = selection.fieldsOr(FIELDS);
+        Map<String, String> columns = SparseFieldsQuery.columns(fields);
+        columns.putIfAbsent("id", "id");
+        columns.put("version", "version");
+        String fieldSet = String.join(",", fields);
+        responseCache.writeArray(out, sparseFieldsQuery.select(UserStory.class, columns, filterPath, filterValue),
+                row -> new SerializedResponseCache.Key(UserStoryResponse.class, (UUID) row.get("id"),
+                        (Long) row.get("version"), fieldSet),
+                row -> {
+                    row.keySet().retainAll(fields);
+                    return row;
+                });
+    }
+
+    /**
+     * Select the requested user story columns, then batch-load the requested
+     * expansions. The story and epic IDs needed by the expansions are selected
+     * as well and dropped from the output unless requested.
+     */
+    private List<Map<String, Object>> selectUserStories(String filterPath, UUID filterValue,
+            FieldSelection selection) {
+        List<String> fields = selection.fieldsOr(FIELDS);
+        Map<String, String> columns = SparseFieldsQuery.columns(fields);
+        columns.putIfAbsent("id", "id");
+        if (selection.expands("epic")) {
+            columns.put("epicId", "epic.id");
+        }
+        List<Map<String, Object>> rows = sparseFieldsQuery.select(UserStory.class, columns, filterPath, filterValue);
+
+        if (selection.expands("tasks")) {
+            sparseFieldsQuery.expandMany(rows, "id", "tasks", Task.class, SparseFieldsQuery.columns(TASK_FIELDS),
+                    "userStory.id");
+        }
+        if (selection.expands("acceptanceCriteria")) {
+            sparseFieldsQuery.expandMany(rows, "id", "acceptanceCriteria", AcceptanceCriteria.class,
+                    SparseFieldsQuery.columns(ACCEPTANCE_CRITERIA_FIELDS), "userStory.id");
+        }
+        if (selection.expands("epic")) {
+            sparseFieldsQuery.expandOne(rows, "epicId", "epic", Epic.class, SparseFieldsQuery.columns(EPIC_FIELDS));
+        }
+
+        List<String> output = new ArrayList<>(fields);
+        output.addAll(selection.expand());
+        rows.forEach(row -> row.keySet().retainAll(output));
+        return rows;
+    }
+
     /**
      * Delete a user story
      * 
@@ -258,6 +504,25 @@ public class UserStoryServiceImpl implements UserStoryService {
     public void delete(UUID id) {
         UserStory story = repositoryHelper.findUserStoryById(id);
         validator.validateCanDelete(story);
+        evictProductBacklogs(story);
+        if (story.getSprintBacklog() != null) {
+            // Its tasks go with it: the sprint is resynced rather than sent
+            // one event per task
+            boardEventPublisher.storyRemovedFromSprint(story, story.getSprintBacklog().getId());
+        }
         userStoryRepository.deleteById(id);
     }
+
+    /**
+     * Evict the cached reads of the product backlog holding a story, directly
+     * or through its sprint, whose lists, counts and progress include it
+     */
+    private void evictProductBacklogs(UserStory story) {
+        if (story.getProductBacklog() != null) {
+            productBacklogReadCache.evict(story.getProductBacklog().getId());
+        }
+        if (story.getSprintBacklog() != null && story.getSprintBacklog().getProductBacklog() != null) {
+            productBacklogReadCache.evict(story.getSprintBacklog().getProductBacklog().getId());
+        }
+    }
 }
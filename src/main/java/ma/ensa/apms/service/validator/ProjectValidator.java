@@ -40,6 +40,19 @@ public class ProjectValidator {
         }
     }
 
+    /**
+     * Validate that a query window does not end before it starts
+     *
+     * @param from the window start
+     * @param to   the window end
+     * @throws BusinessException if the window ends before it starts
+     */
+    public void validateQueryWindow(LocalDateTime from, LocalDateTime to) {
+        if (to.isBefore(from)) {
+            throw new BusinessException("The end of the range cannot be before its start");
+        }
+    }
+
     /**
      * Validate that project doesn't already have a product backlog assigned
      *
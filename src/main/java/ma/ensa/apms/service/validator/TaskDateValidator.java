@@ -20,6 +20,7 @@ import ma.ensa.apms.exception.BusinessException;
  * <ul>
  * <li>Validate start date against end date</li>
  * <li>Validate end date against start date</li>
+ * <li>Validate date-range query windows</li>
  * <li>Centralized date validation error messages</li>
  * </ul>
  * 
@@ -55,4 +56,17 @@ public class TaskDateValidator {
             throw new BusinessException("End date cannot be before the start date");
         }
     }
+
+    /**
+     * Validates that a query window does not end before it starts.
+     * 
+     * @param from the window start
+     * @param to   the window end
+     * @throws BusinessException if the window ends before it starts
+     */
+    public void validateQueryWindow(LocalDateTime from, LocalDateTime to) {
+        if (to.isBefore(from)) {
+            throw new BusinessException("The end of the range cannot be before its start");
+        }
+    }
 }
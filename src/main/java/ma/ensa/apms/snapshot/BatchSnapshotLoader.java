@@ -0,0 +1,113 @@
+package ma.ensa.apms.snapshot;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.support.SQLExceptionSubclassTranslator;
+import org.springframework.jdbc.support.SQLExceptionTranslator;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Snapshot loader sending JDBC insert batches, used where {@code COPY} is not
+ * available (H2).
+ */
+@Component
+@ConditionalOnProperty(name = "apms.snapshot.loader", havingValue = "batch", matchIfMissing = true)
+@RequiredArgsConstructor
+public class BatchSnapshotLoader implements SnapshotLoader {
+
+    static final int BATCH_SIZE = 1_000;
+
+    private final DataSource dataSource;
+    private final SQLExceptionTranslator exceptionTranslator = new SQLExceptionSubclassTranslator();
+
+    @Override
+    public TableLoad open(SnapshotTable table) {
+        String sql = "insert into " + table.tableName() + " (" + table.columnList() + ") values ("
+                + String.join(", ", Collections.nCopies(table.columns().size() + 1, "?")) + ")";
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            return new BatchLoad(connection, connection.prepareStatement(sql), sql);
+        } catch (SQLException e) {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+            throw translate(sql, e);
+        }
+    }
+
+    private DataAccessException translate(String sql, SQLException e) {
+        return exceptionTranslator.translate("Snapshot restore", sql, e);
+    }
+
+    private final class BatchLoad implements TableLoad {
+
+        private final Connection connection;
+        private final PreparedStatement statement;
+        private final String sql;
+        private int pending;
+        private long rows;
+        private boolean closed;
+
+        private BatchLoad(Connection connection, PreparedStatement statement, String sql) {
+            this.connection = connection;
+            this.statement = statement;
+            this.sql = sql;
+        }
+
+        @Override
+        public void add(UUID id, Object[] values) {
+            try {
+                statement.setObject(1, id);
+                for (int i = 0; i < values.length; i++) {
+                    statement.setObject(i + 2, values[i]);
+                }
+                statement.addBatch();
+                rows++;
+                if (++pending == BATCH_SIZE) {
+                    statement.executeBatch();
+                    pending = 0;
+                }
+            } catch (SQLException e) {
+                throw translate(sql, e);
+            }
+        }
+
+        @Override
+        public long finish() {
+            try {
+                if (pending > 0) {
+                    statement.executeBatch();
+                }
+                return rows;
+            } catch (SQLException e) {
+                throw translate(sql, e);
+            } finally {
+                abort();
+            }
+        }
+
+        @Override
+        public void abort() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                statement.close();
+            } catch (SQLException e) {
+                // nothing left to release on this statement
+            } finally {
+                DataSourceUtils.releaseConnection(connection, dataSource);
+            }
+        }
+    }
+}
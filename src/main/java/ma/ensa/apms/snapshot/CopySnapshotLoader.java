@@ -0,0 +1,155 @@
+package ma.ensa.apms.snapshot;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.support.SQLExceptionSubclassTranslator;
+import org.springframework.jdbc.support.SQLExceptionTranslator;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * PostgreSQL snapshot loader, streaming each table through
+ * {@code COPY ... FROM STDIN} in text format.
+ *
+ * <p>
+ * Rows are escaped into a buffer that is handed to the driver whenever it
+ * exceeds {@link #FLUSH_SIZE} characters, so a table of any size is loaded
+ * with one statement and a bounded amount of memory.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(name = "apms.snapshot.loader", havingValue = "copy")
+@RequiredArgsConstructor
+public class CopySnapshotLoader implements SnapshotLoader {
+
+    static final int FLUSH_SIZE = 64 * 1024;
+
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSSSSS");
+
+    private final DataSource dataSource;
+    private final SQLExceptionTranslator exceptionTranslator = new SQLExceptionSubclassTranslator();
+
+    @Override
+    public TableLoad open(SnapshotTable table) {
+        String sql = "COPY " + table.tableName() + " (" + table.columnList() + ") FROM STDIN";
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            return new CopyLoad(connection, connection.unwrap(PGConnection.class).getCopyAPI().copyIn(sql), sql);
+        } catch (SQLException e) {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+            throw translate(sql, e);
+        }
+    }
+
+    private DataAccessException translate(String sql, SQLException e) {
+        return exceptionTranslator.translate("Snapshot restore", sql, e);
+    }
+
+    /**
+     * Append a value in the text format of {@code COPY}: {@code \N} for null,
+     * backslash, tab and line breaks escaped
+     */
+    static void appendValue(StringBuilder line, Object value) {
+        if (value == null) {
+            line.append("\\N");
+        } else if (value instanceof Boolean bool) {
+            line.append(bool ? 't' : 'f');
+        } else if (value instanceof LocalDateTime timestamp) {
+            TIMESTAMP.formatTo(timestamp, line);
+        } else {
+            String text = value.toString();
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                switch (c) {
+                    case '\\' -> line.append("\\\\");
+                    case '\t' -> line.append("\\t");
+                    case '\n' -> line.append("\\n");
+                    case '\r' -> line.append("\\r");
+                    default -> line.append(c);
+                }
+            }
+        }
+    }
+
+    private final class CopyLoad implements TableLoad {
+
+        private final Connection connection;
+        private final CopyIn copy;
+        private final String sql;
+        private final StringBuilder buffer = new StringBuilder(FLUSH_SIZE + 1024);
+        private boolean closed;
+
+        private CopyLoad(Connection connection, CopyIn copy, String sql) {
+            this.connection = connection;
+            this.copy = copy;
+            this.sql = sql;
+        }
+
+        @Override
+        public void add(UUID id, Object[] values) {
+            buffer.append(id);
+            for (Object value : values) {
+                buffer.append('\t');
+                appendValue(buffer, value);
+            }
+            buffer.append('\n');
+            if (buffer.length() >= FLUSH_SIZE) {
+                flush();
+            }
+        }
+
+        private void flush() {
+            byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+            buffer.setLength(0);
+            try {
+                copy.writeToCopy(bytes, 0, bytes.length);
+            } catch (SQLException e) {
+                throw translate(sql, e);
+            }
+        }
+
+        @Override
+        public long finish() {
+            try {
+                if (buffer.length() > 0) {
+                    flush();
+                }
+                return copy.endCopy();
+            } catch (SQLException e) {
+                throw translate(sql, e);
+            } finally {
+                abort();
+            }
+        }
+
+        @Override
+        public void abort() {
+            if (closed) {
+                return;
+            }
+            try {
+                if (copy.isActive()) {
+                    copy.cancelCopy();
+                }
+            } catch (SQLException e) {
+                // the transaction is rolled back anyway
+            } finally {
+                closed = true;
+                DataSourceUtils.releaseConnection(connection, dataSource);
+            }
+        }
+    }
+}
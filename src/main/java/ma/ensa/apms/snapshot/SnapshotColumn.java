@@ -0,0 +1,54 @@
+package ma.ensa.apms.snapshot;
+
+/**
+ * Column of a snapshot table, besides the implicit {@code id}.
+ *
+ * @param name       the database column
+ * @param type       how its values are encoded
+ * @param references the table a {@link Type#REF} column points to, null
+ *                   otherwise
+ */
+public record SnapshotColumn(String name, Type type, SnapshotTable references) {
+
+    /**
+     * Encoding of a column value
+     */
+    public enum Type {
+        /** Length-prefixed UTF-8 string */
+        TEXT,
+        /** String from a small set, such as an enum, written once then by index */
+        SYMBOL,
+        /** Zigzag varint */
+        INT,
+        /** One byte */
+        BOOL,
+        /** Varint of epoch microseconds, without time zone */
+        TIMESTAMP,
+        /** Varint of the ordinal of a row written earlier in the snapshot */
+        REF
+    }
+
+    static SnapshotColumn text(String name) {
+        return new SnapshotColumn(name, Type.TEXT, null);
+    }
+
+    static SnapshotColumn symbol(String name) {
+        return new SnapshotColumn(name, Type.SYMBOL, null);
+    }
+
+    static SnapshotColumn integer(String name) {
+        return new SnapshotColumn(name, Type.INT, null);
+    }
+
+    static SnapshotColumn bool(String name) {
+        return new SnapshotColumn(name, Type.BOOL, null);
+    }
+
+    static SnapshotColumn timestamp(String name) {
+        return new SnapshotColumn(name, Type.TIMESTAMP, null);
+    }
+
+    static SnapshotColumn ref(String name, SnapshotTable references) {
+        return new SnapshotColumn(name, Type.REF, references);
+    }
+}
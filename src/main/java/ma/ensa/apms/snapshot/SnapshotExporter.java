@@ -0,0 +1,154 @@
+package ma.ensa.apms.snapshot;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.persistence.EntityNotFoundException;
+
+/**
+ * Streams the snapshot of a project: the project, its product backlog, the
+ * sprints and epics of the backlog, the stories planned in the backlog or
+ * attached to one of those sprints or epics, and the tasks and acceptance
+ * criteria of these stories.
+ *
+ * <p>
+ * Each table is read with one plain JDBC query, row by row with a fetch size,
+ * inside a single read-only repeatable-read transaction so the snapshot is
+ * consistent. A reference to a row outside the snapshot, such as the epic of
+ * another backlog, is written as null. An error once the snapshot has started
+ * leaves it without its end block, which a restore rejects.
+ * </p>
+ */
+@Component
+public class SnapshotExporter {
+
+    static final int FETCH_SIZE = 1_000;
+
+    private static final String STORY_SCOPE = "us.product_backlog_id = ? "
+            + "or us.epic_id in (select e.id from epic e where e.product_backlog_id = ?) "
+            + "or us.sprint_backlog_id in (select s.id from sprint_backlog s where s.product_backlog_id = ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transaction;
+
+    public SnapshotExporter(DataSource dataSource, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(FETCH_SIZE);
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.transaction.setReadOnly(true);
+        this.transaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    }
+
+    /**
+     * Write the snapshot of a project
+     *
+     * @param projectId the project ID
+     * @param out       the stream to write to, left open
+     * @return the number of rows written
+     * @throws EntityNotFoundException if the project does not exist, before
+     *                                 anything is written
+     */
+    public long export(UUID projectId, OutputStream out) throws IOException {
+        try {
+            Long rows = transaction.execute(status -> {
+                try {
+                    return exportInTransaction(projectId, out);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            return rows == null ? 0 : rows;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private long exportInTransaction(UUID projectId, OutputStream out) throws IOException {
+        List<UUID> backlog = jdbcTemplate.queryForList("select product_backlog_id from project where id = ?",
+                UUID.class, projectId);
+        if (backlog.isEmpty()) {
+            throw new EntityNotFoundException("Project not found");
+        }
+        UUID productBacklogId = backlog.get(0);
+
+        SnapshotWriter writer = new SnapshotWriter(out);
+        Map<SnapshotTable, Map<UUID, Integer>> ordinals = new EnumMap<>(SnapshotTable.class);
+        for (SnapshotTable table : SnapshotTable.values()) {
+            if (table != SnapshotTable.PROJECT && productBacklogId == null) {
+                continue;
+            }
+            Map<UUID, Integer> written = table.isReferenced() ? new HashMap<>() : null;
+            ordinals.put(table, written);
+            jdbcTemplate.query("select " + table.columnList() + " from " + table.tableName() + " t where "
+                    + scope(table), rs -> {
+                        UUID id = rs.getObject("id", UUID.class);
+                        if (written != null) {
+                            written.put(id, written.size());
+                        }
+                        try {
+                            writer.write(table, values(table, rs, ordinals));
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    }, arguments(table, projectId, productBacklogId));
+        }
+        return writer.finish();
+    }
+
+    private static String scope(SnapshotTable table) {
+        return switch (table) {
+            case PRODUCT_BACKLOG, PROJECT -> "t.id = ?";
+            case SPRINT_BACKLOG, EPIC -> "t.product_backlog_id = ?";
+            case USER_STORY -> "t.id in (select us.id from user_story us where " + STORY_SCOPE + ")";
+            case TASK, ACCEPTANCE_CRITERIA -> "t.user_story_id in (select us.id from user_story us where "
+                    + STORY_SCOPE + ")";
+        };
+    }
+
+    private static Object[] arguments(SnapshotTable table, UUID projectId, UUID productBacklogId) {
+        return switch (table) {
+            case PROJECT -> new Object[] { projectId };
+            case PRODUCT_BACKLOG, SPRINT_BACKLOG, EPIC -> new Object[] { productBacklogId };
+            case USER_STORY, TASK, ACCEPTANCE_CRITERIA -> new Object[] { productBacklogId, productBacklogId,
+                    productBacklogId };
+        };
+    }
+
+    private static Object[] values(SnapshotTable table, ResultSet rs, Map<SnapshotTable, Map<UUID, Integer>> ordinals)
+            throws SQLException {
+        List<SnapshotColumn> columns = table.columns();
+        Object[] values = new Object[columns.size()];
+        for (int i = 0; i < values.length; i++) {
+            SnapshotColumn column = columns.get(i);
+            values[i] = switch (column.type()) {
+                case TEXT, SYMBOL -> rs.getString(column.name());
+                case INT -> rs.getInt(column.name());
+                case BOOL -> rs.getBoolean(column.name());
+                case TIMESTAMP -> rs.getObject(column.name(), LocalDateTime.class);
+                case REF -> {
+                    UUID id = rs.getObject(column.name(), UUID.class);
+                    Map<UUID, Integer> referenced = ordinals.get(column.references());
+                    yield id == null || referenced == null ? null : referenced.get(id);
+                }
+            };
+        }
+        return values;
+    }
+}
@@ -0,0 +1,52 @@
+package ma.ensa.apms.snapshot;
+
+import java.util.UUID;
+
+/**
+ * Bulk insertion of restored snapshot rows, one table at a time.
+ *
+ * <p>
+ * Selected with {@code apms.snapshot.loader}: {@code copy} streams the rows
+ * through PostgreSQL {@code COPY}, {@code batch} (the default, used with H2)
+ * sends JDBC insert batches. Both write on the connection of the current
+ * transaction.
+ * </p>
+ */
+public interface SnapshotLoader {
+
+    /**
+     * Start loading the rows of a table; must run in a transaction
+     *
+     * @param table the table
+     * @return the load, to be finished or aborted before the next one starts
+     */
+    TableLoad open(SnapshotTable table);
+
+    /**
+     * Rows being loaded into one table
+     */
+    interface TableLoad {
+
+        /**
+         * Add a row
+         *
+         * @param id     the row ID
+         * @param values the column values in {@link SnapshotTable#columns()}
+         *               order, references given as IDs
+         */
+        void add(UUID id, Object[] values);
+
+        /**
+         * Write the remaining rows and release the statement
+         *
+         * @return the number of rows loaded
+         */
+        long finish();
+
+        /**
+         * Give up the load after a failure, leaving the connection usable for
+         * the rollback
+         */
+        void abort();
+    }
+}
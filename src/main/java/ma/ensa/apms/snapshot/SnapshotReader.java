@@ -0,0 +1,239 @@
+package ma.ensa.apms.snapshot;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import ma.ensa.apms.exception.BusinessException;
+
+/**
+ * Decodes a snapshot written by {@link SnapshotWriter}, one row at a time.
+ */
+public class SnapshotReader implements AutoCloseable {
+
+    private static final SnapshotTable[] TABLES = SnapshotTable.values();
+    private static final int MAX_BLOCK_SIZE = 64 * 1024 * 1024;
+
+    private final InputStream in;
+    private final Inflater inflater = new Inflater();
+    private final List<String> symbols = new ArrayList<>();
+    private final int[] ordinals = new int[TABLES.length];
+    private byte[] compressed = new byte[SnapshotWriter.BLOCK_SIZE];
+    private byte[] block = new byte[SnapshotWriter.BLOCK_SIZE];
+    private int position;
+    private int limit;
+    private boolean ended;
+
+    /**
+     * @param in the snapshot stream
+     * @throws BusinessException if the stream is not a snapshot of a supported
+     *                           version
+     */
+    public SnapshotReader(InputStream in) throws IOException {
+        this.in = in;
+        byte[] header = in.readNBytes(SnapshotWriter.MAGIC.length + 1);
+        if (header.length != SnapshotWriter.MAGIC.length + 1
+                || !Arrays.equals(header, 0, SnapshotWriter.MAGIC.length, SnapshotWriter.MAGIC, 0,
+                        SnapshotWriter.MAGIC.length)
+                || header[SnapshotWriter.MAGIC.length] != SnapshotWriter.VERSION) {
+            throw new BusinessException("Not a project snapshot");
+        }
+    }
+
+    /**
+     * A decoded row
+     *
+     * @param table   the table of the row
+     * @param ordinal the number of the row within its table
+     * @param values  the column values; references are row ordinals
+     */
+    public record Row(SnapshotTable table, int ordinal, Object[] values) {
+    }
+
+    /**
+     * Read the next row
+     *
+     * @return the row, or null at the end of the snapshot
+     * @throws BusinessException if the snapshot is truncated or corrupt
+     */
+    public Row next() throws IOException {
+        if (position == limit && !readBlock()) {
+            return null;
+        }
+        int tag = readVarint() - 1;
+        if (tag < 0 || tag >= TABLES.length) {
+            throw corrupt();
+        }
+        SnapshotTable table = TABLES[tag];
+        List<SnapshotColumn> columns = table.columns();
+        Object[] values = new Object[columns.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = readValue(columns.get(i).type());
+        }
+        return new Row(table, ordinals[tag]++, values);
+    }
+
+    private Object readValue(SnapshotColumn.Type type) {
+        return switch (type) {
+            case TEXT -> readText();
+            case SYMBOL -> readSymbol();
+            case INT -> (int) unzigzag(readVarlong());
+            case BOOL -> readByte() != 0;
+            case TIMESTAMP -> {
+                long value = readVarlong();
+                yield value == 0 ? null : fromEpochMicros(unzigzag(value - 1));
+            }
+            case REF -> {
+                long value = readVarlong();
+                yield value == 0 ? null : (int) (value - 1);
+            }
+        };
+    }
+
+    private String readText() {
+        int length = readVarint();
+        if (length == 0) {
+            return null;
+        }
+        length--;
+        if (length > limit - position) {
+            throw corrupt();
+        }
+        String value = new String(block, position, length, StandardCharsets.UTF_8);
+        position += length;
+        return value;
+    }
+
+    private String readSymbol() {
+        int index = readVarint();
+        if (index == 0) {
+            return null;
+        }
+        if (index == 1) {
+            String value = readText();
+            if (value == null) {
+                throw corrupt();
+            }
+            if (symbols.size() < SnapshotWriter.MAX_SYMBOLS) {
+                symbols.add(value);
+            }
+            return value;
+        }
+        if (index - 2 >= symbols.size()) {
+            throw corrupt();
+        }
+        return symbols.get(index - 2);
+    }
+
+    private int readVarint() {
+        long value = readVarlong();
+        if (value > Integer.MAX_VALUE) {
+            throw corrupt();
+        }
+        return (int) value;
+    }
+
+    private long readVarlong() {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw corrupt();
+    }
+
+    /**
+     * A row never spans two blocks, so running out of block is corruption
+     */
+    private int readByte() {
+        if (position == limit) {
+            throw corrupt();
+        }
+        return block[position++] & 0xFF;
+    }
+
+    private boolean readBlock() throws IOException {
+        if (ended) {
+            return false;
+        }
+        int rawLength = readRawVarint();
+        if (rawLength == 0) {
+            ended = true;
+            return false;
+        }
+        int compressedLength = readRawVarint();
+        if (rawLength > MAX_BLOCK_SIZE || compressedLength > MAX_BLOCK_SIZE) {
+            throw corrupt();
+        }
+        if (compressed.length < compressedLength) {
+            compressed = new byte[compressedLength];
+        }
+        if (in.readNBytes(compressed, 0, compressedLength) != compressedLength) {
+            throw corrupt();
+        }
+        if (block.length < rawLength) {
+            block = new byte[rawLength];
+        }
+        inflater.reset();
+        inflater.setInput(compressed, 0, compressedLength);
+        try {
+            if (inflater.inflate(block, 0, rawLength) != rawLength || !inflater.finished()) {
+                throw corrupt();
+            }
+        } catch (DataFormatException e) {
+            throw corrupt();
+        }
+        position = 0;
+        limit = rawLength;
+        return true;
+    }
+
+    private int readRawVarint() throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = in.read();
+            if (b < 0) {
+                throw corrupt();
+            }
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                if (value < 0) {
+                    throw corrupt();
+                }
+                return value;
+            }
+        }
+        throw corrupt();
+    }
+
+    /**
+     * Release the inflater; the underlying stream is left open
+     */
+    @Override
+    public void close() {
+        inflater.end();
+    }
+
+    private static BusinessException corrupt() {
+        return new BusinessException("Truncated or corrupt project snapshot");
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static LocalDateTime fromEpochMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,166 @@
+package ma.ensa.apms.snapshot;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import ma.ensa.apms.exception.BusinessException;
+import ma.ensa.apms.modal.enums.RollupScope;
+import ma.ensa.apms.rollup.StatusRollupVerifier;
+import ma.ensa.apms.timeline.TimelineEntry;
+import ma.ensa.apms.timeline.TimelineIndex;
+
+/**
+ * Restores a snapshot written by {@link SnapshotExporter} as a new project.
+ *
+ * <p>
+ * Rows are inserted as they are decoded, through the {@link SnapshotLoader},
+ * in a single transaction. Every row gets a new ID and references are remapped
+ * from row ordinals to those IDs, so a snapshot can be restored any number of
+ * times next to its original. As the rows bypass the entities, the rollup
+ * counters of the new epics and backlog are counted and the timeline index is
+ * told about the new periods before the transaction ends.
+ * </p>
+ */
+@Component
+public class SnapshotRestorer {
+
+    private static final int TASK_START = SnapshotTable.TASK.indexOf("start_date");
+    private static final int TASK_END = SnapshotTable.TASK.indexOf("end_date");
+    private static final int PROJECT_START = SnapshotTable.PROJECT.indexOf("start_date");
+    private static final int PROJECT_END = SnapshotTable.PROJECT.indexOf("end_date");
+
+    private final SnapshotLoader snapshotLoader;
+    private final StatusRollupVerifier statusRollupVerifier;
+    private final TimelineIndex timelineIndex;
+    private final TransactionTemplate transaction;
+
+    public SnapshotRestorer(SnapshotLoader snapshotLoader,
+            StatusRollupVerifier statusRollupVerifier,
+            TimelineIndex timelineIndex,
+            PlatformTransactionManager transactionManager) {
+        this.snapshotLoader = snapshotLoader;
+        this.statusRollupVerifier = statusRollupVerifier;
+        this.timelineIndex = timelineIndex;
+        this.transaction = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Restore a snapshot as a new project
+     *
+     * @param in the snapshot stream, left open
+     * @return the ID of the new project
+     * @throws BusinessException if the snapshot is truncated, corrupt or does
+     *                           not hold exactly one project; nothing is
+     *                           restored then
+     */
+    public UUID restore(InputStream in) throws IOException {
+        try {
+            return transaction.execute(status -> {
+                try {
+                    return restoreInTransaction(in);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private UUID restoreInTransaction(InputStream in) throws IOException {
+        Map<SnapshotTable, List<UUID>> ids = new EnumMap<>(SnapshotTable.class);
+        for (SnapshotTable table : SnapshotTable.values()) {
+            if (table.isReferenced() || table == SnapshotTable.PROJECT) {
+                ids.put(table, new ArrayList<>());
+            }
+        }
+        List<TimelineEntry> taskPeriods = new ArrayList<>();
+        List<TimelineEntry> projectPeriods = new ArrayList<>();
+
+        SnapshotTable current = null;
+        SnapshotLoader.TableLoad load = null;
+        try (SnapshotReader reader = new SnapshotReader(in)) {
+            for (SnapshotReader.Row row = reader.next(); row != null; row = reader.next()) {
+                if (row.table() != current) {
+                    if (current != null && row.table().compareTo(current) < 0) {
+                        throw corrupt();
+                    }
+                    if (load != null) {
+                        load.finish();
+                    }
+                    current = row.table();
+                    load = snapshotLoader.open(current);
+                }
+                UUID id = UUID.randomUUID();
+                Object[] values = remap(row, ids);
+                load.add(id, values);
+                List<UUID> tableIds = ids.get(current);
+                if (tableIds != null) {
+                    tableIds.add(id);
+                }
+                if (current == SnapshotTable.TASK) {
+                    taskPeriods.add(period(id, values, TASK_START, TASK_END));
+                } else if (current == SnapshotTable.PROJECT) {
+                    projectPeriods.add(period(id, values, PROJECT_START, PROJECT_END));
+                }
+            }
+            if (load != null) {
+                load.finish();
+            }
+        } catch (IOException | RuntimeException e) {
+            if (load != null) {
+                load.abort();
+            }
+            throw e;
+        }
+
+        List<UUID> projects = ids.get(SnapshotTable.PROJECT);
+        if (projects.size() != 1) {
+            throw new BusinessException("A project snapshot must hold exactly one project");
+        }
+        statusRollupVerifier.recount(RollupScope.EPIC, ids.get(SnapshotTable.EPIC));
+        statusRollupVerifier.recount(RollupScope.PRODUCT_BACKLOG, ids.get(SnapshotTable.PRODUCT_BACKLOG));
+        timelineIndex.periodsInserted(taskPeriods, projectPeriods);
+        return projects.get(0);
+    }
+
+    /**
+     * Replace the row ordinals of references by the new IDs of the rows,
+     * which precede the referencing row in the snapshot
+     */
+    private static Object[] remap(SnapshotReader.Row row, Map<SnapshotTable, List<UUID>> ids) {
+        Object[] values = row.values();
+        List<SnapshotColumn> columns = row.table().columns();
+        for (int i = 0; i < values.length; i++) {
+            SnapshotColumn column = columns.get(i);
+            if (column.type() == SnapshotColumn.Type.REF && values[i] != null) {
+                List<UUID> targets = ids.get(column.references());
+                int ordinal = (Integer) values[i];
+                if (ordinal >= targets.size()) {
+                    throw corrupt();
+                }
+                values[i] = targets.get(ordinal);
+            }
+        }
+        return values;
+    }
+
+    private static TimelineEntry period(UUID id, Object[] values, int start, int end) {
+        return new TimelineEntry(id, (LocalDateTime) values[start], (LocalDateTime) values[end]);
+    }
+
+    private static BusinessException corrupt() {
+        return new BusinessException("Truncated or corrupt project snapshot");
+    }
+}
@@ -0,0 +1,98 @@
+package ma.ensa.apms.snapshot;
+
+import static ma.ensa.apms.snapshot.SnapshotColumn.bool;
+import static ma.ensa.apms.snapshot.SnapshotColumn.integer;
+import static ma.ensa.apms.snapshot.SnapshotColumn.ref;
+import static ma.ensa.apms.snapshot.SnapshotColumn.symbol;
+import static ma.ensa.apms.snapshot.SnapshotColumn.text;
+import static ma.ensa.apms.snapshot.SnapshotColumn.timestamp;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Tables of a project snapshot, in the order they are written and restored.
+ *
+ * <p>
+ * A table only references tables declared before it, so a restore can insert
+ * rows as they are read. The product backlog therefore comes before its
+ * project, and its own {@code project_id} column, which the API never sets,
+ * is not part of the snapshot.
+ * </p>
+ */
+public enum SnapshotTable {
+    PRODUCT_BACKLOG("product_backlog",
+            text("name"), timestamp("created_at"), timestamp("updated_at")),
+    PROJECT("project",
+            text("name"), text("description"), symbol("status"), timestamp("start_date"), timestamp("end_date"),
+            ref("product_backlog_id", PRODUCT_BACKLOG), timestamp("created_at"), timestamp("updated_at")),
+    SPRINT_BACKLOG("sprint_backlog",
+            text("name"), ref("product_backlog_id", PRODUCT_BACKLOG), timestamp("created_at"),
+            timestamp("updated_at")),
+    EPIC("epic",
+            text("name"), text("description"), ref("product_backlog_id", PRODUCT_BACKLOG), timestamp("created_at"),
+            timestamp("updated_at")),
+    USER_STORY("user_story",
+            text("name"), symbol("role"), text("feature"), text("benefit"), integer("priority"), symbol("status"),
+            text("backlog_rank"), ref("product_backlog_id", PRODUCT_BACKLOG), ref("epic_id", EPIC),
+            ref("sprint_backlog_id", SPRINT_BACKLOG)),
+    TASK("task",
+            text("title"), text("description"), symbol("status"), timestamp("start_date"), timestamp("end_date"),
+            ref("user_story_id", USER_STORY)),
+    ACCEPTANCE_CRITERIA("acceptance_criteria",
+            text("given"), text("_when"), text("_then"), bool("met"), ref("user_story_id", USER_STORY));
+
+    private final String tableName;
+    private final List<SnapshotColumn> columns;
+
+    SnapshotTable(String tableName, SnapshotColumn... columns) {
+        this.tableName = tableName;
+        this.columns = List.of(columns);
+    }
+
+    public String tableName() {
+        return tableName;
+    }
+
+    /**
+     * The columns of the table, without {@code id}
+     */
+    public List<SnapshotColumn> columns() {
+        return columns;
+    }
+
+    /**
+     * The position of a column in {@link #columns()}
+     *
+     * @throws IllegalArgumentException if the table has no such column
+     */
+    public int indexOf(String column) {
+        for (int i = 0; i < columns.size(); i++) {
+            if (columns.get(i).name().equals(column)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException(tableName + " has no column " + column);
+    }
+
+    /**
+     * The column list of a statement, {@code id} first
+     */
+    public String columnList() {
+        return columns.stream().map(SnapshotColumn::name).collect(Collectors.joining(", ", "id, ", ""));
+    }
+
+    /**
+     * Whether a later table references this one
+     */
+    public boolean isReferenced() {
+        for (SnapshotTable table : values()) {
+            for (SnapshotColumn column : table.columns) {
+                if (column.references() == this) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,200 @@
+package ma.ensa.apms.snapshot;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.Deflater;
+
+/**
+ * Encodes the rows of a project snapshot.
+ *
+ * <p>
+ * The stream starts with {@link #MAGIC} and {@link #VERSION}, followed by
+ * compressed blocks: each block is the varint length of its rows, the varint
+ * length of their deflated bytes and those bytes; an empty block ends the
+ * stream. A row is its table tag, the ordinal of the table plus one, then its
+ * column values as described by {@link SnapshotColumn.Type}. Rows are
+ * numbered per table in the order they are written, and references carry
+ * that number instead of an ID. {@link SnapshotColumn.Type#SYMBOL} values are
+ * written in full the first time and by dictionary index afterwards, until
+ * the dictionary holds {@link #MAX_SYMBOLS} strings.
+ * </p>
+ */
+public class SnapshotWriter {
+
+    static final byte[] MAGIC = { 'A', 'P', 'M', 'S' };
+    static final int VERSION = 1;
+    static final int BLOCK_SIZE = 64 * 1024;
+    static final int MAX_SYMBOLS = 4096;
+
+    private final OutputStream out;
+    private final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+    private final byte[] compressed = new byte[BLOCK_SIZE + BLOCK_SIZE / 8];
+    private final Map<String, Integer> symbols = new HashMap<>();
+    private byte[] block = new byte[BLOCK_SIZE];
+    private int position;
+    private long rows;
+
+    public SnapshotWriter(OutputStream out) throws IOException {
+        this.out = out;
+        out.write(MAGIC);
+        out.write(VERSION);
+    }
+
+    /**
+     * Write a row
+     *
+     * @param table  the table of the row
+     * @param values the column values in {@link SnapshotTable#columns()}
+     *               order; references are the ordinals of the referenced rows
+     */
+    public void write(SnapshotTable table, Object[] values) throws IOException {
+        writeVarint(table.ordinal() + 1);
+        List<SnapshotColumn> columns = table.columns();
+        for (int i = 0; i < columns.size(); i++) {
+            writeValue(columns.get(i).type(), values[i]);
+        }
+        rows++;
+        if (position >= BLOCK_SIZE) {
+            flushBlock();
+        }
+    }
+
+    /**
+     * Write the last block and the end of the stream, leaving the underlying
+     * stream open
+     *
+     * @return the number of rows written
+     */
+    public long finish() throws IOException {
+        flushBlock();
+        writeRawVarint(0);
+        out.flush();
+        deflater.end();
+        return rows;
+    }
+
+    private void writeValue(SnapshotColumn.Type type, Object value) {
+        switch (type) {
+            case TEXT -> writeText((String) value);
+            case SYMBOL -> writeSymbol((String) value);
+            case INT -> writeVarlong(zigzag(((Number) value).longValue()));
+            case BOOL -> writeByte(Boolean.TRUE.equals(value) ? 1 : 0);
+            case TIMESTAMP -> writeVarlong(value == null ? 0 : zigzag(epochMicros((LocalDateTime) value)) + 1);
+            case REF -> writeVarlong(value == null ? 0 : ((Number) value).longValue() + 1);
+        }
+    }
+
+    private void writeText(String value) {
+        if (value == null) {
+            writeVarint(0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarint(bytes.length + 1);
+        writeBytes(bytes);
+    }
+
+    /**
+     * 0 for null, 1 followed by the text for a string not in the dictionary,
+     * the dictionary index plus 2 otherwise
+     */
+    private void writeSymbol(String value) {
+        if (value == null) {
+            writeVarint(0);
+            return;
+        }
+        Integer index = symbols.get(value);
+        if (index != null) {
+            writeVarint(index + 2);
+            return;
+        }
+        writeVarint(1);
+        writeText(value);
+        if (symbols.size() < MAX_SYMBOLS) {
+            symbols.put(value, symbols.size());
+        }
+    }
+
+    private void writeVarint(int value) {
+        writeVarlong(value & 0xFFFFFFFFL);
+    }
+
+    private void writeVarlong(long value) {
+        while ((value & ~0x7FL) != 0) {
+            writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        writeByte((int) value);
+    }
+
+    private void writeByte(int value) {
+        ensureCapacity(1);
+        block[position++] = (byte) value;
+    }
+
+    private void writeBytes(byte[] bytes) {
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, block, position, bytes.length);
+        position += bytes.length;
+    }
+
+    /**
+     * Grow the block for a row larger than the block size; it is flushed
+     * whole after the row
+     */
+    private void ensureCapacity(int length) {
+        if (position + length > block.length) {
+            byte[] grown = new byte[Math.max(block.length * 2, position + length)];
+            System.arraycopy(block, 0, grown, 0, position);
+            block = grown;
+        }
+    }
+
+    private void flushBlock() throws IOException {
+        if (position == 0) {
+            return;
+        }
+        deflater.reset();
+        deflater.setInput(block, 0, position);
+        deflater.finish();
+        byte[] target = position > BLOCK_SIZE ? new byte[position + position / 8 + 64] : compressed;
+        int length = 0;
+        while (!deflater.finished()) {
+            if (length == target.length) {
+                byte[] grown = new byte[target.length * 2];
+                System.arraycopy(target, 0, grown, 0, length);
+                target = grown;
+            }
+            length += deflater.deflate(target, length, target.length - length);
+        }
+        writeRawVarint(position);
+        writeRawVarint(length);
+        out.write(target, 0, length);
+        position = 0;
+        if (block.length > BLOCK_SIZE) {
+            block = new byte[BLOCK_SIZE];
+        }
+    }
+
+    private void writeRawVarint(int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    static long epochMicros(LocalDateTime value) {
+        return value.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + value.getNano() / 1_000;
+    }
+}
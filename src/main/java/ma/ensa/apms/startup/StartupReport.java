@@ -0,0 +1,97 @@
+package ma.ensa.apms.startup;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import ma.ensa.apms.logging.LoggerUtils;
+
+/**
+ * Startup breakdown, logged once the application is ready.
+ *
+ * <p>
+ * When the application records its startup in a
+ * {@link BufferingApplicationStartup}, as {@code main} does, the recorded steps
+ * are summed by name and the slowest ones are logged next to the time to
+ * ready. Nested steps are counted in their parents too. The full timeline
+ * stays available at {@code /actuator/startup}, and the time to ready as the
+ * {@code application.ready.time} metric.
+ * </p>
+ */
+@Component
+public class StartupReport {
+
+    private final int reportedSteps;
+    private volatile Duration timeToReady;
+    private volatile List<StepTotal> slowestSteps = List.of();
+
+    public StartupReport(@Value("${apms.startup.reported-steps:10}") int reportedSteps) {
+        this.reportedSteps = Math.max(1, reportedSteps);
+    }
+
+    @EventListener
+    public void onReady(ApplicationReadyEvent event) {
+        timeToReady = event.getTimeTaken();
+        if (event.getApplicationContext().getApplicationStartup() instanceof BufferingApplicationStartup startup) {
+            slowestSteps = slowestSteps(startup.getBufferedTimeline(), reportedSteps);
+        }
+        LoggerUtils.logServiceInfo("Ready in {} ms, slowest startup steps: {}",
+                timeToReady != null ? timeToReady.toMillis() : null, slowestSteps);
+    }
+
+    /**
+     * @return the time from launch to ready, null before the application is
+     *         ready
+     */
+    public Duration getTimeToReady() {
+        return timeToReady;
+    }
+
+    /**
+     * @return the slowest step names, slowest first; empty when startup was
+     *         not recorded
+     */
+    public List<StepTotal> getSlowestSteps() {
+        return slowestSteps;
+    }
+
+    static List<StepTotal> slowestSteps(StartupTimeline timeline, int limit) {
+        Map<String, StepTotal> totals = new LinkedHashMap<>();
+        for (StartupTimeline.TimelineEvent event : timeline.getEvents()) {
+            String name = event.getStartupStep().getName();
+            totals.merge(name, new StepTotal(name, 1, event.getDuration()), StepTotal::plus);
+        }
+        return totals.values().stream()
+                .sorted(Comparator.comparing(StepTotal::duration).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    /**
+     * Time spent in every step of one name
+     *
+     * @param name     the step name, e.g. {@code spring.beans.instantiate}
+     * @param count    how many steps had that name
+     * @param duration their total duration
+     */
+    public record StepTotal(String name, int count, Duration duration) {
+
+        StepTotal plus(StepTotal other) {
+            return new StepTotal(name, count + other.count, duration.plus(other.duration));
+        }
+
+        @Override
+        public String toString() {
+            return name + " x" + count + " " + duration.toMillis() + " ms";
+        }
+    }
+}
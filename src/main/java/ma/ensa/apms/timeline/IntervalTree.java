@@ -0,0 +1,262 @@
+package ma.ensa.apms.timeline;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Interval tree over the periods of entities, keyed by entity ID.
+ *
+ * <p>
+ * A treap ordered by (start, id) where every node also holds the latest end of
+ * its subtree. Overlap queries skip any subtree ending before the window and
+ * stop going right past the window end; containment queries walk the start
+ * range of the window only. Results come out in start order. Missing bounds
+ * are stored as {@link LocalDateTime#MIN} / {@link LocalDateTime#MAX}, and a
+ * period ending before it starts is not indexed, as in a {@code tsrange}
+ * column. Reads share a lock; writes are exclusive.
+ * </p>
+ */
+public class IntervalTree {
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<UUID, Node> nodes = new HashMap<>();
+    private Node root;
+
+    /**
+     * Index or re-index the period of an entity
+     *
+     * @param id        the entity ID
+     * @param startDate the start date, null when unbounded
+     * @param endDate   the end date, null when unbounded
+     */
+    public void put(UUID id, LocalDateTime startDate, LocalDateTime endDate) {
+        LocalDateTime start = startDate != null ? startDate : LocalDateTime.MIN;
+        LocalDateTime end = endDate != null ? endDate : LocalDateTime.MAX;
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            if (!end.isBefore(start)) {
+                Node node = new Node(id, start, end, ThreadLocalRandom.current().nextInt());
+                nodes.put(id, node);
+                root = insert(root, node);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Drop the period of an entity
+     *
+     * @param id the entity ID
+     */
+    public void remove(UUID id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Drop every period
+     */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            nodes.clear();
+            root = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return nodes.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Find the entities whose period matches a window
+     *
+     * @param match how the period must relate to the window
+     * @param from  the window start, inclusive
+     * @param to    the window end, inclusive
+     * @return the matching IDs, in start order
+     */
+    public List<UUID> find(RangeMatch match, LocalDateTime from, LocalDateTime to) {
+        List<UUID> result = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            if (match == RangeMatch.WITHIN) {
+                collectWithin(root, from, to, result);
+            } else {
+                collectOverlapping(root, from, to, result);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return result;
+    }
+
+    private void removeLocked(UUID id) {
+        Node node = nodes.remove(id);
+        if (node != null) {
+            root = delete(root, node);
+        }
+    }
+
+    private static void collectOverlapping(Node node, LocalDateTime from, LocalDateTime to, List<UUID> result) {
+        if (node == null || node.maxEnd.isBefore(from)) {
+            return;
+        }
+        collectOverlapping(node.left, from, to, result);
+        if (node.start.isAfter(to)) {
+            return;
+        }
+        if (!node.end.isBefore(from)) {
+            result.add(node.id);
+        }
+        collectOverlapping(node.right, from, to, result);
+    }
+
+    private static void collectWithin(Node node, LocalDateTime from, LocalDateTime to, List<UUID> result) {
+        if (node == null || node.maxEnd.isBefore(from)) {
+            return;
+        }
+        if (!node.start.isBefore(from)) {
+            collectWithin(node.left, from, to, result);
+        }
+        if (node.start.isAfter(to)) {
+            return;
+        }
+        if (!node.start.isBefore(from) && !node.end.isAfter(to)) {
+            result.add(node.id);
+        }
+        collectWithin(node.right, from, to, result);
+    }
+
+    private static Node insert(Node tree, Node node) {
+        if (tree == null) {
+            return node;
+        }
+        if (node.priority > tree.priority) {
+            Node[] parts = split(tree, node);
+            node.left = parts[0];
+            node.right = parts[1];
+            node.update();
+            return node;
+        }
+        if (node.compareTo(tree) < 0) {
+            tree.left = insert(tree.left, node);
+        } else {
+            tree.right = insert(tree.right, node);
+        }
+        tree.update();
+        return tree;
+    }
+
+    private static Node delete(Node tree, Node node) {
+        if (tree == null) {
+            return null;
+        }
+        int comparison = node.compareTo(tree);
+        if (comparison == 0) {
+            return merge(tree.left, tree.right);
+        }
+        if (comparison < 0) {
+            tree.left = delete(tree.left, node);
+        } else {
+            tree.right = delete(tree.right, node);
+        }
+        tree.update();
+        return tree;
+    }
+
+    /**
+     * Split a tree into the nodes ordered before a key and the others
+     */
+    private static Node[] split(Node tree, Node key) {
+        if (tree == null) {
+            return new Node[2];
+        }
+        if (tree.compareTo(key) < 0) {
+            Node[] parts = split(tree.right, key);
+            tree.right = parts[0];
+            tree.update();
+            parts[0] = tree;
+            return parts;
+        }
+        Node[] parts = split(tree.left, key);
+        tree.left = parts[1];
+        tree.update();
+        parts[1] = tree;
+        return parts;
+    }
+
+    /**
+     * Join two trees, every node of the first ordered before the second
+     */
+    private static Node merge(Node first, Node second) {
+        if (first == null) {
+            return second;
+        }
+        if (second == null) {
+            return first;
+        }
+        if (first.priority > second.priority) {
+            first.right = merge(first.right, second);
+            first.update();
+            return first;
+        }
+        second.left = merge(first, second.left);
+        second.update();
+        return second;
+    }
+
+    private static final class Node implements Comparable<Node> {
+        private final UUID id;
+        private final LocalDateTime start;
+        private final LocalDateTime end;
+        private final int priority;
+        private LocalDateTime maxEnd;
+        private Node left;
+        private Node right;
+
+        Node(UUID id, LocalDateTime start, LocalDateTime end, int priority) {
+            this.id = id;
+            this.start = start;
+            this.end = end;
+            this.priority = priority;
+            this.maxEnd = end;
+        }
+
+        void update() {
+            maxEnd = end;
+            if (left != null && left.maxEnd.isAfter(maxEnd)) {
+                maxEnd = left.maxEnd;
+            }
+            if (right != null && right.maxEnd.isAfter(maxEnd)) {
+                maxEnd = right.maxEnd;
+            }
+        }
+
+        @Override
+        public int compareTo(Node other) {
+            int comparison = start.compareTo(other.start);
+            return comparison != 0 ? comparison : id.compareTo(other.id);
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package ma.ensa.apms.timeline;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import ma.ensa.apms.listener.TransactionalEntityListener;
+import ma.ensa.apms.logging.LoggerUtils;
+import ma.ensa.apms.modal.Project;
+import ma.ensa.apms.modal.Task;
+import ma.ensa.apms.repository.ProjectRepository;
+import ma.ensa.apms.repository.TaskRepository;
+
+/**
+ * In-memory timeline index, used where no range column is available (H2).
+ *
+ * <p>
+ * The periods of every task and project are loaded into two
+ * {@link IntervalTree}s at startup. A Hibernate listener then records the
+ * periods written by each session and applies them once its transaction has
+ * committed, so rolled back changes never reach the trees. Queries resolve IDs
+ * from the tree and load the entities by ID.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(name = "apms.timeline.index", havingValue = "interval-tree", matchIfMissing = true)
+public class IntervalTreeTimelineIndex extends TransactionalEntityListener<IntervalTreeTimelineIndex.PendingPeriods>
+        implements TimelineIndex {
+
+    private final TaskRepository taskRepository;
+    private final ProjectRepository projectRepository;
+
+    private final IntervalTree tasks = new IntervalTree();
+    private final IntervalTree projects = new IntervalTree();
+
+    public IntervalTreeTimelineIndex(EntityManagerFactory entityManagerFactory, TaskRepository taskRepository,
+            ProjectRepository projectRepository) {
+        super(entityManagerFactory);
+        this.taskRepository = taskRepository;
+        this.projectRepository = projectRepository;
+    }
+
+    @PostConstruct
+    public void start() {
+        taskRepository.findAllPeriods().forEach(entry -> tasks.put(entry.id(), entry.startDate(), entry.endDate()));
+        projectRepository.findAllPeriods()
+                .forEach(entry -> projects.put(entry.id(), entry.startDate(), entry.endDate()));
+        LoggerUtils.logServiceInfo("Timeline index loaded: {} tasks, {} projects", tasks.size(), projects.size());
+    }
+
+    @Override
+    public List<Task> findTasks(RangeMatch match, LocalDateTime from, LocalDateTime to) {
+        return load(tasks.find(match, from, to), taskRepository::findAllById, Task::getId);
+    }
+
+    @Override
+    public List<Project> findProjects(RangeMatch match, LocalDateTime from, LocalDateTime to) {
+        return load(projects.find(match, from, to), projectRepository::findAllById, Project::getId);
+    }
+
+    @Override
+    public void periodsInserted(List<TimelineEntry> taskPeriods, List<TimelineEntry> projectPeriods) {
+        Runnable insert = () -> {
+            taskPeriods.forEach(entry -> tasks.put(entry.id(), entry.startDate(), entry.endDate()));
+            projectPeriods.forEach(entry -> projects.put(entry.id(), entry.startDate(), entry.endDate()));
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    insert.run();
+                }
+            });
+        } else {
+            insert.run();
+        }
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        track(event.getSession(), event.getEntity(), false);
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        track(event.getSession(), event.getEntity(), false);
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        track(event.getSession(), event.getEntity(), true);
+    }
+
+    private void track(EventSource session, Object entity, boolean deleted) {
+        if (entity instanceof Task task) {
+            pendingFor(session).tasks.put(task.getId(),
+                    deleted ? null : new TimelineEntry(task.getId(), task.getStartDate(), task.getEndDate()));
+        } else if (entity instanceof Project project) {
+            pendingFor(session).projects.put(project.getId(),
+                    deleted ? null : new TimelineEntry(project.getId(), project.getStartDate(), project.getEndDate()));
+        }
+    }
+
+    @Override
+    protected PendingPeriods newPending() {
+        return new PendingPeriods();
+    }
+
+    @Override
+    protected void afterCommit(PendingPeriods periods) {
+        apply(tasks, periods.tasks);
+        apply(projects, periods.projects);
+    }
+
+    private static void apply(IntervalTree tree, Map<UUID, TimelineEntry> periods) {
+        periods.forEach((id, entry) -> {
+            if (entry == null) {
+                tree.remove(id);
+            } else {
+                tree.put(id, entry.startDate(), entry.endDate());
+            }
+        });
+    }
+
+    private static <T> List<T> load(List<UUID> ids, Function<List<UUID>, List<T>> finder, Function<T, UUID> idOf) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<UUID, Integer> position = new HashMap<>(ids.size() * 2);
+        for (int i = 0; i < ids.size(); i++) {
+            position.put(ids.get(i), i);
+        }
+        return finder.apply(ids).stream()
+                .sorted(Comparator.comparing(entity -> position.get(idOf.apply(entity))))
+                .toList();
+    }
+
+    /**
+     * Periods written by one session, a null value marking a deletion
+     */
+    static final class PendingPeriods {
+        private final Map<UUID, TimelineEntry> tasks = new HashMap<>();
+        private final Map<UUID, TimelineEntry> projects = new HashMap<>();
+    }
+}
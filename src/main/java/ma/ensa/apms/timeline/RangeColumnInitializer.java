@@ -0,0 +1,35 @@
+package ma.ensa.apms.timeline;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import ma.ensa.apms.logging.LoggerUtils;
+
+/**
+ * Adds the {@code period} range columns and their GiST indexes to the task and
+ * project tables once Hibernate has created them. The script is idempotent, so
+ * it also runs safely against a schema managed outside the application.
+ */
+@Component
+@ConditionalOnProperty(name = "apms.timeline.index", havingValue = "tsrange")
+@DependsOn("entityManagerFactory")
+@RequiredArgsConstructor
+public class RangeColumnInitializer {
+
+    static final String SCRIPT = "db/postgres/timeline_ranges.sql";
+
+    private final DataSource dataSource;
+
+    @PostConstruct
+    public void createRangeColumns() {
+        new ResourceDatabasePopulator(new ClassPathResource(SCRIPT)).execute(dataSource);
+        LoggerUtils.logServiceInfo("Timeline range columns ready ({})", SCRIPT);
+    }
+}
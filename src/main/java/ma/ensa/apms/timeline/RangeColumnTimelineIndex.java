@@ -0,0 +1,47 @@
+package ma.ensa.apms.timeline;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+import ma.ensa.apms.modal.Project;
+import ma.ensa.apms.modal.Task;
+import ma.ensa.apms.repository.ProjectRepository;
+import ma.ensa.apms.repository.TaskRepository;
+
+/**
+ * PostgreSQL timeline index, backed by the {@code period} range columns and
+ * GiST indexes created by {@link RangeColumnInitializer}.
+ */
+@Component
+@ConditionalOnProperty(name = "apms.timeline.index", havingValue = "tsrange")
+@RequiredArgsConstructor
+public class RangeColumnTimelineIndex implements TimelineIndex {
+
+    private final TaskRepository taskRepository;
+    private final ProjectRepository projectRepository;
+
+    @Override
+    public List<Task> findTasks(RangeMatch match, LocalDateTime from, LocalDateTime to) {
+        return match == RangeMatch.WITHIN
+                ? taskRepository.findByPeriodWithin(from, to)
+                : taskRepository.findByPeriodOverlapping(from, to);
+    }
+
+    @Override
+    public List<Project> findProjects(RangeMatch match, LocalDateTime from, LocalDateTime to) {
+        return match == RangeMatch.WITHIN
+                ? projectRepository.findByPeriodWithin(from, to)
+                : projectRepository.findByPeriodOverlapping(from, to);
+    }
+
+    /**
+     * Nothing to do: the range columns are generated by the database
+     */
+    @Override
+    public void periodsInserted(List<TimelineEntry> tasks, List<TimelineEntry> projects) {
+    }
+}
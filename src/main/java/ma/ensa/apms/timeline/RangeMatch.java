@@ -0,0 +1,17 @@
+package ma.ensa.apms.timeline;
+
+/**
+ * How the period of a task or project must relate to a query window. Both
+ * bounds of a period and of a window are inclusive; a missing start or end
+ * date leaves the period unbounded on that side.
+ */
+public enum RangeMatch {
+    /**
+     * The period shares at least one instant with the window
+     */
+    OVERLAPS,
+    /**
+     * The period lies entirely inside the window
+     */
+    WITHIN
+}
@@ -0,0 +1,14 @@
+package ma.ensa.apms.timeline;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Period of a task or project, as loaded into the in-memory interval index.
+ *
+ * @param id        the task or project ID
+ * @param startDate the start date, null when unbounded
+ * @param endDate   the end date, null when unbounded
+ */
+public record TimelineEntry(UUID id, LocalDateTime startDate, LocalDateTime endDate) {
+}
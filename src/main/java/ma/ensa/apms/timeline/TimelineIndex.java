@@ -0,0 +1,51 @@
+package ma.ensa.apms.timeline;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import ma.ensa.apms.modal.Project;
+import ma.ensa.apms.modal.Task;
+
+/**
+ * Date-range lookups over the periods of tasks and projects.
+ *
+ * <p>
+ * Selected with {@code apms.timeline.index}: {@code tsrange} queries a
+ * GiST-indexed range column on PostgreSQL, {@code interval-tree} (the default,
+ * used with H2) keeps an in-memory interval tree. Results are ordered by start
+ * date, unbounded starts first. A point-in-time query is an
+ * {@link RangeMatch#OVERLAPS} query whose window starts and ends at that
+ * instant.
+ * </p>
+ */
+public interface TimelineIndex {
+
+    /**
+     * Find the tasks whose period matches a window
+     *
+     * @param match how the period must relate to the window
+     * @param from  the window start, inclusive
+     * @param to    the window end, inclusive
+     * @return the matching tasks
+     */
+    List<Task> findTasks(RangeMatch match, LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Find the projects whose period matches a window
+     *
+     * @param match how the period must relate to the window
+     * @param from  the window start, inclusive
+     * @param to    the window end, inclusive
+     * @return the matching projects
+     */
+    List<Project> findProjects(RangeMatch match, LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Take into account periods inserted without going through the entities,
+     * such as a restored snapshot, once the current transaction has committed
+     *
+     * @param tasks    the periods of the inserted tasks
+     * @param projects the periods of the inserted projects
+     */
+    void periodsInserted(List<TimelineEntry> tasks, List<TimelineEntry> projects);
+}
@@ -0,0 +1,31 @@
+package ma.ensa.apms.tracing;
+
+import java.util.Map;
+
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.common.KeyValues;
+
+/**
+ * HTTP server observations with the request's path variables, e.g.
+ * {@code apms.path.id}, as span attributes. They are high cardinality, so
+ * they go to the span only, never to the {@code http.server.requests} metric.
+ */
+public class PathVariablesObservationConvention extends DefaultServerRequestObservationConvention {
+
+    static final String PREFIX = "apms.path.";
+
+    @Override
+    public KeyValues getHighCardinalityKeyValues(ServerRequestObservationContext context) {
+        KeyValues keyValues = super.getHighCardinalityKeyValues(context);
+        Object attribute = context.getCarrier().getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        if (attribute instanceof Map<?, ?> variables) {
+            for (Map.Entry<?, ?> variable : variables.entrySet()) {
+                keyValues = keyValues.and(PREFIX + variable.getKey(), String.valueOf(variable.getValue()));
+            }
+        }
+        return keyValues;
+    }
+}
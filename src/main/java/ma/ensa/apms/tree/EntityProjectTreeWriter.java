@@ -0,0 +1,138 @@
+package ma.ensa.apms.tree;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StreamUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import ma.ensa.apms.dto.TaskResponseDto;
+import ma.ensa.apms.dto.Response.EpicTreeResponse;
+import ma.ensa.apms.dto.Response.ProductBacklogTreeResponse;
+import ma.ensa.apms.dto.Response.ProjectTreeResponse;
+import ma.ensa.apms.dto.Response.UserStoryTreeResponse;
+import ma.ensa.apms.mapper.TaskMapper;
+import ma.ensa.apms.modal.Epic;
+import ma.ensa.apms.modal.ProductBacklog;
+import ma.ensa.apms.modal.Project;
+import ma.ensa.apms.modal.Task;
+import ma.ensa.apms.modal.UserStory;
+import ma.ensa.apms.repository.EpicRepository;
+import ma.ensa.apms.repository.TaskRepository;
+import ma.ensa.apms.repository.UserStoryRepository;
+import ma.ensa.apms.service.helper.ProjectRepositoryHelper;
+
+/**
+ * Project tree assembled from entities, for databases without JSON
+ * aggregation.
+ *
+ * <p>
+ * The epics, stories and tasks of the backlog are loaded with one query per
+ * level, in the order of the document, inside a read-only transaction that
+ * ends before the response is serialized.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(name = "apms.project-tree.assembly", havingValue = "entity", matchIfMissing = true)
+public class EntityProjectTreeWriter implements ProjectTreeWriter {
+
+    private final ProjectRepositoryHelper projectRepositoryHelper;
+    private final EpicRepository epicRepository;
+    private final UserStoryRepository userStoryRepository;
+    private final TaskRepository taskRepository;
+    private final TaskMapper taskMapper;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transaction;
+
+    public EntityProjectTreeWriter(ProjectRepositoryHelper projectRepositoryHelper,
+            EpicRepository epicRepository,
+            UserStoryRepository userStoryRepository,
+            TaskRepository taskRepository,
+            TaskMapper taskMapper,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager) {
+        this.projectRepositoryHelper = projectRepositoryHelper;
+        this.epicRepository = epicRepository;
+        this.userStoryRepository = userStoryRepository;
+        this.taskRepository = taskRepository;
+        this.taskMapper = taskMapper;
+        this.objectMapper = objectMapper;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.transaction.setReadOnly(true);
+    }
+
+    @Override
+    public void write(UUID projectId, OutputStream out) throws IOException {
+        ProjectTreeResponse tree = transaction.execute(status -> assemble(projectId));
+        objectMapper.writeValue(StreamUtils.nonClosing(out), tree);
+    }
+
+    /**
+     * Load and map the tree of a project
+     *
+     * @param projectId the project ID
+     * @return the tree
+     * @throws jakarta.persistence.EntityNotFoundException if the project does
+     *                                                     not exist
+     */
+    ProjectTreeResponse assemble(UUID projectId) {
+        Project project = projectRepositoryHelper.findByIdOrThrow(projectId);
+        return ProjectTreeResponse.builder()
+                .id(project.getId())
+                .name(project.getName())
+                .description(project.getDescription())
+                .status(project.getStatus())
+                .startDate(project.getStartDate())
+                .endDate(project.getEndDate())
+                .productBacklog(project.getProductBacklog() == null ? null
+                        : productBacklog(project.getProductBacklog()))
+                .build();
+    }
+
+    private ProductBacklogTreeResponse productBacklog(ProductBacklog productBacklog) {
+        Map<UUID, List<TaskResponseDto>> tasksByStory = taskRepository
+                .findByEpicProductBacklogId(productBacklog.getId()).stream()
+                .collect(Collectors.groupingBy((Task task) -> task.getUserStory().getId(), LinkedHashMap::new,
+                        Collectors.mapping(taskMapper::toDto, Collectors.toList())));
+        Map<UUID, List<UserStoryTreeResponse>> storiesByEpic = userStoryRepository
+                .findByEpicProductBacklogIdOrderByPriorityAscIdAsc(productBacklog.getId()).stream()
+                .collect(Collectors.groupingBy((UserStory story) -> story.getEpic().getId(), LinkedHashMap::new,
+                        Collectors.mapping(story -> userStory(story, tasksByStory), Collectors.toList())));
+        List<Epic> epics = epicRepository.findByProductBacklogIdOrderByNameAscIdAsc(productBacklog.getId());
+        return ProductBacklogTreeResponse.builder()
+                .id(productBacklog.getId())
+                .name(productBacklog.getName())
+                .epics(epics.stream()
+                        .map(epic -> EpicTreeResponse.builder()
+                                .id(epic.getId())
+                                .name(epic.getName())
+                                .description(epic.getDescription())
+                                .userStories(storiesByEpic.getOrDefault(epic.getId(), List.of()))
+                                .build())
+                        .toList())
+                .build();
+    }
+
+    private static UserStoryTreeResponse userStory(UserStory story, Map<UUID, List<TaskResponseDto>> tasksByStory) {
+        return UserStoryTreeResponse.builder()
+                .id(story.getId())
+                .name(story.getName())
+                .role(story.getRole())
+                .feature(story.getFeature())
+                .benefit(story.getBenefit())
+                .priority(story.getPriority())
+                .status(story.getStatus())
+                .tasks(tasksByStory.getOrDefault(story.getId(), List.of()))
+                .build();
+    }
+}
@@ -0,0 +1,86 @@
+package ma.ensa.apms.tree;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * PostgreSQL project tree, built by the database with {@code json_agg} and
+ * {@code json_build_object}.
+ *
+ * <p>
+ * Each level is aggregated once per parent in its own CTE, tasks by story,
+ * stories by epic, then epics, so the query stays a chain of hash joins
+ * however large the backlog is. The document comes back UTF-8 encoded as a
+ * single {@code bytea} value and is copied to the response as is: no entity,
+ * DTO or string is created for it.
+ * </p>
+ *
+ * <p>
+ * The driver reads the whole value into memory anyway, so the bytes are taken
+ * from the result set and only written once the query has returned: the
+ * connection goes back to the pool before a slow client is served.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(name = "apms.project-tree.assembly", havingValue = "json-agg")
+@RequiredArgsConstructor
+public class JsonAggProjectTreeWriter implements ProjectTreeWriter {
+
+    static final String TREE_QUERY = "with epics as ( "
+            + "select e.* from epic e "
+            + "join project p on p.product_backlog_id = e.product_backlog_id "
+            + "where p.id = ? "
+            + "), stories as ( "
+            + "select us.* from user_story us join epics e on e.id = us.epic_id "
+            + "), story_tasks as ( "
+            + "select t.user_story_id, json_agg(json_build_object( "
+            + "'id', t.id, 'title', t.title, 'description', t.description, 'status', t.status, "
+            + "'startDate', t.start_date, 'endDate', t.end_date) "
+            + "order by t.start_date nulls last, t.id) as tasks "
+            + "from task t join stories us on us.id = t.user_story_id "
+            + "group by t.user_story_id "
+            + "), epic_stories as ( "
+            + "select us.epic_id, json_agg(json_build_object( "
+            + "'id', us.id, 'name', us.name, 'role', us.role, 'feature', us.feature, "
+            + "'benefit', us.benefit, 'priority', us.priority, 'status', us.status, "
+            + "'tasks', coalesce(st.tasks, '[]'::json)) "
+            + "order by us.priority, us.id) as user_stories "
+            + "from stories us left join story_tasks st on st.user_story_id = us.id "
+            + "group by us.epic_id "
+            + "), backlog_epics as ( "
+            + "select json_agg(json_build_object( "
+            + "'id', e.id, 'name', e.name, 'description', e.description, "
+            + "'userStories', coalesce(es.user_stories, '[]'::json)) "
+            + "order by e.name, e.id) as epics "
+            + "from epics e left join epic_stories es on es.epic_id = e.id "
+            + ") "
+            + "select convert_to(json_build_object( "
+            + "'id', p.id, 'name', p.name, 'description', p.description, 'status', p.status, "
+            + "'startDate', p.start_date, 'endDate', p.end_date, "
+            + "'productBacklog', case when pb.id is null then null else json_build_object( "
+            + "'id', pb.id, 'name', pb.name, "
+            + "'epics', coalesce((select be.epics from backlog_epics be), '[]'::json)) end)::text, 'UTF8') "
+            + "from project p left join product_backlog pb on pb.id = p.product_backlog_id "
+            + "where p.id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void write(UUID projectId, OutputStream out) throws IOException {
+        List<byte[]> document = jdbcTemplate.query(TREE_QUERY, (rs, rowNum) -> rs.getBytes(1), projectId,
+                projectId);
+        if (document.isEmpty()) {
+            throw new EntityNotFoundException("Project not found");
+        }
+        out.write(document.get(0));
+    }
+}
@@ -0,0 +1,33 @@
+package ma.ensa.apms.tree;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.UUID;
+
+/**
+ * Writes the nested JSON view of a project: its product backlog, the epics of
+ * the backlog, the user stories of each epic and the tasks of each story.
+ *
+ * <p>
+ * Selected with {@code apms.project-tree.assembly}: {@code json-agg} has
+ * PostgreSQL build the whole document and copies its bytes to the response,
+ * {@code entity} (the default, used with H2) loads the entities and serializes
+ * them with Jackson. Both write the same document: epics ordered by name,
+ * stories by priority and tasks by start date, unscheduled tasks last.
+ * </p>
+ */
+public interface ProjectTreeWriter {
+
+    /**
+     * Write the tree of a project
+     *
+     * @param projectId the project ID
+     * @param out       the stream to write the JSON document to, left open
+     * @throws jakarta.persistence.EntityNotFoundException if the project does
+     *                                                     not exist, before
+     *                                                     anything is written
+     * @throws IOException                                 if the stream cannot
+     *                                                     be written
+     */
+    void write(UUID projectId, OutputStream out) throws IOException;
+}
@@ -0,0 +1,19 @@
+package ma.ensa.apms.writebehind;
+
+/**
+ * Columns updated through the write-behind buffer
+ */
+enum BufferedColumn {
+    TASK_STATUS("update task set status = ? where id = ?"),
+    CRITERIA_MET("update acceptance_criteria set met = ? where id = ?");
+
+    private final String updateSql;
+
+    BufferedColumn(String updateSql) {
+        this.updateSql = updateSql;
+    }
+
+    String updateSql() {
+        return updateSql;
+    }
+}
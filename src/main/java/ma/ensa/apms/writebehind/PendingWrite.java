@@ -0,0 +1,43 @@
+package ma.ensa.apms.writebehind;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Latest buffered value of one column of one row.
+ *
+ * <p>
+ * {@code previousValue} is the value the row had before the first buffered
+ * write, kept across collapsed writes so that the flush can tell whether the
+ * row changed at all and log a single transition.
+ * </p>
+ *
+ * @param column        the buffered column
+ * @param id            the row ID
+ * @param previousValue the value before the first buffered write
+ * @param value         the value to write
+ * @param userStoryId   the user story of the row, for the transition log
+ * @param writtenAt     when the latest write was accepted
+ */
+record PendingWrite(BufferedColumn column, UUID id, Object previousValue, Object value, UUID userStoryId,
+        LocalDateTime writtenAt) {
+
+    /**
+     * This write collapsed over an older one of the same row
+     */
+    PendingWrite after(PendingWrite older) {
+        return new PendingWrite(column, id, older.previousValue, value, userStoryId, writtenAt);
+    }
+
+    boolean changesRow() {
+        return !Objects.equals(previousValue, value);
+    }
+
+    Key key() {
+        return new Key(column, id);
+    }
+
+    record Key(BufferedColumn column, UUID id) {
+    }
+}
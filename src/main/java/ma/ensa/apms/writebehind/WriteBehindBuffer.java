@@ -0,0 +1,366 @@
+package ma.ensa.apms.writebehind;
+
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.hibernate.engine.spi.EntityEntry;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostLoadEvent;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import ma.ensa.apms.logging.LoggerUtils;
+import ma.ensa.apms.modal.AcceptanceCriteria;
+import ma.ensa.apms.modal.Task;
+import ma.ensa.apms.modal.enums.TaskStatus;
+import ma.ensa.apms.modal.enums.TransitionEntityType;
+
+/**
+ * Opt-in write-behind path for the high-frequency toggles: task status and
+ * acceptance criteria {@code met}.
+ *
+ * <p>
+ * Accepted writes go into a concurrent map keyed by row, where several writes
+ * to the same row collapse into the last one. The map is flushed every
+ * {@code flush-interval}, or as soon as it holds {@code max-batch} rows, with
+ * one JDBC batch per column in a transaction of its own; a row toggled back
+ * to its original value is not written at all. Task status changes get one
+ * status transition per flush, from the status before the first buffered
+ * write to the last one.
+ * </p>
+ *
+ * <p>
+ * Until its flush commits, a buffered value is applied to every task or
+ * criteria Hibernate loads, and to its loaded state as well so that the load
+ * does not look dirty. Other writes to these entities must call
+ * {@link #flush()} first, so that a buffered toggle never lands after them.
+ * A failed flush puts its rows back for the next one, and the buffer is
+ * drained on shutdown.
+ * </p>
+ */
+@Component
+public class WriteBehindBuffer implements PostLoadEventListener {
+
+    // The sprint of a task is the sprint of its story when the flush commits
+    static final String INSERT_TASK_TRANSITION = "insert into status_transition "
+            + "(entity_type, entity_id, user_story_id, sprint_backlog_id, from_status, to_status, occurred_at) "
+            + "values (?, ?, ?, (select us.sprint_backlog_id from user_story us where us.id = ?), ?, ?, ?)";
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final EntityManager entityManager;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transaction;
+    private final boolean enabled;
+    private final Duration flushInterval;
+    private final int maxBatch;
+
+    private final Map<PendingWrite.Key, PendingWrite> pending = new ConcurrentHashMap<>();
+    private final Map<PendingWrite.Key, PendingWrite> inFlight = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private ScheduledExecutorService flushScheduler;
+
+    private final Counter acceptedCounter;
+    private final Counter collapsedCounter;
+    private final Counter writtenCounter;
+    private final Counter failuresCounter;
+
+    public WriteBehindBuffer(EntityManagerFactory entityManagerFactory,
+            EntityManager entityManager,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${apms.write-behind.enabled:false}") boolean enabled,
+            @Value("${apms.write-behind.flush-interval:5ms}") Duration flushInterval,
+            @Value("${apms.write-behind.max-batch:256}") int maxBatch) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.entityManager = entityManager;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.enabled = enabled;
+        this.flushInterval = flushInterval;
+        this.maxBatch = Math.max(1, maxBatch);
+        this.acceptedCounter = Counter.builder("apms.write-behind.accepted")
+                .description("Toggles accepted into the write-behind buffer")
+                .register(meterRegistry);
+        this.collapsedCounter = Counter.builder("apms.write-behind.collapsed")
+                .description("Buffered toggles replaced by a later one for the same row")
+                .register(meterRegistry);
+        this.writtenCounter = Counter.builder("apms.write-behind.written")
+                .description("Rows written by write-behind flushes")
+                .register(meterRegistry);
+        this.failuresCounter = Counter.builder("apms.write-behind.failures")
+                .description("Write-behind flushes that failed and were retried")
+                .register(meterRegistry);
+        Gauge.builder("apms.write-behind.pending", this, WriteBehindBuffer::size)
+                .description("Rows buffered or being flushed")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class)
+                .appendListeners(EventType.POST_LOAD, this);
+        flushScheduler = Executors.newSingleThreadScheduledExecutor(
+                new CustomizableThreadFactory("write-behind-flush-"));
+        long interval = Math.max(1, flushInterval.toMillis());
+        flushScheduler.scheduleWithFixedDelay(this::flushQuietly, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        if (flushScheduler == null) {
+            return;
+        }
+        flushScheduler.shutdown();
+        flushScheduler.awaitTermination(10, TimeUnit.SECONDS);
+        int remaining = size();
+        try {
+            flush();
+            LoggerUtils.logServiceInfo("Write-behind buffer drained on shutdown: {} rows", remaining);
+        } catch (RuntimeException ex) {
+            LoggerUtils.logServiceError("Write-behind buffer could not be drained on shutdown, "
+                    + size() + " rows lost", ex);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int size() {
+        return pending.size() + inFlight.size();
+    }
+
+    /**
+     * Buffer a task status change. The task is detached so that the calling
+     * transaction does not write it, then given the new status.
+     *
+     * @param task   the task, as loaded
+     * @param status the new status
+     */
+    public void setTaskStatus(Task task, TaskStatus status) {
+        accept(new PendingWrite(BufferedColumn.TASK_STATUS, task.getId(), task.getStatus(), status,
+                task.getUserStory() != null ? task.getUserStory().getId() : null, LocalDateTime.now()));
+        detach(task);
+        task.setStatus(status);
+    }
+
+    /**
+     * Buffer an acceptance criteria met change. The criteria is detached so
+     * that the calling transaction does not write it, then given the new value.
+     *
+     * @param criteria the acceptance criteria, as loaded
+     * @param met      the new value
+     */
+    public void setCriteriaMet(AcceptanceCriteria criteria, boolean met) {
+        accept(new PendingWrite(BufferedColumn.CRITERIA_MET, criteria.getId(), criteria.isMet(), met, null,
+                LocalDateTime.now()));
+        detach(criteria);
+        criteria.setMet(met);
+    }
+
+    /**
+     * Write every buffered row now, waiting for a flush already running
+     *
+     * @throws RuntimeException when the rows could not be written; they stay
+     *                          buffered
+     */
+    public void flush() {
+        if (!enabled || size() == 0) {
+            return;
+        }
+        flushLock.lock();
+        try {
+            List<PendingWrite> drained = drain();
+            for (int from = 0; from < drained.size(); from += maxBatch) {
+                write(drained.subList(from, Math.min(drained.size(), from + maxBatch)));
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @Override
+    public void onPostLoad(PostLoadEvent event) {
+        if (size() == 0) {
+            return;
+        }
+        if (event.getEntity() instanceof Task task) {
+            PendingWrite write = visible(BufferedColumn.TASK_STATUS, task.getId());
+            if (write != null) {
+                task.setStatus((TaskStatus) write.value());
+                patchLoadedState(event, "status", write.value());
+            }
+        } else if (event.getEntity() instanceof AcceptanceCriteria criteria) {
+            PendingWrite write = visible(BufferedColumn.CRITERIA_MET, criteria.getId());
+            if (write != null) {
+                criteria.setMet((Boolean) write.value());
+                patchLoadedState(event, "met", write.value());
+            }
+        }
+    }
+
+    private void accept(PendingWrite write) {
+        pending.merge(write.key(), write, (older, newer) -> {
+            collapsedCounter.increment();
+            return newer.after(older);
+        });
+        acceptedCounter.increment();
+        if (pending.size() >= maxBatch && flushScheduler != null && flushRequested.compareAndSet(false, true)) {
+            flushScheduler.execute(this::flushQuietly);
+        }
+    }
+
+    private void flushQuietly() {
+        flushRequested.set(false);
+        try {
+            flush();
+        } catch (RuntimeException ex) {
+            LoggerUtils.logServiceError("Write-behind flush failed, rows kept for the next one", ex);
+        }
+    }
+
+    /**
+     * Move the buffered rows in flight; each stays visible to loads throughout
+     */
+    private List<PendingWrite> drain() {
+        List<PendingWrite> drained = new ArrayList<>(pending.size());
+        for (PendingWrite.Key key : pending.keySet()) {
+            pending.computeIfPresent(key, (k, write) -> {
+                inFlight.put(k, write);
+                drained.add(write);
+                return null;
+            });
+        }
+        return drained;
+    }
+
+    private void write(List<PendingWrite> writes) {
+        boolean committed = false;
+        try {
+            transaction.executeWithoutResult(status -> {
+                List<PendingWrite> changed = writes.stream().filter(PendingWrite::changesRow).toList();
+                List<PendingWrite> tasks = update(BufferedColumn.TASK_STATUS, changed);
+                update(BufferedColumn.CRITERIA_MET, changed);
+                logTransitions(tasks);
+            });
+            committed = true;
+        } catch (RuntimeException ex) {
+            failuresCounter.increment();
+            throw ex;
+        } finally {
+            for (PendingWrite write : writes) {
+                if (!committed) {
+                    pending.merge(write.key(), write, (newer, failed) -> newer.after(failed));
+                }
+                inFlight.remove(write.key(), write);
+            }
+        }
+    }
+
+    /**
+     * Batch update one column
+     *
+     * @return the writes whose row still existed
+     */
+    private List<PendingWrite> update(BufferedColumn column, List<PendingWrite> writes) {
+        List<PendingWrite> rows = writes.stream().filter(write -> write.column() == column).toList();
+        if (rows.isEmpty()) {
+            return rows;
+        }
+        int[][] counts = jdbcTemplate.batchUpdate(column.updateSql(), rows, rows.size(),
+                (PreparedStatement statement, PendingWrite write) -> {
+                    if (write.value() instanceof TaskStatus taskStatus) {
+                        statement.setString(1, taskStatus.name());
+                    } else {
+                        statement.setBoolean(1, (Boolean) write.value());
+                    }
+                    statement.setObject(2, write.id());
+                });
+        List<PendingWrite> updated = new ArrayList<>(rows.size());
+        int index = 0;
+        for (int[] chunk : counts) {
+            for (int count : chunk) {
+                if (count > 0 || count == Statement.SUCCESS_NO_INFO) {
+                    updated.add(rows.get(index));
+                }
+                index++;
+            }
+        }
+        writtenCounter.increment(updated.size());
+        return updated;
+    }
+
+    private void logTransitions(List<PendingWrite> tasks) {
+        if (tasks.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_TASK_TRANSITION, tasks, tasks.size(),
+                (PreparedStatement statement, PendingWrite write) -> {
+                    statement.setString(1, TransitionEntityType.TASK.name());
+                    statement.setObject(2, write.id());
+                    statement.setObject(3, write.userStoryId());
+                    statement.setObject(4, write.userStoryId());
+                    statement.setString(5, nameOf(write.previousValue()));
+                    statement.setString(6, nameOf(write.value()));
+                    statement.setObject(7, write.writtenAt());
+                });
+    }
+
+    private PendingWrite visible(BufferedColumn column, UUID id) {
+        PendingWrite.Key key = new PendingWrite.Key(column, id);
+        PendingWrite write = pending.get(key);
+        return write != null ? write : inFlight.get(key);
+    }
+
+    private static void patchLoadedState(PostLoadEvent event, String property, Object value) {
+        EntityEntry entry = event.getSession().getPersistenceContextInternal().getEntry(event.getEntity());
+        if (entry != null && entry.getLoadedState() != null) {
+            entry.getLoadedState()[event.getPersister().getPropertyIndex(property)] = value;
+        }
+    }
+
+    private void detach(Object entity) {
+        if (entityManager.contains(entity)) {
+            entityManager.detach(entity);
+        }
+    }
+
+    private static String nameOf(Object status) {
+        return status instanceof Enum<?> value ? value.name() : null;
+    }
+}
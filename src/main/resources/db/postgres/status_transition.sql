@@ -0,0 +1,56 @@
+-- Status transition log, range-partitioned by month on occurred_at.
+--
+-- Use this DDL instead of the Hibernate-generated table when the schema is
+-- managed outside the application (spring.jpa.hibernate.ddl-auto=none or
+-- validate). The primary key includes occurred_at because PostgreSQL requires
+-- the partition key in every unique constraint of a partitioned table.
+
+CREATE TABLE IF NOT EXISTS status_transition (
+    id                bigint GENERATED BY DEFAULT AS IDENTITY,
+    entity_type       varchar(8)   NOT NULL,
+    entity_id         uuid         NOT NULL,
+    user_story_id     uuid,
+    sprint_backlog_id uuid,
+    from_status       varchar(16),
+    to_status         varchar(16),
+    occurred_at       timestamp(6) NOT NULL,
+    PRIMARY KEY (id, occurred_at)
+) PARTITION BY RANGE (occurred_at);
+
+-- Created on the parent, inherited by every partition
+CREATE INDEX IF NOT EXISTS idx_status_transition_sprint_time
+    ON status_transition (sprint_backlog_id, occurred_at, id);
+CREATE INDEX IF NOT EXISTS idx_status_transition_entity_time
+    ON status_transition (entity_id, occurred_at);
+
+-- Rows outside every monthly partition land here instead of failing the write
+CREATE TABLE IF NOT EXISTS status_transition_default
+    PARTITION OF status_transition DEFAULT;
+
+-- Create the partition holding the month of the given day, if missing
+CREATE OR REPLACE FUNCTION create_status_transition_partition(month_day date)
+RETURNS void AS $$
+DECLARE
+    month_start date := date_trunc('month', month_day)::date;
+    partition_name text := 'status_transition_' || to_char(month_start, 'YYYY_MM');
+BEGIN
+    EXECUTE format(
+        'CREATE TABLE IF NOT EXISTS %I PARTITION OF status_transition FOR VALUES FROM (%L) TO (%L)',
+        partition_name, month_start, (month_start + interval '1 month')::date);
+END;
+$$ LANGUAGE plpgsql;
+
+-- Current and next month; schedule the next-month call monthly (e.g. pg_cron)
+SELECT create_status_transition_partition(current_date);
+SELECT create_status_transition_partition((current_date + interval '1 month')::date);
+
+CREATE TABLE IF NOT EXISTS board_snapshot (
+    id                 uuid PRIMARY KEY,
+    sprint_backlog_id  uuid         NOT NULL,
+    taken_at           timestamp(6) NOT NULL,
+    last_transition_id bigint       NOT NULL,
+    payload            text         NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_board_snapshot_sprint_time
+    ON board_snapshot (sprint_backlog_id, taken_at);
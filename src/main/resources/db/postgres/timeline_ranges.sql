@@ -0,0 +1,23 @@
+-- Range columns for task and project date-range queries.
+--
+-- period mirrors start_date/end_date as an inclusive tsrange (a missing date
+-- leaves that side unbounded) so that overlap (&&), containment (<@) and
+-- point-in-time queries are served by a GiST index. A row whose end date is
+-- before its start date gets no period and matches no range query. Every
+-- statement is idempotent.
+
+ALTER TABLE task ADD COLUMN IF NOT EXISTS period tsrange
+    GENERATED ALWAYS AS (
+        CASE WHEN start_date IS NULL OR end_date IS NULL OR start_date <= end_date
+             THEN tsrange(start_date, end_date, '[]') END
+    ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_task_period ON task USING gist (period);
+
+ALTER TABLE project ADD COLUMN IF NOT EXISTS period tsrange
+    GENERATED ALWAYS AS (
+        CASE WHEN start_date IS NULL OR end_date IS NULL OR start_date <= end_date
+             THEN tsrange(start_date, end_date, '[]') END
+    ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_project_period ON project USING gist (period);
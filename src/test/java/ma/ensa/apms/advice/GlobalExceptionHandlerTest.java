@@ -15,6 +15,7 @@ import org.mockito.InjectMocks;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.FieldError;
 import org.springframework.web.HttpRequestMethodNotSupportedException;
@@ -28,6 +29,7 @@ import ma.ensa.apms.dto.Response.ApiErrorResponse;
 import ma.ensa.apms.exception.BusinessException;
 import ma.ensa.apms.exception.DuplicateResourceException;
 import ma.ensa.apms.exception.ResourceNotFoundException;
+import ma.ensa.apms.modal.UserStory;
 
 @ExtendWith(MockitoExtension.class)
 class GlobalExceptionHandlerTest {
@@ -135,6 +137,25 @@ class GlobalExceptionHandlerTest {
         assertEquals("Conflict", response.getBody().getError());
     }
 
+    @Test
+    void handleOptimisticLockingFailure_ShouldReturnConflict() {
+        // Arrange
+        WebRequest webRequest = createMockWebRequest("/api/test");
+        ObjectOptimisticLockingFailureException exception = new ObjectOptimisticLockingFailureException(
+                UserStory.class, "id");
+
+        // Act
+        ResponseEntity<ApiErrorResponse> response = globalExceptionHandler
+                .handleOptimisticLockingFailure(exception, webRequest);
+
+        // Assert
+        assertNotNull(response);
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals("Resource was modified concurrently, please retry", response.getBody().getMessage());
+        assertEquals("Conflict", response.getBody().getError());
+    }
+
     @Test
     void handleNoResourceFoundException_ShouldReturnNotFound() {
         // Arrange
@@ -0,0 +1,92 @@
+package ma.ensa.apms.batch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import ma.ensa.apms.dto.Response.BatchGetResponse;
+import ma.ensa.apms.exception.BusinessException;
+
+/**
+ * Unit tests for {@link BatchLookup}
+ */
+@DisplayName("BatchLookup Tests")
+class BatchLookupTest {
+
+    private final BatchLookup batchLookup = new BatchLookup(5, 2);
+
+    @Test
+    @DisplayName("distinctIds should drop duplicates and keep request order")
+    void distinctIds_ShouldDeduplicateInOrder() {
+        // Given
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+
+        // When
+        List<UUID> result = batchLookup.distinctIds(List.of(second, first, second));
+
+        // Then
+        assertThat(result).containsExactly(second, first);
+    }
+
+    @Test
+    @DisplayName("distinctIds should reject empty, null-containing and oversized requests")
+    void distinctIds_WithInvalidRequest_ShouldThrow() {
+        // Given
+        List<UUID> tooMany = IntStream.range(0, 6).mapToObj(i -> UUID.randomUUID()).toList();
+
+        // When / Then
+        assertThatThrownBy(() -> batchLookup.distinctIds(List.of())).isInstanceOf(BusinessException.class);
+        assertThatThrownBy(() -> batchLookup.distinctIds(Arrays.asList(UUID.randomUUID(), null)))
+                .isInstanceOf(BusinessException.class);
+        assertThatThrownBy(() -> batchLookup.distinctIds(tooMany))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("5");
+    }
+
+    @Test
+    @DisplayName("findAll should issue one finder call per chunk")
+    void findAll_ShouldLoadInChunks() {
+        // Given
+        List<UUID> ids = IntStream.range(0, 5).mapToObj(i -> UUID.randomUUID()).toList();
+        List<List<UUID>> calls = new ArrayList<>();
+
+        // When
+        Map<UUID, UUID> found = batchLookup.findAll(ids, chunk -> {
+            calls.add(List.copyOf(chunk));
+            return chunk.subList(0, 1);
+        }, Function.identity());
+
+        // Then
+        assertThat(calls).extracting(List::size).containsExactly(2, 2, 1);
+        assertThat(found).containsOnlyKeys(ids.get(0), ids.get(2), ids.get(4));
+    }
+
+    @Test
+    @DisplayName("respond should list items in request order and report missing ids")
+    void respond_ShouldKeepRequestOrderAndReportMissing() {
+        // Given
+        UUID first = UUID.randomUUID();
+        UUID missing = UUID.randomUUID();
+        UUID last = UUID.randomUUID();
+        Map<UUID, String> found = Map.of(last, "last", first, "first");
+
+        // When
+        BatchGetResponse<String> response = batchLookup.respond(List.of(first, missing, last), found,
+                String::toUpperCase);
+
+        // Then
+        assertThat(response.getItems()).containsExactly("FIRST", "LAST");
+        assertThat(response.getMissing()).containsExactly(missing);
+    }
+}
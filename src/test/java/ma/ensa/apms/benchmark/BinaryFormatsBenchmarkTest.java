@@ -0,0 +1,180 @@
+package ma.ensa.apms.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.function.IntFunction;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.GenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.mock.http.MockHttpOutputMessage;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import ma.ensa.apms.dto.TaskResponseDto;
+import ma.ensa.apms.dto.Response.AcceptanceCriteriaResponse;
+import ma.ensa.apms.dto.Response.UserStoryResponse;
+import ma.ensa.apms.modal.enums.TaskStatus;
+import ma.ensa.apms.modal.enums.UserStoryStatus;
+import ma.ensa.apms.serialization.JacksonProtobufHttpMessageConverter;
+
+/**
+ * Benchmark for the negotiated response encodings.
+ *
+ * <p>
+ * Writes and reads back 10k-item lists of user stories, tasks and acceptance
+ * criteria through the message converters registered in Spring MVC, and
+ * compares payload size and items per second of JSON, CBOR, Smile and
+ * Protobuf. Run with {@code mvn test -Pbenchmark}.
+ * </p>
+ */
+@Tag("benchmark")
+@SpringBootTest
+@DisplayName("Binary formats benchmark")
+class BinaryFormatsBenchmarkTest {
+
+    private static final int ITEMS = 10_000;
+    private static final int WARM_UP_ROUNDS = 5;
+    private static final int ROUNDS = 20;
+    private static final List<MediaType> FORMATS = List.of(MediaType.APPLICATION_JSON, MediaType.APPLICATION_CBOR,
+            new MediaType("application", "x-jackson-smile"),
+            JacksonProtobufHttpMessageConverter.APPLICATION_X_PROTOBUF);
+
+    @Autowired
+    private RequestMappingHandlerAdapter handlerAdapter;
+
+    @Test
+    @DisplayName("binary encodings of user stories should be smaller than JSON")
+    void userStories() throws IOException {
+        compare("user stories", new ParameterizedTypeReference<List<UserStoryResponse>>() {
+        }.getType(), items(i -> UserStoryResponse.builder()
+                .id(UUID.randomUUID())
+                .name("Story " + i)
+                .role("As a product owner")
+                .feature("I want to plan sprint " + i)
+                .benefit("So that the team knows what comes next")
+                .priority(i % 5)
+                .status(UserStoryStatus.values()[i % UserStoryStatus.values().length])
+                .rank(Integer.toString(i, 36))
+                .build()));
+    }
+
+    @Test
+    @DisplayName("binary encodings of tasks should be smaller than JSON")
+    void tasks() throws IOException {
+        LocalDateTime origin = LocalDateTime.of(2025, 1, 6, 9, 0);
+        compare("tasks", new ParameterizedTypeReference<List<TaskResponseDto>>() {
+        }.getType(), items(i -> {
+            TaskResponseDto task = new TaskResponseDto();
+            task.setId(UUID.randomUUID());
+            task.setTitle("Task " + i);
+            task.setDescription("Implement part " + i + " of the feature");
+            task.setStatus(TaskStatus.values()[i % TaskStatus.values().length]);
+            task.setStartDate(origin.plusHours(i));
+            task.setEndDate(origin.plusHours(i + 8L));
+            return task;
+        }));
+    }
+
+    @Test
+    @DisplayName("binary encodings of acceptance criteria should be smaller than JSON")
+    void acceptanceCriteria() throws IOException {
+        compare("acceptance criteria", new ParameterizedTypeReference<List<AcceptanceCriteriaResponse>>() {
+        }.getType(), items(i -> AcceptanceCriteriaResponse.builder()
+                .id(UUID.randomUUID())
+                .given("Given a backlog with " + i + " stories")
+                .when("When the sprint starts")
+                .then("Then the board shows every story")
+                .met(i % 2 == 0)
+                .build()));
+    }
+
+    private void compare(String name, Type type, List<?> items) throws IOException {
+        Map<MediaType, Measure> measures = new LinkedHashMap<>();
+        for (MediaType format : FORMATS) {
+            GenericHttpMessageConverter<Object> converter = converterFor(type, format);
+            byte[] body = write(converter, items, type, format);
+            assertThat(read(converter, type, body)).isEqualTo(items);
+
+            for (int i = 0; i < WARM_UP_ROUNDS; i++) {
+                read(converter, type, write(converter, items, type, format));
+            }
+            long start = System.nanoTime();
+            for (int i = 0; i < ROUNDS; i++) {
+                write(converter, items, type, format);
+            }
+            long writeNanos = System.nanoTime() - start;
+            start = System.nanoTime();
+            for (int i = 0; i < ROUNDS; i++) {
+                read(converter, type, body);
+            }
+            long readNanos = System.nanoTime() - start;
+
+            Measure measure = new Measure(body.length, perSecond(writeNanos), perSecond(readNanos));
+            measures.put(format, measure);
+            System.out.printf("%s as %s: %d bytes, %d items/s written, %d items/s read%n", name, format,
+                    measure.bytes(), measure.writesPerSecond(), measure.readsPerSecond());
+        }
+
+        long json = measures.get(MediaType.APPLICATION_JSON).bytes();
+        measures.forEach((format, measure) -> {
+            if (!format.equals(MediaType.APPLICATION_JSON)) {
+                assertThat(measure.bytes()).as("%s payload", format).isLessThan(json);
+            }
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private GenericHttpMessageConverter<Object> converterFor(Type type, MediaType format) {
+        for (HttpMessageConverter<?> converter : handlerAdapter.getMessageConverters()) {
+            if (converter instanceof GenericHttpMessageConverter<?> generic
+                    && generic.canWrite(type, List.class, format)) {
+                return (GenericHttpMessageConverter<Object>) generic;
+            }
+        }
+        throw new IllegalStateException("No converter for " + format);
+    }
+
+    private static byte[] write(GenericHttpMessageConverter<Object> converter, List<?> items, Type type,
+            MediaType format) throws IOException {
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+        converter.write(items, type, format, output);
+        return output.getBodyAsBytes();
+    }
+
+    private static Object read(GenericHttpMessageConverter<Object> converter, Type type, byte[] body)
+            throws IOException {
+        return converter.read(type, null, new MockHttpInputMessage(body));
+    }
+
+    private static <T> List<T> items(IntFunction<T> factory) {
+        Random random = new Random(11);
+        List<T> items = new ArrayList<>(ITEMS);
+        for (int i = 0; i < ITEMS; i++) {
+            items.add(factory.apply(random.nextInt(ITEMS)));
+        }
+        return items;
+    }
+
+    private static long perSecond(long nanos) {
+        return (long) ITEMS * ROUNDS * 1_000_000_000L / Math.max(1, nanos);
+    }
+
+    private record Measure(long bytes, long writesPerSecond, long readsPerSecond) {
+    }
+}
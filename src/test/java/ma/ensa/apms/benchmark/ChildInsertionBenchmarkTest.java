@@ -0,0 +1,160 @@
+package ma.ensa.apms.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import jakarta.persistence.EntityManagerFactory;
+import ma.ensa.apms.dto.Request.UserStoryRequest;
+import ma.ensa.apms.modal.ProductBacklog;
+import ma.ensa.apms.modal.enums.UserStoryStatus;
+import ma.ensa.apms.repository.ProductBacklogRepository;
+import ma.ensa.apms.repository.UserStoryRepository;
+import ma.ensa.apms.service.ProductBacklogService;
+
+/**
+ * Benchmark for adding user stories to a product backlog.
+ *
+ * <p>
+ * Adding a story to a 50k-story backlog must cost the same as adding it to an
+ * almost empty one: the backlog row is neither loaded nor updated and its
+ * collections stay uninitialized. Run with {@code mvn test -Pbenchmark}.
+ * </p>
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@DisplayName("Child insertion benchmark")
+class ChildInsertionBenchmarkTest {
+
+    private static final int LARGE_BACKLOG_STORIES = 50_000;
+    private static final int SEED_BATCH = 1_000;
+    private static final int MEASURED_INSERTS = 200;
+
+    @Autowired
+    private ProductBacklogService productBacklogService;
+
+    @Autowired
+    private ProductBacklogRepository productBacklogRepository;
+
+    @Autowired
+    private UserStoryRepository userStoryRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    @DisplayName("insertion cost should stay flat with a 50k-story backlog")
+    void addUserStory_ToLargeBacklog_ShouldCostTheSameAsToSmallBacklog() {
+        // Given
+        UUID smallBacklogId = createBacklog("small", 10);
+        UUID largeBacklogId = createBacklog("large", LARGE_BACKLOG_STORIES);
+        Timestamp largeUpdatedAt = updatedAtOf(largeBacklogId);
+        insert(smallBacklogId, MEASURED_INSERTS); // warm-up
+
+        // When
+        long smallNanos = insert(smallBacklogId, MEASURED_INSERTS);
+        statistics.clear();
+        long largeNanos = insert(largeBacklogId, MEASURED_INSERTS);
+
+        // Then
+        System.out.printf("Add user story: small backlog %d us/op, %d-story backlog %d us/op%n",
+                smallNanos / MEASURED_INSERTS / 1_000, LARGE_BACKLOG_STORIES, largeNanos / MEASURED_INSERTS / 1_000);
+        assertThat(statistics.getCollectionLoadCount()).isZero();
+        assertThat(statistics.getEntityStatistics(ProductBacklog.class.getName()).getLoadCount()).isZero();
+        assertThat(statistics.getEntityStatistics(ProductBacklog.class.getName()).getUpdateCount()).isZero();
+        assertThat(updatedAtOf(largeBacklogId)).isEqualTo(largeUpdatedAt);
+        assertThat(largeNanos).isLessThan(smallNanos * 3);
+        assertThat(userStoryRepository.countByProductBacklogId(largeBacklogId))
+                .isEqualTo(LARGE_BACKLOG_STORIES + MEASURED_INSERTS);
+    }
+
+    @Test
+    @DisplayName("concurrent adds to one large backlog should all succeed")
+    void addUserStory_Concurrently_ShouldNotContendOnBacklog() throws Exception {
+        // Given
+        UUID backlogId = createBacklog("concurrent", LARGE_BACKLOG_STORIES);
+        int threads = 8;
+        int perThread = 50;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        // When
+        long start = System.nanoTime();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            futures.add(executor.submit(() -> insert(backlogId, perThread)));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        long elapsed = System.nanoTime() - start;
+        executor.shutdown();
+
+        // Then
+        System.out.printf("Concurrent adds: %d threads x %d stories in %d ms%n", threads, perThread,
+                elapsed / 1_000_000);
+        assertThat(userStoryRepository.countByProductBacklogId(backlogId))
+                .isEqualTo(LARGE_BACKLOG_STORIES + (long) threads * perThread);
+    }
+
+    private UUID createBacklog(String name, int stories) {
+        ProductBacklog backlog = productBacklogRepository.save(ProductBacklog.builder().name(name).build());
+        String sql = "insert into user_story (id, name, role, feature, benefit, priority, status, product_backlog_id) "
+                + "values (?, ?, ?, ?, ?, ?, ?, ?)";
+        for (int from = 0; from < stories; from += SEED_BATCH) {
+            List<Object[]> rows = new ArrayList<>(SEED_BATCH);
+            for (int i = from; i < Math.min(stories, from + SEED_BATCH); i++) {
+                rows.add(new Object[] { UUID.randomUUID(), "Seeded story " + i, "user", "feature", "benefit",
+                        i % 5, UserStoryStatus.values()[i % UserStoryStatus.values().length].name(),
+                        backlog.getId() });
+            }
+            jdbcTemplate.batchUpdate(sql, rows);
+        }
+        return backlog.getId();
+    }
+
+    private long insert(UUID backlogId, int count) {
+        long start = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            productBacklogService.addUserStoryToProductBacklog(backlogId, UserStoryRequest.builder()
+                    .name("Benchmark story " + i)
+                    .role("user")
+                    .feature("feature")
+                    .benefit("benefit")
+                    .priority(1)
+                    .status(UserStoryStatus.TODO)
+                    .build());
+        }
+        return System.nanoTime() - start;
+    }
+
+    private Timestamp updatedAtOf(UUID backlogId) {
+        return jdbcTemplate.queryForObject("select updated_at from product_backlog where id = ?", Timestamp.class,
+                backlogId);
+    }
+}
@@ -0,0 +1,121 @@
+package ma.ensa.apms.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import ma.ensa.apms.logging.LoggerUtils;
+import ma.ensa.apms.timeline.IntervalTree;
+import ma.ensa.apms.timeline.RangeMatch;
+
+/**
+ * Benchmark for the in-memory timeline index.
+ *
+ * <p>
+ * Runs contained, overlapping and point-in-time queries against 300k task-like
+ * periods spread over ten years, through the interval tree and through a
+ * linear scan of the same periods, which is what the derived
+ * {@code findByStartDate...AndEndDate...} queries amount to without a range
+ * index. Run with {@code mvn test -Pbenchmark}.
+ * </p>
+ */
+@Tag("benchmark")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@DisplayName("Interval query benchmark")
+class IntervalQueryBenchmarkTest {
+
+    private static final int PERIODS = 300_000;
+    private static final int QUERIES = 500;
+    private static final LocalDateTime ORIGIN = LocalDateTime.of(2020, 1, 1, 0, 0);
+
+    private final IntervalTree tree = new IntervalTree();
+    private final List<Period> periods = new ArrayList<>(PERIODS);
+
+    @BeforeAll
+    void seed() {
+        Random random = new Random(7);
+        for (int i = 0; i < PERIODS; i++) {
+            LocalDateTime start = ORIGIN.plusMinutes(random.nextInt(10 * 365 * 24 * 60));
+            LocalDateTime end = start.plusHours(1 + random.nextInt(24 * 14));
+            Period period = new Period(UUID.randomUUID(), start, end);
+            periods.add(period);
+            tree.put(period.id(), start, end);
+        }
+    }
+
+    @Test
+    @DisplayName("overlap queries over one week should beat a linear scan")
+    void overlapping() {
+        measure("overlapping", RangeMatch.OVERLAPS, 7 * 24);
+    }
+
+    @Test
+    @DisplayName("containment queries over one month should beat a linear scan")
+    void contained() {
+        measure("contained", RangeMatch.WITHIN, 30 * 24);
+    }
+
+    @Test
+    @DisplayName("point-in-time queries should beat a linear scan")
+    void pointInTime() {
+        measure("point-in-time", RangeMatch.OVERLAPS, 0);
+    }
+
+    private void measure(String name, RangeMatch match, int windowHours) {
+        Random random = new Random(11);
+        List<LocalDateTime> windows = new ArrayList<>(QUERIES);
+        for (int i = 0; i < QUERIES; i++) {
+            windows.add(ORIGIN.plusHours(random.nextInt(10 * 365 * 24)));
+        }
+        run(match, windows, windowHours, true); // warm-up
+        run(match, windows, windowHours, false);
+
+        long treeStart = System.nanoTime();
+        long treeHits = run(match, windows, windowHours, true);
+        long treeNanos = System.nanoTime() - treeStart;
+
+        long scanStart = System.nanoTime();
+        long scanHits = run(match, windows, windowHours, false);
+        long scanNanos = System.nanoTime() - scanStart;
+
+        LoggerUtils.logServiceInfo("{} x{}: interval tree {} us/query, linear scan {} us/query, {} hits",
+                name, QUERIES, treeNanos / QUERIES / 1_000, scanNanos / QUERIES / 1_000, treeHits);
+        assertThat(treeHits).isEqualTo(scanHits);
+        assertThat(treeNanos).isLessThan(scanNanos);
+    }
+
+    private long run(RangeMatch match, List<LocalDateTime> windows, int windowHours, boolean useTree) {
+        long hits = 0;
+        for (LocalDateTime from : windows) {
+            LocalDateTime to = from.plusHours(windowHours);
+            hits += useTree ? tree.find(match, from, to).size() : scan(match, from, to);
+        }
+        return hits;
+    }
+
+    private long scan(RangeMatch match, LocalDateTime from, LocalDateTime to) {
+        long hits = 0;
+        for (Period period : periods) {
+            boolean matches = match == RangeMatch.WITHIN
+                    ? !period.start().isBefore(from) && !period.end().isAfter(to)
+                    : !period.start().isAfter(to) && !period.end().isBefore(from);
+            if (matches) {
+                hits++;
+            }
+        }
+        return hits;
+    }
+
+    private record Period(UUID id, LocalDateTime start, LocalDateTime end) {
+    }
+}
@@ -0,0 +1,141 @@
+package ma.ensa.apms.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import ma.ensa.apms.limiter.ConcurrencyLimiter;
+import ma.ensa.apms.limiter.GradientLimit;
+import ma.ensa.apms.limiter.LoadSheddingFilter;
+import ma.ensa.apms.limiter.RequestClass;
+
+/**
+ * Load test for the load shedding filter.
+ *
+ * <p>
+ * Closed-loop clients hammer a read endpoint backed by a simulated connection
+ * pool of {@value #POOL_SIZE} connections and a fixed query time, at 2x and
+ * 10x the pool size. Without the filter every request queues on the pool and
+ * p99 grows with the offered load; with it the excess is shed with 503 and
+ * the p99 of the requests served stays flat. Run with
+ * {@code mvn test -Pbenchmark}.
+ * </p>
+ */
+@Tag("benchmark")
+@DisplayName("Load shedding benchmark")
+class LoadSheddingBenchmarkTest {
+
+    private static final int POOL_SIZE = 10;
+    private static final long QUERY_NANOS = Duration.ofMillis(2).toNanos();
+    private static final long REJECT_BACKOFF_NANOS = Duration.ofMillis(1).toNanos();
+    private static final Duration WARM_UP = Duration.ofSeconds(1);
+    private static final Duration MEASURE = Duration.ofSeconds(3);
+
+    @Test
+    @DisplayName("p99 of served requests should stay flat under overload with the limiter")
+    void overload_WithLimiter_ShouldKeepP99Stable() throws Exception {
+        // When
+        Run unprotectedLight = run(POOL_SIZE * 2, false);
+        Run unprotectedHeavy = run(POOL_SIZE * 10, false);
+        Run limitedLight = run(POOL_SIZE * 2, true);
+        Run limitedHeavy = run(POOL_SIZE * 10, true);
+
+        // Then
+        report("unprotected", POOL_SIZE * 2, unprotectedLight);
+        report("unprotected", POOL_SIZE * 10, unprotectedHeavy);
+        report("limited", POOL_SIZE * 2, limitedLight);
+        report("limited", POOL_SIZE * 10, limitedHeavy);
+        assertThat(unprotectedHeavy.p99Millis()).isGreaterThan(unprotectedLight.p99Millis() * 3);
+        assertThat(limitedHeavy.p99Millis()).isLessThan(limitedLight.p99Millis() * 2);
+        assertThat(limitedHeavy.p99Millis()).isLessThan(unprotectedHeavy.p99Millis() / 2);
+        assertThat(limitedHeavy.rejected()).isPositive();
+    }
+
+    private static Run run(int clients, boolean limited) throws InterruptedException {
+        Semaphore pool = new Semaphore(POOL_SIZE, true);
+        FilterChain query = (request, response) -> {
+            pool.acquireUninterruptibly();
+            try {
+                LockSupport.parkNanos(QUERY_NANOS);
+            } finally {
+                pool.release();
+            }
+        };
+        LoadSheddingFilter filter = new LoadSheddingFilter(
+                Map.of(RequestClass.READ, new ConcurrencyLimiter(new GradientLimit(20, 4, 200, 1.5, 500))),
+                List.of(), List.of(), Duration.ofSeconds(1), new ObjectMapper().findAndRegisterModules(),
+                new SimpleMeterRegistry());
+
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+        AtomicLong rejected = new AtomicLong();
+        long measureFrom = System.nanoTime() + WARM_UP.toNanos();
+        long measureTo = measureFrom + MEASURE.toNanos();
+        CountDownLatch done = new CountDownLatch(clients);
+        for (int c = 0; c < clients; c++) {
+            Thread client = new Thread(() -> {
+                List<Long> own = new ArrayList<>();
+                try {
+                    long now;
+                    while ((now = System.nanoTime()) < measureTo) {
+                        MockHttpServletResponse response = new MockHttpServletResponse();
+                        if (limited) {
+                            filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/tasks"), response, query);
+                        } else {
+                            query.doFilter(new MockHttpServletRequest("GET", "/api/v1/tasks"), response);
+                        }
+                        long latency = System.nanoTime() - now;
+                        boolean measured = now >= measureFrom;
+                        if (response.getStatus() == 503) {
+                            if (measured) {
+                                rejected.incrementAndGet();
+                            }
+                            LockSupport.parkNanos(REJECT_BACKOFF_NANOS);
+                        } else if (measured) {
+                            own.add(latency);
+                        }
+                    }
+                } catch (Exception ex) {
+                    throw new IllegalStateException(ex);
+                } finally {
+                    latencies.addAll(own);
+                    done.countDown();
+                }
+            }, "load-client-" + c);
+            client.setDaemon(true);
+            client.start();
+        }
+        done.await();
+
+        List<Long> sorted = new ArrayList<>(latencies);
+        Collections.sort(sorted);
+        double p99 = sorted.isEmpty() ? 0 : sorted.get((int) Math.ceil(sorted.size() * 0.99) - 1) / 1e6;
+        return new Run(sorted.size(), rejected.get(), p99);
+    }
+
+    private static void report(String mode, int clients, Run run) {
+        System.out.printf("%s, %d clients on %d connections: %d served (%.0f/s), %d shed, p99 %.2f ms%n",
+                mode, clients, POOL_SIZE, run.served(), run.served() / (double) MEASURE.toSeconds(),
+                run.rejected(), run.p99Millis());
+    }
+
+    private record Run(long served, long rejected, double p99Millis) {
+    }
+}
@@ -0,0 +1,166 @@
+package ma.ensa.apms.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import ma.ensa.apms.rollup.StatusRollupVerifier;
+import ma.ensa.apms.snapshot.BatchSnapshotLoader;
+import ma.ensa.apms.snapshot.CopySnapshotLoader;
+import ma.ensa.apms.snapshot.SnapshotExporter;
+import ma.ensa.apms.snapshot.SnapshotLoader;
+import ma.ensa.apms.snapshot.SnapshotRestorer;
+import ma.ensa.apms.timeline.TimelineIndex;
+
+/**
+ * Benchmark for the project snapshot round trip on a project of about one
+ * million rows.
+ *
+ * <p>
+ * Seeds 200 epics of 500 stories, each with 5 tasks and 4 acceptance criteria,
+ * on the configured PostgreSQL database, exports the project to a file, then
+ * restores it once through {@code COPY} and once through JDBC insert batches.
+ * Each restored copy must export the same number of rows as the original. Run
+ * with {@code mvn test -Pbenchmark}.
+ * </p>
+ */
+@Tag("benchmark")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@SpringBootTest(properties = "apms.snapshot.loader=copy")
+@DisplayName("Project snapshot benchmark")
+class ProjectSnapshotBenchmarkTest {
+
+    private static final int SPRINTS = 20;
+    private static final int EPICS = 200;
+    private static final int STORIES_PER_EPIC = 500;
+    private static final int TASKS_PER_STORY = 5;
+    private static final int CRITERIA_PER_STORY = 4;
+
+    @Autowired
+    private SnapshotExporter snapshotExporter;
+
+    @Autowired
+    private SnapshotLoader snapshotLoader;
+
+    @Autowired
+    private StatusRollupVerifier statusRollupVerifier;
+
+    @Autowired
+    private TimelineIndex timelineIndex;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private UUID projectId;
+    private Path snapshot;
+
+    @BeforeAll
+    void seed() throws Exception {
+        UUID productBacklogId = UUID.randomUUID();
+        projectId = UUID.randomUUID();
+        Timestamp start = Timestamp.valueOf(LocalDateTime.of(2025, 1, 6, 9, 0));
+        Timestamp end = Timestamp.valueOf(LocalDateTime.of(2025, 3, 28, 17, 0));
+        jdbcTemplate.update("insert into product_backlog (id, name) values (?, ?)", productBacklogId,
+                "Benchmark backlog");
+        jdbcTemplate.update("insert into project (id, name, description, status, start_date, end_date, "
+                + "product_backlog_id) values (?, ?, ?, ?, ?, ?, ?)", projectId, "Benchmark project",
+                "x".repeat(200), "IN_PROGRESS", start, end, productBacklogId);
+        jdbcTemplate.update("insert into sprint_backlog (id, name, product_backlog_id) "
+                + "select gen_random_uuid(), 'Sprint ' || s, ? from generate_series(1, ?) s",
+                productBacklogId, SPRINTS);
+        jdbcTemplate.update("insert into epic (id, name, description, product_backlog_id) "
+                + "select gen_random_uuid(), 'Epic ' || e, repeat('x', 200), ? from generate_series(1, ?) e",
+                productBacklogId, EPICS);
+        jdbcTemplate.update("insert into user_story (id, name, role, feature, benefit, priority, status, epic_id, "
+                + "product_backlog_id) "
+                + "select gen_random_uuid(), e.name || ' story ' || s, "
+                + "(array['developer', 'product owner', 'customer'])[1 + s % 3], repeat('f', 80), "
+                + "repeat('b', 80), s % 5, (array['TODO', 'IN_PROGRESS', 'DONE', 'BLOCKED'])[1 + s % 4], e.id, ? "
+                + "from epic e cross join generate_series(1, ?) s where e.product_backlog_id = ?",
+                productBacklogId, STORIES_PER_EPIC, productBacklogId);
+        jdbcTemplate.update("insert into task (id, title, description, status, start_date, end_date, user_story_id) "
+                + "select gen_random_uuid(), 'Task ' || t, repeat('d', 120), 'TODO', ?, ?, us.id "
+                + "from user_story us cross join generate_series(1, ?) t where us.product_backlog_id = ?",
+                start, end, TASKS_PER_STORY, productBacklogId);
+        jdbcTemplate.update("insert into acceptance_criteria (id, given, _when, _then, met, user_story_id) "
+                + "select gen_random_uuid(), 'given ' || c, 'when ' || c, 'then ' || c, c % 2 = 0, us.id "
+                + "from user_story us cross join generate_series(1, ?) c where us.product_backlog_id = ?",
+                CRITERIA_PER_STORY, productBacklogId);
+        snapshot = Files.createTempFile("project-snapshot", ".apms");
+    }
+
+    @AfterAll
+    void deleteSnapshot() throws Exception {
+        Files.deleteIfExists(snapshot);
+    }
+
+    @Test
+    @DisplayName("a one million row project should survive the round trip, COPY restoring faster than batches")
+    void snapshot_RoundTrip_ShouldRestoreEveryRow() throws Exception {
+        // Given
+        assertThat(snapshotLoader).isInstanceOf(CopySnapshotLoader.class);
+        SnapshotRestorer batchRestorer = new SnapshotRestorer(new BatchSnapshotLoader(dataSource),
+                statusRollupVerifier, timelineIndex, transactionManager);
+        SnapshotRestorer copyRestorer = new SnapshotRestorer(snapshotLoader, statusRollupVerifier, timelineIndex,
+                transactionManager);
+
+        // When
+        long start = System.nanoTime();
+        long rows;
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(snapshot))) {
+            rows = snapshotExporter.export(projectId, out);
+        }
+        double exportMillis = (System.nanoTime() - start) / 1e6;
+        Restore copy = restore(copyRestorer);
+        Restore batch = restore(batchRestorer);
+
+        // Then
+        System.out.printf("Snapshot of %d rows, %d KB: export %.0f ms, restore with COPY %.0f ms, "
+                + "restore with batches %.0f ms%n", rows, Files.size(snapshot) / 1024, exportMillis,
+                copy.millis(), batch.millis());
+        assertThat(rows).isGreaterThanOrEqualTo(1_000_000);
+        assertThat(copy.rows()).isEqualTo(rows);
+        assertThat(batch.rows()).isEqualTo(rows);
+        assertThat(copy.millis()).isLessThan(batch.millis());
+    }
+
+    private Restore restore(SnapshotRestorer restorer) throws Exception {
+        long start = System.nanoTime();
+        UUID restoredId;
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(snapshot))) {
+            restoredId = restorer.restore(in);
+        }
+        double millis = (System.nanoTime() - start) / 1e6;
+        return new Restore(millis, snapshotExporter.export(restoredId, OutputStream.nullOutputStream()));
+    }
+
+    private record Restore(double millis, long rows) {
+    }
+}
@@ -0,0 +1,170 @@
+package ma.ensa.apms.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import ma.ensa.apms.mapper.TaskMapper;
+import ma.ensa.apms.repository.EpicRepository;
+import ma.ensa.apms.repository.TaskRepository;
+import ma.ensa.apms.repository.UserStoryRepository;
+import ma.ensa.apms.service.helper.ProjectRepositoryHelper;
+import ma.ensa.apms.tree.EntityProjectTreeWriter;
+import ma.ensa.apms.tree.JsonAggProjectTreeWriter;
+import ma.ensa.apms.tree.ProjectTreeWriter;
+
+/**
+ * Benchmark for the project tree: JSON aggregated by PostgreSQL against the
+ * entity assembly.
+ *
+ * <p>
+ * Seeds a project of 2,000 stories and 6,000 tasks on the configured
+ * PostgreSQL database, checks that both paths write the same document, then
+ * compares their latency and the heap allocated by the calling thread per
+ * tree. Run with {@code mvn test -Pbenchmark}.
+ * </p>
+ */
+@Tag("benchmark")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@SpringBootTest(properties = "apms.project-tree.assembly=json-agg")
+@DisplayName("Project tree benchmark")
+class ProjectTreeBenchmarkTest {
+
+    private static final int EPICS = 50;
+    private static final int STORIES_PER_EPIC = 40;
+    private static final int TASKS_PER_STORY = 3;
+    private static final int WARM_UP = 5;
+    private static final int ROUNDS = 20;
+    private static final String TEXT = "x".repeat(200);
+
+    @Autowired
+    private ProjectTreeWriter projectTreeWriter;
+
+    @Autowired
+    private ProjectRepositoryHelper projectRepositoryHelper;
+
+    @Autowired
+    private EpicRepository epicRepository;
+
+    @Autowired
+    private UserStoryRepository userStoryRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskMapper taskMapper;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final com.sun.management.ThreadMXBean threadMXBean =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private EntityProjectTreeWriter entityWriter;
+    private UUID projectId;
+
+    @BeforeAll
+    void seed() {
+        threadMXBean.setThreadAllocatedMemoryEnabled(true);
+        entityWriter = new EntityProjectTreeWriter(projectRepositoryHelper, epicRepository, userStoryRepository,
+                taskRepository, taskMapper, objectMapper, transactionManager);
+
+        UUID productBacklogId = UUID.randomUUID();
+        projectId = UUID.randomUUID();
+        Timestamp start = Timestamp.valueOf(LocalDateTime.of(2025, 1, 6, 9, 0));
+        Timestamp end = Timestamp.valueOf(LocalDateTime.of(2025, 3, 28, 17, 0));
+        jdbcTemplate.update("insert into product_backlog (id, name) values (?, ?)", productBacklogId,
+                "Benchmark backlog");
+        jdbcTemplate.update("insert into project (id, name, description, status, start_date, end_date, "
+                + "product_backlog_id) values (?, ?, ?, ?, ?, ?, ?)", projectId, "Benchmark project", TEXT,
+                "IN_PROGRESS", start, end, productBacklogId);
+
+        List<Object[]> epics = new ArrayList<>(EPICS);
+        List<Object[]> stories = new ArrayList<>(EPICS * STORIES_PER_EPIC);
+        List<Object[]> tasks = new ArrayList<>(EPICS * STORIES_PER_EPIC * TASKS_PER_STORY);
+        for (int e = 0; e < EPICS; e++) {
+            UUID epicId = UUID.randomUUID();
+            epics.add(new Object[] { epicId, "Epic " + e, TEXT, productBacklogId });
+            for (int s = 0; s < STORIES_PER_EPIC; s++) {
+                UUID storyId = UUID.randomUUID();
+                stories.add(new Object[] { storyId, "Story " + e + "." + s, TEXT, TEXT, TEXT, s % 5, "TODO", epicId,
+                        productBacklogId });
+                for (int t = 0; t < TASKS_PER_STORY; t++) {
+                    tasks.add(new Object[] { UUID.randomUUID(), "Task " + e + "." + s + "." + t, TEXT, "TODO",
+                            t == 0 ? null : start, t == 0 ? null : end, storyId });
+                }
+            }
+        }
+        jdbcTemplate.batchUpdate("insert into epic (id, name, description, product_backlog_id) values (?, ?, ?, ?)",
+                epics);
+        jdbcTemplate.batchUpdate("insert into user_story (id, name, role, feature, benefit, priority, status, "
+                + "epic_id, product_backlog_id) values (?, ?, ?, ?, ?, ?, ?, ?, ?)", stories);
+        jdbcTemplate.batchUpdate("insert into task (id, title, description, status, start_date, end_date, "
+                + "user_story_id) values (?, ?, ?, ?, ?, ?, ?)", tasks);
+    }
+
+    @Test
+    @DisplayName("the JSON aggregated by PostgreSQL should match the entity assembly for less heap")
+    void tree_JsonAgg_ShouldMatchEntityAssemblyWithLessHeap() throws Exception {
+        // Given
+        assertThat(projectTreeWriter).isInstanceOf(JsonAggProjectTreeWriter.class);
+        ByteArrayOutputStream aggregated = new ByteArrayOutputStream();
+        ByteArrayOutputStream assembled = new ByteArrayOutputStream();
+        projectTreeWriter.write(projectId, aggregated);
+        entityWriter.write(projectId, assembled);
+        assertThat(objectMapper.readTree(aggregated.toByteArray()))
+                .isEqualTo(objectMapper.readTree(assembled.toByteArray()));
+
+        // When
+        Measure jsonAgg = measure(projectTreeWriter);
+        Measure entity = measure(entityWriter);
+
+        // Then
+        System.out.printf("Project tree of %d stories, %d bytes: json_agg %.1f ms / %d KB allocated, "
+                + "entities %.1f ms / %d KB allocated%n", EPICS * STORIES_PER_EPIC, aggregated.size(),
+                jsonAgg.millis(), jsonAgg.allocatedKb(), entity.millis(), entity.allocatedKb());
+        assertThat(jsonAgg.allocatedKb()).isLessThan(entity.allocatedKb());
+    }
+
+    private Measure measure(ProjectTreeWriter writer) throws Exception {
+        for (int i = 0; i < WARM_UP; i++) {
+            writer.write(projectId, OutputStream.nullOutputStream());
+        }
+        long allocatedBefore = threadMXBean.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            writer.write(projectId, OutputStream.nullOutputStream());
+        }
+        long nanos = System.nanoTime() - start;
+        long allocated = threadMXBean.getCurrentThreadAllocatedBytes() - allocatedBefore;
+        return new Measure(nanos / 1e6 / ROUNDS, allocated / 1024 / ROUNDS);
+    }
+
+    private record Measure(double millis, long allocatedKb) {
+    }
+}
@@ -0,0 +1,130 @@
+package ma.ensa.apms.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import ma.ensa.apms.modal.Epic;
+import ma.ensa.apms.repository.EpicRepository;
+
+/**
+ * Benchmark for user story lists written from cached serialized fragments.
+ *
+ * <p>
+ * Requests the stories of a large epic through the DTO handler and through
+ * the JSON handler once its fragments are cached, and compares the time and
+ * the bytes allocated by the request thread. Both must return the same
+ * document. Run with {@code mvn test -Pbenchmark}.
+ * </p>
+ */
+@Tag("benchmark")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@AutoConfigureMockMvc
+@SpringBootTest
+@DisplayName("Serialized response benchmark")
+class SerializedResponseBenchmarkTest {
+
+    private static final int STORIES = 2_500;
+    private static final int ROUNDS = 50;
+    private static final String TEXT = "x".repeat(200);
+
+    private final com.sun.management.ThreadMXBean threadMXBean =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EpicRepository epicRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private UUID epicId;
+
+    @BeforeAll
+    void seed() {
+        epicId = epicRepository.save(Epic.builder().name("Benchmark epic").description(TEXT).build()).getId();
+        List<Object[]> stories = new ArrayList<>(STORIES);
+        for (int i = 0; i < STORIES; i++) {
+            stories.add(new Object[] { UUID.randomUUID(), "Story " + i, TEXT, TEXT, TEXT, i % 5, "TODO", epicId });
+        }
+        jdbcTemplate.batchUpdate("insert into user_story (id, name, role, feature, benefit, priority, status, epic_id) "
+                + "values (?, ?, ?, ?, ?, ?, ?, ?)", stories);
+        threadMXBean.setThreadAllocatedMemoryEnabled(true);
+    }
+
+    @Test
+    @DisplayName("cached fragments should serve the same list with less time and allocation")
+    void userStories_FromFragments_ShouldSpareMappingAndSerialization() throws Exception {
+        // Given
+        MockHttpServletRequestBuilder dto = get("/api/v1/user-stories/epic/{epicId}", epicId);
+        MockHttpServletRequestBuilder fragments = get("/api/v1/user-stories/epic/{epicId}", epicId)
+                .accept(MediaType.APPLICATION_JSON);
+        byte[] expected = body(dto);
+        byte[] cached = body(fragments);
+
+        // When
+        Measure dtoMeasure = measure(dto);
+        double hitsBefore = meterRegistry.counter("apms.cache.fragments.hits").count();
+        Measure fragmentsMeasure = measure(fragments);
+        double hits = meterRegistry.counter("apms.cache.fragments.hits").count() - hitsBefore;
+
+        // Then
+        System.out.printf("%d stories: DTO %.1f ms / %d KB, fragments %.1f ms / %d KB per request, "
+                + "saved %.1f ms of serialization per request%n", STORIES, dtoMeasure.millis(),
+                dtoMeasure.allocatedKb(), fragmentsMeasure.millis(), fragmentsMeasure.allocatedKb(),
+                meterRegistry.timer("apms.cache.fragments.saved.cpu").mean(TimeUnit.MILLISECONDS));
+        assertThat(objectMapper.readTree(cached)).isEqualTo(objectMapper.readTree(expected));
+        assertThat(hits).isEqualTo((double) STORIES * ROUNDS);
+        assertThat(fragmentsMeasure.allocatedKb()).isLessThan(dtoMeasure.allocatedKb());
+        assertThat(fragmentsMeasure.millis()).isLessThan(dtoMeasure.millis());
+    }
+
+    private byte[] body(MockHttpServletRequestBuilder request) throws Exception {
+        return mockMvc.perform(request).andExpect(status().isOk()).andReturn().getResponse()
+                .getContentAsByteArray();
+    }
+
+    private Measure measure(MockHttpServletRequestBuilder request) throws Exception {
+        long allocatedBefore = threadMXBean.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            mockMvc.perform(request).andExpect(status().isOk());
+        }
+        double millis = (System.nanoTime() - start) / 1e6 / ROUNDS;
+        long allocatedKb = (threadMXBean.getCurrentThreadAllocatedBytes() - allocatedBefore) / 1024 / ROUNDS;
+        return new Measure(millis, allocatedKb);
+    }
+
+    private record Measure(double millis, long allocatedKb) {
+    }
+}
@@ -0,0 +1,160 @@
+package ma.ensa.apms.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import jakarta.persistence.EntityManagerFactory;
+import ma.ensa.apms.modal.Epic;
+import ma.ensa.apms.repository.EpicRepository;
+
+/**
+ * Benchmark for sparse fieldsets and expansions on the user story and task
+ * list endpoints.
+ *
+ * <p>
+ * Compares the payload of the full list with a {@code fields} selection, and
+ * checks that expanding tasks, acceptance criteria and the epic of every story
+ * costs a fixed number of {@code IN} queries rather than one per story. Run with
+ * {@code mvn test -Pbenchmark}.
+ * </p>
+ */
+@Tag("benchmark")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@AutoConfigureMockMvc
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@DisplayName("Sparse fields benchmark")
+class SparseFieldsBenchmarkTest {
+
+    private static final int STORIES = 2_500;
+    private static final int TASKS_PER_STORY = 2;
+    private static final int CRITERIA_PER_STORY = 2;
+    private static final String TEXT = "x".repeat(200);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EpicRepository epicRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private UUID epicId;
+
+    @BeforeAll
+    void seed() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        epicId = epicRepository.save(Epic.builder().name("Benchmark epic").description(TEXT).build()).getId();
+
+        List<Object[]> stories = new ArrayList<>(STORIES);
+        List<Object[]> tasks = new ArrayList<>(STORIES * TASKS_PER_STORY);
+        List<Object[]> criteria = new ArrayList<>(STORIES * CRITERIA_PER_STORY);
+        Timestamp start = Timestamp.valueOf(LocalDateTime.of(2025, 1, 6, 9, 0));
+        Timestamp end = Timestamp.valueOf(LocalDateTime.of(2025, 1, 10, 17, 0));
+        for (int i = 0; i < STORIES; i++) {
+            UUID storyId = UUID.randomUUID();
+            stories.add(new Object[] { storyId, "Story " + i, TEXT, TEXT, TEXT, i % 5, "TODO", epicId });
+            for (int t = 0; t < TASKS_PER_STORY; t++) {
+                tasks.add(new Object[] { UUID.randomUUID(), "Task " + i + "." + t, TEXT, "TODO", start, end,
+                        storyId });
+            }
+            for (int c = 0; c < CRITERIA_PER_STORY; c++) {
+                criteria.add(new Object[] { UUID.randomUUID(), TEXT, TEXT, TEXT, false, storyId });
+            }
+        }
+        jdbcTemplate.batchUpdate("insert into user_story (id, name, role, feature, benefit, priority, status, epic_id) "
+                + "values (?, ?, ?, ?, ?, ?, ?, ?)", stories);
+        jdbcTemplate.batchUpdate("insert into task (id, title, description, status, start_date, end_date, "
+                + "user_story_id) values (?, ?, ?, ?, ?, ?, ?)", tasks);
+        jdbcTemplate.batchUpdate("insert into acceptance_criteria (id, given, _when, _then, met, user_story_id) "
+                + "values (?, ?, ?, ?, ?, ?)", criteria);
+    }
+
+    @Test
+    @DisplayName("a fields selection should shrink the user story list payload")
+    void userStories_WithFields_ShouldShrinkPayload() throws Exception {
+        // When
+        Measure full = measure(get("/api/v1/user-stories/epic/{epicId}", epicId));
+        Measure sparse = measure(get("/api/v1/user-stories/epic/{epicId}", epicId)
+                .param("fields", "id,name,status"));
+
+        // Then
+        report("user stories", full, sparse);
+        assertThat(sparse.bytes()).isLessThan(full.bytes() / 4);
+    }
+
+    @Test
+    @DisplayName("expansions should cost a fixed number of IN queries, not one per story")
+    void userStories_WithExpansions_ShouldBatchLoad() throws Exception {
+        // When
+        Measure expanded = measure(get("/api/v1/user-stories/epic/{epicId}", epicId)
+                .param("fields", "id,name")
+                .param("expand", "tasks,acceptanceCriteria,epic"));
+
+        // Then
+        System.out.printf("Expanded user stories: %d stories, %d bytes, %d statements, %d entity loads, %d ms%n",
+                STORIES, expanded.bytes(), expanded.statements(), expanded.entityLoads(), expanded.millis());
+        // epic lookup + stories + tasks and criteria in chunks of 1000 + epic
+        long chunks = (STORIES + 999) / 1000;
+        assertThat(expanded.statements()).isLessThanOrEqualTo(3 + 2 * chunks);
+        assertThat(expanded.entityLoads()).isLessThanOrEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("a fields selection should shrink the task list payload")
+    void tasks_WithFields_ShouldShrinkPayload() throws Exception {
+        // When
+        Measure full = measure(get("/api/v1/tasks"));
+        Measure sparse = measure(get("/api/v1/tasks").param("fields", "id,title,status"));
+
+        // Then
+        report("tasks", full, sparse);
+        assertThat(sparse.bytes()).isLessThan(full.bytes() / 2);
+        assertThat(sparse.entityLoads()).isZero();
+    }
+
+    private Measure measure(MockHttpServletRequestBuilder request) throws Exception {
+        mockMvc.perform(request).andExpect(status().isOk()); // warm-up
+        statistics.clear();
+        long start = System.nanoTime();
+        MvcResult result = mockMvc.perform(request).andExpect(status().isOk()).andReturn();
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        return new Measure(result.getResponse().getContentAsByteArray().length,
+                statistics.getPrepareStatementCount(), statistics.getEntityLoadCount(), millis);
+    }
+
+    private static void report(String endpoint, Measure full, Measure sparse) {
+        System.out.printf("%s: full %d bytes / %d statements / %d ms, sparse %d bytes / %d statements / %d ms%n",
+                endpoint, full.bytes(), full.statements(), full.millis(), sparse.bytes(), sparse.statements(),
+                sparse.millis());
+    }
+
+    private record Measure(long bytes, long statements, long entityLoads, long millis) {
+    }
+}
@@ -0,0 +1,177 @@
+package ma.ensa.apms.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import ma.ensa.apms.batch.BatchLookup;
+import ma.ensa.apms.event.BoardEventPublisher;
+import ma.ensa.apms.mapper.AcceptanceCriteriaMapper;
+import ma.ensa.apms.repository.AcceptanceCriteriaRepository;
+import ma.ensa.apms.service.AcceptanceCriteriaService;
+import ma.ensa.apms.service.helper.AcceptanceCriteriaRepositoryHelper;
+import ma.ensa.apms.service.impl.AcceptanceCriteriaServiceImpl;
+import ma.ensa.apms.writebehind.WriteBehindBuffer;
+
+/**
+ * Benchmark for the write-behind path of acceptance criteria toggles.
+ *
+ * <p>
+ * Concurrent clients toggle random criteria of one story, first through the
+ * per-request path (one transaction and one UPDATE per toggle), then through
+ * the write-behind buffer, the final flush included in the measured time.
+ * Task status changes take the same path. Run with
+ * {@code mvn test -Pbenchmark}.
+ * </p>
+ */
+@Tag("benchmark")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@SpringBootTest(properties = "apms.write-behind.enabled=true")
+@DisplayName("Write-behind benchmark")
+class WriteBehindBenchmarkTest {
+
+    private static final int CRITERIA = 500;
+    private static final int CLIENTS = 16;
+    private static final Duration MEASURE = Duration.ofSeconds(3);
+    private static final String TEXT = "x".repeat(50);
+
+    @Autowired
+    private AcceptanceCriteriaService acceptanceCriteriaService;
+
+    @Autowired
+    private WriteBehindBuffer writeBehindBuffer;
+
+    @Autowired
+    private AcceptanceCriteriaRepository acceptanceCriteriaRepository;
+
+    @Autowired
+    private AcceptanceCriteriaMapper acceptanceCriteriaMapper;
+
+    @Autowired
+    private AcceptanceCriteriaRepositoryHelper acceptanceCriteriaRepositoryHelper;
+
+    @Autowired
+    private BoardEventPublisher boardEventPublisher;
+
+    @Autowired
+    private BatchLookup batchLookup;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<UUID> criteriaIds = new ArrayList<>();
+
+    @BeforeAll
+    void seed() {
+        UUID storyId = UUID.randomUUID();
+        jdbcTemplate.update("insert into user_story (id, name, role, feature, benefit, priority, status) "
+                + "values (?, ?, ?, ?, ?, ?, ?)", storyId, "Benchmark story", TEXT, TEXT, TEXT, 1, "TODO");
+        List<Object[]> criteria = new ArrayList<>(CRITERIA);
+        for (int i = 0; i < CRITERIA; i++) {
+            UUID id = UUID.randomUUID();
+            criteriaIds.add(id);
+            criteria.add(new Object[] { id, TEXT, TEXT, TEXT, false, storyId });
+        }
+        jdbcTemplate.batchUpdate("insert into acceptance_criteria (id, given, _when, _then, met, user_story_id) "
+                + "values (?, ?, ?, ?, ?, ?)", criteria);
+    }
+
+    @Test
+    @DisplayName("write-behind toggles should be read back at once and commit faster than per-request ones")
+    void toggles_WithWriteBehind_ShouldOutpacePerRequestPath() throws Exception {
+        // Given
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        AcceptanceCriteriaService perRequestService = new AcceptanceCriteriaServiceImpl(acceptanceCriteriaRepository,
+                acceptanceCriteriaMapper, acceptanceCriteriaRepositoryHelper, boardEventPublisher, batchLookup,
+                new WriteBehindBuffer(entityManagerFactory, entityManager, jdbcTemplate, transactionManager,
+                        meterRegistry, false, Duration.ofMillis(5), 256));
+        UUID probe = criteriaIds.get(0);
+
+        // When
+        acceptanceCriteriaService.updateMet(probe, true);
+        boolean readBack = acceptanceCriteriaService.findById(probe).isMet();
+        double perRequest = measure(id -> transaction.executeWithoutResult(
+                status -> perRequestService.updateMet(id, ThreadLocalRandom.current().nextBoolean())));
+        double accepted = meterRegistry.get("apms.write-behind.accepted").counter().count();
+        double written = meterRegistry.get("apms.write-behind.written").counter().count();
+        double writeBehind = measure(id -> acceptanceCriteriaService.updateMet(id,
+                ThreadLocalRandom.current().nextBoolean()));
+
+        // Then
+        accepted = meterRegistry.get("apms.write-behind.accepted").counter().count() - accepted;
+        written = meterRegistry.get("apms.write-behind.written").counter().count() - written;
+        System.out.printf("Criteria toggles, %d clients on %d rows: per-request %.0f/s, write-behind %.0f/s "
+                + "(%.0f toggles written as %.0f row updates)%n", CLIENTS, CRITERIA, perRequest, writeBehind,
+                accepted, written);
+        assertThat(readBack).isTrue();
+        assertThat(writeBehindBuffer.size()).isZero();
+        assertThat(written).isLessThan(accepted);
+        assertThat(writeBehind).isGreaterThan(perRequest);
+    }
+
+    /**
+     * Toggle random criteria from every client for the measured duration
+     *
+     * @return the toggles per second, the final flush included
+     */
+    private double measure(Consumer<UUID> toggle) throws Exception {
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        long start = System.nanoTime();
+        long end = start + MEASURE.toNanos();
+        try {
+            List<Future<Integer>> counts = new ArrayList<>();
+            for (int c = 0; c < CLIENTS; c++) {
+                counts.add(clients.submit(() -> {
+                    int toggles = 0;
+                    while (System.nanoTime() < end) {
+                        toggle.accept(criteriaIds.get(ThreadLocalRandom.current().nextInt(CRITERIA)));
+                        toggles++;
+                    }
+                    return toggles;
+                }));
+            }
+            long total = 0;
+            for (Future<Integer> count : counts) {
+                total += count.get();
+            }
+            writeBehindBuffer.flush();
+            return total / ((System.nanoTime() - start) / 1e9);
+        } finally {
+            clients.shutdownNow();
+        }
+    }
+}
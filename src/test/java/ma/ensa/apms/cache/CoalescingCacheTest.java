@@ -0,0 +1,270 @@
+package ma.ensa.apms.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataAccessException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import ma.ensa.apms.exception.ResourceNotFoundException;
+
+/**
+ * Unit tests for {@link CoalescingCache}
+ */
+@DisplayName("CoalescingCache Tests")
+class CoalescingCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private MutableClock clock;
+    private ExecutorService executor;
+    private CoalescingCache<String, String> cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        clock = new MutableClock();
+        executor = Executors.newFixedThreadPool(4);
+        cache = new CoalescingCache<>("test", Duration.ofSeconds(5), Duration.ofSeconds(60), 100, Runnable::run, DataAccessException.class::isInstance, meterRegistry, clock);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("get should serve a fresh value without reloading")
+    void get_WhenFresh_ShouldNotReload() {
+        // Given
+        AtomicInteger loads = new AtomicInteger();
+
+        // When
+        cache.get("k", () -> "v" + loads.incrementAndGet());
+        String result = cache.get("k", () -> "v" + loads.incrementAndGet());
+
+        // Then
+        assertThat(result).isEqualTo("v1");
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("concurrent misses should share a single load")
+    void get_WhenConcurrentMisses_ShouldCoalesce() throws Exception {
+        // Given
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<String> leader = executor.submit(() -> cache.get("k", () -> {
+            loads.incrementAndGet();
+            loaderStarted.countDown();
+            await(release);
+            return "v";
+        }));
+        assertThat(loaderStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // When
+        List<Future<String>> followers = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            followers.add(executor.submit(() -> cache.get("k", () -> "v" + loads.incrementAndGet())));
+        }
+        waitForCoalesced(3);
+        release.countDown();
+
+        // Then
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("v");
+        for (Future<String> follower : followers) {
+            assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo("v");
+        }
+        assertThat(loads).hasValue(1);
+        assertThat(meterRegistry.counter("apms.cache.coalesced", "cache", "test").count()).isEqualTo(3.0);
+    }
+
+    @Test
+    @DisplayName("get should serve a stale value and refresh it in the background")
+    void get_WhenStale_ShouldServeStaleAndRefresh() {
+        // Given
+        cache.get("k", () -> "old");
+        clock.advance(Duration.ofSeconds(10));
+
+        // When
+        String served = cache.get("k", () -> "new");
+
+        // Then
+        assertThat(served).isEqualTo("old");
+        assertThat(cache.get("k", () -> "unused")).isEqualTo("new");
+        assertThat(meterRegistry.counter("apms.cache.stale.served", "cache", "test").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("a refresh rejected by a full executor should be dropped and the stale value served")
+    void get_WhenRefreshRejected_ShouldServeStale() {
+        // Given
+        AtomicInteger loads = new AtomicInteger();
+        cache = new CoalescingCache<>("test", Duration.ofSeconds(5), Duration.ofSeconds(60), 100,
+                task -> CoalescingCache.discardRefreshes().rejectedExecution(task, null),
+                DataAccessException.class::isInstance, meterRegistry, clock);
+        cache.get("k", () -> "old");
+        clock.advance(Duration.ofSeconds(10));
+
+        // When
+        String first = cache.get("k", () -> "new" + loads.incrementAndGet());
+        String second = cache.get("k", () -> "new" + loads.incrementAndGet());
+
+        // Then
+        assertThat(first).isEqualTo("old");
+        assertThat(second).isEqualTo("old");
+        assertThat(loads).hasValue(0);
+        clock.advance(Duration.ofSeconds(60));
+        assertThat(cache.get("k", () -> "new" + loads.incrementAndGet())).isEqualTo("new1");
+    }
+
+    @Test
+    @DisplayName("get should keep serving the cached value while the database is down, up to max-stale")
+    void get_WhenDatabaseDown_ShouldFallBackWithinMaxStale() {
+        // Given
+        cache.get("k", () -> "cached");
+        clock.advance(Duration.ofSeconds(10));
+        Supplier<String> down = () -> {
+            throw new DataAccessResourceFailureException("connection refused");
+        };
+
+        // When
+        String served = cache.get("k", down);
+        String servedAgain = cache.get("k", down);
+
+        // Then
+        assertThat(served).isEqualTo("cached");
+        assertThat(servedAgain).isEqualTo("cached");
+        assertThat(meterRegistry.counter("apms.cache.fallback", "cache", "test").count()).isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("get should not serve a value past max-stale, even when the database is down")
+    void get_WhenDatabaseDownPastMaxStale_ShouldRethrow() {
+        // Given
+        cache.get("k", () -> "cached");
+        clock.advance(Duration.ofMinutes(5));
+
+        // When / Then
+        assertThatThrownBy(() -> cache.get("k", () -> {
+            throw new DataAccessResourceFailureException("connection refused");
+        })).isInstanceOf(DataAccessResourceFailureException.class);
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("a business error during a background refresh should drop the cached value")
+    void get_WhenRefreshFailsWithBusinessError_ShouldDropValue() {
+        // Given
+        cache.get("k", () -> "cached");
+        clock.advance(Duration.ofSeconds(10));
+
+        // When
+        cache.get("k", () -> {
+            throw new ResourceNotFoundException("Product backlog not found");
+        });
+
+        // Then
+        assertThat(cache.size()).isZero();
+        assertThat(meterRegistry.counter("apms.cache.fallback", "cache", "test").count()).isZero();
+    }
+
+    @Test
+    @DisplayName("get should rethrow business errors even when a value is cached")
+    void get_WhenBusinessError_ShouldRethrow() {
+        // Given
+        cache.get("k", () -> "cached");
+        clock.advance(Duration.ofMinutes(5));
+
+        // When / Then
+        assertThatThrownBy(() -> cache.get("k", () -> {
+            throw new ResourceNotFoundException("Product backlog not found");
+        })).isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("evict should force the next read to reload")
+    void evict_ShouldForceReload() {
+        // Given
+        cache.get("k", () -> "old");
+
+        // When
+        cache.evict("k");
+
+        // Then
+        assertThat(cache.get("k", () -> "new")).isEqualTo("new");
+    }
+
+    @Test
+    @DisplayName("getIfFresh should return only fresh values and never load")
+    void getIfFresh_ShouldIgnoreMissingAndStaleValues() {
+        // Given
+        cache.get("k", () -> "v");
+
+        // When / Then
+        assertThat(cache.getIfFresh("k")).isEqualTo("v");
+        assertThat(cache.getIfFresh("other")).isNull();
+        clock.advance(Duration.ofSeconds(6));
+        assertThat(cache.getIfFresh("k")).isNull();
+        assertThat(meterRegistry.counter("apms.cache.loads", "cache", "test").count()).isEqualTo(1);
+    }
+
+    private void waitForCoalesced(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.counter("apms.cache.coalesced", "cache", "test").count() < expected
+                && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now = Instant.parse("2025-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
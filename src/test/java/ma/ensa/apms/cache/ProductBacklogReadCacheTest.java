@@ -0,0 +1,86 @@
+package ma.ensa.apms.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import ma.ensa.apms.dto.Response.ProductBacklogResponse;
+import ma.ensa.apms.dto.Response.ProgressResponse;
+import ma.ensa.apms.dto.Response.UserStoryResponse;
+import ma.ensa.apms.modal.enums.UserStoryStatus;
+
+/**
+ * Unit tests for {@link ProductBacklogReadCache}
+ */
+@DisplayName("ProductBacklogReadCache Tests")
+class ProductBacklogReadCacheTest {
+
+    private ProductBacklogReadCache cache;
+    private UUID productBacklogId;
+
+    @BeforeEach
+    void setUp() {
+        cache = new ProductBacklogReadCache(new SimpleMeterRegistry(), Duration.ofMinutes(1), Duration.ofMinutes(1),
+                100, 1);
+        productBacklogId = UUID.randomUUID();
+    }
+
+    @AfterEach
+    void tearDown() {
+        cache.shutdown();
+    }
+
+    @Test
+    @DisplayName("a caller changing the product backlog it read should not change the cached value")
+    void getProductBacklog_ShouldReturnCopies() {
+        // Given
+        Map<UserStoryStatus, Long> byStatus = new EnumMap<>(UserStoryStatus.class);
+        byStatus.put(UserStoryStatus.TODO, 2L);
+        cache.getProductBacklog(productBacklogId, () -> ProductBacklogResponse.builder()
+                .id(productBacklogId)
+                .name("Backlog")
+                .progress(ProgressResponse.builder().storiesByStatus(byStatus).totalStories(2).build())
+                .build());
+
+        // When
+        ProductBacklogResponse first = cache.getProductBacklog(productBacklogId, () -> null);
+        first.setName("Changed");
+        first.getProgress().getStoriesByStatus().put(UserStoryStatus.DONE, 5L);
+
+        // Then
+        ProductBacklogResponse second = cache.peekProductBacklog(productBacklogId);
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.getName()).isEqualTo("Backlog");
+        assertThat(second.getProgress().getStoriesByStatus()).containsOnlyKeys(UserStoryStatus.TODO);
+    }
+
+    @Test
+    @DisplayName("a caller changing the user stories it read should not change the cached value")
+    void getUserStories_ShouldReturnCopies() {
+        // Given
+        cache.getUserStories(productBacklogId, () -> List.of(UserStoryResponse.builder()
+                .id(UUID.randomUUID())
+                .name("Cached user story")
+                .rank("m")
+                .build()));
+
+        // When
+        cache.getUserStories(productBacklogId, List::of).get(0).setRank("a");
+
+        // Then
+        assertThat(cache.getUserStories(productBacklogId, List::of))
+                .singleElement()
+                .extracting(UserStoryResponse::getRank)
+                .isEqualTo("m");
+    }
+}
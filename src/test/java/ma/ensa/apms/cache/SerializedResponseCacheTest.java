@@ -0,0 +1,137 @@
+package ma.ensa.apms.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Unit tests for {@link SerializedResponseCache}
+ */
+@DisplayName("SerializedResponseCache Tests")
+class SerializedResponseCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private SerializedResponseCache cache;
+    private AtomicInteger mappings;
+    private Function<Item, Object> mapping;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new SerializedResponseCache(new ObjectMapper(), meterRegistry, DataSize.ofKilobytes(1));
+        mappings = new AtomicInteger();
+        mapping = item -> {
+            mappings.incrementAndGet();
+            return new Dto(item.id(), item.name());
+        };
+    }
+
+    @Test
+    @DisplayName("an unchanged version should be written from its fragment without mapping")
+    void writeObject_WithSameVersion_ShouldReuseFragment() throws Exception {
+        // Given
+        Item item = new Item(UUID.randomUUID(), 3, "Pay");
+        SerializedResponseCache.Key key = SerializedResponseCache.Key.of(Dto.class, item.id(), item.version());
+        cache.writeObject(new ByteArrayOutputStream(), key, item, mapping);
+
+        // When
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        cache.writeObject(out, key, item, mapping);
+
+        // Then
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo("{\"id\":\"" + item.id() + "\",\"name\":\"Pay\"}");
+        assertThat(mappings).hasValue(1);
+        assertThat(meterRegistry.counter("apms.cache.fragments.hits").count()).isEqualTo(1);
+        assertThat(meterRegistry.counter("apms.cache.fragments.misses").count()).isEqualTo(1);
+        assertThat(meterRegistry.timer("apms.cache.fragments.saved.cpu").count()).isEqualTo(2);
+        assertThat(meterRegistry.timer("apms.cache.fragments.saved.cpu").totalTime(TimeUnit.NANOSECONDS))
+                .isPositive();
+    }
+
+    @Test
+    @DisplayName("a new version should be serialized again and replace the old fragment")
+    void writeObject_WithNewVersion_ShouldReplaceFragment() throws Exception {
+        // Given
+        UUID id = UUID.randomUUID();
+        cache.writeObject(new ByteArrayOutputStream(), SerializedResponseCache.Key.of(Dto.class, id, 0),
+                new Item(id, 0, "Pay"), mapping);
+        long size = cache.size();
+
+        // When
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        cache.writeObject(out, SerializedResponseCache.Key.of(Dto.class, id, 1), new Item(id, 1, "Pay now"),
+                mapping);
+
+        // Then
+        assertThat(out.toString(StandardCharsets.UTF_8)).contains("\"name\":\"Pay now\"");
+        assertThat(mappings).hasValue(2);
+        assertThat(cache.size()).isEqualTo(size + "now ".length());
+    }
+
+    @Test
+    @DisplayName("a list should be written as an array joining the fragments in order")
+    void writeArray_ShouldJoinFragments() throws Exception {
+        // Given
+        List<Item> items = List.of(new Item(UUID.randomUUID(), 0, "Pay"), new Item(UUID.randomUUID(), 0, "Refund"));
+        Function<Item, SerializedResponseCache.Key> key = item -> new SerializedResponseCache.Key(Dto.class,
+                item.id(), item.version(), "id,name");
+        cache.writeArray(new ByteArrayOutputStream(), items.subList(1, 2), key, mapping);
+
+        // When
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        cache.writeArray(out, items, key, mapping);
+        ByteArrayOutputStream empty = new ByteArrayOutputStream();
+        cache.writeArray(empty, List.of(), key, mapping);
+
+        // Then
+        assertThat(new ObjectMapper().readTree(out.toByteArray()))
+                .isEqualTo(new ObjectMapper().valueToTree(List.of(new Dto(items.get(0).id(), "Pay"),
+                        new Dto(items.get(1).id(), "Refund"))));
+        assertThat(mappings).hasValue(2);
+        assertThat(empty.toString(StandardCharsets.UTF_8)).isEqualTo("[]");
+    }
+
+    @Test
+    @DisplayName("the cache should evict the least recently used fragments to stay within its size")
+    void writeArray_PastMaxSize_ShouldEvictEldest() throws Exception {
+        // Given
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            items.add(new Item(UUID.randomUUID(), 0, "Story " + i));
+        }
+        Function<Item, SerializedResponseCache.Key> key = item -> SerializedResponseCache.Key.of(Dto.class,
+                item.id(), item.version());
+
+        // When
+        cache.writeArray(new ByteArrayOutputStream(), items, key, mapping);
+        cache.writeObject(new ByteArrayOutputStream(), key.apply(items.get(9)), items.get(9), mapping);
+        cache.writeObject(new ByteArrayOutputStream(), key.apply(items.get(0)), items.get(0), mapping);
+
+        // Then
+        assertThat(cache.size()).isLessThanOrEqualTo(DataSize.ofKilobytes(1).toBytes());
+        assertThat(meterRegistry.counter("apms.cache.fragments.evictions").count()).isPositive();
+        assertThat(mappings).hasValue(11);
+    }
+
+    private record Item(UUID id, long version, String name) {
+    }
+
+    private record Dto(UUID id, String name) {
+    }
+}
@@ -0,0 +1,144 @@
+package ma.ensa.apms.connection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Unit tests for {@link ConnectionTrackingDataSource}
+ */
+@DisplayName("ConnectionTrackingDataSource Tests")
+class ConnectionTrackingDataSourceTest {
+
+    private DataSource pool;
+    private Connection pooled;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        pool = mock(DataSource.class);
+        pooled = mock(Connection.class);
+        when(pool.getConnection()).thenReturn(pooled);
+        meterRegistry = new SimpleMeterRegistry();
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    @DisplayName("closing a connection should return it to the pool and record its hold time once")
+    void close_ShouldRecordHoldTimeOnce() throws SQLException {
+        // Given
+        ConnectionTrackingDataSource dataSource = new ConnectionTrackingDataSource(pool, meterRegistry,
+                Duration.ofMinutes(1));
+        PreparedStatement statement = mock(PreparedStatement.class);
+        when(pooled.prepareStatement("select 1")).thenReturn(statement);
+
+        // When
+        Connection connection = dataSource.getConnection();
+        assertThat(connection.prepareStatement("select 1")).isSameAs(statement);
+        connection.close();
+        connection.close();
+
+        // Then
+        verify(pooled, times(1)).close();
+        Timer hold = meterRegistry.get("apms.db.connection.hold").tags("method", "none", "uri", "none").timer();
+        assertThat(hold.count()).isEqualTo(1);
+        assertThat(meterRegistry.get("apms.db.connection.long-holds").counter().count()).isZero();
+    }
+
+    @Test
+    @DisplayName("a connection taken for a request should be tagged with its method and URI pattern")
+    void close_WithinRequest_ShouldTagEndpoint() throws SQLException {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/tasks/42");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/v1/tasks/{id}");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        ConnectionTrackingDataSource dataSource = new ConnectionTrackingDataSource(pool, meterRegistry,
+                Duration.ofMinutes(1));
+
+        // When
+        dataSource.getConnection().close();
+
+        // Then
+        assertThat(meterRegistry.get("apms.db.connection.hold")
+                .tags("method", "GET", "uri", "/api/v1/tasks/{id}")
+                .timer()
+                .count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("a request without method or matched pattern should be tagged none")
+    void close_WithinRequestWithoutPattern_ShouldTagNone() throws SQLException {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("", "/api/v1/unknown");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        ConnectionTrackingDataSource dataSource = new ConnectionTrackingDataSource(pool, meterRegistry,
+                Duration.ofMinutes(1));
+
+        // When
+        dataSource.getConnection().close();
+
+        // Then
+        assertThat(meterRegistry.get("apms.db.connection.hold")
+                .tags("method", "none", "uri", "none")
+                .timer()
+                .count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("a connection held past the threshold should be counted as a long hold")
+    void close_WhenHeldPastThreshold_ShouldCountLongHold() throws SQLException {
+        // Given
+        ConnectionTrackingDataSource dataSource = new ConnectionTrackingDataSource(pool, meterRegistry,
+                Duration.ZERO);
+
+        // When
+        dataSource.getConnection().close();
+
+        // Then
+        assertThat(meterRegistry.get("apms.db.connection.long-holds").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("unwrap should reach the pooled connection")
+    void unwrap_ShouldDelegateToPooledConnection() throws SQLException {
+        // Given
+        ConnectionTrackingDataSource dataSource = new ConnectionTrackingDataSource(pool, meterRegistry,
+                Duration.ofMinutes(1));
+        when(pooled.unwrap(Runnable.class)).thenReturn(() -> {
+        });
+
+        // When
+        Connection connection = dataSource.getConnection();
+
+        // Then
+        assertThat(connection.unwrap(Connection.class)).isSameAs(connection);
+        assertThat(connection.unwrap(Runnable.class)).isNotNull();
+    }
+}
@@ -0,0 +1,177 @@
+package ma.ensa.apms.connection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+
+/**
+ * Unit tests for {@link SlowQueryLog}
+ */
+@DisplayName("SlowQueryLog Tests")
+class SlowQueryLogTest {
+
+    private static final long FAST = Duration.ofMillis(1).toNanos();
+    private static final long SLOW = Duration.ofMillis(500).toNanos();
+
+    private JdbcTemplate jdbcTemplate;
+    private ObjectProvider<JdbcTemplate> provider;
+    private SlowQueryLog slowQueryLog;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable()).thenReturn(jdbcTemplate);
+        slowQueryLog = new SlowQueryLog(Duration.ofMillis(200), 500, 10, 5, true, provider);
+    }
+
+    @Test
+    @DisplayName("executions differing only in literals and IN list length should share one shape")
+    void record_ShouldAggregatePerShape() {
+        // When
+        slowQueryLog.record("select * from task where id in (?, ?, ?)", FAST, List::of);
+        slowQueryLog.record("select *  from task\n where id in (?)", FAST, List::of);
+        slowQueryLog.record("select * from task where title = 'a' and priority > 3", FAST, List::of);
+        slowQueryLog.record("select * from task where title = 'it''s' and priority > 12", FAST, List::of);
+
+        // Then
+        assertThat(slowQueryLog.report().shapes())
+                .extracting(SlowQueryLog.ShapeReport::shape, SlowQueryLog.ShapeReport::count)
+                .containsExactlyInAnyOrder(
+                        tuple("select * from task where id in (?)", 2L),
+                        tuple("select * from task where title = ? and priority > ?", 2L));
+        assertThat(slowQueryLog.report().recent()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("a slow execution should be kept with its parameters and count in the shape's p99")
+    void record_WhenSlow_ShouldKeepStatementWithParameters() {
+        // Given
+        for (int i = 0; i < 98; i++) {
+            slowQueryLog.record("select * from task where id = ?", FAST, List::of);
+        }
+
+        // When
+        slowQueryLog.record("select * from task where id = ?", SLOW, () -> List.of("42"));
+        slowQueryLog.record("select * from task where id = ?", SLOW, () -> List.of("43"));
+
+        // Then
+        SlowQueryLog.ShapeReport shape = slowQueryLog.report().shapes().get(0);
+        assertThat(shape.count()).isEqualTo(100);
+        assertThat(shape.slowCount()).isEqualTo(2);
+        assertThat(shape.p99Millis()).isGreaterThan(400).isLessThanOrEqualTo(500);
+        assertThat(shape.maxMillis()).isEqualTo(500);
+        assertThat(shape.slowest().parameters()).containsExactly("42");
+        assertThat(slowQueryLog.report().recent())
+                .extracting(SlowQueryLog.SlowStatementReport::parameters)
+                .containsExactly(List.of("43"), List.of("42"));
+    }
+
+    @Test
+    @DisplayName("the worst query shapes should be explained with their sample parameters")
+    @SuppressWarnings("unchecked")
+    void explainWorstShapes_ShouldExplainSlowQuerySamples() {
+        // Given
+        slowQueryLog.record("select * from task where id = ?", SLOW, () -> List.of("42"));
+        slowQueryLog.record("update task set status = ? where id = ?", SLOW, () -> List.of("DONE", "42"));
+        when(jdbcTemplate.query(eq("EXPLAIN select * from task where id = ?"), any(RowMapper.class), eq("42")))
+                .thenReturn(List.of("Index Scan using task_pkey on task"));
+
+        // When
+        slowQueryLog.explainWorstShapes();
+
+        // Then
+        assertThat(slowQueryLog.report().shapes())
+                .filteredOn(shape -> shape.shape().startsWith("select"))
+                .singleElement()
+                .satisfies(shape -> {
+                    assertThat(shape.plan()).containsExactly("Index Scan using task_pkey on task");
+                    assertThat(shape.explainedAt()).isNotNull();
+                });
+        verify(jdbcTemplate, never()).query(eq("EXPLAIN update task set status = ? where id = ?"),
+                any(RowMapper.class), any(Object[].class));
+    }
+
+    @Test
+    @DisplayName("bind values should be masked in reports and plans unless included")
+    @SuppressWarnings("unchecked")
+    void record_ByDefault_ShouldMaskBindValues() {
+        // Given
+        SlowQueryLog masked = new SlowQueryLog(Duration.ofMillis(200), 500, 10, 5, false, provider);
+        masked.record("select * from task where title = 'secret' and id = ?", SLOW, () -> List.of("42"));
+        when(jdbcTemplate.query(eq("EXPLAIN select * from task where title = 'secret' and id = ?"),
+                any(RowMapper.class), eq("42")))
+                .thenReturn(List.of("Filter: ((title)::text = 'secret'::text AND (id = '42'::uuid))"));
+
+        // When
+        masked.explainWorstShapes();
+
+        // Then
+        assertThat(masked.report().recent()).singleElement().satisfies(slow -> {
+            assertThat(slow.sql()).isEqualTo("select * from task where title = ? and id = ?");
+            assertThat(slow.parameters()).containsExactly("?");
+        });
+        assertThat(masked.report().shapes()).singleElement().satisfies(shape -> assertThat(shape.plan())
+                .containsExactly("Filter: ((title)::text = '?'::text AND (id = '?'::uuid))"));
+    }
+
+    @Test
+    @DisplayName("statements run through the datasource-proxy wrapper should be recorded with their bind parameters")
+    void afterQuery_ShouldRecordPreparedStatementParameters() throws SQLException {
+        // Given
+        DataSource pool = mock(DataSource.class);
+        Connection pooled = mock(Connection.class);
+        PreparedStatement statement = mock(PreparedStatement.class);
+        ResultSet resultSet = mock(ResultSet.class);
+        when(pool.getConnection()).thenReturn(pooled);
+        when(pooled.prepareStatement(anyString())).thenReturn(statement);
+        when(statement.executeQuery()).thenAnswer(invocation -> {
+            Thread.sleep(250);
+            return resultSet;
+        });
+        UUID id = UUID.randomUUID();
+        DataSource dataSource = ProxyDataSourceBuilder.create(pool).listener(slowQueryLog).build();
+
+        // When
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement prepared = connection.prepareStatement("select * from task where id = ?")) {
+            prepared.setObject(1, id);
+            prepared.executeQuery();
+        }
+
+        // Then
+        assertThat(slowQueryLog.report().recent()).singleElement().satisfies(slow -> {
+            assertThat(slow.sql()).isEqualTo("select * from task where id = ?");
+            assertThat(slow.parameters()).containsExactly(id.toString());
+            assertThat(slow.millis()).isGreaterThanOrEqualTo(250);
+        });
+        verify(statement).close();
+        verify(pooled).close();
+    }
+}
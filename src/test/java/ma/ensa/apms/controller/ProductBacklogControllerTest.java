@@ -2,12 +2,18 @@ package ma.ensa.apms.controller;
 
 import ma.ensa.apms.dto.Request.EpicRequest;
 import ma.ensa.apms.dto.Request.ProductBacklogRequest;
+import ma.ensa.apms.dto.Request.UserStoryPositionRequest;
 import ma.ensa.apms.dto.Request.UserStoryRequest;
 import ma.ensa.apms.dto.Response.EpicResponse;
 import ma.ensa.apms.dto.Response.ProductBacklogResponse;
 import ma.ensa.apms.dto.Response.ProjectResponse;
+import ma.ensa.apms.dto.Response.SprintVelocityResponse;
+import ma.ensa.apms.dto.Response.UserStoryPageResponse;
 import ma.ensa.apms.dto.Response.UserStoryResponse;
+import ma.ensa.apms.dto.Response.VelocityResponse;
 import ma.ensa.apms.modal.enums.UserStoryStatus;
+import ma.ensa.apms.service.BoardColumnService;
+import ma.ensa.apms.service.BurndownService;
 import ma.ensa.apms.service.ProductBacklogService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -26,6 +32,7 @@ import java.util.UUID;
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -38,6 +45,12 @@ class ProductBacklogControllerTest {
     @MockitoBean
     private ProductBacklogService productBacklogService;
 
+    @MockitoBean
+    private BurndownService burndownService;
+
+    @MockitoBean
+    private BoardColumnService boardColumnService;
+
     private ProductBacklogRequest productBacklogRequest;
     private ProductBacklogResponse productBacklogResponse;
     private UserStoryRequest userStoryRequest;
@@ -206,4 +219,62 @@ class ProductBacklogControllerTest {
                 .andExpect(jsonPath("$.id").exists())
                 .andExpect(jsonPath("$.name").value("Project 1"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void getVelocity() throws Exception {
+        UUID id = UUID.randomUUID();
+        VelocityResponse velocityResponse = VelocityResponse.builder()
+                .productBacklogId(id)
+                .sprints(List.of(SprintVelocityResponse.builder()
+                        .sprintBacklogId(UUID.randomUUID())
+                        .name("Sprint 1")
+                        .completedStories(3)
+                        .build()))
+                .averageVelocity(3)
+                .build();
+        Mockito.when(burndownService.getVelocity(id)).thenReturn(velocityResponse);
+
+        mockMvc.perform(get("/api/v1/product-backlogs/{id}/velocity", id)
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.sprints", hasSize(1)))
+                .andExpect(jsonPath("$.sprints[0].completedStories").value(3))
+                .andExpect(jsonPath("$.averageVelocity").value(3.0));
+    }
+
+    @Test
+    void moveUserStory() throws Exception {
+        UUID id = UUID.randomUUID();
+        UUID storyId = UUID.randomUUID();
+        UUID previousId = UUID.randomUUID();
+        Mockito.when(productBacklogService.moveUserStory(eq(id), eq(storyId), eq(
+                UserStoryPositionRequest.builder().previousStoryId(previousId).build())))
+                .thenReturn(UserStoryResponse.builder().id(storyId).rank("ci").build());
+
+        mockMvc.perform(put("/api/v1/product-backlogs/{id}/user-stories/{storyId}/position", id, storyId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"previousStoryId\":\"" + previousId + "\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(storyId.toString()))
+                .andExpect(jsonPath("$.rank").value("ci"));
+    }
+
+    @Test
+    void getRankedUserStories() throws Exception {
+        UUID id = UUID.randomUUID();
+        Mockito.when(productBacklogService.getRankedUserStories(id, "abc", 2))
+                .thenReturn(UserStoryPageResponse.builder()
+                        .items(List.of(UserStoryResponse.builder().rank("a").build(),
+                                UserStoryResponse.builder().rank("b").build()))
+                        .nextCursor("next")
+                        .build());
+
+        mockMvc.perform(get("/api/v1/product-backlogs/{id}/user-stories/ranked", id)
+                .param("cursor", "abc")
+                .param("size", "2")
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(2)))
+                .andExpect(jsonPath("$.nextCursor").value("next"));
+    }
+}
@@ -3,15 +3,23 @@ package ma.ensa.apms.controller;
 import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
@@ -22,13 +30,17 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import jakarta.persistence.EntityNotFoundException;
+
 import ma.ensa.apms.dto.Response.ProjectResponse;
+import ma.ensa.apms.exception.BusinessException;
 import ma.ensa.apms.modal.enums.ProjectStatus;
 import ma.ensa.apms.service.ProjectService;
 
@@ -82,6 +94,70 @@ class ProjectControllerTest {
         verify(projectService).getProject(projectId);
     }
 
+    @Test
+    void getProjectTree_ShouldStreamDocument() throws Exception {
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(1);
+            out.write(("{\"id\":\"" + projectId + "\",\"productBacklog\":{\"epics\":[]}}")
+                    .getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(projectService).writeProjectTree(eq(projectId), any(OutputStream.class));
+
+        mockMvc.perform(get("/api/v1/projects/{id}/tree", projectId))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.id").value(projectId.toString()))
+                .andExpect(jsonPath("$.productBacklog.epics", hasSize(0)));
+    }
+
+    @Test
+    void getProjectTree_WhenProjectMissing_ShouldReturnNotFound() throws Exception {
+        doThrow(new EntityNotFoundException("Project not found"))
+                .when(projectService).writeProjectTree(eq(projectId), any(OutputStream.class));
+
+        mockMvc.perform(get("/api/v1/projects/{id}/tree", projectId))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void getProjectSnapshot_ShouldStreamAttachment() throws Exception {
+        byte[] snapshot = { 'A', 'P', 'M', 'S', 1, 0 };
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(1);
+            out.write(snapshot);
+            return null;
+        }).when(projectService).writeProjectSnapshot(eq(projectId), any(OutputStream.class));
+
+        mockMvc.perform(get("/api/v1/projects/{id}/snapshot", projectId))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_OCTET_STREAM))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"project-" + projectId + ".apms\""))
+                .andExpect(content().bytes(snapshot));
+    }
+
+    @Test
+    void restoreProjectSnapshot_ShouldReturnRestoredProject() throws Exception {
+        when(projectService.restoreProjectSnapshot(any(InputStream.class))).thenReturn(projectResponse);
+
+        mockMvc.perform(post("/api/v1/projects/snapshot")
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .content(new byte[] { 'A', 'P', 'M', 'S', 1, 0 }))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(projectId.toString()));
+    }
+
+    @Test
+    void restoreProjectSnapshot_WhenSnapshotCorrupt_ShouldReturnBadRequest() throws Exception {
+        when(projectService.restoreProjectSnapshot(any(InputStream.class)))
+                .thenThrow(new BusinessException("Truncated or corrupt project snapshot"));
+
+        mockMvc.perform(post("/api/v1/projects/snapshot")
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .content(new byte[] { 'A', 'P', 'M', 'S', 1 }))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void getAllProjects_ShouldReturnAllProjects() throws Exception {
         when(projectService.getAllProjects(any(Pageable.class))).thenReturn(projectResponseList);
@@ -122,6 +198,21 @@ class ProjectControllerTest {
         verify(projectService).getProjectsBetweenDates(any(LocalDateTime.class), any(LocalDateTime.class));
     }
 
+    @Test
+    void getProjectsWithin_ShouldReturnProjectsInsideTheWindow() throws Exception {
+        LocalDateTime from = LocalDateTime.of(2025, 1, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2025, 12, 31, 0, 0);
+        when(projectService.getProjectsWithin(from, to)).thenReturn(projectResponseList);
+
+        mockMvc.perform(get("/api/v1/projects/within")
+                .param("from", "2025-01-01T00:00:00")
+                .param("to", "2025-12-31T00:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)));
+
+        verify(projectService).getProjectsWithin(from, to);
+    }
+
     @Test
     void updateProjectStartDate_ShouldReturnUpdatedProject() throws Exception {
         LocalDateTime newStartDate = LocalDateTime.now().plusDays(1);
@@ -7,8 +7,11 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
@@ -21,11 +24,21 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import ma.ensa.apms.dto.Request.SprintBacklogRequest;
 import ma.ensa.apms.dto.Request.UserStoryRequest;
+import ma.ensa.apms.dto.Response.BoardColumnResponse;
+import ma.ensa.apms.dto.Response.BoardStoryResponse;
+import ma.ensa.apms.dto.Response.BurndownPointResponse;
 import ma.ensa.apms.dto.Response.SprintBacklogResponse;
+import ma.ensa.apms.dto.Response.SprintBoardResponse;
+import ma.ensa.apms.dto.Response.SprintBurndownResponse;
 import ma.ensa.apms.dto.Response.UserStoryResponse;
+import ma.ensa.apms.modal.enums.UserStoryStatus;
+import ma.ensa.apms.service.BoardColumnService;
+import ma.ensa.apms.service.BoardHistoryService;
+import ma.ensa.apms.service.BurndownService;
 import ma.ensa.apms.service.SprintBacklogService;
 
 @WebMvcTest(SprintBacklogController.class)
@@ -37,6 +50,15 @@ class SprintBacklogControllerTest {
     @MockitoBean
     private SprintBacklogService sprintBacklogService;
 
+    @MockitoBean
+    private BurndownService burndownService;
+
+    @MockitoBean
+    private BoardHistoryService boardHistoryService;
+
+    @MockitoBean
+    private BoardColumnService boardColumnService;
+
     private SprintBacklogRequest sprintBacklogRequest;
     private SprintBacklogResponse sprintBacklogResponse;
     private UserStoryRequest userStoryRequest;
@@ -168,4 +190,97 @@ class SprintBacklogControllerTest {
                 delete("/api/v1/sprint-backlogs/{id}/user-stories/{userStoryId}", UUID.randomUUID(), UUID.randomUUID()))
                 .andExpect(status().isNoContent());
     }
-}
\ No newline at end of file
+
+    @Test
+    void streamBoardEvents() throws Exception {
+        Mockito.when(sprintBacklogService.streamBoardEvents(any(UUID.class))).thenReturn(new SseEmitter());
+
+        mockMvc.perform(get("/api/v1/sprint-backlogs/{id}/events", UUID.randomUUID())
+                .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted());
+    }
+
+    @Test
+    void getSprintBurndown() throws Exception {
+        UUID id = UUID.randomUUID();
+        SprintBurndownResponse burndownResponse = SprintBurndownResponse.builder()
+                .sprintBacklogId(id)
+                .points(List.of(BurndownPointResponse.builder()
+                        .date(LocalDate.of(2025, 1, 6))
+                        .remainingStories(4)
+                        .remainingTasks(10)
+                        .completedStories(1)
+                        .build()))
+                .build();
+        Mockito.when(burndownService.getSprintBurndown(id)).thenReturn(burndownResponse);
+
+        mockMvc.perform(get("/api/v1/sprint-backlogs/{id}/burndown", id)
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.points", hasSize(1)))
+                .andExpect(jsonPath("$.points[0].remainingStories").value(4))
+                .andExpect(jsonPath("$.points[0].remainingTasks").value(10));
+    }
+
+    @Test
+    void getBoardAsOf() throws Exception {
+        UUID id = UUID.randomUUID();
+        LocalDateTime asOf = LocalDateTime.of(2025, 1, 6, 9, 30);
+        SprintBoardResponse boardResponse = SprintBoardResponse.builder()
+                .sprintBacklogId(id)
+                .asOf(asOf)
+                .stories(List.of(BoardStoryResponse.builder()
+                        .userStoryId(UUID.randomUUID())
+                        .status("IN_PROGRESS")
+                        .tasks(Collections.emptyList())
+                        .build()))
+                .build();
+        Mockito.when(boardHistoryService.getBoardAsOf(id, asOf)).thenReturn(boardResponse);
+
+        mockMvc.perform(get("/api/v1/sprint-backlogs/{id}/board", id)
+                .param("asOf", "2025-01-06T09:30:00")
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.stories", hasSize(1)))
+                .andExpect(jsonPath("$.stories[0].status").value("IN_PROGRESS"));
+    }
+
+    @Test
+    void getBoardColumns() throws Exception {
+        UUID id = UUID.randomUUID();
+        Mockito.when(boardColumnService.getSprintBacklogColumns(id, 2))
+                .thenReturn(List.of(BoardColumnResponse.builder()
+                        .status(UserStoryStatus.TODO)
+                        .total(3)
+                        .items(List.of(userStoryResponse, userStoryResponse))
+                        .nextCursor("next")
+                        .build()));
+
+        mockMvc.perform(get("/api/v1/sprint-backlogs/{id}/board/columns", id)
+                .param("perColumn", "2")
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value("TODO"))
+                .andExpect(jsonPath("$[0].total").value(3))
+                .andExpect(jsonPath("$[0].items", hasSize(2)))
+                .andExpect(jsonPath("$[0].nextCursor").value("next"));
+    }
+
+    @Test
+    void getBoardColumn() throws Exception {
+        UUID id = UUID.randomUUID();
+        Mockito.when(boardColumnService.getSprintBacklogColumn(id, UserStoryStatus.DONE, "next", 25))
+                .thenReturn(BoardColumnResponse.builder()
+                        .status(UserStoryStatus.DONE)
+                        .total(26)
+                        .items(List.of(userStoryResponse))
+                        .build());
+
+        mockMvc.perform(get("/api/v1/sprint-backlogs/{id}/board/columns/{status}", id, "DONE")
+                .param("cursor", "next")
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+}
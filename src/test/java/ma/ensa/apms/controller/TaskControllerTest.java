@@ -1,6 +1,7 @@
 package ma.ensa.apms.controller;
 
 import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
@@ -11,12 +12,14 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -28,6 +31,7 @@ import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
 
 import ma.ensa.apms.dto.TaskEndDateUpdateDto;
 import ma.ensa.apms.dto.TaskRequestDto;
@@ -35,6 +39,8 @@ import ma.ensa.apms.dto.TaskResponseDto;
 import ma.ensa.apms.dto.TaskStartDateUpdateDto;
 import ma.ensa.apms.dto.TaskStatusUpdateDto;
 import ma.ensa.apms.modal.enums.TaskStatus;
+import ma.ensa.apms.projection.FieldSelection;
+import ma.ensa.apms.serialization.JacksonProtobufHttpMessageConverter;
 import ma.ensa.apms.service.TaskService;
 
 @WebMvcTest(TaskController.class)
@@ -102,6 +108,22 @@ public class TaskControllerTest {
                 verify(taskService).getAllTasks();
         }
 
+        @Test
+        void getAllTasks_WithFields_ShouldReturnOnlyRequestedFields() throws Exception {
+                FieldSelection selection = FieldSelection.of(List.of("id", "title"), List.of("userStory"));
+                when(taskService.getAllTasks(selection))
+                                .thenReturn(List.of(Map.of("id", taskId, "title", "Test Task")));
+
+                mockMvc.perform(get("/api/v1/tasks")
+                                .param("fields", "id,title")
+                                .param("expand", "userStory"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$[0].title").value("Test Task"))
+                                .andExpect(jsonPath("$[0].description").doesNotExist());
+
+                verify(taskService).getAllTasks(selection);
+        }
+
         @Test
         void getTasksByStatus_ShouldReturnTasksWithSpecifiedStatus() throws Exception {
                 when(taskService.getTasksByStatus(any(TaskStatus.class))).thenReturn(taskResponseDtoList);
@@ -132,6 +154,36 @@ public class TaskControllerTest {
                 verify(taskService).getTasksByDateRange(any(LocalDateTime.class), any(LocalDateTime.class));
         }
 
+        @Test
+        void getTasksOverlapping_ShouldReturnTasksOverlappingTheWindow() throws Exception {
+                LocalDateTime from = LocalDateTime.of(2025, 3, 1, 0, 0);
+                LocalDateTime to = LocalDateTime.of(2025, 3, 31, 23, 59);
+
+                when(taskService.getTasksOverlapping(from, to)).thenReturn(taskResponseDtoList);
+
+                mockMvc.perform(get("/api/v1/tasks/overlapping")
+                                .param("from", "2025-03-01T00:00:00")
+                                .param("to", "2025-03-31T23:59:00"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$", hasSize(1)));
+
+                verify(taskService).getTasksOverlapping(from, to);
+        }
+
+        @Test
+        void getTasksActiveAt_ShouldReturnTasksRunningAtThatInstant() throws Exception {
+                LocalDateTime at = LocalDateTime.of(2025, 3, 15, 12, 0);
+
+                when(taskService.getTasksActiveAt(at)).thenReturn(taskResponseDtoList);
+
+                mockMvc.perform(get("/api/v1/tasks/active")
+                                .param("at", "2025-03-15T12:00:00"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$[0].id").value(taskId.toString()));
+
+                verify(taskService).getTasksActiveAt(at);
+        }
+
         @Test
         void getTaskById_ShouldReturnTask() throws Exception {
                 when(taskService.getTaskById(taskId)).thenReturn(taskResponseDto);
@@ -143,6 +195,38 @@ public class TaskControllerTest {
                 verify(taskService).getTaskById(taskId);
         }
 
+        @Test
+        void getTaskById_WithCborAccept_ShouldReturnCbor() throws Exception {
+                when(taskService.getTaskById(taskId)).thenReturn(taskResponseDto);
+
+                byte[] body = mockMvc.perform(get("/api/v1/tasks/{id}", taskId).accept(MediaType.APPLICATION_CBOR))
+                                .andExpect(status().isOk())
+                                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                                .andReturn().getResponse().getContentAsByteArray();
+
+                ObjectMapper cborMapper = new ObjectMapper(new CBORFactory()).findAndRegisterModules();
+                assertEquals(taskResponseDto, cborMapper.readValue(body, TaskResponseDto.class));
+        }
+
+        @Test
+        void getTasks_WithProtobufAccept_ShouldReturnProtobuf() throws Exception {
+                MediaType protobuf = JacksonProtobufHttpMessageConverter.APPLICATION_X_PROTOBUF;
+                when(taskService.getAllTasks()).thenReturn(taskResponseDtoList);
+
+                mockMvc.perform(get("/api/v1/tasks").accept(protobuf))
+                                .andExpect(status().isOk())
+                                .andExpect(content().contentType(protobuf));
+        }
+
+        @Test
+        void getTaskById_WithoutAccept_ShouldDefaultToJson() throws Exception {
+                when(taskService.getTaskById(taskId)).thenReturn(taskResponseDto);
+
+                mockMvc.perform(get("/api/v1/tasks/{id}", taskId))
+                                .andExpect(status().isOk())
+                                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+        }
+
         @Test
         void updateTask_ShouldReturnUpdatedTask() throws Exception {
                 when(taskService.updateTask(eq(taskId), any(TaskRequestDto.class))).thenReturn(taskResponseDto);
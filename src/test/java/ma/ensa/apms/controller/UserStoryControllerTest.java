@@ -3,7 +3,9 @@ package ma.ensa.apms.controller;
 import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
@@ -11,15 +13,20 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.stubbing.Answer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.http.MediaType;
@@ -28,10 +35,13 @@ import org.springframework.test.web.servlet.MockMvc;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import ma.ensa.apms.dto.Request.BatchGetRequest;
 import ma.ensa.apms.dto.Request.UserStoryRequest;
 import ma.ensa.apms.dto.Response.AcceptanceCriteriaResponse;
+import ma.ensa.apms.dto.Response.BatchGetResponse;
 import ma.ensa.apms.dto.Response.UserStoryResponse;
 import ma.ensa.apms.modal.enums.UserStoryStatus;
+import ma.ensa.apms.projection.FieldSelection;
 import ma.ensa.apms.service.UserStoryService;
 
 @WebMvcTest(UserStoryController.class)
@@ -110,14 +120,72 @@ class UserStoryControllerTest {
 
     @Test
     void getUserStoryById_ShouldReturnUserStory() throws Exception {
-        when(userStoryService.getUserStoryById(userStoryId)).thenReturn(userStoryResponse);
+        doAnswer(writeJson(userStoryResponse, 1)).when(userStoryService)
+                .writeUserStoryById(eq(userStoryId), any(OutputStream.class));
 
         mockMvc.perform(get("/api/v1/user-stories/{id}", userStoryId))
                 .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$.id").value(userStoryId.toString()))
                 .andExpect(jsonPath("$.name").value(userStoryResponse.getName()));
 
-        verify(userStoryService).getUserStoryById(userStoryId);
+        verify(userStoryService, never()).getUserStoryById(any());
+    }
+
+    @Test
+    void getUserStoryById_WithJsonAccept_ShouldWriteSerializedResponse() throws Exception {
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(1);
+            out.write(objectMapper.writeValueAsBytes(userStoryResponse));
+            return null;
+        }).when(userStoryService).writeUserStoryById(eq(userStoryId), any(OutputStream.class));
+
+        mockMvc.perform(get("/api/v1/user-stories/{id}", userStoryId).accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.id").value(userStoryId.toString()))
+                .andExpect(jsonPath("$.name").value("Test User Story"));
+
+        verify(userStoryService, never()).getUserStoryById(any());
+    }
+
+    @Test
+    void getUserStoryById_WithCborAccept_ShouldReturnCbor() throws Exception {
+        when(userStoryService.getUserStoryById(userStoryId)).thenReturn(userStoryResponse);
+
+        mockMvc.perform(get("/api/v1/user-stories/{id}", userStoryId).accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR));
+
+        verify(userStoryService, never()).writeUserStoryById(any(), any());
+    }
+
+    @Test
+    void getUserStoriesByIds_ShouldReturnItemsAndMissingIds() throws Exception {
+        UUID missingId = UUID.randomUUID();
+        List<UUID> ids = List.of(userStoryId, missingId);
+        when(userStoryService.getUserStoriesByIds(ids)).thenReturn(BatchGetResponse.<UserStoryResponse>builder()
+                .items(List.of(userStoryResponse))
+                .missing(List.of(missingId))
+                .build());
+
+        mockMvc.perform(post("/api/v1/user-stories/batch-get")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(BatchGetRequest.builder().ids(ids).build())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].id").value(userStoryId.toString()))
+                .andExpect(jsonPath("$.missing[0]").value(missingId.toString()));
+
+        verify(userStoryService).getUserStoriesByIds(ids);
+    }
+
+    @Test
+    void getUserStoriesByIds_WithoutIds_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(post("/api/v1/user-stories/batch-get")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"ids\":[]}"))
+                .andExpect(status().isBadRequest());
     }
 
     @Test
@@ -185,27 +253,99 @@ class UserStoryControllerTest {
 
     @Test
     void getUserStoriesByEpicId_ShouldReturnList() throws Exception {
-        when(userStoryService.getUserStoriesByEpicId(epicId)).thenReturn(userStoryResponseList);
+        doAnswer(writeJson(userStoryResponseList, 2)).when(userStoryService)
+                .writeUserStoriesByEpicId(eq(epicId), eq(FieldSelection.of(null, null)), any(OutputStream.class));
 
         mockMvc.perform(get("/api/v1/user-stories/epic/{epicId}", epicId))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$", hasSize(1)))
                 .andExpect(jsonPath("$[0].id").value(userStoryId.toString()));
 
-        verify(userStoryService).getUserStoriesByEpicId(epicId);
+        verify(userStoryService, never()).getUserStoriesByEpicId(any());
+    }
+
+    @Test
+    void getUserStoriesByEpicId_WithFieldsAndExpand_ShouldReturnSparseRows() throws Exception {
+        FieldSelection selection = FieldSelection.of(List.of("id", "name"), List.of("tasks"));
+        doAnswer(writeJson(List.of(Map.of("id", userStoryId, "name", "Test User Story", "tasks", List.of())), 2))
+                .when(userStoryService).writeUserStoriesByEpicId(eq(epicId), eq(selection), any(OutputStream.class));
+
+        mockMvc.perform(get("/api/v1/user-stories/epic/{epicId}", epicId)
+                .param("fields", "id,name")
+                .param("expand", "tasks"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("Test User Story"))
+                .andExpect(jsonPath("$[0].tasks", hasSize(0)))
+                .andExpect(jsonPath("$[0].role").doesNotExist());
+
+        verify(userStoryService, never()).getUserStoriesByEpicId(any(), any());
+    }
+
+    @Test
+    void getUserStoriesByEpicId_WithJsonAcceptAndFields_ShouldWriteSelectedFields() throws Exception {
+        FieldSelection selection = FieldSelection.of(List.of("id", "name"), null);
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(2);
+            out.write(("[{\"id\":\"" + userStoryId + "\",\"name\":\"Test User Story\"}]")
+                    .getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(userStoryService).writeUserStoriesByEpicId(eq(epicId), eq(selection), any(OutputStream.class));
+
+        mockMvc.perform(get("/api/v1/user-stories/epic/{epicId}", epicId)
+                .param("fields", "id,name")
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].name").value("Test User Story"))
+                .andExpect(jsonPath("$[0].role").doesNotExist());
+
+        verify(userStoryService).writeUserStoriesByEpicId(eq(epicId), eq(selection), any(OutputStream.class));
     }
 
     @Test
     void getUserStoriesBySprintBacklogId_ShouldReturnList() throws Exception {
-        when(userStoryService.getUserStoriesBySprintBacklogId(sprintId))
-                .thenReturn(userStoryResponseList);
+        doAnswer(writeJson(userStoryResponseList, 2)).when(userStoryService).writeUserStoriesBySprintBacklogId(
+                eq(sprintId), eq(FieldSelection.of(null, null)), any(OutputStream.class));
 
         mockMvc.perform(get("/api/v1/user-stories/sprint-backlog/{sprintId}", sprintId))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$", hasSize(1)))
                 .andExpect(jsonPath("$[0].id").value(userStoryId.toString()));
 
-        verify(userStoryService).getUserStoriesBySprintBacklogId(sprintId);
+        verify(userStoryService, never()).getUserStoriesBySprintBacklogId(any());
+    }
+
+    @Test
+    void getUserStoriesBySprintBacklogId_WithCborAccept_ShouldReturnCbor() throws Exception {
+        when(userStoryService.getUserStoriesBySprintBacklogId(sprintId)).thenReturn(userStoryResponseList);
+
+        mockMvc.perform(get("/api/v1/user-stories/sprint-backlog/{sprintId}", sprintId)
+                .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR));
+
+        verify(userStoryService, never()).writeUserStoriesBySprintBacklogId(any(), any(), any());
+    }
+
+    @Test
+    void getUserStoriesByStatus_ShouldNotBeTakenForAnId() throws Exception {
+        UUID productBacklogId = UUID.randomUUID();
+        doAnswer(writeJson(userStoryResponseList, 2)).when(userStoryService)
+                .writeUserStoriesByStatusAndProductBacklogId(eq(UserStoryStatus.TODO), eq(productBacklogId),
+                        any(OutputStream.class));
+
+        mockMvc.perform(get("/api/v1/user-stories/productBacklog={productBacklogId}&status={status}",
+                productBacklogId, UserStoryStatus.TODO))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)));
+    }
+
+    private Answer<Void> writeJson(Object body, int streamArgument) {
+        return invocation -> {
+            OutputStream out = invocation.getArgument(streamArgument);
+            out.write(objectMapper.writeValueAsBytes(body));
+            return null;
+        };
     }
 
     @Test
@@ -0,0 +1,295 @@
+package ma.ensa.apms.event;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Unit tests for {@link BoardEventHub}
+ */
+@DisplayName("BoardEventHub Tests")
+class BoardEventHubTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private BoardEventHub hub;
+    private UUID sprintId;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        // The flush scheduler is not started: each test flushes explicitly.
+        hub = new BoardEventHub(meterRegistry, Duration.ofMinutes(1), 4, 8, Duration.ofMinutes(30),
+                Duration.ofMillis(100));
+        sprintId = UUID.randomUUID();
+    }
+
+    @AfterEach
+    void tearDown() {
+        hub.shutdown();
+    }
+
+    @Test
+    @DisplayName("events for the same entity within a window should collapse into the latest one")
+    void flush_WhenSameEntityChangedTwice_ShouldDeliverLatestOnly() throws Exception {
+        // Given
+        List<BoardEvent> received = new CopyOnWriteArrayList<>();
+        CountDownLatch delivered = new CountDownLatch(1);
+        hub.subscribe(sprintId, event -> {
+            received.add(event);
+            delivered.countDown();
+        });
+        UUID storyId = UUID.randomUUID();
+
+        // When
+        hub.onBoardEvent(statusChanged(storyId, "IN_PROGRESS"));
+        hub.onBoardEvent(statusChanged(storyId, "DONE"));
+        hub.flush();
+
+        // Then
+        assertThat(delivered.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(received).extracting(BoardEvent::getStatus).containsExactly("DONE");
+        assertThat(meterRegistry.counter("apms.board.events.coalesced").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("thousands of concurrent subscribers should all receive the event on a small pool")
+    void flush_WithThousandsOfSubscribers_ShouldDeliverToAll() throws Exception {
+        // Given
+        int subscribers = 5_000;
+        CountDownLatch delivered = new CountDownLatch(subscribers);
+        for (int i = 0; i < subscribers; i++) {
+            hub.subscribe(sprintId, event -> delivered.countDown());
+        }
+
+        // When
+        hub.onBoardEvent(statusChanged(UUID.randomUUID(), "DONE"));
+        hub.flush();
+
+        // Then
+        assertThat(delivered.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(hub.subscriberCount()).isEqualTo(subscribers);
+        assertThat(meterRegistry.counter("apms.board.events.published").count()).isEqualTo(subscribers);
+    }
+
+    @Test
+    @DisplayName("a slow subscriber should lose its oldest events instead of blocking delivery")
+    void flush_WhenSubscriberIsSlow_ShouldDropOldest() throws Exception {
+        // Given
+        CountDownLatch firstEventStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> received = new CopyOnWriteArrayList<>();
+        BoardSubscription slow = hub.subscribe(sprintId, event -> {
+            firstEventStarted.countDown();
+            await(release);
+            received.add(event.getStatus());
+        });
+        hub.onBoardEvent(statusChanged(UUID.randomUUID(), "S0"));
+        hub.flush();
+        assertThat(firstEventStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // When
+        for (int i = 1; i <= 6; i++) {
+            hub.onBoardEvent(statusChanged(UUID.randomUUID(), "S" + i));
+            hub.flush();
+        }
+        release.countDown();
+
+        // Then
+        waitUntil(() -> received.size() == 5);
+        assertThat(received).containsExactly("S0", "S3", "S4", "S5", "S6");
+        assertThat(slow.getDropped()).isEqualTo(2);
+        assertThat(meterRegistry.counter("apms.board.events.dropped").count()).isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("a subscriber blocked past the send timeout should be evicted while others keep receiving")
+    void evictStalled_WhenSendBlocks_ShouldEvictSubscriber() throws Exception {
+        // Given
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch sendStarted = new CountDownLatch(1);
+        CountDownLatch evicted = new CountDownLatch(1);
+        List<String> received = new CopyOnWriteArrayList<>();
+        BoardSubscription stalled = hub.subscribe(sprintId, event -> {
+            sendStarted.countDown();
+            await(release);
+        }, evicted::countDown);
+        hub.subscribe(sprintId, event -> received.add(event.getStatus()));
+        hub.onBoardEvent(statusChanged(UUID.randomUUID(), "S0"));
+        hub.flush();
+        assertThat(sendStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        try {
+            // When
+            Thread.sleep(150);
+            hub.evictStalled();
+            hub.onBoardEvent(statusChanged(UUID.randomUUID(), "S1"));
+            hub.flush();
+
+            // Then
+            waitUntil(() -> received.size() == 2);
+            assertThat(received).containsExactly("S0", "S1");
+            assertThat(evicted.getCount()).isZero();
+            assertThat(stalled.isClosed()).isTrue();
+            assertThat(hub.subscriberCount()).isEqualTo(1);
+            assertThat(meterRegistry.counter("apms.board.events.evicted").count()).isEqualTo(1.0);
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    @DisplayName("a subscriber sending within the timeout should not be evicted")
+    void evictStalled_WhenSendIsFast_ShouldKeepSubscriber() throws Exception {
+        // Given
+        CountDownLatch delivered = new CountDownLatch(1);
+        hub.subscribe(sprintId, event -> delivered.countDown());
+        hub.onBoardEvent(statusChanged(UUID.randomUUID(), "DONE"));
+        hub.flush();
+        assertThat(delivered.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // When
+        Thread.sleep(150);
+        hub.evictStalled();
+
+        // Then
+        assertThat(hub.subscriberCount()).isEqualTo(1);
+        assertThat(meterRegistry.counter("apms.board.events.evicted").count()).isZero();
+    }
+
+    @Test
+    @DisplayName("a story moved between sprints should be announced to both boards")
+    void flush_WhenStoryMoved_ShouldNotifyPreviousSprint() throws Exception {
+        // Given
+        UUID previousSprintId = UUID.randomUUID();
+        CountDownLatch delivered = new CountDownLatch(2);
+        hub.subscribe(sprintId, event -> delivered.countDown());
+        hub.subscribe(previousSprintId, event -> delivered.countDown());
+
+        // When
+        hub.onBoardEvent(BoardEvent.builder()
+                .type(BoardEventType.STORY_MOVED_TO_SPRINT)
+                .entityId(UUID.randomUUID())
+                .sprintBacklogId(sprintId)
+                .previousSprintBacklogId(previousSprintId)
+                .occurredAt(LocalDateTime.now())
+                .build());
+        hub.flush();
+
+        // Then
+        assertThat(delivered.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    @DisplayName("a story moved twice within a window should still leave the first board")
+    void flush_WhenStoryMovedTwice_ShouldNotifyEveryBoard() throws Exception {
+        // Given
+        UUID sprintB = UUID.randomUUID();
+        UUID sprintC = UUID.randomUUID();
+        List<BoardEvent> receivedByA = new CopyOnWriteArrayList<>();
+        CountDownLatch deliveredToA = new CountDownLatch(1);
+        hub.subscribe(sprintId, event -> {
+            receivedByA.add(event);
+            deliveredToA.countDown();
+        });
+        UUID storyId = UUID.randomUUID();
+
+        // When
+        hub.onBoardEvent(moved(storyId, sprintId, sprintB));
+        hub.onBoardEvent(moved(storyId, sprintB, sprintC));
+        hub.flush();
+
+        // Then
+        assertThat(deliveredToA.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(receivedByA).singleElement()
+                .extracting(BoardEvent::getSprintBacklogId)
+                .isEqualTo(sprintB);
+        assertThat(meterRegistry.counter("apms.board.events.coalesced").count()).isZero();
+    }
+
+    @Test
+    @DisplayName("a failing sink should close its subscription")
+    void flush_WhenSinkFails_ShouldCloseSubscription() throws Exception {
+        // Given
+        BoardSubscription subscription = hub.subscribe(sprintId, event -> {
+            throw new IOException("client disconnected");
+        });
+
+        // When
+        hub.onBoardEvent(statusChanged(UUID.randomUUID(), "DONE"));
+        hub.flush();
+        waitUntil(subscription::isClosed);
+        hub.onBoardEvent(statusChanged(UUID.randomUUID(), "TODO"));
+        hub.flush();
+
+        // Then
+        assertThat(subscription.isClosed()).isTrue();
+        assertThat(hub.subscriberCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("unsubscribe should remove the subscriber")
+    void unsubscribe_ShouldRemoveSubscriber() {
+        // Given
+        BoardSubscription subscription = hub.subscribe(sprintId, event -> {
+        });
+
+        // When
+        hub.unsubscribe(subscription);
+
+        // Then
+        assertThat(subscription.isClosed()).isTrue();
+        assertThat(hub.subscriberCount()).isZero();
+    }
+
+    private BoardEvent statusChanged(UUID storyId, String status) {
+        return BoardEvent.builder()
+                .type(BoardEventType.STORY_STATUS_CHANGED)
+                .entityId(storyId)
+                .userStoryId(storyId)
+                .sprintBacklogId(sprintId)
+                .status(status)
+                .occurredAt(LocalDateTime.now())
+                .build();
+    }
+
+    private static BoardEvent moved(UUID storyId, UUID fromSprintId, UUID toSprintId) {
+        return BoardEvent.builder()
+                .type(BoardEventType.STORY_MOVED_TO_SPRINT)
+                .entityId(storyId)
+                .userStoryId(storyId)
+                .sprintBacklogId(toSprintId)
+                .previousSprintBacklogId(fromSprintId)
+                .occurredAt(LocalDateTime.now())
+                .build();
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package ma.ensa.apms.facet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import ma.ensa.apms.modal.enums.UserStoryStatus;
+import ma.ensa.apms.repository.UserStoryRepository;
+
+/**
+ * Unit tests for {@link FacetIndex}
+ */
+@DisplayName("FacetIndex Tests")
+class FacetIndexTest {
+
+    private static final UUID BACKLOG = UUID.randomUUID();
+    private static final UUID OTHER_BACKLOG = UUID.randomUUID();
+    private static final UUID EPIC = UUID.randomUUID();
+    private static final UUID SPRINT = UUID.randomUUID();
+
+    private UserStoryRepository userStoryRepository;
+    private SimpleMeterRegistry meterRegistry;
+    private FacetIndex index;
+
+    @BeforeEach
+    void setUp() {
+        userStoryRepository = mock(UserStoryRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+        index = new FacetIndex(mock(EntityManagerFactory.class), userStoryRepository, meterRegistry, 4, Runnable::run);
+    }
+
+    @Test
+    @DisplayName("a cold backlog should be built once, then filtered and counted per facet")
+    void search_ShouldBuildOnceThenFilterAndCount() {
+        // Given
+        FacetRow todoHigh = row(new UUID(0, 1), UserStoryStatus.TODO, 1, EPIC, null, 2);
+        FacetRow todoLow = row(new UUID(0, 2), UserStoryStatus.TODO, 7, null, null, 0);
+        FacetRow doneHigh = row(new UUID(0, 3), UserStoryStatus.DONE, 2, EPIC, SPRINT, 0);
+        when(userStoryRepository.findFacetRows(BACKLOG)).thenReturn(List.of(todoLow, doneHigh, todoHigh));
+        FacetFilter filter = FacetFilter.of(Map.of("status", "todo,in_progress", "epic", EPIC + ",none"));
+
+        // When
+        FacetSearchResult cold = index.search(BACKLOG, filter, 10);
+        FacetSearchResult result = index.search(BACKLOG, filter, 10);
+
+        // Then
+        assertThat(cold).isNull();
+        assertThat(result.ids()).containsExactly(todoHigh.id(), todoLow.id());
+        assertThat(result.total()).isEqualTo(2);
+        assertThat(result.counts().get(Facet.STATUS)).containsExactlyInAnyOrderEntriesOf(
+                Map.of("TODO", 2L, "DONE", 1L));
+        assertThat(result.counts().get(Facet.EPIC)).containsExactlyInAnyOrderEntriesOf(
+                Map.of(EPIC.toString(), 1L, Facet.NONE, 1L));
+        assertThat(result.counts().get(Facet.PRIORITY)).containsExactlyInAnyOrderEntriesOf(
+                Map.of("HIGH", 1L, "LOW", 1L));
+        assertThat(result.counts().get(Facet.UNMET_CRITERIA)).containsExactlyInAnyOrderEntriesOf(
+                Map.of("true", 1L, "false", 1L));
+        verify(userStoryRepository, times(1)).findFacetRows(BACKLOG);
+    }
+
+    @Test
+    @DisplayName("committed changes should move stories between postings and reuse freed ordinals")
+    void apply_ShouldKeepLoadedBacklogsUpToDate() {
+        // Given
+        UUID story = UUID.randomUUID();
+        UUID deleted = UUID.randomUUID();
+        index.install(BACKLOG, List.of(row(story, UserStoryStatus.TODO, 3, null, null, 1),
+                row(deleted, UserStoryStatus.TODO, 3, null, null, 0)));
+        UUID created = UUID.randomUUID();
+        FacetFilter done = FacetFilter.of(Map.of("status", "DONE"));
+
+        // When
+        index.apply(List.of(story, deleted, created), List.of(
+                row(story, UserStoryStatus.DONE, 3, null, SPRINT, 0),
+                row(created, UserStoryStatus.DONE, 1, null, null, 0)));
+
+        // Then
+        FacetSearchResult result = index.search(BACKLOG, done, 10);
+        assertThat(result.ids()).containsExactly(created, story);
+        assertThat(result.counts().get(Facet.STATUS)).containsExactlyEntriesOf(Map.of("DONE", 2L));
+        assertThat(result.counts().get(Facet.UNMET_CRITERIA)).containsExactlyEntriesOf(Map.of("false", 2L));
+        assertThat(index.size()).isEqualTo(2);
+
+        // When
+        index.apply(List.of(story), List.of(new FacetRow(story, OTHER_BACKLOG, UserStoryStatus.DONE, 3, null,
+                null, 0L)));
+
+        // Then
+        assertThat(index.search(BACKLOG, done, 10).ids()).containsExactly(created);
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("the least recently searched backlog should be dropped past the story limit")
+    void install_WhenOverStoryLimit_ShouldEvictColdestBacklog() {
+        // Given
+        FacetFilter all = FacetFilter.of(Map.of());
+        index.install(BACKLOG, List.of(row(UUID.randomUUID(), UserStoryStatus.TODO, 1, null, null, 0),
+                row(UUID.randomUUID(), UserStoryStatus.TODO, 2, null, null, 0)));
+        index.install(OTHER_BACKLOG, List.of(row(UUID.randomUUID(), UserStoryStatus.TODO, 1, null, null, 0),
+                row(UUID.randomUUID(), UserStoryStatus.TODO, 2, null, null, 0)));
+        index.search(BACKLOG, all, 10);
+
+        // When
+        UUID third = UUID.randomUUID();
+        index.install(third, List.of(row(UUID.randomUUID(), UserStoryStatus.TODO, 1, null, null, 0)));
+
+        // Then
+        assertThat(index.size()).isEqualTo(3);
+        assertThat(index.search(OTHER_BACKLOG, all, 10)).isNull();
+        assertThat(meterRegistry.get("apms.facets.evicted").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("a failed build should drop the index so the next search retries it")
+    void search_WhenBuildFails_ShouldResetIndex() {
+        // Given
+        when(userStoryRepository.findFacetRows(BACKLOG))
+                .thenThrow(new DataAccessResourceFailureException("down"))
+                .thenReturn(List.of(row(UUID.randomUUID(), UserStoryStatus.TODO, 1, null, null, 0)));
+        FacetFilter all = FacetFilter.of(Map.of());
+
+        // When
+        FacetSearchResult failed = index.search(BACKLOG, all, 10);
+        FacetSearchResult retried = index.search(BACKLOG, all, 10);
+
+        // Then
+        assertThat(failed).isNull();
+        assertThat(retried).isNull();
+        assertThat(index.search(BACKLOG, all, 10).total()).isEqualTo(1);
+        assertThat(meterRegistry.get("apms.facets.resets").counter().count()).isEqualTo(1);
+    }
+
+    private static FacetRow row(UUID id, UserStoryStatus status, int priority, UUID epicId, UUID sprintId,
+            long unmet) {
+        return new FacetRow(id, BACKLOG, status, priority, epicId, sprintId, unmet);
+    }
+}
@@ -0,0 +1,120 @@
+package ma.ensa.apms.history;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import ma.ensa.apms.dto.Response.BoardStoryResponse;
+import ma.ensa.apms.dto.Response.BoardTaskResponse;
+import ma.ensa.apms.dto.Response.SprintBoardResponse;
+import ma.ensa.apms.modal.SprintBacklog;
+import ma.ensa.apms.modal.StatusTransition;
+import ma.ensa.apms.modal.Task;
+import ma.ensa.apms.modal.UserStory;
+import ma.ensa.apms.modal.enums.TaskStatus;
+import ma.ensa.apms.modal.enums.UserStoryStatus;
+import ma.ensa.apms.repository.SprintBacklogRepository;
+import ma.ensa.apms.repository.StatusTransitionRepository;
+import ma.ensa.apms.repository.TaskRepository;
+import ma.ensa.apms.repository.UserStoryRepository;
+import ma.ensa.apms.service.BoardHistoryService;
+import ma.ensa.apms.service.UserStoryService;
+
+/**
+ * Integration tests for {@link StatusTransitionListener}, against an embedded
+ * database
+ */
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+@SpringBootTest
+@DisplayName("StatusTransitionListener Tests")
+class StatusTransitionListenerTest {
+
+    @Autowired
+    private UserStoryService userStoryService;
+
+    @Autowired
+    private BoardHistoryService boardHistoryService;
+
+    @Autowired
+    private UserStoryRepository userStoryRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private SprintBacklogRepository sprintBacklogRepository;
+
+    @Autowired
+    private StatusTransitionRepository statusTransitionRepository;
+
+    private UUID sprintId;
+    private UUID storyId;
+    private UUID taskId;
+
+    @BeforeEach
+    void setUp() {
+        sprintId = sprintBacklogRepository.save(SprintBacklog.builder().name("Board sprint").build()).getId();
+        UserStory story = userStoryRepository.save(UserStory.builder()
+                .name("Board history story")
+                .role("user")
+                .feature("feature")
+                .benefit("benefit")
+                .priority(1)
+                .status(UserStoryStatus.TODO)
+                .build());
+        storyId = story.getId();
+        taskId = taskRepository.save(Task.builder()
+                .title("Board task")
+                .description("description")
+                .status(TaskStatus.IN_PROGRESS)
+                .startDate(LocalDateTime.now().minusDays(1))
+                .endDate(LocalDateTime.now().plusDays(1))
+                .userStory(story)
+                .build()).getId();
+    }
+
+    @Test
+    @DisplayName("a story moved into a sprint should bring its tasks onto the sprint board")
+    void moveToSprint_ShouldRecordTasksOnTheSprintBoard() {
+        // When
+        userStoryService.moveToSprint(storyId, sprintId);
+
+        // Then
+        SprintBoardResponse board = boardHistoryService.getBoardAsOf(sprintId, null);
+        assertThat(board.getStories()).singleElement().satisfies(story -> {
+            assertThat(story.getUserStoryId()).isEqualTo(storyId);
+            assertThat(story.getTasks()).extracting(BoardTaskResponse::getTaskId, BoardTaskResponse::getStatus)
+                    .containsExactly(tuple(taskId, TaskStatus.IN_PROGRESS.name()));
+        });
+    }
+
+    @Test
+    @DisplayName("deleting a story in a sprint should log its task deletions in that sprint")
+    void delete_InSprint_ShouldKeepTheSprintOfTaskDeletions() {
+        // Given
+        userStoryService.moveToSprint(storyId, sprintId);
+
+        // When
+        userStoryService.delete(storyId);
+
+        // Then
+        List<StatusTransition> transitions = statusTransitionRepository.findByEntityIdOrderByOccurredAtAscIdAsc(taskId);
+        assertThat(transitions).last().satisfies(deleted -> {
+            assertThat(deleted.getToStatus()).isNull();
+            assertThat(deleted.getSprintBacklogId()).isEqualTo(sprintId);
+        });
+        assertThat(boardHistoryService.getBoardAsOf(sprintId, null).getStories())
+                .extracting(BoardStoryResponse::getUserStoryId)
+                .doesNotContain(storyId);
+    }
+}
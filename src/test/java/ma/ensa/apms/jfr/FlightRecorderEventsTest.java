@@ -0,0 +1,151 @@
+package ma.ensa.apms.jfr;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.aopalliance.intercept.MethodInvocation;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.core.EntityInformation;
+
+import io.micrometer.observation.ObservationRegistry;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import ma.ensa.apms.annotation.LogOperation;
+import ma.ensa.apms.aspect.LoggingAspect;
+import ma.ensa.apms.modal.Task;
+
+/**
+ * Unit tests for the APMS Flight Recorder events
+ */
+@DisplayName("Flight Recorder events Tests")
+class FlightRecorderEventsTest {
+
+    @Test
+    @DisplayName("events should stay disabled when no recording enables them")
+    void events_WithoutRecording_ShouldBeDisabled() {
+        assertThat(new ServiceOperationEvent().isEnabled()).isFalse();
+        assertThat(new RepositoryCallEvent().isEnabled()).isFalse();
+    }
+
+    @Test
+    @DisplayName("a repository call should be recorded with its entity type, id and operation")
+    void repositoryCallInterceptor_ShouldEmitEvent() throws Throwable {
+        // Given
+        EntityInformation<?, ?> entityInformation = mock(EntityInformation.class);
+        doReturn(Task.class).when(entityInformation).getJavaType();
+        doReturn(UUID.class).when(entityInformation).getIdType();
+        RepositoryCallInterceptor interceptor = new RepositoryCallInterceptor(CrudRepository.class,
+                entityInformation);
+        UUID id = UUID.randomUUID();
+        MethodInvocation invocation = mock(MethodInvocation.class);
+        when(invocation.getMethod()).thenReturn(CrudRepository.class.getMethod("findById", Object.class));
+        when(invocation.getArguments()).thenReturn(new Object[] { id });
+        when(invocation.proceed()).thenReturn(Optional.empty());
+
+        // When
+        List<RecordedEvent> events = record(RepositoryCallEvent.class, () -> interceptor.invoke(invocation));
+
+        // Then
+        assertThat(events).singleElement().satisfies(event -> {
+            assertThat(event.getString("repository")).isEqualTo("CrudRepository");
+            assertThat(event.getString("operation")).isEqualTo("findById");
+            assertThat(event.getString("entityType")).isEqualTo("Task");
+            assertThat(event.getString("entityId")).isEqualTo(id.toString());
+            assertThat(event.getBoolean("failed")).isFalse();
+        });
+    }
+
+    @Test
+    @DisplayName("a @LogOperation method should be recorded by the logging aspect, failures included")
+    void loggingAspect_ShouldEmitServiceOperationEvent() throws Exception {
+        // Given
+        AspectJProxyFactory factory = new AspectJProxyFactory(new TaskService());
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new LoggingAspect(ObservationRegistry.NOOP));
+        TaskService service = factory.getProxy();
+        UUID id = UUID.randomUUID();
+
+        // When
+        List<RecordedEvent> events = record(ServiceOperationEvent.class, () -> {
+            service.complete(id, false);
+            assertThatThrownBy(() -> service.complete(id, true)).isInstanceOf(IllegalStateException.class);
+            return null;
+        });
+
+        // Then
+        assertThat(events).hasSize(2).allSatisfy(event -> {
+            assertThat(event.getString("operation")).isEqualTo("Completing task");
+            assertThat(event.getString("service")).isEqualTo("TaskService");
+            assertThat(event.getString("method")).isEqualTo("complete");
+            assertThat(event.getString("entityType")).isEqualTo("Task");
+            assertThat(event.getString("entityId")).isEqualTo(id.toString());
+        });
+        assertThat(events).extracting(event -> event.getBoolean("failed")).containsExactlyInAnyOrder(false, true);
+    }
+
+    @Test
+    @DisplayName("the APMS settings should enable both events on top of the JDK defaults")
+    void settings_ShouldEnableApmsEvents() {
+        assertThat(JfrRecordingEndpoint.settings())
+                .containsEntry(ServiceOperationEvent.NAME + "#enabled", "true")
+                .containsEntry(RepositoryCallEvent.NAME + "#enabled", "true")
+                .containsKey("jdk.GarbageCollection#enabled");
+    }
+
+    private static List<RecordedEvent> record(Class<? extends Event> eventType, RecordedCall call)
+            throws Exception {
+        Path file = Files.createTempFile("apms-events", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(eventType).withThreshold(Duration.ZERO);
+            recording.start();
+            try {
+                call.run();
+            } catch (Throwable e) {
+                throw new AssertionError(e);
+            }
+            recording.stop();
+            recording.dump(file);
+            return RecordingFile.readAllEvents(file).stream()
+                    .filter(event -> event.getEventType().getName()
+                            .equals(EventType.getEventType(eventType).getName()))
+                    .toList();
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @FunctionalInterface
+    private interface RecordedCall {
+        Object run() throws Throwable;
+    }
+
+    /**
+     * Stand-in service, named like the real ones
+     */
+    static class TaskService {
+
+        @LogOperation(description = "Completing task")
+        public UUID complete(UUID id, boolean fail) {
+            if (fail) {
+                throw new IllegalStateException("cannot complete " + id);
+            }
+            return id;
+        }
+    }
+}
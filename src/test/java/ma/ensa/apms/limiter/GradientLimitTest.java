@@ -0,0 +1,104 @@
+package ma.ensa.apms.limiter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link GradientLimit}
+ */
+@DisplayName("GradientLimit Tests")
+class GradientLimitTest {
+
+    private static final long MILLIS = 1_000_000L;
+
+    @Test
+    @DisplayName("a saturated limit should grow while latency stays at the no-load level")
+    void onSample_WhenSaturatedAtNoLoadLatency_ShouldGrow() {
+        // Given
+        GradientLimit limit = new GradientLimit(10, 1, 100, 1.5, 100);
+
+        // When
+        for (int i = 0; i < 20; i++) {
+            limit.onSample(MILLIS, limit.getLimit(), false);
+        }
+
+        // Then
+        assertThat(limit.getLimit()).isGreaterThan(20);
+    }
+
+    @Test
+    @DisplayName("the limit should shrink once latency exceeds the tolerance, down to the minimum")
+    void onSample_WhenLatencyRises_ShouldShrinkToMinimum() {
+        // Given
+        GradientLimit limit = new GradientLimit(50, 5, 100, 1.5, 1_000);
+        limit.onSample(MILLIS, 1, false);
+
+        // When
+        int before = limit.getLimit();
+        limit.onSample(10 * MILLIS, before, false);
+        int after = limit.getLimit();
+        for (int i = 0; i < 100; i++) {
+            limit.onSample(10 * MILLIS, limit.getLimit(), false);
+        }
+
+        // Then
+        assertThat(after).isLessThan(before);
+        assertThat(limit.getLimit()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("samples taken with most permits free should not move the limit")
+    void onSample_WhenApplicationLimited_ShouldKeepLimit() {
+        // Given
+        GradientLimit limit = new GradientLimit(20, 1, 100, 1.5, 100);
+
+        // When
+        limit.onSample(MILLIS, 2, false);
+        limit.onSample(50 * MILLIS, 2, false);
+
+        // Then
+        assertThat(limit.getLimit()).isEqualTo(20);
+        assertThat(limit.noLoadRtt()).isEqualTo(MILLIS);
+    }
+
+    @Test
+    @DisplayName("a dropped request should back the limit off")
+    void onSample_WhenDropped_ShouldBackOff() {
+        // Given
+        GradientLimit limit = new GradientLimit(20, 1, 100, 1.5, 100);
+
+        // When
+        limit.onSample(MILLIS, 20, true);
+
+        // Then
+        assertThat(limit.getLimit()).isEqualTo((int) (20 * GradientLimit.BACKOFF_RATIO));
+    }
+
+    @Test
+    @DisplayName("the no-load latency should forget minimums older than two windows")
+    void onSample_AfterTwoWindows_ShouldForgetOldMinimum() {
+        // Given
+        GradientLimit limit = new GradientLimit(20, 1, 100, 1.5, 2);
+        limit.onSample(MILLIS, 1, false);
+        limit.onSample(3 * MILLIS, 1, false);
+
+        // When
+        limit.onSample(4 * MILLIS, 1, false);
+        limit.onSample(4 * MILLIS, 1, false);
+        limit.onSample(5 * MILLIS, 1, false);
+
+        // Then
+        assertThat(limit.noLoadRtt()).isEqualTo(4 * MILLIS);
+    }
+
+    @Test
+    @DisplayName("the limit should stay within its bounds")
+    void constructor_ShouldClampAndValidateBounds() {
+        assertThat(new GradientLimit(500, 1, 100, 1.5, 100).getLimit()).isEqualTo(100);
+        assertThatThrownBy(() -> new GradientLimit(10, 0, 100, 1.5, 100))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,123 @@
+package ma.ensa.apms.limiter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+
+/**
+ * Unit tests for {@link LoadSheddingFilter}
+ */
+@DisplayName("LoadSheddingFilter Tests")
+class LoadSheddingFilterTest {
+
+    private MeterRegistry meterRegistry;
+    private LoadSheddingFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = filter(1, 10);
+    }
+
+    @Test
+    @DisplayName("a request past the limit should be rejected with 503 and Retry-After")
+    void doFilter_WhenLimitReached_ShouldRejectWith503() throws Exception {
+        // Given
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+
+        // When
+        filter.doFilter(get("/api/v1/tasks"), new MockHttpServletResponse(),
+                (request, response) -> filter.doFilter(get("/api/v1/tasks"), rejected, failingChain()));
+
+        // Then
+        assertThat(rejected.getStatus()).isEqualTo(503);
+        assertThat(rejected.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("2");
+        assertThat(rejected.getContentAsString()).contains("Too many concurrent read requests");
+        assertThat(meterRegistry.get("apms.limiter.rejected").tag("class", "read").counter().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("apms.limiter.inflight").tag("class", "read").gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("writes, bulk reads and excluded paths should not compete with reads")
+    void doFilter_WhenReadLimitReached_ShouldLetOtherClassesThrough() throws Exception {
+        // Given
+        MockHttpServletResponse write = new MockHttpServletResponse();
+        MockHttpServletResponse bulk = new MockHttpServletResponse();
+        MockHttpServletResponse health = new MockHttpServletResponse();
+        MockHttpServletRequest batchGet = new MockHttpServletRequest("POST", "/api/v1/tasks/batch-get");
+
+        // When
+        filter.doFilter(get("/api/v1/tasks"), new MockHttpServletResponse(), (request, response) -> {
+            filter.doFilter(new MockHttpServletRequest("PUT", "/api/v1/tasks/1"), write, okChain());
+            filter.doFilter(batchGet, bulk, okChain());
+            filter.doFilter(get("/actuator/health"), health, okChain());
+        });
+
+        // Then
+        assertThat(filter.classify(batchGet)).isEqualTo(RequestClass.BULK);
+        assertThat(write.getStatus()).isEqualTo(200);
+        assertThat(bulk.getStatus()).isEqualTo(200);
+        assertThat(health.getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    @DisplayName("a server error should count as dropped and shrink the limit")
+    void doFilter_WhenServerError_ShouldShrinkLimit() throws Exception {
+        // Given
+        filter = filter(10, 10);
+
+        // When
+        filter.doFilter(get("/api/v1/tasks"), new MockHttpServletResponse(),
+                (request, response) -> ((MockHttpServletResponse) response).setStatus(500));
+
+        // Then
+        assertThat(meterRegistry.get("apms.limiter.dropped").tag("class", "read").counter().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("apms.limiter.limit").tag("class", "read").gauge().value()).isEqualTo(9);
+    }
+
+    private LoadSheddingFilter filter(int readLimit, int otherLimit) {
+        meterRegistry = new SimpleMeterRegistry();
+        return new LoadSheddingFilter(Map.of(
+                RequestClass.READ, limiter(readLimit),
+                RequestClass.WRITE, limiter(otherLimit),
+                RequestClass.BULK, limiter(otherLimit)),
+                List.of("/**/batch-get"), List.of("/actuator/**"), Duration.ofMillis(1_500),
+                new ObjectMapper().findAndRegisterModules(), meterRegistry);
+    }
+
+    private static ConcurrencyLimiter limiter(int limit) {
+        return new ConcurrencyLimiter(new GradientLimit(limit, 1, limit, 1.5, 100));
+    }
+
+    private static MockHttpServletRequest get(String uri) {
+        return new MockHttpServletRequest("GET", uri);
+    }
+
+    private static FilterChain okChain() {
+        return (request, response) -> {
+        };
+    }
+
+    private static FilterChain failingChain() {
+        return (request, response) -> {
+            throw new AssertionError("request should have been shed");
+        };
+    }
+}
@@ -0,0 +1,322 @@
+package ma.ensa.apms.perf;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.sql.DataSource;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.EntityManagerFactory;
+import ma.ensa.apms.modal.AcceptanceCriteria;
+import ma.ensa.apms.modal.Task;
+import ma.ensa.apms.modal.enums.TaskStatus;
+import ma.ensa.apms.repository.AcceptanceCriteriaRepository;
+import ma.ensa.apms.repository.ProductBacklogRepository;
+import ma.ensa.apms.repository.ProjectRepository;
+import ma.ensa.apms.repository.TaskRepository;
+import ma.ensa.apms.repository.UserStoryRepository;
+import net.ttddyy.dsproxy.QueryCount;
+import net.ttddyy.dsproxy.QueryCountHolder;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+
+/**
+ * Query and allocation budgets of every endpoint.
+ *
+ * <p>
+ * Seeds an embedded H2 database through the API, then runs each request of
+ * {@code perf/endpoint-budgets.json} once and checks the JDBC statements it
+ * ran, the entities it loaded into the persistence context and the bytes
+ * allocated by the request thread against the budgets of that file. Statements
+ * and allocations are counted on the request thread only, so scheduled jobs
+ * running meanwhile do not count. A change that legitimately costs more
+ * updates its budget in the same commit.
+ * </p>
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+@SpringBootTest(properties = { "spring.jpa.properties.hibernate.generate_statistics=true",
+        "apms.timeline.index=interval-tree", "apms.project-tree.assembly=entity",
+        "apms.snapshot.loader=batch" })
+@Import(EndpointBudgetTest.QueryCountConfig.class)
+@DisplayName("Endpoint budgets")
+class EndpointBudgetTest {
+
+    private static final String BUDGETS = "/perf/endpoint-budgets.json";
+    private static final String DATA_SOURCE = "budget";
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\{(\\w+)}");
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final int EPICS = 2;
+    private static final int STORIES_PER_EPIC = 10;
+    private static final int SPRINT_STORIES = 10;
+    private static final LocalDateTime TASK_START = LocalDateTime.of(2025, 1, 6, 9, 0);
+    private static final LocalDateTime TASK_END = LocalDateTime.of(2025, 1, 10, 17, 0);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserStoryRepository userStoryRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ProductBacklogRepository productBacklogRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private AcceptanceCriteriaRepository acceptanceCriteriaRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final com.sun.management.ThreadMXBean threadMXBean =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private final Map<String, UUID> ids = new HashMap<>();
+    private Statistics statistics;
+
+    @BeforeAll
+    void seed() throws Exception {
+        threadMXBean.setThreadAllocatedMemoryEnabled(true);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        UUID productBacklogId = create("/api/v1/product-backlogs", Map.of("name", "Seeded backlog"));
+        UUID projectId = create("/api/v1/projects", project("Seeded project", "IN_PROGRESS", "2025-01-01T00:00:00",
+                "2025-03-31T00:00:00"));
+        perform(HttpMethod.PATCH, "/api/v1/projects/" + projectId + "/assign-product-backlog/" + productBacklogId,
+                null);
+        UUID sprintId = create("/api/v1/sprint-backlogs", Map.of("name", "Sprint one"));
+        ids.put("productBacklogId", productBacklogId);
+        ids.put("projectId", projectId);
+        ids.put("sprintId", sprintId);
+
+        List<UUID> stories = new ArrayList<>();
+        for (int e = 0; e < EPICS; e++) {
+            UUID epicId = create("/api/v1/product-backlogs/" + productBacklogId + "/epics",
+                    Map.of("name", "Seeded epic " + e, "description", "Seeded by the budget suite"));
+            ids.put(e == 0 ? "epicId" : "otherEpicId", epicId);
+            for (int s = 0; s < STORIES_PER_EPIC; s++) {
+                UUID storyId = create("/api/v1/product-backlogs/" + productBacklogId + "/user-stories",
+                        story("Seeded story " + e + "." + s));
+                perform(HttpMethod.POST, "/api/v1/epics/" + epicId + "/user-stories",
+                        Map.of("userStoryId", storyId));
+                stories.add(storyId);
+            }
+        }
+        for (UUID storyId : stories.subList(0, SPRINT_STORIES)) {
+            perform(HttpMethod.PUT, "/api/v1/user-stories/" + storyId + "/move-to-sprint/" + sprintId, null);
+        }
+        ids.put("storyId", stories.get(0));
+        ids.put("backlogStoryId", stories.get(SPRINT_STORIES));
+        ids.put("lastStoryId", stories.get(stories.size() - 1));
+
+        List<UUID> tasks = new ArrayList<>();
+        List<UUID> criteria = new ArrayList<>();
+        // The API only links the project side of the one-to-one, the backlog
+        // side has its own foreign key
+        transactionTemplate.executeWithoutResult(status -> productBacklogRepository.findById(productBacklogId)
+                .orElseThrow()
+                .setProject(projectRepository.getReferenceById(projectId)));
+        transactionTemplate.executeWithoutResult(status -> stories.forEach(storyId -> {
+            for (int i = 0; i < 2; i++) {
+                tasks.add(taskRepository.save(Task.builder()
+                        .title("Seeded task " + i)
+                        .description("Seeded by the budget suite")
+                        .status(TaskStatus.TODO)
+                        .startDate(TASK_START)
+                        .endDate(TASK_END)
+                        .userStory(userStoryRepository.getReferenceById(storyId))
+                        .build()).getId());
+                criteria.add(acceptanceCriteriaRepository.save(AcceptanceCriteria.builder()
+                        .given("a seeded story")
+                        .when("the budget suite runs")
+                        .then("the criteria is listed")
+                        .userStory(userStoryRepository.getReferenceById(storyId))
+                        .build()).getId());
+            }
+        }));
+        ids.put("taskId", tasks.get(0));
+        ids.put("criteriaId", criteria.get(0));
+
+        ids.put("spareProductBacklogId", create("/api/v1/product-backlogs", Map.of("name", "Spare backlog")));
+        ids.put("spareProjectId", create("/api/v1/projects", project("Spare project", "NOT_STARTED",
+                "2025-02-01T00:00:00", "2025-02-28T00:00:00")));
+        ids.put("spareEpicId", create("/api/v1/epics",
+                Map.of("name", "Spare epic", "description", "Seeded by the budget suite")));
+        ids.put("spareSprintId", create("/api/v1/sprint-backlogs", Map.of("name", "Spare sprint")));
+        ids.put("spareStoryId", create("/api/v1/user-stories", story("Spare seeded story")));
+        ids.put("spareTaskId", create("/api/v1/tasks", Map.of("title", "Spare task", "description",
+                "Seeded by the budget suite", "status", "TODO", "startDate", "2025-01-06T09:00:00",
+                "endDate", "2025-01-07T17:00:00")));
+        ids.put("spareCriteriaId", create("/api/v1/acceptance-criteria", Map.of("given", "a spare story",
+                "when", "the budget suite runs", "then", "the criteria is deleted", "met", false)));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("budgets")
+    @DisplayName("each endpoint should stay within its statement, entity load and allocation budgets")
+    void endpoint_ShouldStayWithinBudget(EndpointBudget budget) throws Exception {
+        // Given
+        MockHttpServletRequestBuilder request = requestOf(budget);
+        if (budget.repeatable()) {
+            mockMvc.perform(request).andExpect(status().is2xxSuccessful()); // warm-up
+        }
+        statistics.clear();
+        QueryCountHolder.clear();
+
+        // When
+        long allocatedBefore = threadMXBean.getCurrentThreadAllocatedBytes();
+        mockMvc.perform(request).andExpect(status().is2xxSuccessful());
+        long allocatedKb = (threadMXBean.getCurrentThreadAllocatedBytes() - allocatedBefore) / 1024;
+        QueryCount queries = QueryCountHolder.get(DATA_SOURCE);
+        long statements = queries == null ? 0 : queries.getTotal();
+        long entityLoads = statistics.getEntityLoadCount();
+
+        // Then
+        System.out.printf("%s: %d statements, %d entity loads, %d KB allocated%n", budget, statements,
+                entityLoads, allocatedKb);
+        assertThat(statements).as("statements of %s", budget).isLessThanOrEqualTo(budget.maxStatements());
+        assertThat(entityLoads).as("entity loads of %s", budget).isLessThanOrEqualTo(budget.maxEntityLoads());
+        assertThat(allocatedKb).as("KB allocated by %s", budget).isLessThanOrEqualTo(budget.maxAllocatedKb());
+    }
+
+    static List<EndpointBudget> budgets() throws IOException {
+        try (InputStream in = EndpointBudgetTest.class.getResourceAsStream(BUDGETS)) {
+            return List.of(JSON.treeToValue(JSON.readTree(in).get("endpoints"), EndpointBudget[].class));
+        }
+    }
+
+    private MockHttpServletRequestBuilder requestOf(EndpointBudget budget) throws IOException {
+        MockHttpServletRequestBuilder request = request(HttpMethod.valueOf(budget.method()),
+                URI.create(resolve(budget.path())));
+        if (budget.body() != null) {
+            request.contentType(MediaType.APPLICATION_JSON).content(resolve(JSON.writeValueAsString(budget.body())));
+        }
+        return request;
+    }
+
+    /**
+     * Replace the {@code {name}} placeholders of a budget with the seeded IDs
+     */
+    private String resolve(String template) {
+        Matcher matcher = PLACEHOLDER.matcher(template);
+        StringBuilder resolved = new StringBuilder();
+        while (matcher.find()) {
+            UUID id = ids.get(matcher.group(1));
+            assertThat(id).as("seeded id %s", matcher.group(1)).isNotNull();
+            matcher.appendReplacement(resolved, id.toString());
+        }
+        return matcher.appendTail(resolved).toString();
+    }
+
+    private UUID create(String path, Object body) throws Exception {
+        return UUID.fromString(perform(HttpMethod.POST, path, body).get("id").asText());
+    }
+
+    private JsonNode perform(HttpMethod method, String path, Object body) throws Exception {
+        MockHttpServletRequestBuilder request = request(method, URI.create(path));
+        if (body != null) {
+            request.contentType(MediaType.APPLICATION_JSON).content(JSON.writeValueAsString(body));
+        }
+        String response = mockMvc.perform(request)
+                .andExpect(status().is2xxSuccessful())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        return response.isEmpty() ? null : JSON.readTree(response);
+    }
+
+    private static Map<String, Object> story(String name) {
+        return Map.of("name", name, "role", "user", "feature", "a seeded feature", "benefit", "a seeded benefit",
+                "priority", 1, "status", "TODO");
+    }
+
+    private static Map<String, Object> project(String name, String status, String startDate, String endDate) {
+        return Map.of("name", name, "description", "Seeded by the budget suite", "status", status,
+                "startDate", startDate, "endDate", endDate);
+    }
+
+    /**
+     * One entry of the budgets file
+     */
+    record EndpointBudget(String method, String path, JsonNode body, long maxStatements, long maxEntityLoads,
+            long maxAllocatedKb) {
+
+        /**
+         * Whether the request can run twice, so that it is measured warm
+         */
+        boolean repeatable() {
+            return "GET".equals(method) || path.endsWith("/batch-get");
+        }
+
+        @Override
+        public String toString() {
+            return method + " " + path;
+        }
+    }
+
+    /**
+     * Counts the statements of every connection on the thread that runs them
+     */
+    @TestConfiguration
+    static class QueryCountConfig {
+
+        @Bean
+        static BeanPostProcessor queryCountingDataSourcePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource proxy
+                            && DATA_SOURCE.equals(proxy.getProxyConfig().getDataSourceName()))) {
+                        return ProxyDataSourceBuilder.create(DATA_SOURCE, dataSource).countQuery().build();
+                    }
+                    return bean;
+                }
+            };
+        }
+    }
+}
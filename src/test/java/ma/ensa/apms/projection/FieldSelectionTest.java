@@ -0,0 +1,67 @@
+package ma.ensa.apms.projection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import ma.ensa.apms.exception.BusinessException;
+
+/**
+ * Unit tests for {@link FieldSelection}
+ */
+@DisplayName("FieldSelection Tests")
+class FieldSelectionTest {
+
+    private static final List<String> FIELDS = List.of("id", "name", "status");
+    private static final List<String> EXPANSIONS = List.of("tasks");
+
+    @Test
+    @DisplayName("of should drop blanks and duplicates")
+    void of_ShouldCleanNames() {
+        // When
+        FieldSelection selection = FieldSelection.of(List.of(" name", "", "id", "name "), null);
+
+        // Then
+        assertThat(selection.fields()).containsExactly("name", "id");
+        assertThat(selection.expand()).isEmpty();
+        assertThat(selection.isEmpty()).isFalse();
+    }
+
+    @Test
+    @DisplayName("fieldsOr should fall back to every field when none was requested")
+    void fieldsOr_WhenNoFieldRequested_ShouldReturnAllFields() {
+        // Given
+        FieldSelection selection = FieldSelection.of(null, List.of("tasks"));
+
+        // When / Then
+        assertThat(selection.fieldsOr(FIELDS)).isEqualTo(FIELDS);
+        assertThat(selection.expands("tasks")).isTrue();
+    }
+
+    @Test
+    @DisplayName("validate should accept known names")
+    void validate_WithKnownNames_ShouldPass() {
+        // Given
+        FieldSelection selection = FieldSelection.of(List.of("id", "status"), List.of("tasks"));
+
+        // When / Then
+        assertThatCode(() -> selection.validate(FIELDS, EXPANSIONS)).doesNotThrowAnyException();
+    }
+
+    @Test
+    @DisplayName("validate should reject unknown fields and expansions")
+    void validate_WithUnknownNames_ShouldThrow() {
+        // When / Then
+        assertThatThrownBy(() -> FieldSelection.of(List.of("id", "secret"), null).validate(FIELDS, EXPANSIONS))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("Unknown field 'secret'");
+        assertThatThrownBy(() -> FieldSelection.of(null, List.of("epic")).validate(FIELDS, EXPANSIONS))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("Unknown expansion 'epic'");
+    }
+}
@@ -0,0 +1,91 @@
+package ma.ensa.apms.ranking;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import ma.ensa.apms.cache.ProductBacklogReadCache;
+import ma.ensa.apms.modal.UserStory;
+import ma.ensa.apms.repository.UserStoryRepository;
+
+/**
+ * Unit tests for {@link BacklogRankRebalancer}
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BacklogRankRebalancer Tests")
+class BacklogRankRebalancerTest {
+
+    @Mock
+    private UserStoryRepository userStoryRepository;
+
+    @Mock
+    private BacklogRanks backlogRanks;
+
+    @Mock
+    private ProductBacklogReadCache productBacklogReadCache;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private BacklogRankRebalancer rebalancer;
+
+    @BeforeEach
+    void setUp() {
+        rebalancer = new BacklogRankRebalancer(userStoryRepository, backlogRanks, productBacklogReadCache,
+                transactionManager, new SimpleMeterRegistry(), 6);
+    }
+
+    @Test
+    @DisplayName("rebalance should keep the order and give unranked stories the last places")
+    void rebalance_ShouldRewriteKeysInCurrentOrder() {
+        // Given
+        UUID backlogId = UUID.randomUUID();
+        UserStory first = story("a0000000001", 3);
+        UserStory second = story("a1", 1);
+        UserStory unrankedHigh = story(null, 1);
+        UserStory unrankedLow = story(null, 5);
+        when(userStoryRepository.lockByProductBacklogId(backlogId))
+                .thenReturn(List.of(unrankedLow, second, unrankedHigh, first));
+
+        // When
+        int changed = rebalancer.rebalance(backlogId);
+
+        // Then
+        verify(backlogRanks).lock(backlogId);
+        verify(productBacklogReadCache).evict(backlogId);
+        assertThat(changed).isEqualTo(4);
+        assertThat(List.of(first, second, unrankedHigh, unrankedLow))
+                .extracting(UserStory::getRank)
+                .isSorted()
+                .allSatisfy(rank -> assertThat(rebalancer.isTooLong(rank)).isFalse());
+    }
+
+    @Test
+    @DisplayName("isTooLong should compare against the configured length")
+    void isTooLong_ShouldUseConfiguredLength() {
+        assertThat(rebalancer.isTooLong("abcdef")).isFalse();
+        assertThat(rebalancer.isTooLong("abcdefg")).isTrue();
+        assertThat(rebalancer.isTooLong(null)).isFalse();
+    }
+
+    private static UserStory story(String rank, int priority) {
+        return UserStory.builder()
+                .id(UUID.randomUUID())
+                .name("Story")
+                .rank(rank)
+                .priority(priority)
+                .build();
+    }
+}
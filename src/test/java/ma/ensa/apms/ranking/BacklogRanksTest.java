@@ -0,0 +1,65 @@
+package ma.ensa.apms.ranking;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import ma.ensa.apms.exception.ResourceNotFoundException;
+import ma.ensa.apms.modal.UserStory;
+import ma.ensa.apms.repository.ProductBacklogRepository;
+import ma.ensa.apms.repository.UserStoryRepository;
+
+/**
+ * Unit tests for {@link BacklogRanks}
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BacklogRanks Tests")
+class BacklogRanksTest {
+
+    @Mock
+    private ProductBacklogRepository productBacklogRepository;
+
+    @Mock
+    private UserStoryRepository userStoryRepository;
+
+    @InjectMocks
+    private BacklogRanks backlogRanks;
+
+    @Test
+    @DisplayName("rankLast should rank after the last story without locking the backlog")
+    void rankLast_ShouldRankAfterLastStoryWithoutLocking() {
+        // Given
+        UUID backlogId = UUID.randomUUID();
+        when(userStoryRepository.findFirstByProductBacklogIdAndRankNotNullOrderByRankDesc(backlogId))
+                .thenReturn(Optional.of(UserStory.builder().rank("m").build()));
+
+        // When
+        String rank = backlogRanks.rankLast(backlogId);
+
+        // Then
+        assertThat(rank).isGreaterThan("m");
+        verifyNoInteractions(productBacklogRepository);
+    }
+
+    @Test
+    @DisplayName("lock should reject an unknown backlog")
+    void lock_UnknownBacklog_ShouldThrow() {
+        // Given
+        UUID backlogId = UUID.randomUUID();
+        when(productBacklogRepository.lockById(backlogId)).thenReturn(Optional.empty());
+
+        // When / Then
+        assertThatThrownBy(() -> backlogRanks.lock(backlogId)).isInstanceOf(ResourceNotFoundException.class);
+    }
+}
@@ -0,0 +1,123 @@
+package ma.ensa.apms.ranking;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import ma.ensa.apms.dto.Request.UserStoryRequest;
+import ma.ensa.apms.dto.Response.UserStoryResponse;
+import ma.ensa.apms.modal.ProductBacklog;
+import ma.ensa.apms.modal.UserStory;
+import ma.ensa.apms.modal.enums.UserStoryStatus;
+import ma.ensa.apms.repository.ProductBacklogRepository;
+import ma.ensa.apms.repository.UserStoryRepository;
+import ma.ensa.apms.service.ProductBacklogService;
+
+/**
+ * Integration tests for concurrent appends to one backlog, against an
+ * embedded database
+ */
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+@SpringBootTest
+@DisplayName("Concurrent backlog append Tests")
+class ConcurrentAppendTest {
+
+    @Autowired
+    private ProductBacklogService productBacklogService;
+
+    @Autowired
+    private ProductBacklogRepository productBacklogRepository;
+
+    @Autowired
+    private UserStoryRepository userStoryRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private UUID backlogId;
+
+    @BeforeEach
+    void setUp() {
+        ProductBacklog backlog = productBacklogRepository.save(ProductBacklog.builder().name("Busy backlog").build());
+        backlogId = backlog.getId();
+        userStoryRepository.save(UserStory.builder()
+                .name("Already ranked story")
+                .role("user")
+                .feature("feature")
+                .benefit("benefit")
+                .priority(1)
+                .status(UserStoryStatus.TODO)
+                .rank("m")
+                .productBacklog(backlog)
+                .build());
+    }
+
+    @Test
+    @DisplayName("an append should not wait for another append to the same backlog to commit")
+    void addUserStory_WhileAnotherAppendIsOpen_ShouldNotWait() throws Exception {
+        // Given
+        CountDownLatch firstAdded = new CountDownLatch(1);
+        CountDownLatch releaseFirst = new CountDownLatch(1);
+        CompletableFuture<UserStoryResponse> first = CompletableFuture.supplyAsync(() -> new TransactionTemplate(
+                transactionManager).execute(status -> {
+                    UserStoryResponse added = productBacklogService.addUserStoryToProductBacklog(backlogId,
+                            request("First concurrent story"));
+                    firstAdded.countDown();
+                    await(releaseFirst);
+                    return added;
+                }));
+        assertThat(firstAdded.await(10, TimeUnit.SECONDS)).isTrue();
+
+        try {
+            // When
+            UserStoryResponse second = CompletableFuture
+                    .supplyAsync(() -> productBacklogService.addUserStoryToProductBacklog(backlogId,
+                            request("Second concurrent story")))
+                    .get(5, TimeUnit.SECONDS);
+
+            // Then
+            assertThat(first).isNotDone();
+            releaseFirst.countDown();
+            UserStoryResponse firstResponse = first.get(10, TimeUnit.SECONDS);
+            List<UserStory> stories = userStoryRepository.findByProductBacklogIdOrderByRankAscIdAsc(backlogId);
+            assertThat(stories).extracting(UserStory::getRank).doesNotHaveDuplicates();
+            assertThat(stories.get(0).getRank()).isEqualTo("m");
+            assertThat(stories).extracting(UserStory::getId)
+                    .containsExactlyInAnyOrder(stories.get(0).getId(), firstResponse.getId(), second.getId());
+        } finally {
+            releaseFirst.countDown();
+        }
+    }
+
+    private static UserStoryRequest request(String name) {
+        return UserStoryRequest.builder()
+                .name(name)
+                .role("user")
+                .feature("feature")
+                .benefit("benefit")
+                .priority(2)
+                .status(UserStoryStatus.TODO)
+                .build();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
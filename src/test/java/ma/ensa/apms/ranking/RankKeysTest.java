@@ -0,0 +1,84 @@
+package ma.ensa.apms.ranking;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link RankKeys}
+ */
+@DisplayName("RankKeys Tests")
+class RankKeysTest {
+
+    @Test
+    @DisplayName("between should return a key strictly inside the bounds")
+    void between_ShouldSortBetweenBounds() {
+        assertThat(RankKeys.between("a", "c")).isEqualTo("b");
+        assertThat(RankKeys.between("a", "b")).isGreaterThan("a").isLessThan("b");
+        assertThat(RankKeys.between("az", "b")).isGreaterThan("az").isLessThan("b");
+        assertThat(RankKeys.between(null, "01")).isLessThan("01");
+        assertThat(RankKeys.between("zz", null)).isGreaterThan("zz");
+        assertThat(RankKeys.between(null, null)).isNotEmpty();
+    }
+
+    @Test
+    @DisplayName("repeated moves into the same gap should keep keys ordered and short")
+    void between_WhenRepeatedlySplittingGap_ShouldStayOrdered() {
+        String lower = "a";
+        String upper = "b";
+        for (int i = 0; i < 100; i++) {
+            String key = RankKeys.between(lower, upper);
+            assertThat(key).isGreaterThan(lower).isLessThan(upper).doesNotEndWith("0");
+            upper = key;
+        }
+        assertThat(upper.length()).isLessThan(30);
+    }
+
+    @Test
+    @DisplayName("random inserts should always produce a consistent order")
+    void between_WithRandomInserts_ShouldMatchInsertionPositions() {
+        Random random = new Random(42);
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            int position = random.nextInt(keys.size() + 1);
+            String lower = position > 0 ? keys.get(position - 1) : null;
+            String upper = position < keys.size() ? keys.get(position) : null;
+            keys.add(position, RankKeys.between(lower, upper));
+        }
+        assertThat(keys).isSorted().doesNotHaveDuplicates();
+    }
+
+    @Test
+    @DisplayName("after should give writers reading the same last key distinct keys after it")
+    void after_FromSameLastKey_ShouldBeDistinctAndAfterIt() {
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            keys.add(RankKeys.after("m"));
+        }
+        assertThat(keys).doesNotHaveDuplicates()
+                .allSatisfy(key -> assertThat(key).isGreaterThan("m").doesNotEndWith("0"));
+        assertThat(RankKeys.after(null)).isNotEmpty();
+    }
+
+    @Test
+    @DisplayName("evenlySpaced should return short increasing keys with room between them")
+    void evenlySpaced_ShouldReturnIncreasingKeys() {
+        List<String> keys = RankKeys.evenlySpaced(5_000);
+
+        assertThat(keys).hasSize(5_000).isSorted().doesNotHaveDuplicates();
+        assertThat(keys).allSatisfy(key -> assertThat(key.length()).isLessThanOrEqualTo(4));
+        assertThat(RankKeys.between(keys.get(0), keys.get(1))).isGreaterThan(keys.get(0)).isLessThan(keys.get(1));
+    }
+
+    @Test
+    @DisplayName("between should reject bounds in the wrong order")
+    void between_WhenBoundsReversed_ShouldThrow() {
+        assertThatThrownBy(() -> RankKeys.between("b", "a")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,127 @@
+package ma.ensa.apms.ranking;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import ma.ensa.apms.ranking.TopStoriesIndex.PriorityChange;
+import ma.ensa.apms.repository.UserStoryRepository;
+
+/**
+ * Unit tests for {@link TopStoriesIndex}
+ */
+@DisplayName("TopStoriesIndex Tests")
+class TopStoriesIndexTest {
+
+    private static final UUID BACKLOG = UUID.randomUUID();
+    private static final UUID OTHER_BACKLOG = UUID.randomUUID();
+
+    private UserStoryRepository userStoryRepository;
+    private SimpleMeterRegistry meterRegistry;
+    private TopStoriesIndex index;
+
+    @BeforeEach
+    void setUp() {
+        userStoryRepository = mock(UserStoryRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+        index = new TopStoriesIndex(mock(EntityManagerFactory.class), userStoryRepository, meterRegistry, 3);
+    }
+
+    @Test
+    @DisplayName("a backlog should be loaded once and read by priority, then id")
+    void top_ShouldLoadOnceAndOrderByPriorityThenId() {
+        // Given
+        UUID low = UUID.randomUUID();
+        UUID highA = new UUID(0, 1);
+        UUID highB = new UUID(0, 2);
+        when(userStoryRepository.findPlanningPriorities(BACKLOG))
+                .thenReturn(List.of(new PriorityEntry(low, 5), new PriorityEntry(highB, 1),
+                        new PriorityEntry(highA, 1)));
+
+        // When
+        List<UUID> first = index.top(BACKLOG, 2);
+        List<UUID> second = index.top(BACKLOG, 10);
+
+        // Then
+        assertThat(first).containsExactly(highA, highB);
+        assertThat(second).containsExactly(highA, highB, low);
+        verify(userStoryRepository, times(1)).findPlanningPriorities(BACKLOG);
+    }
+
+    @Test
+    @DisplayName("committed changes should reorder, move and remove stories")
+    void apply_ShouldKeepLoadedBacklogsUpToDate() {
+        // Given
+        UUID story = UUID.randomUUID();
+        UUID planned = UUID.randomUUID();
+        when(userStoryRepository.findPlanningPriorities(BACKLOG))
+                .thenReturn(List.of(new PriorityEntry(story, 5), new PriorityEntry(planned, 3)));
+        index.top(BACKLOG, 10);
+        UUID created = UUID.randomUUID();
+
+        // When
+        index.apply(new PriorityChange(story, BACKLOG, 1));
+        index.apply(new PriorityChange(created, BACKLOG, 4));
+        index.apply(new PriorityChange(planned, null, 3));
+
+        // Then
+        assertThat(index.top(BACKLOG, 10)).containsExactly(story, created);
+
+        // When
+        index.apply(new PriorityChange(story, OTHER_BACKLOG, 1));
+
+        // Then
+        assertThat(index.top(BACKLOG, 10)).containsExactly(created);
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("changes committed while a backlog loads should be replayed onto it")
+    void top_WhenChangedDuringLoad_ShouldReplayChanges() {
+        // Given
+        UUID moved = UUID.randomUUID();
+        UUID kept = UUID.randomUUID();
+        when(userStoryRepository.findPlanningPriorities(BACKLOG)).thenAnswer(invocation -> {
+            index.apply(new PriorityChange(moved, null, 1));
+            return List.of(new PriorityEntry(moved, 1), new PriorityEntry(kept, 2));
+        });
+
+        // When
+        List<UUID> top = index.top(BACKLOG, 10);
+
+        // Then
+        assertThat(top).containsExactly(kept);
+    }
+
+    @Test
+    @DisplayName("the least recently read backlog should be dropped past the entry limit")
+    void top_WhenOverEntryLimit_ShouldEvictColdestBacklog() {
+        // Given
+        when(userStoryRepository.findPlanningPriorities(BACKLOG))
+                .thenReturn(List.of(new PriorityEntry(UUID.randomUUID(), 1), new PriorityEntry(UUID.randomUUID(), 2)));
+        when(userStoryRepository.findPlanningPriorities(OTHER_BACKLOG))
+                .thenReturn(List.of(new PriorityEntry(UUID.randomUUID(), 1), new PriorityEntry(UUID.randomUUID(), 2)));
+
+        // When
+        index.top(BACKLOG, 10);
+        index.top(OTHER_BACKLOG, 10);
+        index.top(BACKLOG, 10);
+
+        // Then
+        assertThat(index.size()).isEqualTo(2);
+        assertThat(meterRegistry.get("apms.top-stories.evicted").counter().count()).isEqualTo(2);
+        verify(userStoryRepository, times(2)).findPlanningPriorities(BACKLOG);
+        verify(userStoryRepository, times(1)).findPlanningPriorities(OTHER_BACKLOG);
+    }
+}
@@ -0,0 +1,187 @@
+package ma.ensa.apms.rollup;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import ma.ensa.apms.dto.Response.ProgressResponse;
+import ma.ensa.apms.modal.StatusRollup;
+import ma.ensa.apms.modal.enums.RollupScope;
+import ma.ensa.apms.modal.enums.UserStoryStatus;
+import ma.ensa.apms.repository.EpicRepository;
+import ma.ensa.apms.repository.ProductBacklogRepository;
+import ma.ensa.apms.repository.StatusRollupRepository;
+import ma.ensa.apms.repository.UserStoryRepository;
+
+/**
+ * Unit tests for {@link StatusRollupVerifier}
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("StatusRollupVerifier Tests")
+class StatusRollupVerifierTest {
+
+    @Mock
+    private StatusRollupRepository statusRollupRepository;
+
+    @Mock
+    private UserStoryRepository userStoryRepository;
+
+    @Mock
+    private EpicRepository epicRepository;
+
+    @Mock
+    private ProductBacklogRepository productBacklogRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private StatusRollupVerifier verifier;
+    private UUID epicId;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        verifier = new StatusRollupVerifier(statusRollupRepository, userStoryRepository, epicRepository,
+                productBacklogRepository, transactionManager, meterRegistry, 100);
+        epicId = UUID.randomUUID();
+    }
+
+    @Test
+    @DisplayName("verifyChunk should correct drifted counters and leave accurate ones alone")
+    @SuppressWarnings("unchecked")
+    void verifyChunk_WhenCountersDrifted_ShouldCorrectThem() {
+        // Given
+        List<StatusRollup> stored = List.of(
+                row(UserStoryStatus.TODO, 3),
+                row(UserStoryStatus.IN_PROGRESS, 1),
+                row(UserStoryStatus.DONE, -1),
+                row(UserStoryStatus.BLOCKED, 0));
+        when(statusRollupRepository.lockByScope(RollupScope.EPIC, List.of(epicId))).thenReturn(stored);
+        when(userStoryRepository.countByEpicIdsGroupByStatus(List.of(epicId))).thenReturn(List.of(
+                new ScopeStatusCount(epicId, UserStoryStatus.TODO, 3L),
+                new ScopeStatusCount(epicId, UserStoryStatus.IN_PROGRESS, 2L)));
+
+        // When
+        int corrected = verifier.verifyChunk(RollupScope.EPIC, List.of(epicId));
+
+        // Then
+        ArgumentCaptor<List<StatusRollup>> captor = ArgumentCaptor.forClass(List.class);
+        verify(statusRollupRepository).saveAll(captor.capture());
+        assertThat(corrected).isEqualTo(2);
+        assertThat(captor.getValue())
+                .extracting(StatusRollup::getStatus, StatusRollup::getStoryCount)
+                .containsExactlyInAnyOrder(
+                        tuple(UserStoryStatus.IN_PROGRESS, 2L),
+                        tuple(UserStoryStatus.DONE, 0L));
+        assertThat(meterRegistry.counter("apms.rollup.corrections").count()).isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("verifyChunk should create the missing counters of a scope")
+    @SuppressWarnings("unchecked")
+    void verifyChunk_WhenCountersMissing_ShouldCreateThem() {
+        // Given
+        UUID backlogId = UUID.randomUUID();
+        when(statusRollupRepository.lockByScope(RollupScope.PRODUCT_BACKLOG, List.of(backlogId)))
+                .thenReturn(List.of());
+        when(userStoryRepository.countByProductBacklogIdsGroupByStatus(List.of(backlogId))).thenReturn(List.of(
+                new ScopeStatusCount(backlogId, UserStoryStatus.DONE, 4L)));
+
+        // When
+        verifier.verifyChunk(RollupScope.PRODUCT_BACKLOG, List.of(backlogId));
+
+        // Then
+        ArgumentCaptor<List<StatusRollup>> captor = ArgumentCaptor.forClass(List.class);
+        verify(statusRollupRepository).saveAll(captor.capture());
+        assertThat(captor.getValue()).hasSize(UserStoryStatus.values().length)
+                .allSatisfy(row -> {
+                    assertThat(row.getId()).isNotNull();
+                    assertThat(row.getScopeType()).isEqualTo(RollupScope.PRODUCT_BACKLOG);
+                    assertThat(row.getScopeId()).isEqualTo(backlogId);
+                    assertThat(row.getStoryCount()).isEqualTo(row.getStatus() == UserStoryStatus.DONE ? 4L : 0L);
+                });
+    }
+
+    @Test
+    @DisplayName("recount should count new scopes chunk by chunk without reporting corrections")
+    void recount_ShouldCreateCountersPerChunkWithoutCorrections() {
+        // Given
+        verifier = new StatusRollupVerifier(statusRollupRepository, userStoryRepository, epicRepository,
+                productBacklogRepository, transactionManager, meterRegistry, 1);
+        UUID otherEpicId = UUID.randomUUID();
+        when(statusRollupRepository.lockByScope(RollupScope.EPIC, List.of(epicId))).thenReturn(List.of());
+        when(statusRollupRepository.lockByScope(RollupScope.EPIC, List.of(otherEpicId))).thenReturn(List.of());
+        when(userStoryRepository.countByEpicIdsGroupByStatus(anyList())).thenReturn(List.of());
+
+        // When
+        verifier.recount(RollupScope.EPIC, List.of(epicId, otherEpicId));
+
+        // Then
+        verify(statusRollupRepository, times(2)).saveAll(anyList());
+        assertThat(meterRegistry.counter("apms.rollup.corrections").count()).isZero();
+    }
+
+    @Test
+    @DisplayName("verifyChunk should not write when every counter is accurate")
+    void verifyChunk_WhenCountersAccurate_ShouldNotSave() {
+        // Given
+        when(statusRollupRepository.lockByScope(RollupScope.EPIC, List.of(epicId))).thenReturn(List.of(
+                row(UserStoryStatus.TODO, 2),
+                row(UserStoryStatus.IN_PROGRESS, 0),
+                row(UserStoryStatus.DONE, 0),
+                row(UserStoryStatus.BLOCKED, 0)));
+        when(userStoryRepository.countByEpicIdsGroupByStatus(List.of(epicId))).thenReturn(List.of(
+                new ScopeStatusCount(epicId, UserStoryStatus.TODO, 2L)));
+
+        // When
+        int corrected = verifier.verifyChunk(RollupScope.EPIC, List.of(epicId));
+
+        // Then
+        assertThat(corrected).isZero();
+        verify(statusRollupRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    @DisplayName("progress should be computed from the counters, clamping negatives")
+    void toProgress_ShouldComputePercentComplete() {
+        // When
+        ProgressResponse progress = StatusRollupReader.toProgress(List.of(
+                row(UserStoryStatus.TODO, 1),
+                row(UserStoryStatus.IN_PROGRESS, 1),
+                row(UserStoryStatus.DONE, 2),
+                row(UserStoryStatus.BLOCKED, -1)));
+
+        // Then
+        assertThat(progress.getTotalStories()).isEqualTo(4);
+        assertThat(progress.getPercentComplete()).isEqualTo(50.0);
+        assertThat(progress.getStoriesByStatus()).containsEntry(UserStoryStatus.BLOCKED, 0L);
+    }
+
+    private StatusRollup row(UserStoryStatus status, long count) {
+        return StatusRollup.builder()
+                .id(UUID.randomUUID())
+                .scopeType(RollupScope.EPIC)
+                .scopeId(epicId)
+                .status(status)
+                .storyCount(count)
+                .build();
+    }
+}
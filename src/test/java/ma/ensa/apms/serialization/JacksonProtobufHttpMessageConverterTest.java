@@ -0,0 +1,107 @@
+package ma.ensa.apms.serialization;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.lang.reflect.Type;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import com.fasterxml.jackson.dataformat.protobuf.ProtobufFactory;
+
+import ma.ensa.apms.dto.TaskResponseDto;
+import ma.ensa.apms.dto.Response.ProgressResponse;
+import ma.ensa.apms.modal.enums.TaskStatus;
+
+/**
+ * Unit tests for {@link JacksonProtobufHttpMessageConverter}
+ */
+@DisplayName("JacksonProtobufHttpMessageConverter Tests")
+class JacksonProtobufHttpMessageConverterTest {
+
+    private static final Type TASK_LIST = new ParameterizedTypeReference<List<TaskResponseDto>>() {
+    }.getType();
+
+    private final JacksonProtobufHttpMessageConverter converter = new JacksonProtobufHttpMessageConverter(
+            new Jackson2ObjectMapperBuilder()
+                    .factory(new ProtobufFactory())
+                    .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                    .serializerByType(UUID.class, ToStringSerializer.instance)
+                    .deserializerByType(UUID.class, new ProtobufUuidDeserializer())
+                    .build());
+
+    @Test
+    @DisplayName("a list should survive a write and read round trip in order")
+    void list_ShouldRoundTrip() throws Exception {
+        // Given
+        List<TaskResponseDto> tasks = List.of(task("First"), task("Second"), task("x".repeat(300)));
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+
+        // When
+        converter.write(tasks, TASK_LIST, JacksonProtobufHttpMessageConverter.APPLICATION_X_PROTOBUF, output);
+        Object result = converter.read(TASK_LIST, null, new MockHttpInputMessage(output.getBodyAsBytes()));
+
+        // Then
+        assertThat(result).isEqualTo(tasks);
+        assertThat(output.getHeaders().getContentType())
+                .isEqualTo(JacksonProtobufHttpMessageConverter.APPLICATION_X_PROTOBUF);
+    }
+
+    @Test
+    @DisplayName("a single object should survive a write and read round trip")
+    void object_ShouldRoundTrip() throws Exception {
+        // Given
+        TaskResponseDto task = task("Single");
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+
+        // When
+        converter.write(task, TaskResponseDto.class, null, output);
+        Object result = converter.read(TaskResponseDto.class, null, new MockHttpInputMessage(output.getBodyAsBytes()));
+
+        // Then
+        assertThat(result).isEqualTo(task);
+    }
+
+    @Test
+    @DisplayName("types without a protobuf mapping should not be offered")
+    void canWrite_WithMapProperty_ShouldReturnFalse() {
+        // When / Then
+        assertThat(converter.canWrite(ProgressResponse.class, ProgressResponse.class,
+                JacksonProtobufHttpMessageConverter.APPLICATION_X_PROTOBUF)).isFalse();
+        assertThat(converter.canWrite(TASK_LIST, List.class,
+                JacksonProtobufHttpMessageConverter.APPLICATION_PROTOBUF)).isTrue();
+    }
+
+    @Test
+    @DisplayName("a truncated list should be rejected as unreadable")
+    void read_WithTruncatedList_ShouldThrow() {
+        // Given
+        byte[] truncated = { 0x0A, 0x10, 0x01 };
+
+        // When / Then
+        assertThatThrownBy(() -> converter.read(TASK_LIST, null, new MockHttpInputMessage(truncated)))
+                .isInstanceOf(HttpMessageNotReadableException.class);
+    }
+
+    private static TaskResponseDto task(String title) {
+        TaskResponseDto task = new TaskResponseDto();
+        task.setId(UUID.randomUUID());
+        task.setTitle(title);
+        task.setDescription("Description of " + title);
+        task.setStatus(TaskStatus.IN_PROGRESS);
+        task.setStartDate(LocalDateTime.of(2025, 1, 6, 9, 0));
+        task.setEndDate(LocalDateTime.of(2025, 1, 10, 17, 30));
+        return task;
+    }
+}
@@ -0,0 +1,93 @@
+package ma.ensa.apms.serialization;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.protobuf.ProtobufFactory;
+
+import ma.ensa.apms.dto.Response.UserStoryResponse;
+
+/**
+ * Unit tests for {@link SerializedBodyHttpMessageConverter}
+ */
+@DisplayName("SerializedBodyHttpMessageConverter Tests")
+class SerializedBodyHttpMessageConverterTest {
+
+    private static final Type STORY = new ParameterizedTypeReference<SerializedBody<UserStoryResponse>>() {
+    }.getType();
+
+    private static final Type MAP = new ParameterizedTypeReference<SerializedBody<Map<String, Long>>>() {
+    }.getType();
+
+    private final List<HttpMessageConverter<?>> converters = new ArrayList<>(List.of(
+            new MappingJackson2HttpMessageConverter(),
+            new MappingJackson2CborHttpMessageConverter(new ObjectMapper(new CBORFactory())),
+            new JacksonProtobufHttpMessageConverter(new ObjectMapper(new ProtobufFactory()))));
+
+    private final SerializedBodyHttpMessageConverter converter = new SerializedBodyHttpMessageConverter(converters);
+
+    @Test
+    @DisplayName("JSON should be written from the fragments without building the DTO")
+    void write_WhenJson_ShouldWriteFragments() throws Exception {
+        // Given
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+        SerializedBody<UserStoryResponse> body = SerializedBody.of(() -> {
+            throw new AssertionError("the DTO should not be built");
+        }, out -> out.write("{\"name\":\"cached\"}".getBytes(StandardCharsets.UTF_8)));
+
+        // When
+        converter.write(body, STORY, MediaType.APPLICATION_JSON, output);
+
+        // Then
+        assertThat(output.getBodyAsString()).isEqualTo("{\"name\":\"cached\"}");
+        assertThat(output.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+    }
+
+    @Test
+    @DisplayName("other types should be written from the DTO by the converter that handles it")
+    void write_WhenCbor_ShouldDelegate() throws Exception {
+        // Given
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+        UserStoryResponse story = UserStoryResponse.builder().id(UUID.randomUUID()).name("Story").build();
+        SerializedBody<UserStoryResponse> body = SerializedBody.of(() -> story, out -> {
+            throw new AssertionError("the fragments should not be written");
+        });
+
+        // When
+        converter.write(body, STORY, MediaType.APPLICATION_CBOR, output);
+
+        // Then
+        assertThat(new ObjectMapper(new CBORFactory()).readValue(output.getBodyAsBytes(), UserStoryResponse.class))
+                .isEqualTo(story);
+        assertThat(output.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_CBOR);
+    }
+
+    @Test
+    @DisplayName("a type no converter can write for the DTO should be refused")
+    void canWrite_WhenNoConverterForTheDto_ShouldRefuse() {
+        // When / Then
+        assertThat(converter.canWrite(MAP, SerializedBody.class, MediaType.APPLICATION_JSON)).isTrue();
+        assertThat(converter.canWrite(MAP, SerializedBody.class,
+                JacksonProtobufHttpMessageConverter.APPLICATION_X_PROTOBUF)).isFalse();
+        assertThat(converter.canWrite(STORY, SerializedBody.class,
+                JacksonProtobufHttpMessageConverter.APPLICATION_X_PROTOBUF)).isTrue();
+        assertThat(converter.canWrite(STORY, String.class, MediaType.APPLICATION_JSON)).isFalse();
+    }
+}
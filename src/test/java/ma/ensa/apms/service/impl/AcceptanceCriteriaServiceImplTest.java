@@ -3,12 +3,14 @@ package ma.ensa.apms.service.impl;
 import ma.ensa.apms.dto.Request.AcceptanceCriteriaRequest;
 import ma.ensa.apms.dto.Response.AcceptanceCriteriaResponse;
 import ma.ensa.apms.dto.Response.UserStoryResponse;
+import ma.ensa.apms.event.BoardEventPublisher;
 import ma.ensa.apms.exception.ResourceNotFoundException;
 import ma.ensa.apms.mapper.AcceptanceCriteriaMapper;
 import ma.ensa.apms.modal.AcceptanceCriteria;
 import ma.ensa.apms.modal.UserStory;
 import ma.ensa.apms.repository.AcceptanceCriteriaRepository;
 import ma.ensa.apms.service.helper.AcceptanceCriteriaRepositoryHelper;
+import ma.ensa.apms.writebehind.WriteBehindBuffer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -36,6 +38,12 @@ class AcceptanceCriteriaServiceImplTest {
     @Mock
     private AcceptanceCriteriaRepositoryHelper acceptanceCriteriaRepositoryHelper;
 
+    @Mock
+    private BoardEventPublisher boardEventPublisher;
+
+    @Mock
+    private WriteBehindBuffer writeBehindBuffer;
+
     @InjectMocks
     private AcceptanceCriteriaServiceImpl acceptanceCriteriaService;
 
@@ -226,6 +234,24 @@ class AcceptanceCriteriaServiceImplTest {
         verify(acceptanceCriteriaRepositoryHelper).findByIdOrThrow(id);
         verify(acceptanceCriteriaRepository).save(entity);
         verify(acceptanceCriteriaMapper).toDto(entity);
+        verify(boardEventPublisher).criteriaMetChanged(entity);
+    }
+
+    @Test
+    void testUpdateMet_WithWriteBehind() {
+        // Arrange
+        when(acceptanceCriteriaRepositoryHelper.findByIdOrThrow(id)).thenReturn(entity);
+        when(writeBehindBuffer.isEnabled()).thenReturn(true);
+        when(acceptanceCriteriaMapper.toDto(entity)).thenReturn(responseDto);
+
+        // Act
+        AcceptanceCriteriaResponse result = acceptanceCriteriaService.updateMet(id, true);
+
+        // Assert
+        assertEquals(responseDto, result);
+        verify(writeBehindBuffer).setCriteriaMet(entity, true);
+        verify(boardEventPublisher).criteriaMetChanged(entity);
+        verify(acceptanceCriteriaRepository, never()).save(any());
     }
 
     @Test
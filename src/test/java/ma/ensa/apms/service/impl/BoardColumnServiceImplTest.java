@@ -0,0 +1,166 @@
+package ma.ensa.apms.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+
+import ma.ensa.apms.batch.BatchLookup;
+import ma.ensa.apms.board.BoardColumnRow;
+import ma.ensa.apms.board.BoardCursor;
+import ma.ensa.apms.dto.Response.BoardColumnResponse;
+import ma.ensa.apms.dto.Response.UserStoryResponse;
+import ma.ensa.apms.exception.BusinessException;
+import ma.ensa.apms.mapper.UserStoryMapper;
+import ma.ensa.apms.modal.UserStory;
+import ma.ensa.apms.modal.enums.UserStoryStatus;
+import ma.ensa.apms.repository.UserStoryRepository;
+import ma.ensa.apms.service.helper.ProductBacklogRepositoryHelper;
+import ma.ensa.apms.service.helper.SprintBacklogRepositoryHelper;
+
+/**
+ * Unit tests for {@link BoardColumnServiceImpl}
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BoardColumnServiceImpl Tests")
+class BoardColumnServiceImplTest {
+
+    @Mock
+    private UserStoryRepository userStoryRepository;
+
+    @Mock
+    private UserStoryMapper userStoryMapper;
+
+    @Mock
+    private ProductBacklogRepositoryHelper productBacklogRepositoryHelper;
+
+    @Mock
+    private SprintBacklogRepositoryHelper sprintBacklogRepositoryHelper;
+
+    @Spy
+    private BatchLookup batchLookup = new BatchLookup(100, 10);
+
+    @InjectMocks
+    private BoardColumnServiceImpl boardColumnService;
+
+    private UUID sprintId;
+
+    @BeforeEach
+    void setUp() {
+        sprintId = UUID.randomUUID();
+    }
+
+    @Test
+    @DisplayName("every status should get a column, with a cursor when it does not fit")
+    void getSprintBacklogColumns_ShouldCapColumnsAndCountThem() {
+        // Given
+        UserStory first = story(1);
+        UserStory second = story(2);
+        UserStory done = story(1);
+        when(userStoryRepository.findBoardColumnsBySprintBacklogId(sprintId, 2)).thenReturn(List.of(
+                row(done, UserStoryStatus.DONE, 1), row(first, UserStoryStatus.TODO, 3),
+                row(second, UserStoryStatus.TODO, 3)));
+        when(userStoryRepository.findAllById(any())).thenReturn(List.of(first, second, done));
+        UserStoryResponse firstResponse = mapped(first);
+        UserStoryResponse secondResponse = mapped(second);
+        UserStoryResponse doneResponse = mapped(done);
+
+        // When
+        List<BoardColumnResponse> columns = boardColumnService.getSprintBacklogColumns(sprintId, 2);
+
+        // Then
+        assertThat(columns).extracting(BoardColumnResponse::getStatus)
+                .containsExactly(UserStoryStatus.values());
+        BoardColumnResponse todo = columns.get(UserStoryStatus.TODO.ordinal());
+        assertThat(todo.getTotal()).isEqualTo(3);
+        assertThat(todo.getItems()).containsExactly(firstResponse, secondResponse);
+        assertThat(BoardCursor.decode(todo.getNextCursor())).isEqualTo(new BoardCursor(2, second.getId()));
+        BoardColumnResponse doneColumn = columns.get(UserStoryStatus.DONE.ordinal());
+        assertThat(doneColumn.getItems()).containsExactly(doneResponse);
+        assertThat(doneColumn.getNextCursor()).isNull();
+        assertThat(columns.get(UserStoryStatus.BLOCKED.ordinal()).getTotal()).isZero();
+        verify(sprintBacklogRepositoryHelper).validateExists(sprintId);
+    }
+
+    @Test
+    @DisplayName("a column should continue after its cursor, one page at a time")
+    void getSprintBacklogColumn_ShouldContinueAfterCursor() {
+        // Given
+        UserStory third = story(3);
+        UserStory fourth = story(4);
+        UUID after = UUID.randomUUID();
+        when(userStoryRepository.findBoardColumnPageBySprintBacklogId(sprintId, UserStoryStatus.TODO, 2, after,
+                PageRequest.of(0, 2))).thenReturn(List.of(third, fourth));
+        when(userStoryRepository.countBySprintBacklogIdAndStatus(sprintId, UserStoryStatus.TODO)).thenReturn(4L);
+        UserStoryResponse thirdResponse = mapped(third);
+
+        // When
+        BoardColumnResponse column = boardColumnService.getSprintBacklogColumn(sprintId, UserStoryStatus.TODO,
+                new BoardCursor(2, after).encode(), 1);
+
+        // Then
+        assertThat(column.getItems()).containsExactly(thirdResponse);
+        assertThat(column.getTotal()).isEqualTo(4);
+        assertThat(BoardCursor.decode(column.getNextCursor())).isEqualTo(new BoardCursor(3, third.getId()));
+    }
+
+    @Test
+    @DisplayName("a malformed cursor should be rejected")
+    void getProductBacklogColumn_WithInvalidCursor_ShouldThrow() {
+        // Given
+        UUID productBacklogId = UUID.randomUUID();
+
+        // When / Then
+        assertThatThrownBy(() -> boardColumnService.getProductBacklogColumn(productBacklogId,
+                UserStoryStatus.TODO, "not-a-cursor", 25))
+                .isInstanceOf(BusinessException.class);
+    }
+
+    private UserStoryResponse mapped(UserStory story) {
+        UserStoryResponse response = UserStoryResponse.builder().id(story.getId()).build();
+        when(userStoryMapper.toResponse(story)).thenReturn(response);
+        return response;
+    }
+
+    private static UserStory story(int priority) {
+        return UserStory.builder().id(UUID.randomUUID()).priority(priority).build();
+    }
+
+    private static BoardColumnRow row(UserStory story, UserStoryStatus status, long total) {
+        return new BoardColumnRow() {
+            @Override
+            public UUID getId() {
+                return story.getId();
+            }
+
+            @Override
+            public String getStatus() {
+                return status.name();
+            }
+
+            @Override
+            public Integer getPriority() {
+                return story.getPriority();
+            }
+
+            @Override
+            public Long getTotal() {
+                return total;
+            }
+        };
+    }
+}
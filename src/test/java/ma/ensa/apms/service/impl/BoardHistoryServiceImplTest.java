@@ -0,0 +1,225 @@
+package ma.ensa.apms.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import ma.ensa.apms.dto.Response.BoardStoryResponse;
+import ma.ensa.apms.dto.Response.BoardTaskResponse;
+import ma.ensa.apms.dto.Response.SprintBoardResponse;
+import ma.ensa.apms.exception.ResourceNotFoundException;
+import ma.ensa.apms.history.BoardState;
+import ma.ensa.apms.modal.BoardSnapshot;
+import ma.ensa.apms.modal.StatusTransition;
+import ma.ensa.apms.modal.enums.TransitionEntityType;
+import ma.ensa.apms.repository.BoardSnapshotRepository;
+import ma.ensa.apms.repository.StatusTransitionRepository;
+import ma.ensa.apms.service.helper.SprintBacklogRepositoryHelper;
+
+/**
+ * Unit tests for {@link BoardHistoryServiceImpl}
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BoardHistoryServiceImpl Tests")
+class BoardHistoryServiceImplTest {
+
+    @Mock
+    private StatusTransitionRepository statusTransitionRepository;
+
+    @Mock
+    private BoardSnapshotRepository boardSnapshotRepository;
+
+    @Mock
+    private SprintBacklogRepositoryHelper sprintBacklogRepositoryHelper;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private BoardHistoryServiceImpl boardHistoryService;
+
+    private UUID sprintId;
+    private UUID storyId;
+    private UUID taskId;
+    private LocalDateTime monday;
+    private long nextId;
+
+    @BeforeEach
+    void setUp() {
+        boardHistoryService = new BoardHistoryServiceImpl(statusTransitionRepository, boardSnapshotRepository,
+                sprintBacklogRepositoryHelper, objectMapper, 3, Duration.ofMinutes(5));
+        sprintId = UUID.randomUUID();
+        storyId = UUID.randomUUID();
+        taskId = UUID.randomUUID();
+        monday = LocalDateTime.of(2025, 1, 6, 9, 0);
+        nextId = 1;
+    }
+
+    @Test
+    @DisplayName("getBoardAsOf should replay the whole log when no snapshot exists")
+    void getBoardAsOf_WithoutSnapshot_ShouldReplayLog() {
+        // Given
+        UUID movedStoryId = UUID.randomUUID();
+        LocalDateTime asOf = monday.plusHours(8);
+        when(boardSnapshotRepository
+                .findFirstBySprintBacklogIdAndTakenAtLessThanEqualOrderByTakenAtDescLastTransitionIdDesc(sprintId,
+                        asOf))
+                .thenReturn(Optional.empty());
+        when(statusTransitionRepository.findBySprintBacklogIdAndOccurredAtLessThanEqualOrderByOccurredAtAscIdAsc(
+                sprintId, asOf)).thenReturn(List.of(
+                        story(storyId, null, "TODO", monday),
+                        task(taskId, null, "TODO", monday.plusHours(1)),
+                        story(movedStoryId, null, "TODO", monday.plusHours(2)),
+                        story(storyId, "TODO", "IN_PROGRESS", monday.plusHours(3)),
+                        task(taskId, "TODO", "DONE", monday.plusHours(4)),
+                        story(movedStoryId, "TODO", null, monday.plusHours(5))));
+
+        // When
+        SprintBoardResponse result = boardHistoryService.getBoardAsOf(sprintId, asOf);
+
+        // Then
+        assertThat(result.getAsOf()).isEqualTo(asOf);
+        assertThat(result.getStories()).singleElement().satisfies(story -> {
+            assertThat(story.getUserStoryId()).isEqualTo(storyId);
+            assertThat(story.getStatus()).isEqualTo("IN_PROGRESS");
+            assertThat(story.getTasks()).extracting(BoardTaskResponse::getStatus).containsExactly("DONE");
+        });
+    }
+
+    @Test
+    @DisplayName("getBoardAsOf should start from the nearest snapshot and replay only later transitions")
+    void getBoardAsOf_WithSnapshot_ShouldReplayFromSnapshot() throws Exception {
+        // Given
+        BoardState state = new BoardState();
+        state.apply(story(storyId, null, "IN_PROGRESS", monday));
+        BoardSnapshot snapshot = BoardSnapshot.builder()
+                .sprintBacklogId(sprintId)
+                .takenAt(monday)
+                .lastTransitionId(42L)
+                .payload(objectMapper.writeValueAsString(state))
+                .build();
+        LocalDateTime asOf = monday.plusDays(1);
+        when(boardSnapshotRepository
+                .findFirstBySprintBacklogIdAndTakenAtLessThanEqualOrderByTakenAtDescLastTransitionIdDesc(sprintId,
+                        asOf))
+                .thenReturn(Optional.of(snapshot));
+        when(statusTransitionRepository.findReplayAfterSnapshot(sprintId, monday, 42L, asOf))
+                .thenReturn(List.of(story(storyId, "IN_PROGRESS", "DONE", monday.plusHours(2))));
+
+        // When
+        SprintBoardResponse result = boardHistoryService.getBoardAsOf(sprintId, asOf);
+
+        // Then
+        assertThat(result.getStories()).extracting(BoardStoryResponse::getStatus).containsExactly("DONE");
+        verify(statusTransitionRepository, never())
+                .findBySprintBacklogIdAndOccurredAtLessThanEqualOrderByOccurredAtAscIdAsc(any(), any());
+    }
+
+    @Test
+    @DisplayName("a long replay of settled transitions should be stored as a new snapshot")
+    void getBoardAsOf_WhenReplayIsLong_ShouldSaveSnapshot() {
+        // Given
+        LocalDateTime asOf = monday.plusDays(1);
+        List<StatusTransition> transitions = List.of(
+                story(storyId, null, "TODO", monday),
+                story(storyId, "TODO", "IN_PROGRESS", monday.plusHours(1)),
+                story(storyId, "IN_PROGRESS", "DONE", monday.plusHours(2)));
+        when(boardSnapshotRepository
+                .findFirstBySprintBacklogIdAndTakenAtLessThanEqualOrderByTakenAtDescLastTransitionIdDesc(sprintId,
+                        asOf))
+                .thenReturn(Optional.empty());
+        when(statusTransitionRepository.findBySprintBacklogIdAndOccurredAtLessThanEqualOrderByOccurredAtAscIdAsc(
+                sprintId, asOf)).thenReturn(transitions);
+
+        // When
+        boardHistoryService.getBoardAsOf(sprintId, asOf);
+
+        // Then
+        ArgumentCaptor<BoardSnapshot> captor = ArgumentCaptor.forClass(BoardSnapshot.class);
+        verify(boardSnapshotRepository).save(captor.capture());
+        assertThat(captor.getValue().getTakenAt()).isEqualTo(monday.plusHours(2));
+        assertThat(captor.getValue().getLastTransitionId()).isEqualTo(transitions.get(2).getId());
+        assertThat(captor.getValue().getPayload()).contains("DONE");
+    }
+
+    @Test
+    @DisplayName("recent transitions should not be snapshotted")
+    void getBoardAsOf_WhenTransitionsAreRecent_ShouldNotSaveSnapshot() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        when(boardSnapshotRepository
+                .findFirstBySprintBacklogIdAndTakenAtLessThanEqualOrderByTakenAtDescLastTransitionIdDesc(any(),
+                        any()))
+                .thenReturn(Optional.empty());
+        when(statusTransitionRepository.findBySprintBacklogIdAndOccurredAtLessThanEqualOrderByOccurredAtAscIdAsc(
+                any(), any())).thenReturn(List.of(
+                        story(storyId, null, "TODO", now.minusSeconds(3)),
+                        story(storyId, "TODO", "IN_PROGRESS", now.minusSeconds(2)),
+                        story(storyId, "IN_PROGRESS", "DONE", now.minusSeconds(1))));
+
+        // When
+        SprintBoardResponse result = boardHistoryService.getBoardAsOf(sprintId, null);
+
+        // Then
+        assertThat(result.getStories()).extracting(BoardStoryResponse::getStatus).containsExactly("DONE");
+        verify(boardSnapshotRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("getBoardAsOf should throw when the sprint does not exist")
+    void getBoardAsOf_WhenSprintNotFound_ShouldThrow() {
+        // Given
+        doThrow(new ResourceNotFoundException("Sprint backlog not found"))
+                .when(sprintBacklogRepositoryHelper).validateExists(sprintId);
+
+        // When / Then
+        assertThatThrownBy(() -> boardHistoryService.getBoardAsOf(sprintId, monday))
+                .isInstanceOf(ResourceNotFoundException.class);
+        verifyNoInteractions(statusTransitionRepository, boardSnapshotRepository);
+    }
+
+    private StatusTransition story(UUID id, String from, String to, LocalDateTime at) {
+        return StatusTransition.builder()
+                .id(nextId++)
+                .entityType(TransitionEntityType.STORY)
+                .entityId(id)
+                .userStoryId(id)
+                .sprintBacklogId(sprintId)
+                .fromStatus(from)
+                .toStatus(to)
+                .occurredAt(at)
+                .build();
+    }
+
+    private StatusTransition task(UUID id, String from, String to, LocalDateTime at) {
+        return StatusTransition.builder()
+                .id(nextId++)
+                .entityType(TransitionEntityType.TASK)
+                .entityId(id)
+                .userStoryId(storyId)
+                .sprintBacklogId(sprintId)
+                .fromStatus(from)
+                .toStatus(to)
+                .occurredAt(at)
+                .build();
+    }
+}
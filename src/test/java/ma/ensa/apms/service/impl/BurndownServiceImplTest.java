@@ -0,0 +1,360 @@
+package ma.ensa.apms.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import ma.ensa.apms.dto.Response.BurndownPointResponse;
+import ma.ensa.apms.dto.Response.SprintBurndownResponse;
+import ma.ensa.apms.dto.Response.SprintVelocityResponse;
+import ma.ensa.apms.dto.Response.VelocityResponse;
+import ma.ensa.apms.event.BoardEvent;
+import ma.ensa.apms.event.BoardEventType;
+import ma.ensa.apms.exception.ResourceNotFoundException;
+import ma.ensa.apms.modal.SprintBacklog;
+import ma.ensa.apms.modal.SprintBurndownBucket;
+import ma.ensa.apms.modal.enums.TaskStatus;
+import ma.ensa.apms.modal.enums.UserStoryStatus;
+import ma.ensa.apms.repository.SprintBacklogRepository;
+import ma.ensa.apms.repository.SprintBurndownBucketRepository;
+import ma.ensa.apms.repository.TaskRepository;
+import ma.ensa.apms.repository.UserStoryRepository;
+import ma.ensa.apms.service.helper.ProductBacklogRepositoryHelper;
+import ma.ensa.apms.service.helper.SprintBacklogRepositoryHelper;
+import ma.ensa.apms.writebehind.WriteBehindBuffer;
+
+/**
+ * Unit tests for {@link BurndownServiceImpl}
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BurndownServiceImpl Tests")
+class BurndownServiceImplTest {
+
+    @Mock
+    private SprintBurndownBucketRepository bucketRepository;
+
+    @Mock
+    private SprintBacklogRepository sprintBacklogRepository;
+
+    @Mock
+    private UserStoryRepository userStoryRepository;
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private SprintBacklogRepositoryHelper sprintBacklogRepositoryHelper;
+
+    @Mock
+    private ProductBacklogRepositoryHelper productBacklogRepositoryHelper;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private WriteBehindBuffer writeBehindBuffer;
+
+    private BurndownServiceImpl burndownService;
+
+    private UUID sprintId;
+    private LocalDate today;
+
+    @BeforeEach
+    void setUp() {
+        burndownService = new BurndownServiceImpl(bucketRepository, sprintBacklogRepository, userStoryRepository,
+                taskRepository, sprintBacklogRepositoryHelper, productBacklogRepositoryHelper, transactionManager,
+                writeBehindBuffer, Runnable::run);
+        sprintId = UUID.randomUUID();
+        today = LocalDate.now();
+    }
+
+    @Test
+    @DisplayName("getSprintBurndown should carry values forward over days without changes")
+    void getSprintBurndown_ShouldFillMissingDays() {
+        // Given
+        when(bucketRepository.findBySprintBacklogIdOrderByBucketDateAsc(sprintId)).thenReturn(List.of(
+                bucket(today.minusDays(3), 5, 12, 0),
+                bucket(today.minusDays(1), 3, 7, 2)));
+
+        // When
+        SprintBurndownResponse result = burndownService.getSprintBurndown(sprintId);
+
+        // Then
+        assertThat(result.getSprintBacklogId()).isEqualTo(sprintId);
+        assertThat(result.getPoints()).extracting(BurndownPointResponse::getDate)
+                .containsExactly(today.minusDays(3), today.minusDays(2), today.minusDays(1), today);
+        assertThat(result.getPoints()).extracting(BurndownPointResponse::getRemainingStories)
+                .containsExactly(5, 5, 3, 3);
+        assertThat(result.getPoints()).extracting(BurndownPointResponse::getRemainingTasks)
+                .containsExactly(12, 12, 7, 7);
+        verifyNoInteractions(userStoryRepository);
+        verify(taskRepository, never()).countByUserStorySprintBacklogIdAndStatusNot(any(), any());
+    }
+
+    @Test
+    @DisplayName("getSprintBurndown should stop the series of an ended sprint on its last due date")
+    void getSprintBurndown_WhenSprintEnded_ShouldStopOnEndDate() {
+        // Given
+        when(bucketRepository.findBySprintBacklogIdOrderByBucketDateAsc(sprintId)).thenReturn(List.of(
+                bucket(today.minusDays(5), 5, 12, 0),
+                bucket(today.minusDays(1), 0, 0, 5)));
+        when(taskRepository.findLatestEndDateBySprintBacklogId(sprintId))
+                .thenReturn(Optional.of(today.minusDays(3).atTime(17, 0)));
+
+        // When
+        SprintBurndownResponse result = burndownService.getSprintBurndown(sprintId);
+
+        // Then
+        assertThat(result.getPoints()).extracting(BurndownPointResponse::getDate)
+                .containsExactly(today.minusDays(5), today.minusDays(4), today.minusDays(3));
+        assertThat(result.getPoints()).extracting(BurndownPointResponse::getRemainingStories)
+                .containsOnly(5);
+    }
+
+    @Test
+    @DisplayName("getSprintBurndown should return the current counts for a sprint without buckets")
+    void getSprintBurndown_WhenNoBuckets_ShouldReturnSnapshot() {
+        // Given
+        when(bucketRepository.findBySprintBacklogIdOrderByBucketDateAsc(sprintId)).thenReturn(List.of());
+        stubCounts(4, 9, 1);
+
+        // When
+        SprintBurndownResponse result = burndownService.getSprintBurndown(sprintId);
+
+        // Then
+        assertThat(result.getPoints()).singleElement().satisfies(point -> {
+            assertThat(point.getDate()).isEqualTo(today);
+            assertThat(point.getRemainingStories()).isEqualTo(4);
+            assertThat(point.getRemainingTasks()).isEqualTo(9);
+            assertThat(point.getCompletedStories()).isEqualTo(1);
+        });
+        verify(bucketRepository, never()).save(any());
+        verifyNoInteractions(writeBehindBuffer);
+    }
+
+    @Test
+    @DisplayName("getSprintBurndown should throw when the sprint does not exist")
+    void getSprintBurndown_WhenSprintNotFound_ShouldThrow() {
+        // Given
+        doThrow(new ResourceNotFoundException("Sprint backlog not found"))
+                .when(sprintBacklogRepositoryHelper).validateExists(sprintId);
+
+        // When / Then
+        assertThatThrownBy(() -> burndownService.getSprintBurndown(sprintId))
+                .isInstanceOf(ResourceNotFoundException.class);
+        verifyNoInteractions(bucketRepository);
+    }
+
+    @Test
+    @DisplayName("a story marked done should move one story from remaining to completed")
+    void onBoardEvent_WhenStoryDone_ShouldApplyDelta() {
+        // Given
+        when(bucketRepository.applyDelta(sprintId, today, -1, 0, 1)).thenReturn(1);
+
+        // When
+        burndownService.onBoardEvent(storyStatusChanged(UserStoryStatus.IN_PROGRESS, UserStoryStatus.DONE));
+
+        // Then
+        verify(bucketRepository).applyDelta(sprintId, today, -1, 0, 1);
+        verify(bucketRepository, never()).saveAndFlush(any());
+        verifyNoInteractions(userStoryRepository, taskRepository);
+    }
+
+    @Test
+    @DisplayName("the first change of the day should create the bucket from a snapshot")
+    void onBoardEvent_WhenFirstChangeOfDay_ShouldCreateSnapshot() {
+        // Given
+        when(bucketRepository.applyDelta(sprintId, today, 0, -1, 0)).thenReturn(0);
+        stubCounts(3, 5, 2);
+
+        // When
+        burndownService.onBoardEvent(taskStatusChanged(TaskStatus.IN_PROGRESS, TaskStatus.DONE));
+
+        // Then
+        InOrder order = inOrder(writeBehindBuffer, taskRepository);
+        order.verify(writeBehindBuffer).flush();
+        order.verify(taskRepository).countByUserStorySprintBacklogIdAndStatusNot(sprintId, TaskStatus.DONE);
+        ArgumentCaptor<SprintBurndownBucket> captor = ArgumentCaptor.forClass(SprintBurndownBucket.class);
+        verify(bucketRepository).saveAndFlush(captor.capture());
+        assertThat(captor.getValue().getBucketDate()).isEqualTo(today);
+        assertThat(captor.getValue().getRemainingTasks()).isEqualTo(5);
+        assertThat(captor.getValue().getCompletedStories()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("an update that does not fit in the queue should be dropped without reaching the caller")
+    void onBoardEvent_WhenQueueFull_ShouldDropUpdate() {
+        // Given
+        burndownService = new BurndownServiceImpl(bucketRepository, sprintBacklogRepository, userStoryRepository,
+                taskRepository, sprintBacklogRepositoryHelper, productBacklogRepositoryHelper, transactionManager,
+                writeBehindBuffer, task -> {
+                    throw new RejectedExecutionException("full");
+                });
+
+        // When
+        burndownService.onBoardEvent(storyStatusChanged(UserStoryStatus.IN_PROGRESS, UserStoryStatus.DONE));
+
+        // Then
+        verifyNoInteractions(bucketRepository, writeBehindBuffer);
+    }
+
+    @Test
+    @DisplayName("a task created or deleted in a sprint should change the remaining tasks unless done")
+    void onBoardEvent_WhenTaskAddedOrRemoved_ShouldApplyDelta() {
+        // Given
+        when(bucketRepository.applyDelta(eq(sprintId), eq(today), eq(0), anyInt(), eq(0))).thenReturn(1);
+
+        // When
+        burndownService.onBoardEvent(taskEvent(BoardEventType.TASK_ADDED, null, TaskStatus.TODO));
+        burndownService.onBoardEvent(taskEvent(BoardEventType.TASK_REMOVED, TaskStatus.IN_PROGRESS, null));
+        burndownService.onBoardEvent(taskEvent(BoardEventType.TASK_REMOVED, TaskStatus.DONE, null));
+
+        // Then
+        verify(bucketRepository).applyDelta(sprintId, today, 0, 1, 0);
+        verify(bucketRepository).applyDelta(sprintId, today, 0, -1, 0);
+        verify(bucketRepository, times(2)).applyDelta(any(), any(), anyInt(), anyInt(), anyInt());
+    }
+
+    @Test
+    @DisplayName("a status change that does not cross done should not touch the burndown")
+    void onBoardEvent_WhenNotCrossingDone_ShouldDoNothing() {
+        // When
+        burndownService.onBoardEvent(taskStatusChanged(TaskStatus.TODO, TaskStatus.IN_PROGRESS));
+
+        // Then
+        verify(bucketRepository, never()).applyDelta(any(), any(), anyInt(), anyInt(), anyInt());
+    }
+
+    @Test
+    @DisplayName("a story moved between sprints should resync both sprints")
+    void onBoardEvent_WhenStoryMoved_ShouldResyncBothSprints() {
+        // Given
+        UUID previousSprintId = UUID.randomUUID();
+        SprintBurndownBucket existing = bucket(today, 2, 2, 0);
+        when(bucketRepository.findBySprintBacklogIdAndBucketDate(sprintId, today)).thenReturn(Optional.of(existing));
+        when(bucketRepository.findBySprintBacklogIdAndBucketDate(previousSprintId, today))
+                .thenReturn(Optional.empty());
+        when(userStoryRepository.countBySprintBacklogIdAndStatusNot(any(), eq(UserStoryStatus.DONE))).thenReturn(1L);
+        when(taskRepository.countByUserStorySprintBacklogIdAndStatusNot(any(), eq(TaskStatus.DONE))).thenReturn(0L);
+        when(userStoryRepository.countBySprintBacklogIdAndStatus(any(), eq(UserStoryStatus.DONE))).thenReturn(0L);
+
+        // When
+        burndownService.onBoardEvent(BoardEvent.builder()
+                .type(BoardEventType.STORY_MOVED_TO_SPRINT)
+                .entityId(UUID.randomUUID())
+                .sprintBacklogId(sprintId)
+                .previousSprintBacklogId(previousSprintId)
+                .occurredAt(LocalDateTime.now())
+                .build());
+
+        // Then
+        ArgumentCaptor<SprintBurndownBucket> captor = ArgumentCaptor.forClass(SprintBurndownBucket.class);
+        verify(bucketRepository, times(2)).saveAndFlush(captor.capture());
+        assertThat(captor.getAllValues()).extracting(SprintBurndownBucket::getSprintBacklogId)
+                .containsExactly(sprintId, previousSprintId);
+        assertThat(captor.getAllValues().get(0).getId()).isEqualTo(existing.getId());
+    }
+
+    @Test
+    @DisplayName("getVelocity should read the latest bucket of each sprint")
+    void getVelocity_ShouldUseLatestBuckets() {
+        // Given
+        UUID productBacklogId = UUID.randomUUID();
+        SprintBacklog sprint1 = SprintBacklog.builder().id(sprintId).name("Sprint 1").build();
+        SprintBacklog sprint2 = SprintBacklog.builder().id(UUID.randomUUID()).name("Sprint 2").build();
+        when(sprintBacklogRepository.findByProductBacklogIdOrderByCreatedAtAsc(productBacklogId))
+                .thenReturn(List.of(sprint1, sprint2));
+        when(bucketRepository.findLatestBySprintBacklogIds(List.of(sprint1.getId(), sprint2.getId())))
+                .thenReturn(List.of(bucket(today, 0, 0, 6)));
+        when(userStoryRepository.countBySprintBacklogIdAndStatus(sprint2.getId(), UserStoryStatus.DONE))
+                .thenReturn(2L);
+
+        // When
+        VelocityResponse result = burndownService.getVelocity(productBacklogId);
+
+        // Then
+        assertThat(result.getSprints()).extracting(SprintVelocityResponse::getCompletedStories).containsExactly(6, 2);
+        assertThat(result.getAverageVelocity()).isEqualTo(4.0);
+        verify(productBacklogRepositoryHelper).validateExists(productBacklogId);
+    }
+
+    private void stubCounts(long remainingStories, long remainingTasks, long completedStories) {
+        when(userStoryRepository.countBySprintBacklogIdAndStatusNot(sprintId, UserStoryStatus.DONE))
+                .thenReturn(remainingStories);
+        when(taskRepository.countByUserStorySprintBacklogIdAndStatusNot(sprintId, TaskStatus.DONE))
+                .thenReturn(remainingTasks);
+        when(userStoryRepository.countBySprintBacklogIdAndStatus(sprintId, UserStoryStatus.DONE))
+                .thenReturn(completedStories);
+    }
+
+    private SprintBurndownBucket bucket(LocalDate day, int remainingStories, int remainingTasks,
+            int completedStories) {
+        return SprintBurndownBucket.builder()
+                .id(UUID.randomUUID())
+                .sprintBacklogId(sprintId)
+                .bucketDate(day)
+                .remainingStories(remainingStories)
+                .remainingTasks(remainingTasks)
+                .completedStories(completedStories)
+                .build();
+    }
+
+    private BoardEvent storyStatusChanged(UserStoryStatus previous, UserStoryStatus current) {
+        return BoardEvent.builder()
+                .type(BoardEventType.STORY_STATUS_CHANGED)
+                .entityId(UUID.randomUUID())
+                .sprintBacklogId(sprintId)
+                .previousStatus(previous.name())
+                .status(current.name())
+                .occurredAt(LocalDateTime.now())
+                .build();
+    }
+
+    private BoardEvent taskStatusChanged(TaskStatus previous, TaskStatus current) {
+        return BoardEvent.builder()
+                .type(BoardEventType.TASK_STATUS_CHANGED)
+                .entityId(UUID.randomUUID())
+                .sprintBacklogId(sprintId)
+                .previousStatus(previous.name())
+                .status(current.name())
+                .occurredAt(LocalDateTime.now())
+                .build();
+    }
+
+    private BoardEvent taskEvent(BoardEventType type, TaskStatus previous, TaskStatus current) {
+        return BoardEvent.builder()
+                .type(type)
+                .entityId(UUID.randomUUID())
+                .sprintBacklogId(sprintId)
+                .previousStatus(previous != null ? previous.name() : null)
+                .status(current != null ? current.name() : null)
+                .occurredAt(LocalDateTime.now())
+                .build();
+    }
+}
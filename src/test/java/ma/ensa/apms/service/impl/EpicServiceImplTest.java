@@ -5,6 +5,7 @@ import static org.mockito.Mockito.*;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -12,9 +13,13 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import ma.ensa.apms.batch.BatchLookup;
+import ma.ensa.apms.batch.IdCount;
 import ma.ensa.apms.dto.Request.EpicRequest;
+import ma.ensa.apms.dto.Response.BatchGetResponse;
 import ma.ensa.apms.dto.Response.EpicResponse;
 import ma.ensa.apms.dto.Response.ProductBacklogResponse;
 import ma.ensa.apms.dto.Response.UserStoryResponse;
@@ -27,6 +32,7 @@ import ma.ensa.apms.modal.ProductBacklog;
 import ma.ensa.apms.modal.UserStory;
 import ma.ensa.apms.repository.EpicRepository;
 import ma.ensa.apms.repository.UserStoryRepository;
+import ma.ensa.apms.rollup.StatusRollupReader;
 import ma.ensa.apms.service.helper.EpicRepositoryHelper;
 
 @ExtendWith(MockitoExtension.class)
@@ -50,6 +56,12 @@ class EpicServiceImplTest {
     @Mock
     private EpicRepositoryHelper epicRepositoryHelper;
 
+    @Mock
+    private StatusRollupReader statusRollupReader;
+
+    @Spy
+    private BatchLookup batchLookup = new BatchLookup(100, 10);
+
     @InjectMocks
     private EpicServiceImpl epicService;
 
@@ -128,7 +140,7 @@ class EpicServiceImplTest {
     void testFindById() {
         // Setup
         when(epicRepositoryHelper.findByIdOrThrow(epicId)).thenReturn(epic);
-        when(epicRepositoryHelper.getUserStoriesCount(epic)).thenReturn(1);
+        when(userStoryRepository.countByEpicId(epicId)).thenReturn(1L);
         when(epicMapper.toDto(epic)).thenReturn(epicResponse);
 
         // Execute
@@ -153,11 +165,29 @@ class EpicServiceImplTest {
         verify(epicRepositoryHelper).findByIdOrThrow(epicId);
     }
 
+    @Test
+    void testFindByIds() {
+        // Setup
+        UUID missingId = UUID.randomUUID();
+        when(epicRepository.findAllById(List.of(missingId, epicId))).thenReturn(epicList);
+        when(userStoryRepository.countByEpicIds(Set.of(epicId))).thenReturn(List.of(new IdCount(epicId, 3L)));
+        when(epicMapper.toDto(epic)).thenReturn(epicResponse);
+
+        // Execute
+        BatchGetResponse<EpicResponse> result = epicService.findByIds(List.of(missingId, epicId));
+
+        // Verify
+        assertEquals(List.of(epicResponse), result.getItems());
+        assertEquals(List.of(missingId), result.getMissing());
+        assertEquals(3, result.getItems().get(0).getUserStoriesCount());
+        verify(epicRepositoryHelper, never()).getUserStoriesCount(any());
+    }
+
     @Test
     void testFindAll() {
         // Setup
         when(epicRepository.findAll()).thenReturn(epicList);
-        when(epicRepositoryHelper.getUserStoriesCount(epic)).thenReturn(1);
+        when(userStoryRepository.countByEpicIds(List.of(epicId))).thenReturn(List.of(new IdCount(epicId, 1L)));
         when(epicMapper.toDto(epic)).thenReturn(epicResponse);
 
         // Execute
@@ -166,6 +196,8 @@ class EpicServiceImplTest {
         // Verify
         assertNotNull(result);
         assertEquals(1, result.size());
+        assertEquals(1, result.get(0).getUserStoriesCount());
+        verify(epicRepositoryHelper, never()).getUserStoriesCount(any());
         verify(epicRepository).findAll();
         verify(epicMapper).toDto(epic);
     }
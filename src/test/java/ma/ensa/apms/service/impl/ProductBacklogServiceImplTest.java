@@ -2,14 +2,24 @@ package ma.ensa.apms.service.impl;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
-import java.util.ArrayList;
+import java.time.Duration;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -17,15 +27,31 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import ma.ensa.apms.batch.BatchLookup;
+import ma.ensa.apms.cache.ProductBacklogReadCache;
 import ma.ensa.apms.dto.Request.EpicRequest;
 import ma.ensa.apms.dto.Request.ProductBacklogRequest;
+import ma.ensa.apms.dto.Request.UserStoryPositionRequest;
 import ma.ensa.apms.dto.Request.UserStoryRequest;
+import ma.ensa.apms.dto.Response.BatchGetResponse;
 import ma.ensa.apms.dto.Response.EpicResponse;
+import ma.ensa.apms.dto.Response.FacetSearchResponse;
 import ma.ensa.apms.dto.Response.ProductBacklogResponse;
+import ma.ensa.apms.dto.Response.ProgressResponse;
 import ma.ensa.apms.dto.Response.ProjectResponse;
+import ma.ensa.apms.dto.Response.UserStoryPageResponse;
 import ma.ensa.apms.dto.Response.UserStoryResponse;
+import ma.ensa.apms.exception.BusinessException;
 import ma.ensa.apms.exception.ResourceNotFoundException;
+import ma.ensa.apms.facet.Facet;
+import ma.ensa.apms.facet.FacetFilter;
+import ma.ensa.apms.facet.FacetIndex;
+import ma.ensa.apms.facet.FacetSearchResult;
+import ma.ensa.apms.facet.FacetSqlSearch;
 import ma.ensa.apms.mapper.EpicMapper;
 import ma.ensa.apms.mapper.ProductBacklogMapper;
 import ma.ensa.apms.mapper.ProjectMapper;
@@ -34,9 +60,14 @@ import ma.ensa.apms.modal.Epic;
 import ma.ensa.apms.modal.ProductBacklog;
 import ma.ensa.apms.modal.Project;
 import ma.ensa.apms.modal.UserStory;
+import ma.ensa.apms.modal.enums.RollupScope;
 import ma.ensa.apms.repository.EpicRepository;
 import ma.ensa.apms.repository.ProductBacklogRepository;
 import ma.ensa.apms.repository.UserStoryRepository;
+import ma.ensa.apms.ranking.BacklogRankRebalancer;
+import ma.ensa.apms.ranking.BacklogRanks;
+import ma.ensa.apms.ranking.TopStoriesIndex;
+import ma.ensa.apms.rollup.StatusRollupReader;
 
 class ProductBacklogServiceImplTest {
 
@@ -70,6 +101,31 @@ class ProductBacklogServiceImplTest {
         @Mock
         private ProjectMapper projectMapper;
 
+        @Mock
+        private StatusRollupReader statusRollupReader;
+
+        @Mock
+        private BacklogRankRebalancer backlogRankRebalancer;
+
+        @Mock
+        private BacklogRanks backlogRanks;
+
+        @Mock
+        private TopStoriesIndex topStoriesIndex;
+
+        @Mock
+        private FacetIndex facetIndex;
+
+        @Mock
+        private FacetSqlSearch facetSqlSearch;
+
+        @Spy
+        private BatchLookup batchLookup = new BatchLookup(100, 10);
+
+        @Spy
+        private ProductBacklogReadCache productBacklogReadCache = new ProductBacklogReadCache(
+                        new SimpleMeterRegistry(), Duration.ZERO, Duration.ZERO, 100, 1);
+
         private UUID productBacklogId;
         private ProductBacklog productBacklog;
 
@@ -110,6 +166,8 @@ class ProductBacklogServiceImplTest {
 
                 when(productBacklogRepositoryHelper.findByIdOrThrow(productBacklogId)).thenReturn(productBacklog);
                 when(productBacklogMapper.toResponse(productBacklog)).thenReturn(response);
+                when(statusRollupReader.progressOf(RollupScope.PRODUCT_BACKLOG, productBacklogId))
+                                .thenReturn(ProgressResponse.builder().build());
 
                 ProductBacklogResponse result = productBacklogService.getProductBacklogById(productBacklogId);
 
@@ -154,10 +212,14 @@ class ProductBacklogServiceImplTest {
 
                 when(productBacklogRepository.findAll()).thenReturn(backlogs);
                 when(productBacklogMapper.toResponse(productBacklog)).thenReturn(responses.get(0));
+                when(statusRollupReader.progressOf(RollupScope.PRODUCT_BACKLOG, List.of(productBacklogId)))
+                                .thenReturn(Map.of(productBacklogId,
+                                                ProgressResponse.builder().totalStories(2L).build()));
 
                 List<ProductBacklogResponse> result = productBacklogService.getAllProductBacklogs();
 
                 assertEquals(1, result.size());
+                assertEquals(2L, result.get(0).getUserStoryCount());
                 verify(productBacklogRepository).findAll();
         }
 
@@ -179,10 +241,7 @@ class ProductBacklogServiceImplTest {
                                 .name(epic.getName())
                                 .build();
 
-                // Initialize the epics list in the product backlog as mutable
-                productBacklog.setEpics(new ArrayList<>());
-
-                when(productBacklogRepositoryHelper.findByIdOrThrow(productBacklogId)).thenReturn(productBacklog);
+                when(productBacklogRepositoryHelper.getReferenceOrThrow(productBacklogId)).thenReturn(productBacklog);
                 when(epicMapper.toEntity(epicRequest)).thenReturn(epic);
                 when(epicRepository.save(epic)).thenReturn(epic);
                 when(epicMapper.toDto(epic)).thenReturn(epicResponse);
@@ -195,7 +254,8 @@ class ProductBacklogServiceImplTest {
                 assertEquals(epicResponse.getId(), result.getId());
                 assertEquals(epicResponse.getName(), result.getName());
                 verify(epicRepository).save(epic);
-                verify(productBacklogRepository).save(productBacklog);
+                assertEquals(productBacklog, epic.getProductBacklog());
+                verify(productBacklogRepository, never()).save(any());
         }
 
         @Test
@@ -220,11 +280,9 @@ class ProductBacklogServiceImplTest {
                                 .name(userStory.getName())
                                 .build();
 
-                // Initialize the userStories list in the product backlog as mutable
-                productBacklog.setUserStories(new ArrayList<>());
-
-                when(productBacklogRepositoryHelper.findByIdOrThrow(productBacklogId)).thenReturn(productBacklog);
+                when(productBacklogRepositoryHelper.getReferenceOrThrow(productBacklogId)).thenReturn(productBacklog);
                 when(userStoryMapper.toEntity(userStoryRequest)).thenReturn(userStory);
+                when(userStoryRepository.save(userStory)).thenReturn(userStory);
                 when(userStoryMapper.toResponse(userStory)).thenReturn(userStoryResponse);
 
                 // Act
@@ -236,7 +294,9 @@ class ProductBacklogServiceImplTest {
                 assertEquals(userStoryResponse.getId(), result.getId());
                 assertEquals(userStoryResponse.getName(), result.getName());
                 verify(userStoryMapper).toEntity(userStoryRequest);
-                verify(productBacklogRepository).save(productBacklog);
+                verify(userStoryRepository).save(userStory);
+                assertEquals(productBacklog, userStory.getProductBacklog());
+                verify(productBacklogRepository, never()).save(any());
         }
 
         @Test
@@ -280,4 +340,240 @@ class ProductBacklogServiceImplTest {
                 assertThrows(ResourceNotFoundException.class,
                                 () -> productBacklogService.getProjectByProductBacklogId(productBacklogId));
         }
-}
\ No newline at end of file
+
+        @Test
+        void testGetProductBacklogById_CountsStoriesFromProgress() {
+                ProductBacklogResponse response = ProductBacklogResponse.builder()
+                                .id(productBacklogId)
+                                .name("Test Backlog")
+                                .build();
+                ProgressResponse progress = ProgressResponse.builder().totalStories(3L).build();
+
+                when(productBacklogRepositoryHelper.findByIdOrThrow(productBacklogId)).thenReturn(productBacklog);
+                when(productBacklogMapper.toResponse(productBacklog)).thenReturn(response);
+                when(statusRollupReader.progressOf(RollupScope.PRODUCT_BACKLOG, productBacklogId))
+                                .thenReturn(progress);
+                when(epicRepository.countByProductBacklogId(productBacklogId)).thenReturn(2L);
+
+                ProductBacklogResponse result = productBacklogService.getProductBacklogById(productBacklogId);
+
+                assertEquals(3L, result.getUserStoryCount());
+                assertEquals(progress.getTotalStories(), result.getUserStoryCount());
+                assertEquals(2L, result.getEpicCount());
+                verify(userStoryRepository, never()).countByProductBacklogId(any());
+        }
+
+        @Test
+        void testAddUserStoryToProductBacklog_EvictsCachedReads() {
+                UserStoryRequest userStoryRequest = UserStoryRequest.builder()
+                                .name("Test User Story")
+                                .build();
+                UserStory userStory = UserStory.builder()
+                                .id(UUID.randomUUID())
+                                .name("Test User Story")
+                                .build();
+
+                when(productBacklogRepositoryHelper.getReferenceOrThrow(productBacklogId)).thenReturn(productBacklog);
+                when(userStoryMapper.toEntity(userStoryRequest)).thenReturn(userStory);
+                when(userStoryRepository.save(userStory)).thenReturn(userStory);
+
+                productBacklogService.addUserStoryToProductBacklog(productBacklogId, userStoryRequest);
+
+                verify(productBacklogReadCache).evict(productBacklogId);
+        }
+
+        @Test
+        void testAddUserStoryToProductBacklog_RanksAfterLastStory() {
+                UserStoryRequest userStoryRequest = UserStoryRequest.builder()
+                                .name("Test User Story")
+                                .build();
+                UserStory userStory = UserStory.builder()
+                                .id(UUID.randomUUID())
+                                .name("Test User Story")
+                                .build();
+
+                when(productBacklogRepositoryHelper.getReferenceOrThrow(productBacklogId)).thenReturn(productBacklog);
+                when(userStoryMapper.toEntity(userStoryRequest)).thenReturn(userStory);
+                when(backlogRanks.rankLast(productBacklogId)).thenReturn("n");
+                when(userStoryRepository.save(userStory)).thenReturn(userStory);
+
+                productBacklogService.addUserStoryToProductBacklog(productBacklogId, userStoryRequest);
+
+                assertEquals("n", userStory.getRank());
+                verify(backlogRanks).rankLast(productBacklogId);
+                verify(backlogRanks, never()).lock(any());
+        }
+
+        @Test
+        void testMoveUserStory_BetweenTwoNeighbours_UpdatesOnlyTheMovedStory() {
+                UserStory moved = story("z");
+                UserStory previous = story("a");
+                UserStory next = story("b");
+                when(userStoryRepository.lockByIds(anyCollection())).thenReturn(List.of(moved, previous, next));
+                when(userStoryRepository.save(moved)).thenReturn(moved);
+
+                productBacklogService.moveUserStory(productBacklogId, moved.getId(),
+                                new UserStoryPositionRequest(previous.getId(), next.getId()));
+
+                assertTrue(moved.getRank().compareTo("a") > 0 && moved.getRank().compareTo("b") < 0);
+                assertEquals("a", previous.getRank());
+                assertEquals("b", next.getRank());
+                verify(userStoryRepository).save(moved);
+                verify(productBacklogReadCache).evict(productBacklogId);
+        }
+
+        @Test
+        void testMoveUserStory_ToTop_RanksBeforeFirstStory() {
+                UserStory moved = story("z");
+                when(userStoryRepository.lockByIds(anyCollection())).thenReturn(List.of(moved));
+                when(userStoryRepository.findFirstByProductBacklogIdAndRankNotNullAndIdNotOrderByRankAsc(
+                                productBacklogId, moved.getId())).thenReturn(Optional.of(story("1")));
+                when(userStoryRepository.save(moved)).thenReturn(moved);
+
+                productBacklogService.moveUserStory(productBacklogId, moved.getId(), new UserStoryPositionRequest());
+
+                assertTrue(moved.getRank().compareTo("1") < 0);
+        }
+
+        @Test
+        void testMoveUserStory_AfterPrevious_UsesCurrentSuccessor() {
+                UserStory moved = story("0i");
+                UserStory previous = story("c");
+                when(userStoryRepository.lockByIds(anyCollection())).thenReturn(List.of(moved, previous));
+                when(userStoryRepository.findFirstByProductBacklogIdAndRankGreaterThanAndIdNotOrderByRankAsc(
+                                productBacklogId, "c", moved.getId())).thenReturn(Optional.of(story("d")));
+                when(userStoryRepository.save(moved)).thenReturn(moved);
+                when(backlogRankRebalancer.isTooLong(any())).thenReturn(true);
+
+                productBacklogService.moveUserStory(productBacklogId, moved.getId(),
+                                UserStoryPositionRequest.builder().previousStoryId(previous.getId()).build());
+
+                assertTrue(moved.getRank().compareTo("c") > 0 && moved.getRank().compareTo("d") < 0);
+                verify(backlogRankRebalancer).requestRebalance(productBacklogId);
+        }
+
+        @Test
+        void testMoveUserStory_BetweenEqualRanks_RequestsRebalance() {
+                UserStory moved = story("z");
+                UserStory previous = story("c");
+                UserStory next = story("c");
+                when(userStoryRepository.lockByIds(anyCollection())).thenReturn(List.of(moved, previous, next));
+
+                assertThrows(BusinessException.class, () -> productBacklogService.moveUserStory(productBacklogId,
+                                moved.getId(), new UserStoryPositionRequest(previous.getId(), next.getId())));
+                verify(backlogRanks).lock(productBacklogId);
+                verify(backlogRankRebalancer).requestRebalance(productBacklogId);
+                verify(userStoryRepository, never()).save(any());
+        }
+
+        @Test
+        void testMoveUserStory_NeighbourInAnotherBacklog_ThrowsBusinessException() {
+                UserStory moved = story("a");
+                UserStory foreign = story("b");
+                foreign.setProductBacklog(ProductBacklog.builder().id(UUID.randomUUID()).build());
+                when(userStoryRepository.lockByIds(anyCollection())).thenReturn(List.of(moved, foreign));
+
+                assertThrows(BusinessException.class, () -> productBacklogService.moveUserStory(productBacklogId,
+                                moved.getId(), UserStoryPositionRequest.builder().nextStoryId(foreign.getId()).build()));
+                verify(userStoryRepository, never()).save(any());
+        }
+
+        @Test
+        void testGetRankedUserStories_ReturnsCursorWhenMoreRemain() {
+                UserStory first = story("a");
+                UserStory second = story("b");
+                UserStory third = story("c");
+                when(userStoryRepository.findRankedPage(eq(productBacklogId), any()))
+                                .thenReturn(List.of(first, second, third));
+                when(userStoryRepository.findRankedPageAfter(eq(productBacklogId), eq("b"), eq(second.getId()),
+                                any())).thenReturn(List.of(third));
+
+                UserStoryPageResponse firstPage = productBacklogService.getRankedUserStories(productBacklogId, null,
+                                2);
+                UserStoryPageResponse secondPage = productBacklogService.getRankedUserStories(productBacklogId,
+                                firstPage.getNextCursor(), 2);
+
+                assertEquals(2, firstPage.getItems().size());
+                assertNotNull(firstPage.getNextCursor());
+                assertEquals(1, secondPage.getItems().size());
+                assertNull(secondPage.getNextCursor());
+        }
+
+        @Test
+        void testGetRankedUserStories_InvalidCursor_ThrowsBusinessException() {
+                assertThrows(BusinessException.class,
+                                () -> productBacklogService.getRankedUserStories(productBacklogId, "not-a-cursor", 10));
+        }
+
+        @Test
+        void testGetTopUserStories_ReturnsStoriesInIndexOrder() {
+                UserStory first = story("a");
+                UserStory second = story("b");
+                UserStoryResponse firstResponse = UserStoryResponse.builder().id(first.getId()).build();
+                UserStoryResponse secondResponse = UserStoryResponse.builder().id(second.getId()).build();
+                when(topStoriesIndex.top(productBacklogId, 100)).thenReturn(List.of(second.getId(), first.getId()));
+                when(userStoryRepository.findAllById(List.of(second.getId(), first.getId())))
+                                .thenReturn(List.of(first, second));
+                when(userStoryMapper.toResponse(first)).thenReturn(firstResponse);
+                when(userStoryMapper.toResponse(second)).thenReturn(secondResponse);
+
+                List<UserStoryResponse> result = productBacklogService.getTopUserStories(productBacklogId, 500);
+
+                assertEquals(List.of(secondResponse, firstResponse), result);
+                verify(productBacklogRepositoryHelper).validateExists(productBacklogId);
+        }
+
+        @Test
+        void testSearchUserStories_ColdIndex_FallsBackToSql() {
+                UserStory first = story("a");
+                UserStoryResponse firstResponse = UserStoryResponse.builder().id(first.getId()).build();
+                FacetFilter filter = FacetFilter.of(Map.of("status", "todo"));
+                FacetSearchResult result = new FacetSearchResult(List.of(first.getId()), 1,
+                                Map.of(Facet.STATUS, Map.of("TODO", 1L, "DONE", 2L)));
+                when(facetIndex.search(productBacklogId, filter, 200)).thenReturn(null);
+                when(facetSqlSearch.search(productBacklogId, filter, 200)).thenReturn(result);
+                when(userStoryRepository.findAllById(List.of(first.getId()))).thenReturn(List.of(first));
+                when(userStoryMapper.toResponse(first)).thenReturn(firstResponse);
+
+                FacetSearchResponse response = productBacklogService.searchUserStories(productBacklogId, filter, 500);
+
+                assertEquals(List.of(firstResponse), response.getItems());
+                assertEquals(1, response.getTotal());
+                assertEquals(Map.of("TODO", 1L, "DONE", 2L), response.getFacets().get("status"));
+                verify(productBacklogRepositoryHelper).validateExists(productBacklogId);
+        }
+
+        @Test
+        void testGetProductBacklogsByIds_ServesCachedEntriesAndLoadsTheRest() {
+                UUID cachedId = UUID.randomUUID();
+                UUID missingId = UUID.randomUUID();
+                ProductBacklogResponse cached = ProductBacklogResponse.builder().id(cachedId).build();
+                ProductBacklogResponse loaded = ProductBacklogResponse.builder().id(productBacklogId).build();
+                doReturn(cached).when(productBacklogReadCache).peekProductBacklog(cachedId);
+                when(productBacklogRepository.findAllById(List.of(productBacklogId, missingId)))
+                                .thenReturn(List.of(productBacklog));
+                when(productBacklogMapper.toResponse(productBacklog)).thenReturn(loaded);
+                when(statusRollupReader.progressOf(RollupScope.PRODUCT_BACKLOG, Set.of(productBacklogId)))
+                                .thenReturn(Map.of(productBacklogId,
+                                                ProgressResponse.builder().totalStories(4L).build()));
+                when(epicRepository.countByProductBacklogIds(Set.of(productBacklogId))).thenReturn(List.of());
+
+                BatchGetResponse<ProductBacklogResponse> result = productBacklogService
+                                .getProductBacklogsByIds(List.of(productBacklogId, cachedId, missingId));
+
+                assertEquals(List.of(loaded, cached), result.getItems());
+                assertEquals(List.of(missingId), result.getMissing());
+                assertEquals(4, loaded.getUserStoryCount());
+                assertEquals(0, loaded.getEpicCount());
+                verify(productBacklogRepository, never()).findById(any());
+        }
+
+        private UserStory story(String rank) {
+                return UserStory.builder()
+                                .id(UUID.randomUUID())
+                                .name("Story " + rank)
+                                .rank(rank)
+                                .productBacklog(productBacklog)
+                                .build();
+        }
+}
@@ -10,6 +10,11 @@ import ma.ensa.apms.modal.Project;
 import ma.ensa.apms.modal.enums.ProjectStatus;
 import ma.ensa.apms.repository.ProductBacklogRepository;
 import ma.ensa.apms.repository.ProjectRepository;
+import ma.ensa.apms.snapshot.SnapshotExporter;
+import ma.ensa.apms.snapshot.SnapshotRestorer;
+import ma.ensa.apms.timeline.RangeMatch;
+import ma.ensa.apms.timeline.TimelineIndex;
+import ma.ensa.apms.tree.ProjectTreeWriter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -23,6 +28,10 @@ import org.springframework.data.domain.Pageable;
 
 import jakarta.persistence.EntityNotFoundException;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -50,6 +59,21 @@ class ProjectServiceImplTest {
     @Mock
     private ma.ensa.apms.service.validator.ProjectValidator projectValidator;
 
+    @Mock
+    private ma.ensa.apms.rollup.StatusRollupReader statusRollupReader;
+
+    @Mock
+    private TimelineIndex timelineIndex;
+
+    @Mock
+    private ProjectTreeWriter projectTreeWriter;
+
+    @Mock
+    private SnapshotExporter snapshotExporter;
+
+    @Mock
+    private SnapshotRestorer snapshotRestorer;
+
     @InjectMocks
     private ProjectServiceImpl projectService;
 
@@ -266,6 +290,46 @@ class ProjectServiceImplTest {
         assertThrows(EntityNotFoundException.class, () -> projectService.getProject(testId));
     }
 
+    @Test
+    void writeProjectTree_ShouldDelegateToTreeWriter() throws Exception {
+        // Arrange
+        OutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        projectService.writeProjectTree(testId, out);
+
+        // Assert
+        verify(projectTreeWriter).write(testId, out);
+    }
+
+    @Test
+    void writeProjectSnapshot_ShouldDelegateToExporter() throws Exception {
+        // Arrange
+        OutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        projectService.writeProjectSnapshot(testId, out);
+
+        // Assert
+        verify(snapshotExporter).export(testId, out);
+    }
+
+    @Test
+    void restoreProjectSnapshot_ShouldReturnRestoredProject() throws Exception {
+        // Arrange
+        InputStream in = new ByteArrayInputStream(new byte[0]);
+        when(snapshotRestorer.restore(in)).thenReturn(testId);
+        when(projectRepositoryHelper.findByIdOrThrow(testId)).thenReturn(testProject);
+        when(projectMapper.toResponse(testProject)).thenReturn(testResponse);
+
+        // Act
+        ProjectResponse result = projectService.restoreProjectSnapshot(in);
+
+        // Assert
+        assertEquals(testId, result.getId());
+        verify(snapshotRestorer).restore(in);
+    }
+
     @Test
     void getAllProjects_ShouldReturnProjectsList() {
         // Arrange
@@ -322,6 +386,37 @@ class ProjectServiceImplTest {
         verify(projectRepository, times(1)).findByStartDateAfterAndEndDateBefore(startDate, endDate);
     }
 
+    @Test
+    void getProjectsWithin_ShouldQueryTimelineIndex() {
+        // Arrange
+        LocalDateTime from = LocalDateTime.now().minusMonths(1);
+        LocalDateTime to = LocalDateTime.now().plusMonths(1);
+        when(timelineIndex.findProjects(RangeMatch.WITHIN, from, to)).thenReturn(List.of(testProject));
+        when(projectMapper.toResponse(testProject)).thenReturn(testResponse);
+
+        // Act
+        List<ProjectResponse> result = projectService.getProjectsWithin(from, to);
+
+        // Assert
+        assertEquals(1, result.size());
+        verify(projectValidator).validateQueryWindow(from, to);
+    }
+
+    @Test
+    void getProjectsActiveAt_ShouldQueryAPointWindow() {
+        // Arrange
+        LocalDateTime at = LocalDateTime.now();
+        when(timelineIndex.findProjects(RangeMatch.OVERLAPS, at, at)).thenReturn(List.of(testProject));
+        when(projectMapper.toResponse(testProject)).thenReturn(testResponse);
+
+        // Act
+        List<ProjectResponse> result = projectService.getProjectsActiveAt(at);
+
+        // Assert
+        assertEquals(1, result.size());
+        verify(timelineIndex, never()).findProjects(eq(RangeMatch.WITHIN), any(), any());
+    }
+
     @Test
     void assignProductBacklogToProject_WhenValid_ShouldAssignProductBacklog() {
         // Arrange
@@ -3,8 +3,12 @@ package ma.ensa.apms.service.impl;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -18,14 +22,20 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import ma.ensa.apms.cache.ProductBacklogReadCache;
 import ma.ensa.apms.dto.Request.SprintBacklogRequest;
 import ma.ensa.apms.dto.Request.UserStoryRequest;
 import ma.ensa.apms.dto.Response.SprintBacklogResponse;
 import ma.ensa.apms.dto.Response.UserStoryResponse;
+import ma.ensa.apms.event.BoardEventHub;
+import ma.ensa.apms.event.BoardEventPublisher;
+import ma.ensa.apms.event.BoardSubscription;
 import ma.ensa.apms.exception.ResourceNotFoundException;
 import ma.ensa.apms.mapper.SprintBacklogMapper;
 import ma.ensa.apms.mapper.UserStoryMapper;
+import ma.ensa.apms.modal.ProductBacklog;
 import ma.ensa.apms.modal.SprintBacklog;
 import ma.ensa.apms.modal.UserStory;
 import ma.ensa.apms.repository.SprintBacklogRepository;
@@ -49,6 +59,15 @@ class SprintBacklogServiceImplTest {
     @Mock
     private SprintBacklogRepositoryHelper sprintBacklogRepositoryHelper;
 
+    @Mock
+    private BoardEventPublisher boardEventPublisher;
+
+    @Mock
+    private BoardEventHub boardEventHub;
+
+    @Mock
+    private ProductBacklogReadCache productBacklogReadCache;
+
     @InjectMocks
     private SprintBacklogServiceImpl sprintBacklogService;
 
@@ -187,7 +206,9 @@ class SprintBacklogServiceImplTest {
 
     @Test
     void addUserStoryToSprintBacklog_ShouldReturnCreatedUserStoryResponse() {
-        when(sprintBacklogRepositoryHelper.findByIdOrThrow(sprintBacklog.getId())).thenReturn(sprintBacklog);
+        ProductBacklog productBacklog = ProductBacklog.builder().id(UUID.randomUUID()).build();
+        sprintBacklog.setProductBacklog(productBacklog);
+        when(sprintBacklogRepositoryHelper.getReferenceOrThrow(sprintBacklog.getId())).thenReturn(sprintBacklog);
         when(userStoryMapper.toEntity(userStoryRequest)).thenReturn(userStory);
         when(userStoryRepository.save(userStory)).thenReturn(userStory);
         when(userStoryMapper.toResponse(userStory)).thenReturn(userStoryResponse);
@@ -198,10 +219,14 @@ class SprintBacklogServiceImplTest {
         assertNotNull(result);
         assertEquals(userStoryResponse, result);
         verify(userStoryRepository, times(1)).save(userStory);
+        verify(boardEventPublisher, times(1)).storyAddedToSprint(userStory);
+        verify(productBacklogReadCache, times(1)).evict(productBacklog.getId());
     }
 
     @Test
     void removeUserStoryFromSprintBacklog_ShouldRemoveUserStory_WhenFound() {
+        ProductBacklog productBacklog = ProductBacklog.builder().id(UUID.randomUUID()).build();
+        sprintBacklog.setProductBacklog(productBacklog);
         when(sprintBacklogRepositoryHelper.findByIdOrThrow(sprintBacklog.getId())).thenReturn(sprintBacklog);
         when(sprintBacklogRepositoryHelper.findUserStoryByIdOrThrow(userStory.getId())).thenReturn(userStory);
         userStory.setSprintBacklog(sprintBacklog);
@@ -209,5 +234,31 @@ class SprintBacklogServiceImplTest {
         sprintBacklogService.removeUserStoryFromSprintBacklog(sprintBacklog.getId(), userStory.getId());
 
         verify(userStoryRepository, times(1)).delete(userStory);
+        verify(boardEventPublisher, times(1)).storyRemovedFromSprint(userStory, sprintBacklog.getId());
+        verify(productBacklogReadCache, times(1)).evict(productBacklog.getId());
+    }
+
+    @Test
+    void streamBoardEvents_ShouldSubscribeToSprint_WhenFound() {
+        BoardSubscription subscription = mock(BoardSubscription.class);
+        when(boardEventHub.getEmitterTimeoutMillis()).thenReturn(1000L);
+        when(boardEventHub.subscribe(eq(sprintBacklog.getId()), any(), any())).thenReturn(subscription);
+
+        SseEmitter result = sprintBacklogService.streamBoardEvents(sprintBacklog.getId());
+
+        assertNotNull(result);
+        assertEquals(1000L, result.getTimeout());
+        verify(sprintBacklogRepositoryHelper, times(1)).validateExists(sprintBacklog.getId());
+        verify(boardEventHub, times(1)).subscribe(eq(sprintBacklog.getId()), any(), any());
+    }
+
+    @Test
+    void streamBoardEvents_ShouldThrowException_WhenNotFound() {
+        UUID id = UUID.randomUUID();
+        doThrow(new ResourceNotFoundException("Sprint backlog not found")).when(sprintBacklogRepositoryHelper)
+                .validateExists(id);
+
+        assertThrows(ResourceNotFoundException.class, () -> sprintBacklogService.streamBoardEvents(id));
+        verify(boardEventHub, never()).subscribe(any(), any(), any());
     }
 }
\ No newline at end of file
@@ -4,19 +4,25 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -26,12 +32,18 @@ import ma.ensa.apms.dto.TaskRequestDto;
 import ma.ensa.apms.dto.TaskResponseDto;
 import ma.ensa.apms.dto.TaskStartDateUpdateDto;
 import ma.ensa.apms.dto.TaskStatusUpdateDto;
+import ma.ensa.apms.event.BoardEventPublisher;
 import ma.ensa.apms.exception.BusinessException;
 import ma.ensa.apms.exception.ResourceNotFoundException;
 import ma.ensa.apms.mapper.TaskMapper;
 import ma.ensa.apms.modal.Task;
 import ma.ensa.apms.modal.enums.TaskStatus;
+import ma.ensa.apms.projection.FieldSelection;
+import ma.ensa.apms.projection.SparseFieldsQuery;
 import ma.ensa.apms.repository.TaskRepository;
+import ma.ensa.apms.timeline.RangeMatch;
+import ma.ensa.apms.timeline.TimelineIndex;
+import ma.ensa.apms.writebehind.WriteBehindBuffer;
 
 @ExtendWith(MockitoExtension.class)
 class TaskServiceImplTest {
@@ -48,6 +60,18 @@ class TaskServiceImplTest {
     @Mock
     private ma.ensa.apms.service.validator.TaskDateValidator taskDateValidator;
 
+    @Mock
+    private BoardEventPublisher boardEventPublisher;
+
+    @Mock
+    private TimelineIndex timelineIndex;
+
+    @Mock
+    private SparseFieldsQuery sparseFieldsQuery;
+
+    @Mock
+    private WriteBehindBuffer writeBehindBuffer;
+
     @InjectMocks
     private TaskServiceImpl taskService;
 
@@ -104,6 +128,7 @@ class TaskServiceImplTest {
         assertEquals(taskId, result.getId());
         assertEquals("Test Task", result.getTitle());
         verify(taskRepository).save(task);
+        verify(boardEventPublisher).taskAdded(task);
     }
 
     @Test
@@ -168,6 +193,32 @@ class TaskServiceImplTest {
         assertEquals(TaskStatus.TODO, result.get(0).getStatus());
     }
 
+    @Test
+    void getTasksByStatus_WithFields_ShouldSelectOnlyRequestedColumns() {
+        // Arrange
+        FieldSelection selection = FieldSelection.of(List.of("id", "title"), null);
+        when(sparseFieldsQuery.select(eq(Task.class), any(), eq("status"), eq(TaskStatus.TODO)))
+                .thenReturn(List.of());
+
+        // Act
+        List<Map<String, Object>> result = taskService.getTasksByStatus(TaskStatus.TODO, selection);
+
+        // Assert
+        assertEquals(0, result.size());
+        verify(sparseFieldsQuery).select(Task.class, Map.of("id", "id", "title", "title"), "status",
+                TaskStatus.TODO);
+    }
+
+    @Test
+    void getAllTasks_WithUnknownExpansion_ShouldThrowBusinessException() {
+        // Arrange
+        FieldSelection selection = FieldSelection.of(null, List.of("comments"));
+
+        // Act & Assert
+        assertThrows(BusinessException.class, () -> taskService.getAllTasks(selection));
+        verifyNoInteractions(sparseFieldsQuery);
+    }
+
     @Test
     void getTasksByDateRange_ShouldReturnTasksInRange() {
         // Arrange
@@ -183,6 +234,45 @@ class TaskServiceImplTest {
         assertEquals(1, result.size());
     }
 
+    @Test
+    void getTasksOverlapping_ShouldQueryTimelineIndex() {
+        // Arrange
+        when(timelineIndex.findTasks(RangeMatch.OVERLAPS, startDate, endDate)).thenReturn(List.of(task));
+        when(taskMapper.toDto(task)).thenReturn(taskResponseDto);
+
+        // Act
+        List<TaskResponseDto> result = taskService.getTasksOverlapping(startDate, endDate);
+
+        // Assert
+        assertEquals(1, result.size());
+        verify(taskDateValidator).validateQueryWindow(startDate, endDate);
+    }
+
+    @Test
+    void getTasksWithin_WhenWindowIsReversed_ShouldThrowBusinessException() {
+        // Arrange
+        doThrow(new BusinessException("The end of the range cannot be before its start"))
+                .when(taskDateValidator).validateQueryWindow(endDate, startDate);
+
+        // Act & Assert
+        assertThrows(BusinessException.class, () -> taskService.getTasksWithin(endDate, startDate));
+        verifyNoInteractions(timelineIndex);
+    }
+
+    @Test
+    void getTasksActiveAt_ShouldQueryAPointWindow() {
+        // Arrange
+        LocalDateTime at = startDate.plusDays(1);
+        when(timelineIndex.findTasks(RangeMatch.OVERLAPS, at, at)).thenReturn(List.of(task));
+        when(taskMapper.toDto(task)).thenReturn(taskResponseDto);
+
+        // Act
+        List<TaskResponseDto> result = taskService.getTasksActiveAt(at);
+
+        // Assert
+        assertEquals(1, result.size());
+    }
+
     @Test
     void updateTask_WhenTaskExists_ShouldUpdateTask() {
         // Arrange
@@ -225,6 +315,45 @@ class TaskServiceImplTest {
         // Assert
         verify(taskRepository).save(task);
         assertEquals(TaskStatus.IN_PROGRESS, task.getStatus());
+        verify(boardEventPublisher).taskStatusChanged(eq(task), any());
+    }
+
+    @Test
+    void updateTaskStatus_WithWriteBehind_ShouldBufferInsteadOfSaving() {
+        // Arrange
+        TaskStatusUpdateDto statusDto = new TaskStatusUpdateDto();
+        statusDto.setStatus(TaskStatus.DONE);
+        TaskStatus previousStatus = task.getStatus();
+
+        when(taskRepositoryHelper.findByIdOrThrow(taskId)).thenReturn(task);
+        when(writeBehindBuffer.isEnabled()).thenReturn(true);
+        when(taskMapper.toDto(task)).thenReturn(taskResponseDto);
+
+        // Act
+        TaskResponseDto result = taskService.updateTaskStatus(taskId, statusDto);
+
+        // Assert
+        assertEquals(taskResponseDto, result);
+        verify(writeBehindBuffer).setTaskStatus(task, TaskStatus.DONE);
+        verify(boardEventPublisher).taskStatusChanged(task, previousStatus);
+        verify(taskRepository, never()).save(any());
+    }
+
+    @Test
+    void updateTask_ShouldFlushBufferedTogglesFirst() {
+        // Arrange
+        when(taskRepositoryHelper.findByIdOrThrow(taskId)).thenReturn(task);
+        when(taskMapper.toEntity(taskRequestDto)).thenReturn(task);
+        when(taskRepository.save(task)).thenReturn(task);
+        when(taskMapper.toDto(task)).thenReturn(taskResponseDto);
+
+        // Act
+        taskService.updateTask(taskId, taskRequestDto);
+
+        // Assert
+        InOrder order = inOrder(writeBehindBuffer, taskRepository);
+        order.verify(writeBehindBuffer).flush();
+        order.verify(taskRepository).save(task);
     }
 
     @Test
@@ -310,6 +439,7 @@ class TaskServiceImplTest {
 
         // Assert
         verify(taskRepository).delete(task);
+        verify(boardEventPublisher).taskRemoved(task);
     }
 
     @Test
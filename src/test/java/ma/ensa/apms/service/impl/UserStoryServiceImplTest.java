@@ -1,31 +1,50 @@
 package ma.ensa.apms.service.impl;
 
+import ma.ensa.apms.batch.BatchLookup;
+import ma.ensa.apms.cache.ProductBacklogReadCache;
+import ma.ensa.apms.cache.SerializedResponseCache;
 import ma.ensa.apms.dto.Request.UserStoryRequest;
 import ma.ensa.apms.dto.Response.AcceptanceCriteriaResponse;
+import ma.ensa.apms.dto.Response.BatchGetResponse;
 import ma.ensa.apms.dto.Response.UserStoryResponse;
+import ma.ensa.apms.event.BoardEventPublisher;
 import ma.ensa.apms.mapper.AcceptanceCriteriaMapper;
 import ma.ensa.apms.mapper.UserStoryMapper;
 import ma.ensa.apms.modal.AcceptanceCriteria;
 import ma.ensa.apms.modal.Epic;
+import ma.ensa.apms.modal.ProductBacklog;
 import ma.ensa.apms.modal.SprintBacklog;
 import ma.ensa.apms.modal.UserStory;
 import ma.ensa.apms.modal.enums.UserStoryStatus;
+import ma.ensa.apms.exception.BusinessException;
+import ma.ensa.apms.projection.FieldSelection;
+import ma.ensa.apms.projection.SparseFieldsQuery;
+import ma.ensa.apms.ranking.BacklogRanks;
 import ma.ensa.apms.repository.UserStoryRepository;
 import ma.ensa.apms.service.helper.UserStoryRepositoryHelper;
 import ma.ensa.apms.service.validator.UserStoryValidator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.util.unit.DataSize;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -46,6 +65,25 @@ class UserStoryServiceImplTest {
     @Mock
     private UserStoryValidator validator;
 
+    @Mock
+    private BoardEventPublisher boardEventPublisher;
+
+    @Mock
+    private SparseFieldsQuery sparseFieldsQuery;
+
+    @Spy
+    private BatchLookup batchLookup = new BatchLookup(100, 10);
+
+    @Mock
+    private ProductBacklogReadCache productBacklogReadCache;
+
+    @Mock
+    private BacklogRanks backlogRanks;
+
+    @Spy
+    private SerializedResponseCache responseCache = new SerializedResponseCache(new ObjectMapper(),
+            new SimpleMeterRegistry(), DataSize.ofMegabytes(1));
+
     @InjectMocks
     private UserStoryServiceImpl userStoryService;
 
@@ -89,6 +127,23 @@ class UserStoryServiceImplTest {
         verify(userStoryRepository, times(1)).save(any(UserStory.class));
     }
 
+    @Test
+    void create_InProductBacklog_ShouldRankAfterLastStory() {
+        // Arrange
+        UUID productBacklogId = UUID.randomUUID();
+        testUserStory.setProductBacklog(ProductBacklog.builder().id(productBacklogId).build());
+        when(userStoryMapper.toEntity(testRequest)).thenReturn(testUserStory);
+        when(backlogRanks.rankLast(productBacklogId)).thenReturn("n");
+        when(userStoryMapper.toResponse(testUserStory)).thenReturn(testResponse);
+
+        // Act
+        userStoryService.create(testRequest);
+
+        // Assert
+        assertEquals("n", testUserStory.getRank());
+        verify(productBacklogReadCache).evict(productBacklogId);
+    }
+
     @Test
     void updateUserStory_ShouldUpdateUserStory() {
         // Arrange
@@ -121,6 +176,68 @@ class UserStoryServiceImplTest {
         verify(repositoryHelper, times(1)).findUserStoryById(testId);
     }
 
+    @Test
+    void writeUserStoryById_WithUnchangedVersion_ShouldMapOnlyOnce() throws Exception {
+        // Arrange
+        testUserStory.setVersion(2);
+        when(repositoryHelper.findUserStoryById(testId)).thenReturn(testUserStory);
+        when(userStoryMapper.toResponse(testUserStory)).thenReturn(testResponse);
+        userStoryService.writeUserStoryById(testId, new ByteArrayOutputStream());
+
+        // Act
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        userStoryService.writeUserStoryById(testId, out);
+
+        // Assert
+        assertEquals(new ObjectMapper().writeValueAsString(testResponse), out.toString(StandardCharsets.UTF_8));
+        verify(userStoryMapper, times(1)).toResponse(testUserStory);
+    }
+
+    @Test
+    void writeUserStoryById_AfterUpdate_ShouldMapNewVersion() throws Exception {
+        // Arrange
+        when(repositoryHelper.findUserStoryById(testId)).thenReturn(testUserStory);
+        when(userStoryMapper.toResponse(testUserStory)).thenReturn(testResponse);
+        userStoryService.writeUserStoryById(testId, new ByteArrayOutputStream());
+        testUserStory.setVersion(1);
+
+        // Act
+        userStoryService.writeUserStoryById(testId, new ByteArrayOutputStream());
+
+        // Assert
+        verify(userStoryMapper, times(2)).toResponse(testUserStory);
+    }
+
+    @Test
+    void getUserStoriesByIds_ShouldKeepRequestOrderAndReportMissing() {
+        // Arrange
+        UserStory other = new UserStory();
+        other.setId(UUID.randomUUID());
+        UserStoryResponse otherResponse = new UserStoryResponse();
+        otherResponse.setId(other.getId());
+        UUID missingId = UUID.randomUUID();
+        List<UUID> ids = List.of(other.getId(), missingId, testId, other.getId());
+        when(userStoryRepository.findAllById(List.of(other.getId(), missingId, testId)))
+                .thenReturn(List.of(testUserStory, other));
+        when(userStoryMapper.toResponse(testUserStory)).thenReturn(testResponse);
+        when(userStoryMapper.toResponse(other)).thenReturn(otherResponse);
+
+        // Act
+        BatchGetResponse<UserStoryResponse> result = userStoryService.getUserStoriesByIds(ids);
+
+        // Assert
+        assertEquals(List.of(otherResponse, testResponse), result.getItems());
+        assertEquals(List.of(missingId), result.getMissing());
+        verify(userStoryRepository, times(1)).findAllById(any());
+    }
+
+    @Test
+    void getUserStoriesByIds_WithEmptyList_ShouldThrowBusinessException() {
+        // Act & Assert
+        assertThrows(BusinessException.class, () -> userStoryService.getUserStoriesByIds(List.of()));
+        verifyNoInteractions(userStoryRepository);
+    }
+
     @Test
     void changeStatus_ToDone_ShouldValidateAndChangeStatus() {
         // Arrange
@@ -136,6 +253,7 @@ class UserStoryServiceImplTest {
         assertEquals(UserStoryStatus.DONE, testUserStory.getStatus());
         verify(validator, times(1)).validateCanMarkAsDone(testUserStory);
         verify(userStoryRepository, times(1)).save(testUserStory);
+        verify(boardEventPublisher, times(1)).storyStatusChanged(eq(testUserStory), any());
     }
 
     @Test
@@ -183,6 +301,9 @@ class UserStoryServiceImplTest {
         UUID sprintId = UUID.randomUUID();
         SprintBacklog sprint = new SprintBacklog();
         sprint.setId(sprintId);
+        ProductBacklog productBacklog = new ProductBacklog();
+        productBacklog.setId(UUID.randomUUID());
+        testUserStory.setProductBacklog(productBacklog);
 
         when(repositoryHelper.findUserStoryById(testId)).thenReturn(testUserStory);
         when(repositoryHelper.findSprintBacklogById(sprintId)).thenReturn(sprint);
@@ -197,6 +318,8 @@ class UserStoryServiceImplTest {
         assertEquals(sprint, testUserStory.getSprintBacklog());
         assertNull(testUserStory.getProductBacklog());
         verify(userStoryRepository, times(1)).save(testUserStory);
+        verify(boardEventPublisher, times(1)).storyMovedToSprint(testUserStory, null);
+        verify(productBacklogReadCache, times(1)).evict(productBacklog.getId());
     }
 
     @Test
@@ -287,6 +410,89 @@ class UserStoryServiceImplTest {
         assertThrows(NullPointerException.class, () -> userStoryService.getUserStoriesByEpicId(null));
     }
 
+    @Test
+    void getUserStoriesByEpicId_WithFieldsAndEpicExpansion_ShouldSelectOnlyNeededColumns() {
+        // Arrange
+        UUID epicId = UUID.randomUUID();
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("name", "Test User Story");
+        row.put("id", testId);
+        row.put("epicId", epicId);
+        List<Map<String, Object>> rows = new ArrayList<>(List.of(row));
+        when(sparseFieldsQuery.select(eq(UserStory.class), any(), eq("epic.id"), eq(epicId))).thenReturn(rows);
+        doAnswer(invocation -> {
+            row.put("epic", Map.of("id", epicId));
+            return null;
+        }).when(sparseFieldsQuery).expandOne(eq(rows), eq("epicId"), eq("epic"), eq(Epic.class), any());
+
+        // Act
+        List<Map<String, Object>> result = userStoryService.getUserStoriesByEpicId(epicId,
+                FieldSelection.of(List.of("name"), List.of("epic")));
+
+        // Assert
+        verify(sparseFieldsQuery).select(UserStory.class, Map.of("name", "name", "id", "id", "epicId", "epic.id"),
+                "epic.id", epicId);
+        verify(sparseFieldsQuery, never()).expandMany(any(), any(), any(), any(), any(), any());
+        assertEquals(List.of("name", "epic"), List.copyOf(result.get(0).keySet()));
+    }
+
+    @Test
+    void writeUserStoriesByEpicId_WithFieldsOnly_ShouldKeyRowsByVersionAndDropIt() throws Exception {
+        // Arrange
+        UUID epicId = UUID.randomUUID();
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("name", "Test User Story");
+        row.put("id", testId);
+        row.put("version", 4L);
+        when(sparseFieldsQuery.select(eq(UserStory.class), any(), eq("epic.id"), eq(epicId)))
+                .thenReturn(new ArrayList<>(List.of(row)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        userStoryService.writeUserStoriesByEpicId(epicId, FieldSelection.of(List.of("name"), null), out);
+
+        // Assert
+        verify(repositoryHelper).findEpicById(epicId);
+        verify(sparseFieldsQuery).select(UserStory.class, Map.of("name", "name", "id", "id", "version", "version"),
+                "epic.id", epicId);
+        assertEquals("[{\"name\":\"Test User Story\"}]", out.toString(StandardCharsets.UTF_8));
+        verify(responseCache).writeArray(eq(out), any(), any(), any());
+    }
+
+    @Test
+    void writeUserStoriesBySprintBacklogId_WithExpansion_ShouldWriteRowsUncached() throws Exception {
+        // Arrange
+        UUID sprintId = UUID.randomUUID();
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("id", testId);
+        List<Map<String, Object>> rows = new ArrayList<>(List.of(row));
+        when(sparseFieldsQuery.select(eq(UserStory.class), any(), eq("sprintBacklog.id"), eq(sprintId)))
+                .thenReturn(rows);
+        doAnswer(invocation -> {
+            row.put("tasks", List.of());
+            return null;
+        }).when(sparseFieldsQuery).expandMany(eq(rows), eq("id"), eq("tasks"), any(), any(), eq("userStory.id"));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        userStoryService.writeUserStoriesBySprintBacklogId(sprintId,
+                FieldSelection.of(List.of("id"), List.of("tasks")), out);
+
+        // Assert
+        assertEquals("[{\"id\":\"" + testId + "\",\"tasks\":[]}]", out.toString(StandardCharsets.UTF_8));
+        verify(responseCache).writeUncached(out, rows);
+        verify(responseCache, never()).writeArray(any(), any(), any(), any());
+    }
+
+    @Test
+    void getUserStoriesBySprintBacklogId_WithUnknownField_ShouldThrowBusinessException() {
+        // Act & Assert
+        FieldSelection selection = FieldSelection.of(List.of("name", "password"), null);
+        assertThrows(BusinessException.class,
+                () -> userStoryService.getUserStoriesBySprintBacklogId(UUID.randomUUID(), selection));
+        verifyNoInteractions(sparseFieldsQuery);
+    }
+
     @Test
     void getUserStoriesBySprintBacklogId_ShouldReturnUserStoriesList() {
         // Arrange
@@ -313,6 +519,9 @@ class UserStoryServiceImplTest {
     @Test
     void delete_ShouldValidateAndDeleteUserStory() {
         // Arrange
+        ProductBacklog productBacklog = new ProductBacklog();
+        productBacklog.setId(UUID.randomUUID());
+        testUserStory.setProductBacklog(productBacklog);
         when(repositoryHelper.findUserStoryById(testId)).thenReturn(testUserStory);
 
         // Act
@@ -321,5 +530,22 @@ class UserStoryServiceImplTest {
         // Assert
         verify(validator, times(1)).validateCanDelete(testUserStory);
         verify(userStoryRepository, times(1)).deleteById(testId);
+        verify(productBacklogReadCache, times(1)).evict(productBacklog.getId());
+        verify(boardEventPublisher, never()).storyRemovedFromSprint(any(), any());
+    }
+
+    @Test
+    void delete_InSprint_ShouldPublishRemovalFromSprint() {
+        // Arrange
+        SprintBacklog sprint = SprintBacklog.builder().id(UUID.randomUUID()).build();
+        testUserStory.setSprintBacklog(sprint);
+        when(repositoryHelper.findUserStoryById(testId)).thenReturn(testUserStory);
+
+        // Act
+        userStoryService.delete(testId);
+
+        // Assert
+        verify(boardEventPublisher, times(1)).storyRemovedFromSprint(testUserStory, sprint.getId());
+        verify(userStoryRepository, times(1)).deleteById(testId);
     }
 }
@@ -171,4 +171,17 @@ class ProjectValidatorTest {
                 .isInstanceOf(BusinessException.class)
                 .hasMessage("End date must be after start date");
     }
+
+    @Test
+    @DisplayName("validateQueryWindow should reject a window ending before it starts")
+    void validateQueryWindow_WhenWindowIsReversed_ShouldThrow() {
+        // Given
+        LocalDateTime from = LocalDateTime.of(2024, 6, 15, 14, 0);
+        LocalDateTime to = LocalDateTime.of(2024, 6, 15, 10, 0);
+
+        // When & Then
+        assertThatThrownBy(() -> projectValidator.validateQueryWindow(from, to))
+                .isInstanceOf(BusinessException.class)
+                .hasMessage("The end of the range cannot be before its start");
+    }
 }
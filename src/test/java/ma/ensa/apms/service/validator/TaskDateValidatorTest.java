@@ -117,4 +117,29 @@ class TaskDateValidatorTest {
         // When & Then
         assertDoesNotThrow(() -> taskDateValidator.validateEndDate(date, date));
     }
+
+    @Test
+    @DisplayName("validateQueryWindow should accept a single-instant window")
+    void validateQueryWindow_ShouldNotThrowException_WhenWindowIsAnInstant() {
+        // Given
+        LocalDateTime at = LocalDateTime.now();
+
+        // When & Then
+        assertDoesNotThrow(() -> taskDateValidator.validateQueryWindow(at, at));
+    }
+
+    @Test
+    @DisplayName("validateQueryWindow should throw exception when the window ends before it starts")
+    void validateQueryWindow_ShouldThrowException_WhenWindowIsReversed() {
+        // Given
+        LocalDateTime from = LocalDateTime.now();
+        LocalDateTime to = from.minusHours(1);
+
+        // When & Then
+        BusinessException exception = assertThrows(
+                BusinessException.class,
+                () -> taskDateValidator.validateQueryWindow(from, to));
+
+        assertEquals("The end of the range cannot be before its start", exception.getMessage());
+    }
 }
@@ -0,0 +1,116 @@
+package ma.ensa.apms.snapshot;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import ma.ensa.apms.exception.BusinessException;
+
+/**
+ * Unit tests for {@link SnapshotReader} over snapshots written by
+ * {@link SnapshotWriter}
+ */
+@DisplayName("SnapshotReader Tests")
+class SnapshotReaderTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2025, 1, 6, 9, 0, 0, 123_456_000);
+
+    @Test
+    @DisplayName("rows should be read back with their values, nulls and per-table ordinals")
+    void next_ShouldReadBackWrittenRows() throws Exception {
+        // Given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        SnapshotWriter writer = new SnapshotWriter(out);
+        writer.write(SnapshotTable.PRODUCT_BACKLOG, new Object[] { "Backlog", START, null });
+        writer.write(SnapshotTable.EPIC, new Object[] { "Checkout", null, 0, START, START });
+        writer.write(SnapshotTable.USER_STORY,
+                new Object[] { "Pay", "buyer", "pay\tonline", "é", -3, "TODO", null, 0, 0, null });
+        writer.write(SnapshotTable.USER_STORY,
+                new Object[] { "Refund", "buyer", null, null, 2, "TODO", "a0", 0, null, null });
+        writer.write(SnapshotTable.ACCEPTANCE_CRITERIA, new Object[] { "given", "when", "then", true, 1 });
+
+        // When
+        long written = writer.finish();
+        SnapshotReader reader = new SnapshotReader(new ByteArrayInputStream(out.toByteArray()));
+        SnapshotReader.Row backlog = reader.next();
+        SnapshotReader.Row epic = reader.next();
+        SnapshotReader.Row pay = reader.next();
+        SnapshotReader.Row refund = reader.next();
+        SnapshotReader.Row criteria = reader.next();
+
+        // Then
+        assertThat(written).isEqualTo(5);
+        assertThat(backlog.values()).containsExactly("Backlog", START, null);
+        assertThat(epic.values()).containsExactly("Checkout", null, 0, START, START);
+        assertThat(pay.table()).isEqualTo(SnapshotTable.USER_STORY);
+        assertThat(pay.ordinal()).isZero();
+        assertThat(pay.values()).containsExactly("Pay", "buyer", "pay\tonline", "é", -3, "TODO", null, 0, 0, null);
+        assertThat(refund.ordinal()).isEqualTo(1);
+        assertThat(refund.values()).containsExactly("Refund", "buyer", null, null, 2, "TODO", "a0", 0, null, null);
+        assertThat(criteria.values()).containsExactly("given", "when", "then", true, 1);
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    @DisplayName("rows spread over several blocks should be read back in order")
+    void next_OverSeveralBlocks_ShouldReadEveryRow() throws Exception {
+        // Given
+        int rows = 20_000;
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        SnapshotWriter writer = new SnapshotWriter(out);
+        for (int i = 0; i < rows; i++) {
+            writer.write(SnapshotTable.TASK,
+                    new Object[] { "Task " + i, "x".repeat(i % 50), i % 2 == 0 ? "TODO" : "DONE", START, null, 0 });
+        }
+        writer.finish();
+
+        // When
+        SnapshotReader reader = new SnapshotReader(new ByteArrayInputStream(out.toByteArray()));
+        int read = 0;
+        for (SnapshotReader.Row row = reader.next(); row != null; row = reader.next()) {
+            assertThat(row.ordinal()).isEqualTo(read);
+            assertThat(row.values()[0]).isEqualTo("Task " + read);
+            assertThat(row.values()[2]).isEqualTo(read % 2 == 0 ? "TODO" : "DONE");
+            read++;
+        }
+
+        // Then
+        assertThat(read).isEqualTo(rows);
+        assertThat(out.size()).isLessThan(rows * 10);
+    }
+
+    @Test
+    @DisplayName("a stream that is not a snapshot should be rejected")
+    void constructor_WhenNotSnapshot_ShouldThrow() {
+        assertThatThrownBy(() -> new SnapshotReader(new ByteArrayInputStream("{\"id\":1}".getBytes())))
+                .isInstanceOf(BusinessException.class)
+                .hasMessage("Not a project snapshot");
+    }
+
+    @Test
+    @DisplayName("a snapshot without its end block should be rejected")
+    void next_WhenTruncated_ShouldThrow() throws Exception {
+        // Given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        SnapshotWriter writer = new SnapshotWriter(out);
+        writer.write(SnapshotTable.PRODUCT_BACKLOG, new Object[] { "Backlog", START, START });
+        writer.finish();
+        byte[] truncated = Arrays.copyOf(out.toByteArray(), out.size() - 1);
+
+        // When
+        SnapshotReader reader = new SnapshotReader(new ByteArrayInputStream(truncated));
+        reader.next();
+
+        // Then
+        assertThatThrownBy(reader::next)
+                .isInstanceOf(BusinessException.class)
+                .hasMessage("Truncated or corrupt project snapshot");
+    }
+}
@@ -0,0 +1,169 @@
+package ma.ensa.apms.snapshot;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import ma.ensa.apms.exception.BusinessException;
+import ma.ensa.apms.modal.enums.RollupScope;
+import ma.ensa.apms.rollup.StatusRollupVerifier;
+import ma.ensa.apms.timeline.TimelineEntry;
+import ma.ensa.apms.timeline.TimelineIndex;
+
+/**
+ * Unit tests for {@link SnapshotRestorer}
+ */
+@DisplayName("SnapshotRestorer Tests")
+class SnapshotRestorerTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2025, 1, 6, 9, 0);
+
+    private RecordingLoader loader;
+    private StatusRollupVerifier statusRollupVerifier;
+    private TimelineIndex timelineIndex;
+    private SnapshotRestorer restorer;
+
+    @BeforeEach
+    void setUp() {
+        loader = new RecordingLoader();
+        statusRollupVerifier = mock(StatusRollupVerifier.class);
+        timelineIndex = mock(TimelineIndex.class);
+        restorer = new SnapshotRestorer(loader, statusRollupVerifier, timelineIndex,
+                mock(PlatformTransactionManager.class));
+    }
+
+    @Test
+    @DisplayName("rows should get new IDs and their references should follow them")
+    @SuppressWarnings("unchecked")
+    void restore_ShouldRemapReferencesToNewIds() throws Exception {
+        // Given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        SnapshotWriter writer = new SnapshotWriter(out);
+        writer.write(SnapshotTable.PRODUCT_BACKLOG, new Object[] { "Backlog", START, START });
+        writer.write(SnapshotTable.PROJECT,
+                new Object[] { "Project", null, "IN_PROGRESS", START, null, 0, START, START });
+        writer.write(SnapshotTable.EPIC, new Object[] { "Checkout", null, 0, START, START });
+        writer.write(SnapshotTable.USER_STORY,
+                new Object[] { "Pay", "buyer", "pay", "revenue", 1, "TODO", null, 0, 0, null });
+        writer.write(SnapshotTable.USER_STORY,
+                new Object[] { "Refund", "buyer", "refund", "trust", 2, "DONE", null, 0, null, null });
+        writer.write(SnapshotTable.TASK, new Object[] { "Build", null, "TODO", START, null, 1 });
+        writer.finish();
+
+        // When
+        UUID projectId = restorer.restore(new ByteArrayInputStream(out.toByteArray()));
+
+        // Then
+        UUID backlogId = loader.ids(SnapshotTable.PRODUCT_BACKLOG).get(0);
+        UUID epicId = loader.ids(SnapshotTable.EPIC).get(0);
+        List<UUID> storyIds = loader.ids(SnapshotTable.USER_STORY);
+        assertThat(projectId).isEqualTo(loader.ids(SnapshotTable.PROJECT).get(0));
+        assertThat(loader.rows.get(SnapshotTable.PROJECT).get(0)[6]).isEqualTo(backlogId);
+        assertThat(loader.rows.get(SnapshotTable.USER_STORY).get(0)).containsSubsequence(backlogId, epicId);
+        assertThat(loader.rows.get(SnapshotTable.USER_STORY).get(1)[9]).isNull();
+        assertThat(loader.rows.get(SnapshotTable.TASK).get(0)[6]).isEqualTo(storyIds.get(1));
+        assertThat(loader.finished).containsExactly(SnapshotTable.PRODUCT_BACKLOG, SnapshotTable.PROJECT,
+                SnapshotTable.EPIC, SnapshotTable.USER_STORY, SnapshotTable.TASK);
+        verify(statusRollupVerifier).recount(RollupScope.EPIC, List.of(epicId));
+        verify(statusRollupVerifier).recount(RollupScope.PRODUCT_BACKLOG, List.of(backlogId));
+        ArgumentCaptor<List<TimelineEntry>> tasks = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<List<TimelineEntry>> projects = ArgumentCaptor.forClass(List.class);
+        verify(timelineIndex).periodsInserted(tasks.capture(), projects.capture());
+        assertThat(tasks.getValue()).containsExactly(
+                new TimelineEntry(loader.ids(SnapshotTable.TASK).get(0), START, null));
+        assertThat(projects.getValue()).containsExactly(new TimelineEntry(projectId, START, null));
+    }
+
+    @Test
+    @DisplayName("a snapshot holding two projects should be rejected")
+    void restore_WithTwoProjects_ShouldThrow() throws Exception {
+        // Given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        SnapshotWriter writer = new SnapshotWriter(out);
+        writer.write(SnapshotTable.PROJECT, new Object[] { "One", null, "NOT_STARTED", null, null, null, null, null });
+        writer.write(SnapshotTable.PROJECT, new Object[] { "Two", null, "NOT_STARTED", null, null, null, null, null });
+        writer.finish();
+
+        // When / Then
+        assertThatThrownBy(() -> restorer.restore(new ByteArrayInputStream(out.toByteArray())))
+                .isInstanceOf(BusinessException.class)
+                .hasMessage("A project snapshot must hold exactly one project");
+        verify(statusRollupVerifier, never()).recount(any(), any());
+    }
+
+    @Test
+    @DisplayName("a truncated snapshot should abort the table being loaded")
+    void restore_WhenTruncated_ShouldAbortLoad() throws Exception {
+        // Given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        SnapshotWriter writer = new SnapshotWriter(out);
+        writer.write(SnapshotTable.PRODUCT_BACKLOG, new Object[] { "Backlog", START, START });
+        writer.finish();
+        byte[] truncated = Arrays.copyOf(out.toByteArray(), out.size() - 1);
+
+        // When / Then
+        assertThatThrownBy(() -> restorer.restore(new ByteArrayInputStream(truncated)))
+                .isInstanceOf(BusinessException.class)
+                .hasMessage("Truncated or corrupt project snapshot");
+        assertThat(loader.aborted).containsExactly(SnapshotTable.PRODUCT_BACKLOG);
+        assertThat(loader.finished).isEmpty();
+    }
+
+    /**
+     * Loader keeping the rows it is given, the ID first
+     */
+    private static final class RecordingLoader implements SnapshotLoader {
+
+        private final Map<SnapshotTable, List<Object[]>> rows = new EnumMap<>(SnapshotTable.class);
+        private final List<SnapshotTable> finished = new ArrayList<>();
+        private final List<SnapshotTable> aborted = new ArrayList<>();
+
+        @Override
+        public TableLoad open(SnapshotTable table) {
+            List<Object[]> tableRows = rows.computeIfAbsent(table, key -> new ArrayList<>());
+            return new TableLoad() {
+                @Override
+                public void add(UUID id, Object[] values) {
+                    Object[] row = new Object[values.length + 1];
+                    row[0] = id;
+                    System.arraycopy(values, 0, row, 1, values.length);
+                    tableRows.add(row);
+                }
+
+                @Override
+                public long finish() {
+                    finished.add(table);
+                    return tableRows.size();
+                }
+
+                @Override
+                public void abort() {
+                    aborted.add(table);
+                }
+            };
+        }
+
+        private List<UUID> ids(SnapshotTable table) {
+            return rows.get(table).stream().map(row -> (UUID) row[0]).toList();
+        }
+    }
+}
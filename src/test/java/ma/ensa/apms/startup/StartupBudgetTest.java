@@ -0,0 +1,58 @@
+package ma.ensa.apms.startup;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import ma.ensa.apms.AgileProjectManagementSystemApplication;
+
+/**
+ * Time-to-ready budget of the {@code fast-startup} profile.
+ *
+ * <p>
+ * Starts the whole application, web server included, the way {@code main}
+ * does. The budget can be tightened per build agent with
+ * {@code -Dapms.startup.budget=PT10S}. The timings are logged by
+ * {@link StartupReport}. Run with {@code mvn test -Pbenchmark}.
+ * </p>
+ */
+@Tag("benchmark")
+@DisplayName("Startup budget")
+class StartupBudgetTest {
+
+    private static final Duration BUDGET = Duration.parse(System.getProperty("apms.startup.budget", "PT30S"));
+
+    @Test
+    @DisplayName("the fast-startup profile should be ready within the budget and report its slowest steps")
+    void run_WithFastStartupProfile_ShouldBeReadyWithinBudget() {
+        // Given
+        BufferingApplicationStartup startup = new BufferingApplicationStartup(
+                AgileProjectManagementSystemApplication.STARTUP_STEPS);
+        SpringApplicationBuilder application = new SpringApplicationBuilder(
+                AgileProjectManagementSystemApplication.class)
+                .applicationStartup(startup)
+                .profiles("fast-startup")
+                .properties("server.port=0");
+
+        // When
+        try (ConfigurableApplicationContext context = application.run()) {
+            StartupReport report = context.getBean(StartupReport.class);
+            ConfigurableListableBeanFactory beanFactory = context.getBeanFactory();
+
+            // Then
+            assertThat(report.getTimeToReady()).isLessThan(BUDGET);
+            assertThat(report.getSlowestSteps()).isNotEmpty();
+            assertThat(beanFactory.getBeanDefinition("taskServiceImpl").isLazyInit()).isTrue();
+            assertThat(beanFactory.getBeanDefinition("statusTransitionListener").isLazyInit()).isFalse();
+            assertThat(beanFactory.getBeanDefinition("backlogRankRebalancer").isLazyInit()).isFalse();
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package ma.ensa.apms.timeline;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link IntervalTree}
+ */
+@DisplayName("IntervalTree Tests")
+class IntervalTreeTest {
+
+    private static final LocalDateTime ORIGIN = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    private IntervalTree tree;
+
+    @BeforeEach
+    void setUp() {
+        tree = new IntervalTree();
+    }
+
+    @Test
+    @DisplayName("bounds should be inclusive on both sides")
+    void find_WhenWindowTouchesPeriod_ShouldMatch() {
+        // Given
+        UUID id = UUID.randomUUID();
+        tree.put(id, day(10), day(20));
+
+        // When / Then
+        assertThat(tree.find(RangeMatch.OVERLAPS, day(20), day(25))).containsExactly(id);
+        assertThat(tree.find(RangeMatch.OVERLAPS, day(5), day(10))).containsExactly(id);
+        assertThat(tree.find(RangeMatch.OVERLAPS, day(21), day(25))).isEmpty();
+        assertThat(tree.find(RangeMatch.WITHIN, day(10), day(20))).containsExactly(id);
+        assertThat(tree.find(RangeMatch.WITHIN, day(11), day(20))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("missing dates should leave the period unbounded")
+    void find_WhenDatesAreMissing_ShouldTreatPeriodAsUnbounded() {
+        // Given
+        UUID openEnded = UUID.randomUUID();
+        UUID openStart = UUID.randomUUID();
+        tree.put(openEnded, day(10), null);
+        tree.put(openStart, null, day(5));
+
+        // When / Then
+        assertThat(tree.find(RangeMatch.OVERLAPS, day(1000), day(1000))).containsExactly(openEnded);
+        assertThat(tree.find(RangeMatch.OVERLAPS, day(-1000), day(-1000))).containsExactly(openStart);
+        assertThat(tree.find(RangeMatch.WITHIN, day(-1000), day(1000))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("put should replace the previous period and remove should drop it")
+    void put_WhenIdIsKnown_ShouldReplacePeriod() {
+        // Given
+        UUID id = UUID.randomUUID();
+        tree.put(id, day(0), day(1));
+
+        // When
+        tree.put(id, day(50), day(60));
+
+        // Then
+        assertThat(tree.size()).isEqualTo(1);
+        assertThat(tree.find(RangeMatch.OVERLAPS, day(0), day(1))).isEmpty();
+        assertThat(tree.find(RangeMatch.OVERLAPS, day(55), day(55))).containsExactly(id);
+
+        tree.remove(id);
+        assertThat(tree.size()).isZero();
+        assertThat(tree.find(RangeMatch.OVERLAPS, day(55), day(55))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("a period ending before it starts should not be indexed")
+    void put_WhenPeriodIsReversed_ShouldSkipIt() {
+        // When
+        tree.put(UUID.randomUUID(), day(10), day(5));
+
+        // Then
+        assertThat(tree.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("random periods, moves and deletions should match a linear scan, in start order")
+    void find_WithRandomPeriods_ShouldMatchLinearScan() {
+        // Given
+        Random random = new Random(42);
+        Map<UUID, LocalDateTime[]> periods = new HashMap<>();
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            UUID id = UUID.randomUUID();
+            LocalDateTime[] period = randomPeriod(random);
+            ids.add(id);
+            periods.put(id, period);
+            tree.put(id, period[0], period[1]);
+        }
+        for (int i = 0; i < 1_000; i++) {
+            UUID id = ids.get(random.nextInt(ids.size()));
+            if (random.nextBoolean()) {
+                LocalDateTime[] period = randomPeriod(random);
+                periods.put(id, period);
+                tree.put(id, period[0], period[1]);
+            } else {
+                periods.remove(id);
+                tree.remove(id);
+            }
+        }
+
+        // When / Then
+        assertThat(tree.size()).isEqualTo(periods.size());
+        for (int i = 0; i < 300; i++) {
+            LocalDateTime from = day(random.nextInt(400));
+            LocalDateTime to = i % 3 == 0 ? from : from.plusDays(random.nextInt(60));
+            for (RangeMatch match : RangeMatch.values()) {
+                List<UUID> found = tree.find(match, from, to);
+                assertThat(found).containsExactlyInAnyOrderElementsOf(scan(periods, match, from, to));
+                assertThat(found).isSortedAccordingTo((a, b) -> startOf(periods, a).compareTo(startOf(periods, b)));
+            }
+        }
+    }
+
+    private static List<UUID> scan(Map<UUID, LocalDateTime[]> periods, RangeMatch match, LocalDateTime from,
+            LocalDateTime to) {
+        List<UUID> result = new ArrayList<>();
+        periods.forEach((id, period) -> {
+            LocalDateTime start = period[0] != null ? period[0] : LocalDateTime.MIN;
+            LocalDateTime end = period[1] != null ? period[1] : LocalDateTime.MAX;
+            boolean matches = match == RangeMatch.WITHIN
+                    ? !start.isBefore(from) && !end.isAfter(to)
+                    : !start.isAfter(to) && !end.isBefore(from);
+            if (matches) {
+                result.add(id);
+            }
+        });
+        return result;
+    }
+
+    private static LocalDateTime startOf(Map<UUID, LocalDateTime[]> periods, UUID id) {
+        LocalDateTime start = periods.get(id)[0];
+        return start != null ? start : LocalDateTime.MIN;
+    }
+
+    private static LocalDateTime[] randomPeriod(Random random) {
+        LocalDateTime start = random.nextInt(50) == 0 ? null : day(random.nextInt(400)).plusHours(random.nextInt(24));
+        LocalDateTime end = random.nextInt(50) == 0 ? null
+                : (start != null ? start : day(random.nextInt(400))).plusHours(random.nextInt(24 * 30));
+        return new LocalDateTime[] { start, end };
+    }
+
+    private static LocalDateTime day(int offset) {
+        return ORIGIN.plusDays(offset);
+    }
+}
@@ -0,0 +1,107 @@
+package ma.ensa.apms.tracing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+
+/**
+ * End-to-end tracing of a request, exported to an in-memory exporter
+ */
+@SpringBootTest(properties = "management.tracing.sampling.probability=1.0")
+@AutoConfigureMockMvc
+@AutoConfigureObservability(metrics = false)
+@Import(TracingTest.InMemoryExporterConfig.class)
+@DisplayName("Tracing")
+class TracingTest {
+
+    private static final String TEXT = "x".repeat(50);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private InMemorySpanExporter spanExporter;
+
+    @Autowired
+    private SdkTracerProvider tracerProvider;
+
+    @Test
+    @DisplayName("moving a story to a sprint should trace the request, the service call and its statements")
+    void moveToSprint_ShouldTraceRequestServiceAndStatements() throws Exception {
+        // Given
+        UUID storyId = UUID.randomUUID();
+        UUID sprintId = UUID.randomUUID();
+        jdbcTemplate.update("insert into user_story (id, name, role, feature, benefit, priority, status) "
+                + "values (?, ?, ?, ?, ?, ?, ?)", storyId, "Traced story", TEXT, TEXT, TEXT, 1, "TODO");
+        jdbcTemplate.update("insert into sprint_backlog (id, name, created_at, updated_at) values (?, ?, ?, ?)",
+                sprintId, "Traced sprint", LocalDateTime.now(), LocalDateTime.now());
+        tracerProvider.forceFlush().join(5, TimeUnit.SECONDS);
+        spanExporter.reset();
+
+        // When
+        mockMvc.perform(put("/api/v1/user-stories/{id}/move-to-sprint/{sprintId}", storyId, sprintId))
+                .andExpect(status().isOk());
+        tracerProvider.forceFlush().join(5, TimeUnit.SECONDS);
+
+        // Then
+        List<SpanData> spans = spanExporter.getFinishedSpanItems();
+        SpanData request = spans.stream()
+                .filter(span -> span.getKind() == SpanKind.SERVER)
+                .findFirst()
+                .orElseThrow();
+        assertThat(request.getAttributes().get(AttributeKey.stringKey("apms.path.id")))
+                .isEqualTo(storyId.toString());
+        assertThat(request.getAttributes().get(AttributeKey.stringKey("apms.path.sprintId")))
+                .isEqualTo(sprintId.toString());
+
+        List<SpanData> trace = spans.stream()
+                .filter(span -> span.getTraceId().equals(request.getTraceId()))
+                .toList();
+        // Micrometer exports the contextual name "UserStoryServiceImpl.moveToSprint" in lower hyphen case
+        assertThat(trace)
+                .filteredOn(span -> span.getName().equals("user-story-service-impl.move-to-sprint"))
+                .singleElement()
+                .satisfies(service -> {
+                    assertThat(service.getParentSpanId()).isEqualTo(request.getSpanId());
+                    assertThat(service.getAttributes().get(AttributeKey.stringKey("apms.entity.ids")))
+                            .isEqualTo(storyId + "," + sprintId);
+                });
+        assertThat(trace).anySatisfy(span -> assertThat(span.getAttributes().asMap().keySet())
+                .anySatisfy(key -> assertThat(key.getKey()).startsWith("jdbc.query")));
+    }
+
+    @TestConfiguration(proxyBeanMethods = false)
+    static class InMemoryExporterConfig {
+
+        @Bean
+        InMemorySpanExporter inMemorySpanExporter() {
+            return InMemorySpanExporter.create();
+        }
+    }
+}
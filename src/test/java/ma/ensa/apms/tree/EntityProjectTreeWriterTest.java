@@ -0,0 +1,154 @@
+package ma.ensa.apms.tree;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import jakarta.persistence.EntityNotFoundException;
+import ma.ensa.apms.dto.TaskResponseDto;
+import ma.ensa.apms.mapper.TaskMapper;
+import ma.ensa.apms.modal.Epic;
+import ma.ensa.apms.modal.ProductBacklog;
+import ma.ensa.apms.modal.Project;
+import ma.ensa.apms.modal.Task;
+import ma.ensa.apms.modal.UserStory;
+import ma.ensa.apms.modal.enums.ProjectStatus;
+import ma.ensa.apms.modal.enums.TaskStatus;
+import ma.ensa.apms.modal.enums.UserStoryStatus;
+import ma.ensa.apms.repository.EpicRepository;
+import ma.ensa.apms.repository.TaskRepository;
+import ma.ensa.apms.repository.UserStoryRepository;
+import ma.ensa.apms.service.helper.ProjectRepositoryHelper;
+
+/**
+ * Unit tests for {@link EntityProjectTreeWriter}
+ */
+@DisplayName("EntityProjectTreeWriter Tests")
+class EntityProjectTreeWriterTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2025, 1, 6, 9, 0);
+
+    private ProjectRepositoryHelper projectRepositoryHelper;
+    private EpicRepository epicRepository;
+    private UserStoryRepository userStoryRepository;
+    private TaskRepository taskRepository;
+    private ObjectMapper objectMapper;
+    private EntityProjectTreeWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        projectRepositoryHelper = mock(ProjectRepositoryHelper.class);
+        epicRepository = mock(EpicRepository.class);
+        userStoryRepository = mock(UserStoryRepository.class);
+        taskRepository = mock(TaskRepository.class);
+        TaskMapper taskMapper = mock(TaskMapper.class);
+        when(taskMapper.toDto(any(Task.class))).thenAnswer(invocation -> {
+            Task task = invocation.getArgument(0);
+            TaskResponseDto dto = new TaskResponseDto();
+            dto.setId(task.getId());
+            dto.setTitle(task.getTitle());
+            dto.setStatus(task.getStatus());
+            dto.setStartDate(task.getStartDate());
+            return dto;
+        });
+        objectMapper = new ObjectMapper().findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        writer = new EntityProjectTreeWriter(projectRepositoryHelper, epicRepository, userStoryRepository,
+                taskRepository, taskMapper, objectMapper, mock(PlatformTransactionManager.class));
+    }
+
+    @Test
+    @DisplayName("stories and tasks should be nested under their epic in query order")
+    void write_ShouldNestLevelsInQueryOrder() throws Exception {
+        // Given
+        ProductBacklog backlog = ProductBacklog.builder().id(UUID.randomUUID()).name("Backlog").build();
+        Project project = Project.builder().id(UUID.randomUUID()).name("Project").status(ProjectStatus.IN_PROGRESS)
+                .startDate(START).productBacklog(backlog).build();
+        Epic checkout = Epic.builder().id(UUID.randomUUID()).name("Checkout").build();
+        Epic search = Epic.builder().id(UUID.randomUUID()).name("Search").build();
+        UserStory pay = story("Pay", 1, checkout);
+        UserStory refund = story("Refund", 2, checkout);
+        Task first = task("First", pay);
+        Task second = task("Second", pay);
+        when(projectRepositoryHelper.findByIdOrThrow(project.getId())).thenReturn(project);
+        when(epicRepository.findByProductBacklogIdOrderByNameAscIdAsc(backlog.getId()))
+                .thenReturn(List.of(checkout, search));
+        when(userStoryRepository.findByEpicProductBacklogIdOrderByPriorityAscIdAsc(backlog.getId()))
+                .thenReturn(List.of(pay, refund));
+        when(taskRepository.findByEpicProductBacklogId(backlog.getId())).thenReturn(List.of(first, second));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        writer.write(project.getId(), out);
+
+        // Then
+        JsonNode tree = objectMapper.readTree(out.toByteArray());
+        assertThat(tree.get("id").asText()).isEqualTo(project.getId().toString());
+        assertThat(tree.get("startDate").asText()).isEqualTo("2025-01-06T09:00:00");
+        JsonNode epics = tree.get("productBacklog").get("epics");
+        assertThat(epics).hasSize(2);
+        assertThat(epics.get(0).get("userStories").findValuesAsText("name")).containsExactly("Pay", "Refund");
+        assertThat(epics.get(0).get("userStories").get(0).get("tasks").findValuesAsText("title"))
+                .containsExactly("First", "Second");
+        assertThat(epics.get(0).get("userStories").get(1).get("tasks")).isEmpty();
+        assertThat(epics.get(1).get("name").asText()).isEqualTo("Search");
+        assertThat(epics.get(1).get("userStories")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("a project without backlog should be written without querying its levels")
+    void write_WithoutBacklog_ShouldWriteNullBacklog() throws Exception {
+        // Given
+        Project project = Project.builder().id(UUID.randomUUID()).name("Project").build();
+        when(projectRepositoryHelper.findByIdOrThrow(project.getId())).thenReturn(project);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        writer.write(project.getId(), out);
+
+        // Then
+        assertThat(objectMapper.readTree(out.toByteArray()).get("productBacklog").isNull()).isTrue();
+        verifyNoInteractions(epicRepository, userStoryRepository, taskRepository);
+    }
+
+    @Test
+    @DisplayName("a missing project should fail before anything is written")
+    void write_WhenProjectMissing_ShouldThrowBeforeWriting() {
+        // Given
+        UUID projectId = UUID.randomUUID();
+        when(projectRepositoryHelper.findByIdOrThrow(projectId))
+                .thenThrow(new EntityNotFoundException("Project not found"));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When / Then
+        assertThatThrownBy(() -> writer.write(projectId, out)).isInstanceOf(EntityNotFoundException.class);
+        assertThat(out.size()).isZero();
+    }
+
+    private static UserStory story(String name, int priority, Epic epic) {
+        return UserStory.builder().id(UUID.randomUUID()).name(name).priority(priority)
+                .status(UserStoryStatus.TODO).epic(epic).build();
+    }
+
+    private static Task task(String title, UserStory story) {
+        return Task.builder().id(UUID.randomUUID()).title(title).status(TaskStatus.TODO).startDate(START)
+                .userStory(story).build();
+    }
+}
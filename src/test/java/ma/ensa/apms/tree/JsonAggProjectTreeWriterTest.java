@@ -0,0 +1,76 @@
+package ma.ensa.apms.tree;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import jakarta.persistence.EntityNotFoundException;
+
+/**
+ * Unit tests for {@link JsonAggProjectTreeWriter}
+ */
+@DisplayName("JsonAggProjectTreeWriter Tests")
+class JsonAggProjectTreeWriterTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private JsonAggProjectTreeWriter writer;
+    private UUID projectId;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        writer = new JsonAggProjectTreeWriter(jdbcTemplate);
+        projectId = UUID.randomUUID();
+    }
+
+    @Test
+    @DisplayName("the document should only be written once the query has returned")
+    void write_ShouldWriteAfterQueryReturns() throws Exception {
+        // Given
+        byte[] document = "{\"id\":\"p\"}".getBytes(StandardCharsets.UTF_8);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getBytes(1)).thenReturn(document);
+        when(jdbcTemplate.query(eq(JsonAggProjectTreeWriter.TREE_QUERY), any(RowMapper.class), eq(projectId),
+                eq(projectId))).thenAnswer(invocation -> {
+                    RowMapper<?> rowMapper = invocation.getArgument(1);
+                    Object row = rowMapper.mapRow(rs, 0);
+                    assertThat(out.size()).isZero();
+                    return List.of(row);
+                });
+
+        // When
+        writer.write(projectId, out);
+
+        // Then
+        assertThat(out.toByteArray()).isEqualTo(document);
+    }
+
+    @Test
+    @DisplayName("an unknown project should be reported before anything is written")
+    void write_WhenProjectMissing_ShouldThrow() {
+        // Given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        when(jdbcTemplate.query(eq(JsonAggProjectTreeWriter.TREE_QUERY), any(RowMapper.class), eq(projectId),
+                eq(projectId))).thenReturn(List.of());
+
+        // When / Then
+        assertThatThrownBy(() -> writer.write(projectId, out)).isInstanceOf(EntityNotFoundException.class);
+        assertThat(out.size()).isZero();
+    }
+}
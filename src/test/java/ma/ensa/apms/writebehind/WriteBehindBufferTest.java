@@ -0,0 +1,180 @@
+package ma.ensa.apms.writebehind;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import org.hibernate.engine.spi.EntityEntry;
+import org.hibernate.engine.spi.PersistenceContext;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.PostLoadEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import ma.ensa.apms.modal.AcceptanceCriteria;
+import ma.ensa.apms.modal.Task;
+import ma.ensa.apms.modal.enums.TaskStatus;
+
+/**
+ * Unit tests for {@link WriteBehindBuffer}
+ */
+@DisplayName("WriteBehindBuffer Tests")
+class WriteBehindBufferTest {
+
+    private static final String UPDATE_MET = BufferedColumn.CRITERIA_MET.updateSql();
+    private static final String UPDATE_STATUS = BufferedColumn.TASK_STATUS.updateSql();
+    private static final UUID TASK_ID = UUID.randomUUID();
+
+    private JdbcTemplate jdbcTemplate;
+    private SimpleMeterRegistry meterRegistry;
+    private WriteBehindBuffer buffer;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class))).thenAnswer(invocation -> {
+                    int[] counts = new int[invocation.<Collection<?>>getArgument(1).size()];
+                    Arrays.fill(counts, 1);
+                    return new int[][] { counts };
+                });
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        meterRegistry = new SimpleMeterRegistry();
+        buffer = new WriteBehindBuffer(mock(EntityManagerFactory.class), mock(EntityManager.class), jdbcTemplate,
+                transactionManager, meterRegistry, true, Duration.ofMillis(5), 256);
+    }
+
+    @Test
+    @DisplayName("writes to the same row should collapse into one update of the last value")
+    void flush_WhenRowWrittenTwice_ShouldUpdateOnce() {
+        // Given
+        AcceptanceCriteria criteria = criteria(false);
+        buffer.setCriteriaMet(criteria, true);
+        buffer.setTaskStatus(task(TaskStatus.TODO), TaskStatus.IN_PROGRESS);
+        Task task = task(TaskStatus.IN_PROGRESS);
+        buffer.setTaskStatus(task, TaskStatus.DONE);
+
+        assertThat(buffer.size()).isEqualTo(2);
+
+        // When
+        buffer.flush();
+
+        // Then
+        assertThat(buffer.size()).isZero();
+        assertThat(rowsWritten(UPDATE_MET)).singleElement()
+                .satisfies(write -> assertThat(write.value()).isEqualTo(true));
+        assertThat(rowsWritten(UPDATE_STATUS)).singleElement().satisfies(write -> {
+            assertThat(write.previousValue()).isEqualTo(TaskStatus.TODO);
+            assertThat(write.value()).isEqualTo(TaskStatus.DONE);
+        });
+        assertThat(rowsWritten(WriteBehindBuffer.INSERT_TASK_TRANSITION)).hasSize(1);
+        assertThat(meterRegistry.get("apms.write-behind.collapsed").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("a row toggled back to its original value should not be written")
+    void flush_WhenRowToggledBack_ShouldSkipUpdate() {
+        // Given
+        AcceptanceCriteria criteria = criteria(false);
+        buffer.setCriteriaMet(criteria, true);
+        buffer.setCriteriaMet(criteria, false);
+
+        // When
+        buffer.flush();
+
+        // Then
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyCollection(), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class));
+        assertThat(buffer.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("a failed flush should keep its rows for the next one")
+    void flush_WhenBatchFails_ShouldKeepRows() {
+        // Given
+        AcceptanceCriteria criteria = criteria(false);
+        buffer.setCriteriaMet(criteria, true);
+        doThrow(new QueryTimeoutException("timeout")).when(jdbcTemplate).batchUpdate(eq(UPDATE_MET),
+                anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class));
+
+        // When / Then
+        assertThatThrownBy(buffer::flush).isInstanceOf(QueryTimeoutException.class);
+        assertThat(buffer.size()).isEqualTo(1);
+        assertThat(meterRegistry.get("apms.write-behind.failures").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("a loaded entity should show the buffered value without looking dirty")
+    void onPostLoad_WhenRowBuffered_ShouldApplyValueToEntityAndLoadedState() {
+        // Given
+        UUID id = UUID.randomUUID();
+        AcceptanceCriteria written = criteria(false);
+        written.setId(id);
+        buffer.setCriteriaMet(written, true);
+
+        AcceptanceCriteria loaded = criteria(false);
+        loaded.setId(id);
+        Object[] loadedState = { false };
+        EventSource session = mock(EventSource.class);
+        PersistenceContext persistenceContext = mock(PersistenceContext.class);
+        EntityEntry entry = mock(EntityEntry.class);
+        EntityPersister persister = mock(EntityPersister.class);
+        when(session.getPersistenceContextInternal()).thenReturn(persistenceContext);
+        when(persistenceContext.getEntry(loaded)).thenReturn(entry);
+        when(entry.getLoadedState()).thenReturn(loadedState);
+        when(persister.getPropertyIndex("met")).thenReturn(0);
+        PostLoadEvent event = new PostLoadEvent(session);
+        event.setEntity(loaded);
+        event.setPersister(persister);
+
+        // When
+        buffer.onPostLoad(event);
+
+        // Then
+        assertThat(loaded.isMet()).isTrue();
+        assertThat(loadedState[0]).isEqualTo(true);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<PendingWrite> rowsWritten(String sql) {
+        ArgumentCaptor<Collection<PendingWrite>> rows = ArgumentCaptor.forClass(Collection.class);
+        verify(jdbcTemplate).batchUpdate(eq(sql), rows.capture(), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class));
+        return List.copyOf(rows.getValue());
+    }
+
+    private static AcceptanceCriteria criteria(boolean met) {
+        return AcceptanceCriteria.builder().id(UUID.randomUUID()).met(met).build();
+    }
+
+    private static Task task(TaskStatus status) {
+        return Task.builder().id(TASK_ID).status(status).build();
+    }
+}